@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.draw2d.graph.DirectedGraph;
+import org.eclipse.draw2d.graph.DirectedGraphLayout;
+import org.eclipse.draw2d.graph.Edge;
+import org.eclipse.draw2d.graph.GraphVisitor;
+import org.eclipse.draw2d.graph.LayoutMonitor;
+import org.eclipse.draw2d.graph.NetworkSimplexSolver;
+import org.eclipse.draw2d.graph.Node;
+
+/**
+ * Compares the rank assignment of the {@link DirectedGraphLayout} with the
+ * {@link NetworkSimplexSolver} on acyclic graphs of 1k to 50k nodes. Most edges
+ * connect nodes which have been created shortly after each other, as in most
+ * diagrams, and some edges span the whole graph. The layout is canceled once
+ * the ranks have been assigned, so only the stages up to the rank assignment
+ * are performed.
+ */
+public class BenchmarkNetworkSimplexSolver {
+
+	private static final int[] SIZES = { 1000, 5000, 10000, 20000, 50000 };
+	private static final int RUNS = 3;
+	// The stages which assign the ranks by default
+	private static final Set<String> DEFAULT_STAGES = Set.of("InitialRankSolver", "TightSpanningTreeSolver", //$NON-NLS-1$ //$NON-NLS-2$
+			"RankAssignmentSolver"); //$NON-NLS-1$
+
+	public static void main(String[] args) {
+		for (int size : SIZES) {
+			for (int run = 0; run < RUNS; run++) {
+				long defaultTime = time(new DirectedGraphLayout(), createDag(size), DEFAULT_STAGES);
+				DirectedGraphLayout layout = new DirectedGraphLayout();
+				layout.setRankAssignment(new NetworkSimplexSolver());
+				long networkSimplexTime = time(layout, createDag(size), Set.of("NetworkSimplexSolver")); //$NON-NLS-1$
+				System.out.println(String.format("nodes=%d, run=%d: default=%dms, network simplex=%dms", //$NON-NLS-1$
+						size, run, defaultTime, networkSimplexTime));
+			}
+		}
+	}
+
+	/**
+	 * Lays out the given graph until the given stages have been visited, and
+	 * returns the time spent on these stages in milliseconds.
+	 */
+	private static long time(DirectedGraphLayout layout, DirectedGraph graph, Set<String> stages) {
+		long[] duration = new long[1];
+		int[] remaining = { stages.size() };
+		layout.visit(graph, new LayoutMonitor() {
+			@Override
+			public void stageVisited(GraphVisitor stage, long nanos, long memory) {
+				if (stages.contains(stage.getClass().getSimpleName())) {
+					duration[0] += nanos;
+					remaining[0]--;
+				}
+			}
+
+			@Override
+			public boolean isCanceled() {
+				return remaining[0] == 0;
+			}
+		});
+		return duration[0] / 1000000;
+	}
+
+	/**
+	 * Creates an acyclic graph of the given number of nodes, whose edges have
+	 * different weights and minimum lengths.
+	 */
+	private static DirectedGraph createDag(int size) {
+		DirectedGraph graph = new DirectedGraph();
+		Random random = new Random(0);
+		for (int i = 0; i < size; i++) {
+			Node node = new Node("n" + i); //$NON-NLS-1$
+			graph.nodes.add(node);
+			int edges = i == 0 ? 0 : 1 + random.nextInt(2);
+			for (int j = 0; j < edges; j++) {
+				int source = random.nextInt(10) == 0 ? random.nextInt(i) : Math.max(0, i - 1 - random.nextInt(30));
+				Edge e = new Edge(graph.nodes.get(source), node);
+				e.weight = 1 + random.nextInt(3);
+				e.setDelta(random.nextInt(8) == 0 ? 2 : 1);
+				graph.edges.add(e);
+			}
+		}
+		return graph;
+	}
+}
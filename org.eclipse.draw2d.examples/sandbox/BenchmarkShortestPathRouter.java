@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.draw2d.graph.Path;
+import org.eclipse.draw2d.graph.ShortestPathRouter;
+
+/**
+ * Measures the latency of the {@link ShortestPathRouter} while a single node of
+ * a large diagram is dragged around. Each frame moves the node, updates the
+ * paths attached to it and solves the router again. Paths connect nodes which
+ * are at most {@link #REACH} rows and columns apart, as in most diagrams.
+ */
+public class BenchmarkShortestPathRouter {
+
+	private static final int COLUMNS = 40;
+	private static final int ROWS = 30;
+	private static final int REACH = 3;
+	private static final int PATHS = 3000;
+	private static final int FRAMES = 50;
+	private static final int CELL = 120;
+	private static final int SIZE = 50;
+
+	public static void main(String[] args) {
+		Rectangle[] nodes = new Rectangle[COLUMNS * ROWS];
+		ShortestPathRouter router = new ShortestPathRouter();
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = new Rectangle(i % COLUMNS * CELL, i / COLUMNS * CELL, SIZE, SIZE);
+			router.addObstacle(nodes[i]);
+		}
+
+		Random random = new Random(0);
+		int dragged = ROWS / 2 * COLUMNS + COLUMNS / 2;
+		List<Path> outgoing = new ArrayList<>();
+		List<Path> incoming = new ArrayList<>();
+		for (int i = 0; i < PATHS; i++) {
+			int source = random.nextInt(nodes.length);
+			int column = source % COLUMNS + random.nextInt(2 * REACH + 1) - REACH;
+			int row = source / COLUMNS + random.nextInt(2 * REACH + 1) - REACH;
+			int target = row * COLUMNS + column;
+			if (target == source || column < 0 || column >= COLUMNS || row < 0 || row >= ROWS) {
+				continue;
+			}
+			Path path = new Path(nodes[source].getCenter(), nodes[target].getCenter());
+			router.addPath(path);
+			if (source == dragged) {
+				outgoing.add(path);
+			} else if (target == dragged) {
+				incoming.add(path);
+			}
+		}
+
+		long start = System.currentTimeMillis();
+		router.solve();
+		System.out.println("Initial solve: " + (System.currentTimeMillis() - start) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+
+		long total = 0;
+		long max = 0;
+		for (int i = 0; i < FRAMES; i++) {
+			Rectangle bounds = nodes[dragged];
+			Rectangle moved = bounds.getTranslated(i % 10 < 5 ? 3 : -3, i % 20 < 10 ? 2 : -2);
+			long frameStart = System.nanoTime();
+			router.updateObstacle(bounds, moved);
+			Point center = moved.getCenter();
+			outgoing.forEach(path -> path.setStartPoint(center));
+			incoming.forEach(path -> path.setEndPoint(center));
+			router.solve();
+			long frame = System.nanoTime() - frameStart;
+			total += frame;
+			max = Math.max(max, frame);
+			nodes[dragged] = moved;
+		}
+		System.out.println("Drag frames: " + total / FRAMES / 1000 + "us average, " + max / 1000 + "us max"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
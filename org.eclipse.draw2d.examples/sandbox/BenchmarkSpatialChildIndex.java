@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+import java.util.Random;
+
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.FreeformLayer;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.SpatialChildIndex;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * Compares the hit-testing performance of a {@link FreeformLayer} with 20k
+ * children, with and without a {@link SpatialChildIndex}.
+ */
+public class BenchmarkSpatialChildIndex {
+
+	private static final int CHILDREN = 20000;
+	private static final int QUERIES = 10000;
+	private static final int EXTENT = 20000;
+
+	public static void main(String[] args) {
+		FreeformLayer linear = createLayer();
+		FreeformLayer indexed = createLayer();
+		indexed.setSpatialChildIndex(new SpatialChildIndex());
+
+		for (int i = 0; i < 3; i++) {
+			long linearTime = run(linear);
+			long indexedTime = run(indexed);
+			System.out.println("Linear scan: " + linearTime + "ms, spatial index: " + indexedTime + "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
+	private static FreeformLayer createLayer() {
+		Random random = new Random(0);
+		FreeformLayer layer = new FreeformLayer();
+		for (int i = 0; i < CHILDREN; i++) {
+			Figure child = new Figure();
+			child.setBounds(new Rectangle(random.nextInt(EXTENT), random.nextInt(EXTENT), 80, 40));
+			layer.add(child);
+		}
+		layer.setBounds(new Rectangle(0, 0, EXTENT + 100, EXTENT + 100));
+		layer.validate();
+		return layer;
+	}
+
+	private static long run(IFigure layer) {
+		Random random = new Random(1);
+		int hits = 0;
+		long start = System.currentTimeMillis();
+		for (int i = 0; i < QUERIES; i++) {
+			IFigure target = layer.findFigureAt(random.nextInt(EXTENT), random.nextInt(EXTENT));
+			if (target != null && target != layer) {
+				hits++;
+			}
+		}
+		long time = System.currentTimeMillis() - start;
+		System.out.println("  " + hits + " hits"); //$NON-NLS-1$ //$NON-NLS-2$
+		return time;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2023 Patrick Ziegler and others.
+ * Copyright (c) 2023, 2026 Patrick Ziegler and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -15,17 +15,29 @@ package org.eclipse.draw2d.graph.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.draw2d.graph.CompoundDirectedGraph;
+import org.eclipse.draw2d.graph.CompoundDirectedGraphLayout;
 import org.eclipse.draw2d.graph.DirectedGraph;
 import org.eclipse.draw2d.graph.DirectedGraphLayout;
 import org.eclipse.draw2d.graph.Edge;
 import org.eclipse.draw2d.graph.EdgeList;
+import org.eclipse.draw2d.graph.GraphVisitor;
+import org.eclipse.draw2d.graph.LayoutMonitor;
+import org.eclipse.draw2d.graph.NetworkSimplexSolver;
 import org.eclipse.draw2d.graph.Node;
 import org.eclipse.draw2d.graph.NodeList;
+import org.eclipse.draw2d.graph.Subgraph;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -92,6 +104,382 @@ public class DirectedGraphLayoutTest {
 		assertEquals(getRank(n3), 0);
 	}
 
+	@Test
+	public void test_monitorReportsAllStages() {
+		List<String> log = new ArrayList<>();
+		int count = layout.getStages().size();
+		layout.visit(g, new LayoutMonitor() {
+			@Override
+			public void stageStarted(GraphVisitor stage, int index, int total) {
+				assertEquals(count, total);
+				log.add("start " + index);
+			}
+
+			@Override
+			public void stageVisited(GraphVisitor stage, long duration, long memory) {
+				assertTrue(duration >= 0);
+				log.add("visit " + layout.getStages().indexOf(stage));
+			}
+
+			@Override
+			public void stageRevisited(GraphVisitor stage, long duration, long memory) {
+				assertTrue(duration >= 0);
+				log.add("revisit " + layout.getStages().indexOf(stage));
+			}
+		});
+
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			expected.add("start " + i);
+			expected.add("visit " + i);
+		}
+		for (int i = count - 1; i >= 0; i--) {
+			expected.add("revisit " + i);
+		}
+		assertEquals(expected, log);
+	}
+
+	@Test
+	public void test_cancelBetweenStages() {
+		List<String> log = new ArrayList<>();
+		layout.visit(g, new LayoutMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return log.size() == 2;
+			}
+
+			@Override
+			public void stageVisited(GraphVisitor stage, long duration, long memory) {
+				log.add("visit " + layout.getStages().indexOf(stage));
+			}
+
+			@Override
+			public void stageRevisited(GraphVisitor stage, long duration, long memory) {
+				log.add("revisit " + layout.getStages().indexOf(stage));
+			}
+		});
+
+		assertEquals(List.of("visit 0", "visit 1", "revisit 1", "revisit 0"), log);
+		// The cycle has been broken and the feedback edge inverted again
+		assertEquals(n2, e2.source);
+		assertEquals(n3, e2.target);
+	}
+
+	@Test
+	public void test_customStage() {
+		List<String> log = new ArrayList<>();
+		layout.getStages().add(0, new GraphVisitor() {
+			@Override
+			public void visit(DirectedGraph graph) {
+				log.add("visit " + graph.nodes.size());
+			}
+
+			@Override
+			public void revisit(DirectedGraph graph) {
+				log.add("revisit " + graph.nodes.size());
+			}
+		});
+
+		layout.visit(g);
+
+		assertEquals(List.of("visit 3", "revisit 3"), log);
+		assertEquals(getRank(n1), 1);
+		assertEquals(getRank(n2), 2);
+		assertEquals(getRank(n3), 0);
+	}
+
+	@Test
+	public void test_crossingsAreRemoved() {
+		DirectedGraph graph = new DirectedGraph();
+		List<Node> sources = new ArrayList<>();
+		List<Node> targets = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			sources.add(new Node("s" + i));
+			targets.add(0, new Node("t" + i));
+		}
+		graph.nodes.addAll(sources);
+		graph.nodes.addAll(targets);
+		for (int i = 0; i < 20; i++) {
+			graph.edges.add(new Edge(sources.get(i), targets.get(19 - i)));
+		}
+
+		layout.visit(graph);
+
+		for (Edge e1 : graph.edges) {
+			for (Edge e2 : graph.edges) {
+				assertEquals(e1.source.x < e2.source.x, e1.target.x < e2.target.x);
+			}
+		}
+	}
+
+	@Test
+	public void test_crossingMinimizationBudget() {
+		// one check before each of the 45 sweeps
+		assertEquals(45, getCrossingMinimizationChecks(createLayeredGraph(10, 20), layout, 0));
+
+		DirectedGraph graph = createLayeredGraph(10, 20);
+		DirectedGraphLayout budgetLayout = new DirectedGraphLayout();
+		budgetLayout.setCrossingMinimizationBudget(1);
+		assertEquals(1, budgetLayout.getCrossingMinimizationBudget());
+		// the budget is exceeded after the first check, so no sweep is performed
+		assertEquals(1, getCrossingMinimizationChecks(graph, budgetLayout, 5));
+
+		for (Edge e : graph.edges) {
+			assertTrue(e.source.y < e.target.y);
+		}
+	}
+
+	@Test
+	public void test_crossingMinimizationBudgetKeepsFewestCrossings() {
+		DirectedGraph graph = createLayeredGraph(10, 20);
+		layout.visit(graph);
+
+		DirectedGraph budgetGraph = createLayeredGraph(10, 20);
+		DirectedGraphLayout budgetLayout = new DirectedGraphLayout();
+		budgetLayout.setCrossingMinimizationBudget(Integer.MAX_VALUE);
+		budgetLayout.visit(budgetGraph);
+
+		assertTrue(countCrossings(budgetGraph) <= countCrossings(graph));
+	}
+
+	@Test
+	public void test_crossingMinimizationEarlyTermination() {
+		DirectedGraph graph = createLayeredGraph(10, 20);
+		assertFalse(layout.isCrossingMinimizationEarlyTermination());
+		layout.setCrossingMinimizationEarlyTermination(true);
+		assertTrue(layout.isCrossingMinimizationEarlyTermination());
+
+		layout.visit(graph);
+
+		for (Edge e : graph.edges) {
+			assertTrue(e.source.y < e.target.y);
+		}
+	}
+
+	@Test
+	public void test_parallelCrossingMinimizationIsReproducible() {
+		ForkJoinPool pool1 = new ForkJoinPool(1);
+		ForkJoinPool pool3 = new ForkJoinPool(3);
+		try {
+			assertEquals(layoutSubgraphs(new DirectedGraphLayout(), pool1),
+					layoutSubgraphs(new DirectedGraphLayout(), pool3));
+			assertEquals(layoutSubgraphs(new CompoundDirectedGraphLayout(), pool1),
+					layoutSubgraphs(new CompoundDirectedGraphLayout(), pool3));
+		} finally {
+			pool1.shutdown();
+			pool3.shutdown();
+		}
+	}
+
+	@Test
+	public void test_parallelCrossingMinimizationKeepsSubgraphsApart() {
+		ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			CompoundDirectedGraph graph = createSubgraphs(true);
+			CompoundDirectedGraphLayout compoundLayout = new CompoundDirectedGraphLayout();
+			compoundLayout.setForkJoinPool(pool);
+			compoundLayout.visit(graph);
+
+			List<Rectangle> bounds = new ArrayList<>();
+			for (Node subgraph : graph.subgraphs) {
+				Rectangle rect = new Rectangle(subgraph.x, subgraph.y, subgraph.width, subgraph.height);
+				assertFalse(bounds.stream().anyMatch(rect::intersects));
+				bounds.add(rect);
+			}
+			assertEquals(20, bounds.size());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void test_networkSimplexSolver() {
+		List<Edge> defaultEdges = new ArrayList<>();
+		new DirectedGraphLayout().visit(createDag(defaultEdges));
+
+		List<Edge> edges = new ArrayList<>();
+		layout.setRankAssignment(new NetworkSimplexSolver());
+		assertTrue(layout.getRankAssignment() instanceof NetworkSimplexSolver);
+		layout.visit(createDag(edges));
+
+		long defaultLength = 0;
+		long length = 0;
+		for (int i = 0; i < edges.size(); i++) {
+			Edge e = edges.get(i);
+			assertTrue(getRank(e.target) - getRank(e.source) >= e.getDelta());
+			length += e.weight * (getRank(e.target) - getRank(e.source));
+			e = defaultEdges.get(i);
+			defaultLength += e.weight * (getRank(e.target) - getRank(e.source));
+		}
+		assertEquals(defaultLength, length);
+	}
+
+	@Test
+	public void test_networkSimplexSolverRanksComponents() {
+		Node a = new Node("a");
+		Node b = new Node("b");
+		Node c = new Node("c");
+		Node d = new Node("d");
+		Node e = new Node("e");
+		DirectedGraph graph = new DirectedGraph();
+		graph.nodes.addAll(List.of(a, b, c, d, e));
+		graph.edges.addAll(List.of(new Edge(c, d), new Edge(d, e), new Edge(a, b)));
+		layout.setRankAssignment(new NetworkSimplexSolver());
+
+		layout.visit(graph);
+
+		assertEquals(0, getRank(a));
+		assertEquals(1, getRank(b));
+		assertEquals(0, getRank(c));
+		assertEquals(1, getRank(d));
+		assertEquals(2, getRank(e));
+	}
+
+	@Test
+	public void test_defaultRankAssignmentIsRestored() {
+		int count = layout.getStages().size();
+		layout.setRankAssignment(new NetworkSimplexSolver());
+		assertEquals(count - 2, layout.getStages().size());
+		layout.setRankAssignment(null);
+		assertEquals(count, layout.getStages().size());
+		assertNull(layout.getRankAssignment());
+
+		layout.visit(g);
+
+		assertEquals(getRank(n1), 1);
+		assertEquals(getRank(n2), 2);
+		assertEquals(getRank(n3), 0);
+	}
+
+	/**
+	 * Creates an acyclic graph of 300 nodes, whose edges have different weights and
+	 * minimum lengths.
+	 */
+	private static DirectedGraph createDag(List<Edge> edges) {
+		DirectedGraph graph = new DirectedGraph();
+		Random random = new Random(0);
+		for (int i = 0; i < 300; i++) {
+			Node node = new Node("n" + i);
+			graph.nodes.add(node);
+			for (int j = 0; j < 2 && i > 0; j++) {
+				Edge e = new Edge(graph.nodes.get(Math.max(0, i - 1 - random.nextInt(20))), node);
+				e.weight = 1 + random.nextInt(3);
+				e.setDelta(1 + random.nextInt(2));
+				graph.edges.add(e);
+				edges.add(e);
+			}
+		}
+		return graph;
+	}
+
+	/**
+	 * Creates a graph of the given number of layers, whose edges only connect
+	 * adjacent layers, so that the layers become the ranks.
+	 */
+	private static DirectedGraph createLayeredGraph(int layers, int width) {
+		DirectedGraph graph = new DirectedGraph();
+		Random random = new Random(0);
+		for (int layer = 0; layer < layers; layer++) {
+			for (int i = 0; i < width; i++) {
+				Node node = new Node(layer + "." + i);
+				graph.nodes.add(node);
+				for (int j = 0; j < 2 && layer > 0; j++) {
+					Node source = graph.nodes.get((layer - 1) * width + (j == 0 ? i : random.nextInt(width)));
+					graph.edges.add(new Edge(source, node));
+				}
+			}
+		}
+		return graph;
+	}
+
+	/**
+	 * Counts the crossings of the edges of a graph created by
+	 * {@link #createLayeredGraph(int, int)}.
+	 */
+	private static long countCrossings(DirectedGraph graph) {
+		long crossings = 0;
+		for (Edge e1 : graph.edges) {
+			for (Edge e2 : graph.edges) {
+				if (e1.source.y == e2.source.y && e1.source.x < e2.source.x && e1.target.x > e2.target.x) {
+					crossings++;
+				}
+			}
+		}
+		return crossings;
+	}
+
+	/**
+	 * Lays out the given graph and returns how often the crossing minimization
+	 * checked for cancellation, which it does before each sweep. The first check
+	 * is delayed by the given number of milliseconds.
+	 */
+	private static int getCrossingMinimizationChecks(DirectedGraph graph, DirectedGraphLayout layout, long delay) {
+		int[] checks = new int[1];
+		boolean[] minCross = new boolean[1];
+		layout.visit(graph, new LayoutMonitor() {
+			@Override
+			public void stageStarted(GraphVisitor stage, int index, int count) {
+				minCross[0] = "MinCross".equals(stage.getClass().getSimpleName());
+			}
+
+			@Override
+			public void stageVisited(GraphVisitor stage, long nanos, long memory) {
+				minCross[0] = false;
+			}
+
+			@Override
+			public boolean isCanceled() {
+				if (minCross[0] && checks[0]++ == 0 && delay > 0) {
+					try {
+						Thread.sleep(delay);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				return false;
+			}
+		});
+		return checks[0];
+	}
+
+	private static List<Point> layoutSubgraphs(DirectedGraphLayout layout, ForkJoinPool pool) {
+		CompoundDirectedGraph graph = createSubgraphs(layout instanceof CompoundDirectedGraphLayout);
+		layout.setForkJoinPool(pool);
+		layout.visit(graph);
+		List<Point> locations = new ArrayList<>();
+		for (Node node : graph.nodes) {
+			locations.add(new Point(node.x, node.y));
+		}
+		return locations;
+	}
+
+	/**
+	 * Creates 20 unconnected clusters of 10 nodes each, which are contained in a
+	 * subgraph if requested.
+	 */
+	private static CompoundDirectedGraph createSubgraphs(boolean compound) {
+		CompoundDirectedGraph graph = new CompoundDirectedGraph();
+		Random random = new Random(0);
+		for (int s = 0; s < 20; s++) {
+			Subgraph subgraph = null;
+			if (compound) {
+				subgraph = new Subgraph("s" + s);
+				graph.nodes.add(subgraph);
+			}
+			List<Node> cluster = new ArrayList<>();
+			for (int i = 0; i < 10; i++) {
+				Node node = new Node("n" + s + "_" + i, subgraph);
+				graph.nodes.add(node);
+				cluster.add(node);
+				if (i > 0) {
+					graph.edges.add(new Edge(cluster.get(random.nextInt(i)), node));
+					graph.edges.add(new Edge(cluster.get(random.nextInt(i)), node));
+				}
+			}
+		}
+		return graph;
+	}
+
 	private static final int getRank(Node n) {
 		try {
 			Field f = Node.class.getDeclaredField("rank");
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.draw2d.DamageCoalescer;
+import org.eclipse.draw2d.DisjointDamageCoalescer;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+import org.junit.jupiter.api.Test;
+
+public class DamageCoalescerTest {
+
+	@Test
+	public void testUnion() {
+		List<Rectangle> result = DamageCoalescer.UNION
+				.coalesce(List.of(new Rectangle(0, 0, 10, 10), new Rectangle(3000, 2000, 10, 10)));
+		assertEquals(List.of(new Rectangle(0, 0, 3010, 2010)), result);
+	}
+
+	@Test
+	public void testDistantRegionsAreKeptApart() {
+		DamageCoalescer coalescer = new DisjointDamageCoalescer();
+		List<Rectangle> result = coalescer
+				.coalesce(List.of(new Rectangle(0, 0, 10, 10), new Rectangle(3000, 2000, 10, 10)));
+		assertEquals(List.of(new Rectangle(0, 0, 10, 10), new Rectangle(3000, 2000, 10, 10)), result);
+	}
+
+	@Test
+	public void testOverlappingRegionsAreMerged() {
+		DamageCoalescer coalescer = new DisjointDamageCoalescer(8, 0);
+		List<Rectangle> result = coalescer
+				.coalesce(List.of(new Rectangle(0, 0, 100, 100), new Rectangle(50, 50, 200, 200)));
+		assertEquals(List.of(new Rectangle(0, 0, 250, 250)), result);
+	}
+
+	@Test
+	public void testCloseRegionsAreMerged() {
+		DamageCoalescer coalescer = new DisjointDamageCoalescer(8, 100);
+		List<Rectangle> result = coalescer
+				.coalesce(List.of(new Rectangle(0, 0, 100, 10), new Rectangle(0, 11, 100, 10)));
+		assertEquals(List.of(new Rectangle(0, 0, 100, 21)), result);
+	}
+
+	@Test
+	public void testEmptyRegionsAreIgnored() {
+		DamageCoalescer coalescer = new DisjointDamageCoalescer();
+		List<Rectangle> result = coalescer
+				.coalesce(List.of(new Rectangle(0, 0, 0, 0), new Rectangle(3000, 2000, 10, 10)));
+		assertEquals(List.of(new Rectangle(3000, 2000, 10, 10)), result);
+	}
+
+	@Test
+	public void testRegionsAreDisjointAndBounded() {
+		Random random = new Random(0);
+		List<Rectangle> regions = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			regions.add(new Rectangle(random.nextInt(4000), random.nextInt(2000), 1 + random.nextInt(200),
+					1 + random.nextInt(200)));
+		}
+		List<Rectangle> result = new DisjointDamageCoalescer(5, 0).coalesce(regions);
+		assertTrue(result.size() <= 5);
+		for (int i = 0; i < result.size(); i++) {
+			for (int j = i + 1; j < result.size(); j++) {
+				assertFalse(result.get(i).intersects(result.get(j)));
+			}
+		}
+		for (Rectangle region : regions) {
+			assertTrue(result.stream().anyMatch(r -> r.contains(region)));
+		}
+	}
+
+	@Test
+	public void testManySmallRegions() {
+		Random random = new Random(0);
+		List<Rectangle> regions = new ArrayList<>();
+		for (int i = 0; i < 20000; i++) {
+			regions.add(new Rectangle(random.nextInt(3840), random.nextInt(2160), 1 + random.nextInt(20),
+					1 + random.nextInt(20)));
+		}
+		DisjointDamageCoalescer coalescer = new DisjointDamageCoalescer();
+		List<Rectangle> result = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> coalescer.coalesce(regions));
+		assertTrue(result.size() <= coalescer.getMaxRegions());
+		for (int i = 0; i < result.size(); i++) {
+			for (int j = i + 1; j < result.size(); j++) {
+				assertFalse(result.get(i).intersects(result.get(j)));
+			}
+		}
+		for (Rectangle region : regions) {
+			assertTrue(result.stream().anyMatch(r -> r.contains(region)));
+		}
+	}
+
+	@Test
+	public void testRegionsAreNotModified() {
+		Rectangle region1 = new Rectangle(0, 0, 100, 100);
+		Rectangle region2 = new Rectangle(50, 50, 100, 100);
+		new DisjointDamageCoalescer().coalesce(List.of(region1, region2));
+		DamageCoalescer.UNION.coalesce(List.of(region1, region2));
+		assertEquals(new Rectangle(0, 0, 100, 100), region1);
+		assertEquals(new Rectangle(50, 50, 100, 100), region2);
+	}
+}
@@ -0,0 +1,300 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.draw2d.DeferredUpdateManager;
+import org.eclipse.draw2d.DisjointDamageCoalescer;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.Graphics;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.UpdateListener;
+import org.eclipse.draw2d.UpdateManager;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DeferredUpdateManagerTest {
+
+	private DeferredUpdateManager manager;
+	private Figure root;
+	private final List<String> log = new ArrayList<>();
+	private final List<int[]> validations = new ArrayList<>();
+	private final List<Rectangle> repairedRegions = new ArrayList<>();
+	private int repairTime;
+	private int requests;
+
+	@BeforeEach
+	public void setUp() {
+		manager = new DeferredUpdateManager() {
+			@Override
+			protected void sendUpdateRequest() {
+				// updates are performed by the test
+				requests++;
+			}
+
+			@Override
+			protected Graphics getGraphics(Rectangle region) {
+				// nothing is painted, but each region takes the given time to repair
+				repairedRegions.add(new Rectangle(region));
+				sleep(repairTime);
+				return null;
+			}
+		};
+		manager.addUpdateListener(new UpdateListener.Stub() {
+			@Override
+			public void notifyValidated(int validated, int pruned, long duration) {
+				assertTrue(duration >= 0);
+				validations.add(new int[] { validated, pruned });
+			}
+
+			@Override
+			public void notifyPainting(Rectangle damage, Map<IFigure, Rectangle> dirtyRegions) {
+				log.add("paint"); //$NON-NLS-1$
+			}
+		});
+		root = new ValidationRoot("root") { //$NON-NLS-1$
+			@Override
+			public UpdateManager getUpdateManager() {
+				return manager;
+			}
+		};
+		manager.setRoot(root);
+	}
+
+	@Test
+	public void testFigureIsQueuedOnce() {
+		IFigure child = new ValidationRoot("child"); //$NON-NLS-1$
+		root.add(child);
+		manager.performValidation();
+		log.clear();
+		validations.clear();
+
+		for (int i = 0; i < 1000; i++) {
+			child.revalidate();
+		}
+		manager.performValidation();
+		assertEquals(List.of("validate child"), log); //$NON-NLS-1$
+		assertEquals(1, validations.size());
+		assertEquals(1, validations.get(0)[0]);
+		assertEquals(0, validations.get(0)[1]);
+	}
+
+	@Test
+	public void testFigureBelowQueuedAncestorIsPruned() {
+		IFigure child = new ValidationRoot("child"); //$NON-NLS-1$
+		IFigure grandChild = new ValidationRoot("grandChild"); //$NON-NLS-1$
+		root.add(child);
+		child.add(grandChild);
+		manager.performValidation();
+		log.clear();
+		validations.clear();
+
+		child.revalidate();
+		grandChild.revalidate();
+		manager.performValidation();
+		assertEquals(List.of("validate child", "validate grandChild"), log); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(1, validations.get(0)[0]);
+		assertEquals(1, validations.get(0)[1]);
+	}
+
+	@Test
+	public void testPrunedFigureIsValidatedIfAncestorDoesNotValidateIt() {
+		IFigure child = new ValidationRoot("child") { //$NON-NLS-1$
+			@Override
+			public void validate() {
+				log.add("validate child"); //$NON-NLS-1$
+				setValid(true);
+			}
+		};
+		IFigure grandChild = new ValidationRoot("grandChild"); //$NON-NLS-1$
+		root.add(child);
+		child.add(grandChild);
+		manager.performValidation();
+		grandChild.validate();
+		log.clear();
+		validations.clear();
+
+		child.revalidate();
+		grandChild.revalidate();
+		manager.performValidation();
+		assertEquals(List.of("validate child", "validate grandChild"), log); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(2, validations.get(0)[0]);
+		assertEquals(0, validations.get(0)[1]);
+	}
+
+	@Test
+	public void testManyFiguresAreValidated() {
+		List<IFigure> children = new ArrayList<>();
+		for (int i = 0; i < 20000; i++) {
+			IFigure child = new ValidationRoot("child"); //$NON-NLS-1$
+			root.add(child);
+			children.add(child);
+		}
+		manager.performValidation();
+		log.clear();
+		validations.clear();
+
+		children.forEach(IFigure::revalidate);
+		children.forEach(IFigure::revalidate);
+		manager.performValidation();
+		assertEquals(children.size(), log.size());
+		assertEquals(children.size(), validations.get(0)[0]);
+	}
+
+	@Test
+	public void testFrameBudgetDefersPaintingUntilValidated() {
+		root.setBounds(new Rectangle(0, 0, 100, 100));
+		for (int i = 0; i < 3; i++) {
+			root.add(new ValidationRoot("child" + i) { //$NON-NLS-1$
+				@Override
+				public void validate() {
+					if (!isValid()) {
+						sleep(10);
+					}
+					super.validate();
+				}
+			});
+		}
+		manager.performValidation();
+		manager.setFrameBudget(1);
+		log.clear();
+
+		root.getChildren().forEach(IFigure::revalidate);
+		root.repaint();
+		manager.runWithUpdate(() -> log.add("after update")); //$NON-NLS-1$
+		requests = 0;
+		manager.performUpdate();
+		assertEquals(List.of("validate child0"), log); //$NON-NLS-1$
+		assertEquals(1, requests);
+		manager.performUpdate();
+		assertEquals(List.of("validate child0", "validate child1"), log); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(2, requests);
+		manager.performUpdate();
+		assertEquals(List.of("validate child0", "validate child1", "validate child2", "paint", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+				"after update"), log); //$NON-NLS-1$
+		assertEquals(2, requests);
+	}
+
+	@Test
+	public void testFrameBudgetDefersRemainingDamage() {
+		root.setBounds(new Rectangle(0, 0, 1000, 1000));
+		IFigure first = new Figure();
+		first.setBounds(new Rectangle(0, 0, 10, 10));
+		IFigure second = new Figure();
+		second.setBounds(new Rectangle(900, 900, 10, 10));
+		root.add(first);
+		root.add(second);
+		manager.performUpdate();
+		manager.setDamageCoalescer(new DisjointDamageCoalescer());
+		// Repairing a single region exceeds the budget
+		manager.setFrameBudget(1);
+		repairTime = 5;
+		repairedRegions.clear();
+		log.clear();
+
+		first.repaint();
+		second.repaint();
+		manager.runWithUpdate(() -> log.add("after update")); //$NON-NLS-1$
+		requests = 0;
+		manager.performUpdate();
+		assertEquals(1, repairedRegions.size());
+		assertEquals(List.of("paint"), log); //$NON-NLS-1$
+		// The other region is queued again
+		assertEquals(1, requests);
+
+		manager.performUpdate();
+		assertEquals(2, repairedRegions.size());
+		assertEquals(Set.of(new Rectangle(0, 0, 10, 10), new Rectangle(900, 900, 10, 10)),
+				Set.copyOf(repairedRegions));
+		assertEquals(List.of("paint", "paint", "after update"), log); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(1, requests);
+	}
+
+	@Test
+	public void testDirtyRegionsArePassedToListeners() {
+		root.setBounds(new Rectangle(0, 0, 100, 100));
+		IFigure container = new Figure() {
+			@Override
+			protected boolean useLocalCoordinates() {
+				return true;
+			}
+		};
+		container.setBounds(new Rectangle(50, 50, 100, 100));
+		IFigure child = new Figure();
+		child.setBounds(new Rectangle(10, 10, 80, 80));
+		container.add(child);
+		root.add(container);
+		manager.performUpdate();
+
+		List<Rectangle> damaged = new ArrayList<>();
+		List<Rectangle> painted = new ArrayList<>();
+		manager.addUpdateListener(new UpdateListener.Stub() {
+			@Override
+			public void notifyDamaged(Map<IFigure, Rectangle> dirtyRegions) {
+				damaged.add(new Rectangle(dirtyRegions.get(child)));
+			}
+
+			@Override
+			public void notifyPainting(Rectangle damage, Map<IFigure, Rectangle> dirtyRegions) {
+				painted.add(new Rectangle(dirtyRegions.get(child)));
+			}
+		});
+		child.repaint();
+		manager.performUpdate();
+
+		// The listeners are notified about the damage in the coordinates of the
+		// figure, and about the painted area in the coordinates of the root
+		assertEquals(List.of(new Rectangle(10, 10, 80, 80)), damaged);
+		assertEquals(List.of(new Rectangle(60, 60, 40, 40)), painted);
+	}
+
+	private static void sleep(int millis) {
+		if (millis > 0) {
+			try {
+				Thread.sleep(millis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private class ValidationRoot extends Figure {
+		private final String name;
+
+		ValidationRoot(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public boolean isValidationRoot() {
+			return true;
+		}
+
+		@Override
+		public void validate() {
+			if (!isValid()) {
+				log.add("validate " + name); //$NON-NLS-1$
+			}
+			super.validate();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -59,7 +59,14 @@ import org.junit.platform.suite.api.Suite;
 	ShapeTest.class,
 	InsetsTest.class,
 	DirectedGraphLayoutTest.class,
-	ScrollPaneTests.class
+	ScrollPaneTests.class,
+	SpatialChildIndexTest.class,
+	ViewportCullingTest.class,
+	DamageCoalescerTest.class,
+	DeferredUpdateManagerTest.class,
+	TextExtentCacheTest.class,
+	TextFlowReflowTest.class,
+	FlowPageVirtualizationTest.class
 })
 public class Draw2dTestSuite {
 }
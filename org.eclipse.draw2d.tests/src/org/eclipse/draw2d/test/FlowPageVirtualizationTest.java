@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.RangeModel;
+import org.eclipse.draw2d.Viewport;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.draw2d.test.utils.TestTextFlow;
+import org.eclipse.draw2d.text.BlockFlow;
+import org.eclipse.draw2d.text.FlowPage;
+import org.eclipse.draw2d.text.ParagraphTextLayout;
+import org.eclipse.draw2d.text.TextFlow;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FlowPageVirtualizationTest {
+
+	private static final int BLOCKS = 2000;
+
+	private final List<String> texts = new ArrayList<>();
+	private final List<TextFlow> flows = new ArrayList<>();
+	private FlowPage page;
+	private Viewport viewport;
+
+	@BeforeEach
+	public void setUp() {
+		for (int i = 0; i < BLOCKS; i++) {
+			texts.add(createText(i));
+		}
+		page = createPage(texts, flows);
+		page.setVirtualized(true);
+		page.setVirtualizationMargin(100);
+		page.setRetainedBlockLimit(20);
+		viewport = new Viewport(true);
+		viewport.setContentsTracksWidth(true);
+		viewport.setContents(page);
+		viewport.setBounds(new Rectangle(0, 0, 300, 400));
+	}
+
+	/**
+	 * Returns a paragraph of 10 to 70 words.
+	 */
+	private static String createText(int index) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 10 + index * 7 % 61; i++) {
+			text.append("word").append(i % 13).append(' '); //$NON-NLS-1$
+		}
+		return text.toString();
+	}
+
+	private static FlowPage createPage(List<String> texts, List<TextFlow> flows) {
+		FlowPage page = new FlowPage();
+		for (String text : texts) {
+			BlockFlow block = new BlockFlow();
+			TextFlow flow = new TestTextFlow(text, ParagraphTextLayout.WORD_WRAP_SOFT);
+			flows.add(flow);
+			block.add(flow);
+			page.add(block);
+		}
+		return page;
+	}
+
+	private int countLaidOutFlows() {
+		return (int) flows.stream().filter(flow -> !flow.getFragments().isEmpty()).count();
+	}
+
+	private FlowPage createFullyLaidOutPage() {
+		FlowPage fullPage = createPage(texts, new ArrayList<>());
+		fullPage.setBounds(new Rectangle(0, 0, 300, 0));
+		fullPage.getPreferredSize(300, -1);
+		fullPage.validate();
+		return fullPage;
+	}
+
+	private void scrollTo(int y) {
+		viewport.setVerticalLocation(y);
+		viewport.validate();
+	}
+
+	@Test
+	public void testOnlyVisibleBlocksAreLaidOut() {
+		int measurements = TestTextFlow.getMeasurements();
+		viewport.validate();
+		assertTrue(countLaidOutFlows() < 20, countLaidOutFlows() + " text flows were laid out"); //$NON-NLS-1$
+		assertTrue(TestTextFlow.getMeasurements() - measurements < 1000);
+
+		// the height of the other blocks is estimated
+		int height = createFullyLaidOutPage().getPreferredSize(300, -1).height;
+		assertTrue(Math.abs(page.getBounds().height - height) < height / 4,
+				page.getBounds().height + " is not close to " + height); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testScrolledBlocksAreLaidOut() {
+		viewport.validate();
+		RangeModel model = viewport.getVerticalRangeModel();
+		scrollTo(model.getMaximum() / 2);
+
+		Rectangle visible = viewport.getClientArea();
+		int laidOut = 0;
+		for (IFigure block : page.getChildren()) {
+			if (block.getBounds().intersects(visible)) {
+				TextFlow flow = (TextFlow) block.getChildren().get(0);
+				assertTrue(!flow.getFragments().isEmpty());
+				laidOut++;
+			}
+		}
+		assertTrue(laidOut > 0);
+	}
+
+	@Test
+	public void testScrollingKeepsMemoryBounded() {
+		viewport.validate();
+		FlowPage fullPage = createFullyLaidOutPage();
+		RangeModel model = viewport.getVerticalRangeModel();
+		while (model.getValue() < model.getMaximum() - model.getExtent()) {
+			scrollTo(model.getValue() + 300);
+			assertTrue(countLaidOutFlows() < 60, countLaidOutFlows() + " text flows were laid out"); //$NON-NLS-1$
+		}
+
+		// all blocks have been laid out once, so their heights are exact
+		for (int i = 0; i < BLOCKS; i++) {
+			assertEquals(fullPage.getChildren().get(i).getBounds(), page.getChildren().get(i).getBounds());
+		}
+	}
+
+	@Test
+	public void testEditedBlockIsLaidOutWhenScrolledIntoView() {
+		viewport.validate();
+		TextFlow last = flows.get(BLOCKS - 1);
+		last.setText("edited"); //$NON-NLS-1$
+		texts.set(BLOCKS - 1, "edited"); //$NON-NLS-1$
+		viewport.validate();
+		assertTrue(last.getFragments().isEmpty());
+
+		RangeModel model = viewport.getVerticalRangeModel();
+		scrollTo(model.getMaximum());
+		assertEquals(1, last.getFragments().size());
+		assertEquals(6, last.getFragments().get(0).length);
+	}
+
+	@Test
+	public void testPageIsFullyLaidOutWhenNotVirtualized() {
+		viewport.validate();
+		page.setVirtualized(false);
+		viewport.validate();
+		assertEquals(BLOCKS, countLaidOutFlows());
+		assertEquals(createFullyLaidOutPage().getPreferredSize(300, -1).height, page.getBounds().height);
+		assertNotEquals(0, page.getBounds().height);
+	}
+
+	@Test
+	public void testPageWithoutViewportIsFullyLaidOut() {
+		FlowPage fullPage = createPage(texts, flows);
+		fullPage.setVirtualized(true);
+		fullPage.getPreferredSize(300, -1);
+		assertEquals(BLOCKS, flows.stream().skip(BLOCKS).filter(flow -> !flow.getFragments().isEmpty()).count());
+		assertThrows(IllegalArgumentException.class, () -> fullPage.setRetainedBlockLimit(-1));
+	}
+}
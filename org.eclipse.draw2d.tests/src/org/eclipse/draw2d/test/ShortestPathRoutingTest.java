@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -12,9 +12,12 @@
  *******************************************************************************/
 package org.eclipse.draw2d.test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.PointList;
 import org.eclipse.draw2d.geometry.Rectangle;
@@ -512,6 +515,42 @@ public class ShortestPathRoutingTest {
 		doAssertNoPathsSolved();
 	}
 
+	@Test
+	public void testDeltasMoveObstacleSameAsFullSolve() {
+		Rectangle[] nodes = new Rectangle[16];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = new Rectangle(i % 4 * 120, i / 4 * 120, 50, 50);
+			routing.addObstacle(nodes[i].getCopy());
+		}
+		Path[] paths = new Path[nodes.length];
+		for (int i = 0; i < paths.length; i++) {
+			paths[i] = new Path(nodes[i].getCenter(), nodes[(i * 7 + 5) % nodes.length].getCenter());
+			routing.addPath(paths[i]);
+		}
+		routing.solve();
+
+		Rectangle moved = nodes[5].getTranslated(37, 21);
+		routing.updateObstacle(nodes[5].getCopy(), moved.getCopy());
+		nodes[5] = moved;
+		routing.solve();
+
+		ShortestPathRouter full = new ShortestPathRouter();
+		for (Rectangle node : nodes) {
+			full.addObstacle(node.getCopy());
+		}
+		Path[] fullPaths = new Path[paths.length];
+		for (int i = 0; i < paths.length; i++) {
+			fullPaths[i] = new Path(paths[i].getStartPoint(), paths[i].getEndPoint());
+			full.addPath(fullPaths[i]);
+		}
+		full.solve();
+
+		for (int i = 0; i < paths.length; i++) {
+			assertArrayEquals(fullPaths[i].getPoints().toIntArray(), paths[i].getPoints().toIntArray(),
+					"Incremental solve should route the same as a full solve"); //$NON-NLS-1$
+		}
+	}
+
 	@Test
 	public void testDeltasRemoveObstacleIntersection() {
 		doSetUp(deltaRect, deltaAStart, deltaAEnd, deltaBStart, deltaBEnd);
@@ -541,6 +580,26 @@ public class ShortestPathRoutingTest {
 		doAssertNoPathsSolved();
 	}
 
+	@Test
+	public void testManyObstacles() {
+		for (int i = 0; i < 10000; i++) {
+			routing.addObstacle(new Rectangle(i % 100 * 120, i / 100 * 120, 50, 50));
+		}
+		Path[] paths = new Path[20];
+		for (int i = 0; i < paths.length; i++) {
+			paths[i] = new Path(new Point(i * 600 + 25, i * 500 + 25), new Point(i * 300 + 2425, i * 600 + 1825));
+			routing.addPath(paths[i]);
+		}
+		routing.solve();
+
+		for (Path path : paths) {
+			PointList points = path.getPoints();
+			assertTrue(points.size() > 2, "Path should have been routed around the obstacles"); //$NON-NLS-1$
+			assertEquals(path.getStartPoint(), points.getFirstPoint());
+			assertEquals(path.getEndPoint(), points.getLastPoint());
+		}
+	}
+
 	@Test
 	public void testOffsetShrink() {
 		routing.addObstacle(offsetRectLeft.getCopy());
@@ -551,6 +610,44 @@ public class ShortestPathRoutingTest {
 		doTestOffsetShrink();
 	}
 
+	@Test
+	public void testParallelSearchSameAsSerial() {
+		ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			ShortestPathRouter parallel = new ShortestPathRouter();
+			parallel.setForkJoinPool(pool);
+			Rectangle[] nodes = new Rectangle[16];
+			for (int i = 0; i < nodes.length; i++) {
+				nodes[i] = new Rectangle(i % 4 * 120, i / 4 * 120, 50, 50);
+				routing.addObstacle(nodes[i].getCopy());
+				parallel.addObstacle(nodes[i].getCopy());
+			}
+			Path[] paths = new Path[nodes.length];
+			Path[] parallelPaths = new Path[nodes.length];
+			for (int i = 0; i < paths.length; i++) {
+				Point start = nodes[i].getCenter();
+				Point end = nodes[(i * 7 + 5) % nodes.length].getCenter();
+				paths[i] = new Path(start, end);
+				parallelPaths[i] = new Path(start, end);
+				if (i % 4 == 0) {
+					paths[i].setBendPoints(new PointList(new int[] { start.x + 60, start.y + 60 }));
+					parallelPaths[i].setBendPoints(new PointList(new int[] { start.x + 60, start.y + 60 }));
+				}
+				routing.addPath(paths[i]);
+				parallel.addPath(parallelPaths[i]);
+			}
+			routing.solve();
+			parallel.solve();
+
+			for (int i = 0; i < paths.length; i++) {
+				assertArrayEquals(paths[i].getPoints().toIntArray(), parallelPaths[i].getPoints().toIntArray(),
+						"Parallel search should route the same as a serial search"); //$NON-NLS-1$
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
 	@Test
 	public void testQuadBendHit() {
 		routing.addObstacle(quadBendBottom.getCopy());
@@ -589,6 +686,18 @@ public class ShortestPathRoutingTest {
 		doAssertNumPoints(pathA, 4);
 	}
 
+	@Test
+	public void testShortestPathOutsideOvalWithVisibilityRadius() {
+		routing.setVisibilityRadius(60);
+		routing.addObstacle(ovalRect1.getCopy());
+		routing.addObstacle(ovalRect2.getCopy());
+		routing.addObstacle(ovalRect3.getCopy());
+		routing.addObstacle(ovalRect4.getCopy());
+		doSetUp(ovalRect5, ovalAStart, ovalAEnd);
+
+		doAssertNumPoints(pathA, 4);
+	}
+
 	@Test
 	public void testSideIntersectionBottom() {
 		doSetUp(sideBottom, sideAStart, sideAEnd, sideBStart, sideBEnd);
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.Graphics;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.MouseListener;
+import org.eclipse.draw2d.SWTGraphics;
+import org.eclipse.draw2d.SpatialChildIndex;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SpatialChildIndexTest {
+
+	private Figure container;
+	private SpatialChildIndex index;
+
+	@BeforeEach
+	public void setUp() {
+		container = new Figure();
+		container.setBounds(new Rectangle(0, 0, 2000, 2000));
+		index = new SpatialChildIndex(100);
+		container.setSpatialChildIndex(index);
+	}
+
+	private Figure addChild(int x, int y, int width, int height) {
+		Figure child = new Figure();
+		child.setBounds(new Rectangle(x, y, width, height));
+		container.add(child);
+		return child;
+	}
+
+	@Test
+	public void testFindFigureAtRespectsZOrder() {
+		Figure bottom = addChild(10, 10, 100, 100);
+		Figure top = addChild(50, 50, 100, 100);
+		addChild(1000, 1000, 50, 50);
+
+		assertSame(top, container.findFigureAt(60, 60));
+		assertSame(bottom, container.findFigureAt(20, 20));
+		assertSame(container, container.findFigureAt(500, 500));
+
+		container.remove(top);
+		container.add(top, 0);
+		assertSame(bottom, container.findFigureAt(60, 60));
+	}
+
+	@Test
+	public void testFindFigureAtAfterMove() {
+		Figure child = addChild(10, 10, 20, 20);
+		child.addMouseListener(new MouseListener.Stub());
+		child.setBounds(new Rectangle(800, 800, 20, 20));
+
+		assertSame(container, container.findFigureAt(15, 15));
+		assertSame(child, container.findFigureAt(805, 805));
+		assertSame(child, container.findMouseEventTargetAt(805, 805));
+	}
+
+	@Test
+	public void testFindChildrenIntersecting() {
+		Figure a = addChild(0, 0, 50, 50);
+		Figure b = addChild(150, 150, 50, 50);
+		Figure c = addChild(0, 0, 1500, 1500);
+
+		List<IFigure> result = index.findChildrenIntersecting(new Rectangle(140, 140, 20, 20));
+		assertEquals(List.of(b, c), result);
+
+		result = index.findChildrenIntersecting(new Rectangle(0, 0, 2000, 2000));
+		assertEquals(List.of(a, b, c), result);
+	}
+
+	@Test
+	public void testRemoveIndex() {
+		Figure child = addChild(10, 10, 20, 20);
+		container.setSpatialChildIndex(null);
+		child.setBounds(new Rectangle(100, 100, 20, 20));
+
+		assertSame(child, container.findFigureAt(105, 105));
+		assertNull(container.getSpatialChildIndex());
+		assertEquals(List.of(), index.findChildrenAt(105, 105));
+	}
+
+	@Test
+	public void testPaintOnlyDamagedChildren() {
+		List<IFigure> painted = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			Figure child = new Figure() {
+				@Override
+				public void paint(Graphics graphics) {
+					painted.add(this);
+				}
+			};
+			child.setBounds(new Rectangle(i * 150, 0, 100, 100));
+			container.add(child);
+		}
+
+		Image image = new Image(null, 2000, 2000);
+		GC gc = new GC(image);
+		SWTGraphics graphics = new SWTGraphics(gc);
+		try {
+			graphics.setClip(new Rectangle(160, 10, 20, 20));
+			container.paint(graphics);
+		} finally {
+			graphics.dispose();
+			gc.dispose();
+			image.dispose();
+		}
+
+		assertEquals(List.of(container.getChildren().get(1)), painted);
+	}
+}
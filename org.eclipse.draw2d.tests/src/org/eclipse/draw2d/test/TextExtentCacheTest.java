@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.swt.graphics.Font;
+
+import org.eclipse.draw2d.TextExtentCache;
+import org.eclipse.draw2d.geometry.Dimension;
+
+import org.junit.jupiter.api.Test;
+
+public class TextExtentCacheTest {
+
+	/**
+	 * Measures strings without a display. Each character is as wide as its code
+	 * modulo 7 plus 3, and each line is 12 pixels high. If <i>kerning</i> is set,
+	 * the pair "AV" is 2 pixels narrower.
+	 */
+	private static class TestCache extends TextExtentCache {
+		private final boolean kerning;
+		private final List<String> measured = new ArrayList<>();
+
+		TestCache(int capacity, boolean kerning) {
+			super(capacity);
+			this.kerning = kerning;
+		}
+
+		@Override
+		protected Dimension measure(String string, Font font, boolean text) {
+			measured.add(string);
+			return getExpectedExtent(string, text, kerning);
+		}
+	}
+
+	private static Dimension getExpectedExtent(String string, boolean text, boolean kerning) {
+		int width = 0;
+		for (char c : string.toCharArray()) {
+			width += c % 7 + 3;
+		}
+		if (kerning) {
+			for (int i = string.indexOf("AV"); i != -1; i = string.indexOf("AV", i + 1)) { //$NON-NLS-1$ //$NON-NLS-2$
+				width -= 2;
+			}
+		}
+		int lines = text ? string.split("\n", -1).length : 1; //$NON-NLS-1$
+		return new Dimension(width, 12 * lines);
+	}
+
+	/**
+	 * Measures enough distinct strings for the cache to measure the character
+	 * widths of the font.
+	 */
+	private static void warmUp(TextExtentCache cache) {
+		for (int i = 0; i < 32; i++) {
+			cache.getStringExtent("warm up " + i, null); //$NON-NLS-1$
+		}
+	}
+
+	@Test
+	public void testExtentsAreCached() {
+		TestCache cache = new TestCache(100, false);
+		Dimension extent = cache.getStringExtent("label", null); //$NON-NLS-1$
+		extent.width = 0;
+		assertEquals(getExpectedExtent("label", false, false), cache.getStringExtent("label", null)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(List.of("label"), cache.measured); //$NON-NLS-1$
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void testTextsAndStringsAreCachedSeparately() {
+		TestCache cache = new TestCache(100, false);
+		assertEquals(getExpectedExtent("a\nb", false, false), cache.getStringExtent("a\nb", null)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(getExpectedExtent("a\nb", true, false), cache.getTextExtent("a\nb", null)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(2, cache.getMissCount());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedExtentIsEvicted() {
+		TestCache cache = new TestCache(2, false);
+		cache.getStringExtent("a", null); //$NON-NLS-1$
+		cache.getStringExtent("b", null); //$NON-NLS-1$
+		cache.getStringExtent("a", null); //$NON-NLS-1$
+		cache.getStringExtent("c", null); //$NON-NLS-1$
+		cache.getStringExtent("a", null); //$NON-NLS-1$
+		cache.getStringExtent("b", null); //$NON-NLS-1$
+		assertEquals(List.of("a", "b", "c", "b"), cache.measured); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertEquals(2, cache.size());
+
+		cache.setCapacity(1);
+		assertEquals(1, cache.size());
+		cache.getStringExtent("b", null); //$NON-NLS-1$
+		assertEquals(4, cache.measured.size());
+	}
+
+	@Test
+	public void testZeroCapacityMeasuresEveryString() {
+		TestCache cache = new TestCache(0, false);
+		warmUp(cache);
+		cache.getStringExtent("label", null); //$NON-NLS-1$
+		cache.getStringExtent("label", null); //$NON-NLS-1$
+		assertEquals(34, cache.getMissCount());
+		assertEquals(0, cache.getHitCount());
+		assertEquals(0, cache.size());
+		assertThrows(IllegalArgumentException.class, () -> cache.setCapacity(-1));
+	}
+
+	@Test
+	public void testAsciiStringsAreMeasuredByCharacterWidths() {
+		TestCache cache = new TestCache(100, false);
+		warmUp(cache);
+		cache.measured.clear();
+		long hits = cache.getHitCount();
+
+		String label = "The quick brown fox ~ 42 AV"; //$NON-NLS-1$
+		assertEquals(getExpectedExtent(label, false, false), cache.getStringExtent(label, null));
+		assertEquals(getExpectedExtent(label, true, false), cache.getTextExtent(label, null));
+		assertEquals(List.of(), cache.measured);
+		assertEquals(hits + 2, cache.getHitCount());
+
+		// strings with other characters are still measured natively
+		assertEquals(getExpectedExtent("café", false, false), cache.getStringExtent("café", null)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(getExpectedExtent("a\tb", true, false), cache.getTextExtent("a\tb", null)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(List.of("café", "a\tb"), cache.measured); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testKernedFontIsNotMeasuredByCharacterWidths() {
+		TestCache cache = new TestCache(100, true);
+		warmUp(cache);
+		cache.measured.clear();
+
+		String label = "NAVY"; //$NON-NLS-1$
+		assertEquals(getExpectedExtent(label, false, true), cache.getStringExtent(label, null));
+		assertEquals(List.of(label), cache.measured);
+	}
+
+	@Test
+	public void testClearResetsCounts() {
+		TestCache cache = new TestCache(100, false);
+		warmUp(cache);
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getHitCount());
+		assertEquals(0, cache.getMissCount());
+		cache.getStringExtent("label", null); //$NON-NLS-1$
+		assertEquals(1, cache.getMissCount());
+	}
+}
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.draw2d.test.utils.TestTextFlow;
+import org.eclipse.draw2d.text.BlockFlow;
+import org.eclipse.draw2d.text.FlowPage;
+import org.eclipse.draw2d.text.InlineFlow;
+import org.eclipse.draw2d.text.ParagraphTextLayout;
+import org.eclipse.draw2d.text.TextFlow;
+import org.eclipse.draw2d.text.TextFragmentBox;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies that text flows which are laid out again after an edit end up with
+ * the same fragments as text flows which are laid out for the first time.
+ */
+public class TextFlowReflowTest {
+
+	private static final String[] WORDS = { "a", "word", "AVAV", "Wm", "longerword", "x-y", "supercalifragilistic", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+			"\n", "  ", "mmmmmmmmmmmmmmmmmmmmmmmmmmmmmm", "\r\n", "(x)", "1.5", "a\tb" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+
+	private static String createText(Random random, int words) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < words; i++) {
+			text.append(WORDS[random.nextInt(WORDS.length)]);
+			if (random.nextInt(4) > 0) {
+				text.append(' ');
+			}
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Creates a page with a block for each list of texts. Every third text flow of
+	 * a block is nested in an inline flow.
+	 */
+	private static FlowPage createPage(List<List<String>> blocks, int style, List<TextFlow> flows) {
+		FlowPage page = new FlowPage();
+		for (List<String> texts : blocks) {
+			BlockFlow block = new BlockFlow();
+			page.add(block);
+			for (int i = 0; i < texts.size(); i++) {
+				TextFlow flow = new TestTextFlow(texts.get(i), style);
+				flows.add(flow);
+				if (i % 3 == 2) {
+					InlineFlow inline = new InlineFlow();
+					inline.add(flow);
+					block.add(inline);
+				} else {
+					block.add(flow);
+				}
+			}
+		}
+		return page;
+	}
+
+	private static String describe(List<TextFlow> flows) {
+		StringBuilder description = new StringBuilder();
+		for (TextFlow flow : flows) {
+			for (TextFragmentBox fragment : flow.getFragments()) {
+				description.append(fragment.offset).append(',').append(fragment.length).append(',')
+						.append(fragment.getWidth()).append(',').append(fragment.isTruncated()).append(',')
+						.append(fragment.getX()).append(',').append(fragment.getBaseline()).append(';');
+			}
+			description.append(flow.getBounds()).append('\n');
+		}
+		return description.toString();
+	}
+
+	private static void assertReflowEqualsLayout(int style) {
+		Random random = new Random(style);
+		for (int run = 0; run < 50; run++) {
+			List<List<String>> blocks = new ArrayList<>();
+			for (int i = random.nextInt(3); i >= 0; i--) {
+				List<String> texts = new ArrayList<>();
+				for (int j = random.nextInt(4); j >= 0; j--) {
+					texts.add(createText(random, random.nextInt(60)));
+				}
+				blocks.add(texts);
+			}
+			int width = 40 + random.nextInt(300);
+			List<TextFlow> flows = new ArrayList<>();
+			FlowPage page = createPage(blocks, style, flows);
+			page.getPreferredSize(width, -1);
+
+			for (int edit = 0; edit < 10; edit++) {
+				int index = random.nextInt(flows.size());
+				String text = flows.get(index).getText();
+				int offset = random.nextInt(text.length() + 1);
+				String newText = switch (random.nextInt(3)) {
+				case 0 -> text.substring(0, offset) + text.substring(Math.min(text.length(), offset + 3));
+				case 1 -> text.substring(0, offset) + (char) ('a' + random.nextInt(26)) + text.substring(offset);
+				default -> text.substring(0, offset) + createText(random, 2) + text.substring(offset);
+				};
+				flows.get(index).setText(newText);
+				for (List<String> texts : blocks) {
+					if (index < texts.size()) {
+						texts.set(index, newText);
+						break;
+					}
+					index -= texts.size();
+				}
+				if (random.nextInt(4) == 0) {
+					width = 40 + random.nextInt(300);
+				}
+				page.getPreferredSize(width, -1);
+
+				List<TextFlow> expected = new ArrayList<>();
+				createPage(blocks, style, expected).getPreferredSize(width, -1);
+				assertEquals(describe(expected), describe(flows));
+			}
+		}
+	}
+
+	@Test
+	public void testReflowWithSoftWrap() {
+		assertReflowEqualsLayout(ParagraphTextLayout.WORD_WRAP_SOFT);
+	}
+
+	@Test
+	public void testReflowWithHardWrap() {
+		assertReflowEqualsLayout(ParagraphTextLayout.WORD_WRAP_HARD);
+	}
+
+	@Test
+	public void testReflowWithTruncation() {
+		assertReflowEqualsLayout(ParagraphTextLayout.WORD_WRAP_TRUNCATE);
+	}
+
+	@Test
+	public void testUnchangedLinesAreNotMeasuredAgain() {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 500; i++) {
+			text.append("word ").append(i).append(' '); //$NON-NLS-1$
+		}
+		TextFlow flow = new TestTextFlow(text.toString(), ParagraphTextLayout.WORD_WRAP_SOFT);
+		FlowPage page = new FlowPage();
+		BlockFlow block = new BlockFlow();
+		block.add(flow);
+		page.add(block);
+		page.getPreferredSize(200, -1);
+
+		int measurements = TestTextFlow.getMeasurements();
+		page.getPreferredSize(200, -1);
+		int unchanged = TestTextFlow.getMeasurements() - measurements;
+
+		int offset = text.length() / 2;
+		flow.setText(text.insert(offset, 'x').toString());
+		measurements = TestTextFlow.getMeasurements();
+		page.getPreferredSize(200, -1);
+		int edited = TestTextFlow.getMeasurements() - measurements;
+
+		List<TextFlow> expected = new ArrayList<>();
+		measurements = TestTextFlow.getMeasurements();
+		createPage(List.of(List.of(text.toString())), ParagraphTextLayout.WORD_WRAP_SOFT, expected)
+				.getPreferredSize(200, -1);
+		int fresh = TestTextFlow.getMeasurements() - measurements;
+		assertEquals(describe(expected), describe(List.of(flow)));
+		assertTrue(unchanged <= 1, "unchanged text was measured " + unchanged + " times"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(edited * 10 < fresh,
+				"edited text was measured " + edited + " times, instead of " + fresh + " times"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
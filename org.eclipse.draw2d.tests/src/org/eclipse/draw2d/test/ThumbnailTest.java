@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2010 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -12,12 +12,17 @@
  *******************************************************************************/
 package org.eclipse.draw2d.test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Map;
+
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.widgets.Display;
 
 import org.eclipse.draw2d.Ellipse;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.Graphics;
 import org.eclipse.draw2d.IFigure;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.draw2d.parts.Thumbnail;
@@ -33,6 +38,18 @@ public class ThumbnailTest {
 		}
 	}
 
+	/**
+	 * Counts how often it is painted, which is once per updated tile.
+	 */
+	class CountingFigure extends Figure {
+		int paintCount;
+
+		@Override
+		protected void paintFigure(Graphics graphics) {
+			paintCount++;
+		}
+	}
+
 	@Test
 	public void testThumbnail() {
 		TestThumbnail thumb = new TestThumbnail();
@@ -63,4 +80,69 @@ public class ThumbnailTest {
 		assertTrue(img == null);
 	}
 
+	@Test
+	public void testOnlyDirtyTilesAreUpdated() {
+		Display display = Display.getDefault();
+		CountingFigure source = new CountingFigure();
+		source.setBounds(new Rectangle(0, 0, 2000, 1000));
+		IFigure container = new Figure();
+		container.setBounds(new Rectangle(1000, 500, 1000, 500));
+		IFigure child = new Figure();
+		child.setBounds(new Rectangle(1500, 800, 40, 40));
+		container.add(child);
+		source.add(container);
+		TestThumbnail thumb = new TestThumbnail();
+		thumb.setSource(source);
+		// 7 x 4 tiles of 58 x 50 pixels, scaled by 0.2
+		thumb.setBounds(new Rectangle(0, 0, 400, 200));
+		thumb.setTilesPerRefresh(100);
+		thumb.getThumbnailImage();
+		runUpdates(display);
+		assertEquals(28, source.paintCount);
+
+		// The child is shown by tile (5, 3) only
+		source.paintCount = 0;
+		thumb.notifyDamaged(Map.of(child, new Rectangle(1500, 800, 40, 40)));
+		thumb.notifyPainting(null, Map.of(child, new Rectangle(1500, 800, 40, 40)));
+		thumb.getThumbnailImage();
+		runUpdates(display);
+		assertEquals(1, source.paintCount);
+
+		// The container is shown by 4 x 3 tiles, including a margin of one pixel
+		source.paintCount = 0;
+		thumb.setTilesPerRefresh(5);
+		thumb.notifyDamaged(Map.of(source, new Rectangle(1000, 500, 1000, 500)));
+		thumb.notifyPainting(null, Map.of(source, new Rectangle(1000, 500, 1000, 500)));
+		thumb.getThumbnailImage();
+		while (source.paintCount == 0 && display.readAndDispatch()) {
+			// wait for the first refresh
+		}
+		assertEquals(5, source.paintCount);
+		runUpdates(display);
+		assertEquals(12, source.paintCount);
+
+		// Without the dirty regions, the whole thumbnail is updated
+		source.paintCount = 0;
+		thumb.notifyPainting(null, Map.of(child, new Rectangle(1500, 800, 40, 40)));
+		thumb.getThumbnailImage();
+		runUpdates(display);
+		assertEquals(28, source.paintCount);
+	}
+
+	@Test
+	public void testTilesPerRefresh() {
+		TestThumbnail thumb = new TestThumbnail();
+		assertEquals(1, thumb.getTilesPerRefresh());
+		thumb.setTilesPerRefresh(4);
+		assertEquals(4, thumb.getTilesPerRefresh());
+		thumb.setTilesPerRefresh(0);
+		assertEquals(1, thumb.getTilesPerRefresh());
+	}
+
+	private static void runUpdates(Display display) {
+		while (display.readAndDispatch()) {
+			// process all pending refreshes
+		}
+	}
+
 }
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.draw2d.BendpointConnectionRouter;
+import org.eclipse.draw2d.ChopboxAnchor;
+import org.eclipse.draw2d.Connection;
+import org.eclipse.draw2d.ConnectionLayer;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.PolylineConnection;
+import org.eclipse.draw2d.Viewport;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ViewportCullingTest {
+
+	private final List<Connection> routed = new ArrayList<>();
+	private Viewport viewport;
+	private ConnectionLayer layer;
+	private PolylineConnection near;
+	private PolylineConnection far;
+
+	@BeforeEach
+	public void setUp() {
+		viewport = new Viewport(true);
+		viewport.setBounds(new Rectangle(0, 0, 100, 100));
+		layer = new ConnectionLayer();
+		layer.setPreferredSize(new Dimension(1000, 1000));
+		viewport.setContents(layer);
+		layer.setConnectionRouter(new BendpointConnectionRouter() {
+			@Override
+			public void route(Connection connection) {
+				routed.add(connection);
+				super.route(connection);
+			}
+		});
+		near = connect(new Rectangle(10, 10, 10, 10), new Rectangle(50, 50, 10, 10));
+		far = connect(new Rectangle(800, 800, 10, 10), new Rectangle(900, 900, 10, 10));
+	}
+
+	private PolylineConnection connect(Rectangle source, Rectangle target) {
+		IFigure sourceFigure = new Figure();
+		sourceFigure.setBounds(source);
+		layer.add(sourceFigure);
+		IFigure targetFigure = new Figure();
+		targetFigure.setBounds(target);
+		layer.add(targetFigure);
+		PolylineConnection connection = new PolylineConnection();
+		connection.setSourceAnchor(new ChopboxAnchor(sourceFigure));
+		connection.setTargetAnchor(new ChopboxAnchor(targetFigure));
+		layer.add(connection);
+		return connection;
+	}
+
+	@Test
+	public void testAllConnectionsRoutedWithoutCulling() {
+		viewport.validate();
+		assertTrue(routed.contains(near));
+		assertTrue(routed.contains(far));
+	}
+
+	@Test
+	public void testInvisibleConnectionRoutedWhenScrolledIntoView() {
+		layer.setViewportCulling(true);
+		assertTrue(layer.isViewportCulling());
+		near.revalidate();
+		far.revalidate();
+		viewport.validate();
+		assertTrue(routed.contains(near));
+		assertFalse(routed.contains(far));
+		// the deferred connection is placed on a straight line between its anchors
+		assertEquals(2, far.getPoints().size());
+		assertEquals(new Point(810, 810), far.getStart());
+
+		routed.clear();
+		viewport.setViewLocation(700, 700);
+		viewport.validate();
+		assertTrue(routed.contains(far));
+		assertFalse(routed.contains(near));
+	}
+
+	@Test
+	public void testDeferredConnectionRoutedWhenCullingDisabled() {
+		layer.setViewportCulling(true);
+		far.revalidate();
+		viewport.validate();
+		assertFalse(routed.contains(far));
+
+		layer.setViewportCulling(false);
+		viewport.validate();
+		assertTrue(routed.contains(far));
+	}
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test.utils;
+
+import org.eclipse.swt.graphics.Font;
+
+import org.eclipse.draw2d.TextUtilities;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.text.FlowUtilities;
+import org.eclipse.draw2d.text.ParagraphTextLayout;
+import org.eclipse.draw2d.text.TextFlow;
+import org.eclipse.draw2d.text.TextFragmentBox;
+
+/**
+ * A text flow which measures its text without a display. Spaces are 3 pixels
+ * wide, "W" and "m" are 9 pixels wide and all other characters are 5 to 7
+ * pixels wide. The pair "AV" is 2 pixels narrower. Each line is 12 pixels high.
+ */
+public class TestTextFlow extends TextFlow {
+
+	private static int measurements;
+
+	private static final TextUtilities TEXT_UTILITIES = new TextUtilities() {
+		@Override
+		public Dimension getTextExtents(String s, Font f) {
+			measurements++;
+			int width = 0;
+			for (char c : s.toCharArray()) {
+				width += c == ' ' ? 3 : (c == 'W' || c == 'm') ? 9 : 5 + c % 3;
+			}
+			for (int i = s.indexOf("AV"); i != -1; i = s.indexOf("AV", i + 1)) { //$NON-NLS-1$ //$NON-NLS-2$
+				width -= 2;
+			}
+			return new Dimension(width, 12);
+		}
+
+		@Override
+		public Dimension getStringExtents(String s, Font f) {
+			return getTextExtents(s, f);
+		}
+
+		@Override
+		public int getAscent(Font font) {
+			return 10;
+		}
+
+		@Override
+		public int getDescent(Font font) {
+			return 2;
+		}
+	};
+
+	private static final FlowUtilities FLOW_UTILITIES = new FlowUtilities() {
+		@Override
+		protected TextUtilities getTextUtilities() {
+			return TEXT_UTILITIES;
+		}
+
+		@Override
+		protected float getAverageCharWidth(TextFragmentBox fragment, Font font) {
+			if (fragment.getWidth() > 0 && fragment.length != 0) {
+				return fragment.getWidth() / (float) fragment.length;
+			}
+			return 5.5f;
+		}
+	};
+
+	public TestTextFlow(String text, int style) {
+		super(text);
+		setLayoutManager(new ParagraphTextLayout(this, style));
+	}
+
+	/**
+	 * Returns the number of strings measured by all test text flows.
+	 */
+	public static int getMeasurements() {
+		return measurements;
+	}
+
+	@Override
+	protected FlowUtilities getFlowUtilities() {
+		return FLOW_UTILITIES;
+	}
+
+	@Override
+	protected TextUtilities getTextUtilities() {
+		return TEXT_UTILITIES;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -29,6 +29,8 @@ public class ConnectionLayer extends FreeformLayer {
 	 */
 	protected ConnectionRouter connectionRouter;
 
+	private ViewportCullingRoutingListener cullingListener;
+
 	/**
 	 * Adds the given figure with the given contraint at the given index. If the
 	 * figure is a {@link Connection}, its {@link ConnectionRouter} is set.
@@ -47,6 +49,9 @@ public class ConnectionLayer extends FreeformLayer {
 		if (figure instanceof Connection conn && getConnectionRouter() != null) {
 			conn.setConnectionRouter(getConnectionRouter());
 		}
+		if (cullingListener != null && figure instanceof PolylineConnection conn) {
+			cullingListener.install(conn);
+		}
 	}
 
 	/**
@@ -81,6 +86,9 @@ public class ConnectionLayer extends FreeformLayer {
 		if (figure instanceof Connection conn) {
 			conn.setConnectionRouter(null);
 		}
+		if (cullingListener != null && figure instanceof PolylineConnection conn) {
+			cullingListener.uninstall(conn);
+		}
 		super.remove(figure);
 	}
 
@@ -100,6 +108,47 @@ public class ConnectionLayer extends FreeformLayer {
 		});
 	}
 
+	/**
+	 * Sets whether the routing of connections far outside of the visible area of
+	 * the enclosing {@link Viewport} is deferred until they are scrolled into
+	 * view. Such connections are placed on a straight line between their anchors
+	 * instead, which isn't painted. Only {@link PolylineConnection}s are affected.
+	 * Viewport culling is disabled by default.
+	 *
+	 * @param culling <code>true</code> to defer the routing of invisible
+	 *                connections
+	 * @see ViewportCullingRoutingListener
+	 * @since 3.20
+	 */
+	public void setViewportCulling(boolean culling) {
+		if (culling == (cullingListener != null)) {
+			return;
+		}
+		ViewportCullingRoutingListener listener = culling ? new ViewportCullingRoutingListener(this)
+				: cullingListener;
+		for (IFigure child : getChildren()) {
+			if (child instanceof PolylineConnection conn) {
+				if (culling) {
+					listener.install(conn);
+				} else {
+					listener.uninstall(conn);
+				}
+			}
+		}
+		cullingListener = culling ? listener : null;
+	}
+
+	/**
+	 * Returns whether the routing of connections far outside of the visible area
+	 * is deferred.
+	 *
+	 * @return <code>true</code> if viewport culling is enabled
+	 * @since 3.20
+	 */
+	public boolean isViewportCulling() {
+		return cullingListener != null;
+	}
+
 	/**
 	 * Sets whether antialiasing should be enabled for the connection layer. If this
 	 * value is set to something other than {@link SWT#DEFAULT},
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * Combines the damaged regions of an update into the regions which are
+ * repainted by the {@link DeferredUpdateManager}. Each returned region is
+ * repainted in a separate pass, which is clipped to that region.
+ *
+ * @see DeferredUpdateManager#setDamageCoalescer(DamageCoalescer)
+ * @since 3.20
+ */
+public interface DamageCoalescer {
+
+	/**
+	 * Repaints the bounding rectangle of all damaged regions in a single pass. This
+	 * is the default.
+	 */
+	DamageCoalescer UNION = regions -> {
+		if (regions.isEmpty()) {
+			return Collections.emptyList();
+		}
+		Rectangle damage = new Rectangle(regions.get(0));
+		for (int i = 1; i < regions.size(); i++) {
+			damage.union(regions.get(i));
+		}
+		return Collections.singletonList(damage);
+	};
+
+	/**
+	 * Returns the regions to repaint for the given damaged regions. The returned
+	 * regions have to cover all damaged regions. The given rectangles must not be
+	 * modified.
+	 *
+	 * @param regions the damaged regions, in the coordinates of the root figure
+	 * @return the regions to repaint
+	 */
+	List<Rectangle> coalesce(List<Rectangle> regions);
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -13,9 +13,12 @@
 package org.eclipse.draw2d;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
@@ -48,10 +51,13 @@ public class DeferredUpdateManager extends UpdateManager {
 	}
 
 	private Rectangle damage;
+	private DamageCoalescer damageCoalescer = DamageCoalescer.UNION;
 	private Map<IFigure, Rectangle> dirtyRegions = new HashMap<>();
 
 	private GraphicsSource graphicsSource;
 	private final List<IFigure> invalidFigures = new ArrayList<>();
+	private final List<IFigure> prunedFigures = new ArrayList<>();
+	private final Set<IFigure> queuedFigures = Collections.newSetFromMap(new IdentityHashMap<>());
 	private IFigure root;
 	private boolean updateQueued;
 
@@ -59,6 +65,8 @@ public class DeferredUpdateManager extends UpdateManager {
 	private boolean validating;
 	private RunnableChain afterUpdate;
 	private int refreshRate = -1;
+	private int frameBudget;
+	private long repairDeadline;
 
 	private static class RunnableChain {
 		RunnableChain next;
@@ -122,17 +130,48 @@ public class DeferredUpdateManager extends UpdateManager {
 
 	/**
 	 * Adds the given figure to the update queue. Invalid figures will be validated
-	 * before the damaged regions are repainted.
+	 * before the damaged regions are repainted. If an ancestor of the figure is
+	 * queued as well and all figures in between are invalid, the figure is
+	 * validated by that ancestor. It is then only validated after all other queued
+	 * figures, if it is still invalid.
 	 *
 	 * @param f the invalid figure
 	 */
 	@Override
 	public synchronized void addInvalidFigure(IFigure f) {
-		if (invalidFigures.contains(f)) {
+		if (!queuedFigures.add(f)) {
 			return;
 		}
-		queueWork();
-		invalidFigures.add(f);
+		if (hasQueuedAncestor(f)) {
+			prunedFigures.add(f);
+		} else {
+			queueWork();
+			invalidFigures.add(f);
+		}
+	}
+
+	/**
+	 * Returns the strategy which combines the dirty regions into the regions which
+	 * are repainted.
+	 *
+	 * @return the damage coalescer
+	 * @see #setDamageCoalescer(DamageCoalescer)
+	 * @since 3.20
+	 */
+	public DamageCoalescer getDamageCoalescer() {
+		return damageCoalescer;
+	}
+
+	/**
+	 * Returns the maximum duration of a single update.
+	 *
+	 * @return the frame budget in milliseconds, or {@code 0} if updates are not
+	 *         limited
+	 * @see #setFrameBudget(int)
+	 * @since 3.20
+	 */
+	public int getFrameBudget() {
+		return frameBudget;
 	}
 
 	/**
@@ -148,6 +187,23 @@ public class DeferredUpdateManager extends UpdateManager {
 		return graphicsSource.getGraphics(region);
 	}
 
+	/**
+	 * Returns whether an ancestor of the given figure is queued for validation and
+	 * all figures in between are invalid, so that validating the ancestor usually
+	 * validates the figure as well. Only instances of {@link Figure} are known to
+	 * be invalid.
+	 */
+	private boolean hasQueuedAncestor(IFigure figure) {
+		IFigure walker = figure.getParent();
+		while (walker instanceof Figure parent && !parent.isValid()) {
+			if (queuedFigures.contains(walker)) {
+				return true;
+			}
+			walker = walker.getParent();
+		}
+		return false;
+	}
+
 	/**
 	 * @since 3.10
 	 */
@@ -180,7 +236,8 @@ public class DeferredUpdateManager extends UpdateManager {
 
 	/**
 	 * Performs the update. Validates the invalid figures and then repaints the
-	 * dirty regions.
+	 * dirty regions. If a {@link #setFrameBudget(int) frame budget} is set and
+	 * exceeded, the remaining work is performed by another update request.
 	 *
 	 * @see #validateFigures()
 	 * @see #repairDamage()
@@ -192,9 +249,24 @@ public class DeferredUpdateManager extends UpdateManager {
 		}
 		updating = true;
 		try {
-			performValidation();
+			long deadline = frameBudget > 0 ? System.nanoTime() + frameBudget * 1_000_000L : 0;
+			boolean validated = performValidation(deadline);
 			updateQueued = false;
-			repairDamage();
+			if (!validated) {
+				// Never paint while figures are invalid
+				queueWork();
+				return;
+			}
+			repairDeadline = deadline;
+			try {
+				repairDamage();
+			} finally {
+				repairDeadline = 0;
+			}
+			if (!dirtyRegions.isEmpty()) {
+				// The remaining regions are repainted by the next update
+				return;
+			}
 			if (afterUpdate != null) {
 				RunnableChain chain = afterUpdate;
 				afterUpdate = null;
@@ -209,26 +281,73 @@ public class DeferredUpdateManager extends UpdateManager {
 	}
 
 	/**
+	 * Validates the invalid figures and calls
+	 * {@link UpdateManager#fireValidated(int, int, long)} with the number of
+	 * validated figures and the duration of the validation.
+	 *
 	 * @see UpdateManager#performValidation()
 	 */
 	@Override
 	public synchronized void performValidation() {
-		if (invalidFigures.isEmpty() || validating) {
-			return;
+		performValidation(0);
+	}
+
+	/**
+	 * Validates the invalid figures until the given deadline has passed.
+	 *
+	 * @param deadline the deadline as given by {@link System#nanoTime()}, or
+	 *                 {@code 0} if there is none
+	 * @return whether all invalid figures have been validated
+	 */
+	private boolean performValidation(long deadline) {
+		if ((invalidFigures.isEmpty() && prunedFigures.isEmpty()) || validating) {
+			return true;
 		}
+		long start = System.nanoTime();
+		int validated = 0;
+		int pruned = 0;
+		int i = 0;
+		int j = 0;
+		boolean finished = true;
 		try {
 			IFigure fig;
 			validating = true;
 			fireValidating();
-			for (int i = 0; i < invalidFigures.size(); i++) {
-				fig = invalidFigures.get(i);
-				invalidFigures.set(i, null);
+			// Validating a figure may queue further figures
+			while (i < invalidFigures.size() || j < prunedFigures.size()) {
+				if (deadline != 0 && validated > 0 && System.nanoTime() - deadline >= 0) {
+					finished = false;
+					break;
+				}
+				if (i < invalidFigures.size()) {
+					fig = invalidFigures.get(i);
+					invalidFigures.set(i++, null);
+				} else {
+					fig = prunedFigures.get(j);
+					prunedFigures.set(j++, null);
+					if (fig instanceof Figure figure && figure.isValid()) {
+						queuedFigures.remove(fig);
+						pruned++;
+						continue;
+					}
+				}
+				queuedFigures.remove(fig);
 				fig.validate();
+				validated++;
 			}
 		} finally {
-			invalidFigures.clear();
+			if (finished) {
+				invalidFigures.clear();
+				prunedFigures.clear();
+				queuedFigures.clear();
+			} else {
+				invalidFigures.subList(0, i).clear();
+				prunedFigures.subList(0, j).clear();
+			}
 			validating = false;
 		}
+		fireValidated(validated, pruned, System.nanoTime() - start);
+		return finished;
 	}
 
 	/**
@@ -272,7 +391,8 @@ public class DeferredUpdateManager extends UpdateManager {
 	}
 
 	/**
-	 * Releases the graphics object, which causes the GraphicsSource to flush.
+	 * Releases the graphics object, which causes the GraphicsSource to flush the
+	 * region which has been painted.
 	 *
 	 * @param graphics the graphics object
 	 */
@@ -284,9 +404,18 @@ public class DeferredUpdateManager extends UpdateManager {
 	/**
 	 * Repaints the dirty regions on the update queue and calls
 	 * {@link UpdateManager#firePainting(Rectangle, Map)}, unless there are no dirty
-	 * regions.
+	 * regions. Before, {@link UpdateManager#fireDamaged(Map)} is called with the
+	 * dirty regions in the coordinates of their figures. The dirty regions are
+	 * combined into the regions to repaint by the {@link #getDamageCoalescer()
+	 * damage coalescer}, each of which is repainted in a separate pass. If the
+	 * {@link #setFrameBudget(int) frame budget} is exceeded, the remaining regions
+	 * are added to the dirty regions again.
 	 */
 	protected void repairDamage() {
+		if (!dirtyRegions.isEmpty()) {
+			fireDamaged(Collections.unmodifiableMap(dirtyRegions));
+		}
+		List<Rectangle> contributions = new ArrayList<>(dirtyRegions.size());
 		dirtyRegions.forEach((figure, contribution) -> {
 			IFigure walker = figure.getParent();
 			// A figure can't paint beyond its own bounds
@@ -296,6 +425,7 @@ public class DeferredUpdateManager extends UpdateManager {
 				contribution.intersect(walker.getBounds());
 				walker = walker.getParent();
 			}
+			contributions.add(contribution);
 			if (damage == null) {
 				damage = new Rectangle(contribution);
 			} else {
@@ -303,14 +433,28 @@ public class DeferredUpdateManager extends UpdateManager {
 			}
 		});
 
+		// The regions are coalesced before the listeners can modify them
+		List<Rectangle> regions = damage != null && !damage.isEmpty() ? damageCoalescer.coalesce(contributions)
+				: Collections.emptyList();
+
 		if (!dirtyRegions.isEmpty()) {
 			Map<IFigure, Rectangle> oldRegions = dirtyRegions;
 			dirtyRegions = new HashMap<>();
 			firePainting(damage, oldRegions);
 		}
 
-		if (damage != null && !damage.isEmpty()) {
-			Graphics graphics = getGraphics(damage);
+		for (int i = 0; i < regions.size(); i++) {
+			Rectangle region = regions.get(i);
+			if (region.isEmpty()) {
+				continue;
+			}
+			if (repairDeadline != 0 && i > 0 && System.nanoTime() - repairDeadline >= 0) {
+				regions.subList(i, regions.size()).forEach(remaining -> addDirtyRegion(root, remaining));
+				break;
+			}
+			// The region is passed to releaseGraphics(Graphics) via the field
+			damage = region;
+			Graphics graphics = getGraphics(region);
 			if (graphics != null) {
 				root.paint(graphics);
 				releaseGraphics(graphics);
@@ -333,6 +477,41 @@ public class DeferredUpdateManager extends UpdateManager {
 		}
 	}
 
+	/**
+	 * Sets the strategy which combines the dirty regions into the regions which are
+	 * repainted. By default, the bounding rectangle of all dirty regions is
+	 * repainted in a single pass, see {@link DamageCoalescer#UNION}. A
+	 * {@link DisjointDamageCoalescer} repaints several disjoint regions instead,
+	 * which repaints fewer pixels if distant figures change at the same time.
+	 *
+	 * @param coalescer the damage coalescer, or {@code null} to restore the default
+	 * @since 3.20
+	 */
+	public synchronized void setDamageCoalescer(DamageCoalescer coalescer) {
+		damageCoalescer = coalescer == null ? DamageCoalescer.UNION : coalescer;
+	}
+
+	/**
+	 * Limits the duration of a single update to the given number of milliseconds.
+	 * If the budget is exceeded, the remaining invalid figures are validated and the
+	 * remaining dirty regions are repainted by another update request, which is
+	 * sent via {@link #sendUpdateRequest()}. This gives the display the chance to
+	 * process input events in between. Each figure on the update queue is still
+	 * validated at once, so a single figure may exceed the budget.
+	 * <p>
+	 * Nothing is repainted until all invalid figures have been validated, so
+	 * partially validated figures are never painted. Runnables passed to
+	 * {@link #runWithUpdate(Runnable)} are run once the update is complete.
+	 *
+	 * @param millis the frame budget in milliseconds, or {@code 0} to perform each
+	 *               update at once (default behavior)
+	 * @see #setRefreshRate(int)
+	 * @since 3.20
+	 */
+	public synchronized void setFrameBudget(int millis) {
+		frameBudget = Math.max(0, millis);
+	}
+
 	/**
 	 * Sets the graphics source.
 	 *
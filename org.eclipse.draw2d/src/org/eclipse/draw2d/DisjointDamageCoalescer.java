@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * A {@link DamageCoalescer} which repaints a bounded number of disjoint
+ * rectangles, rather than the bounding rectangle of all damaged regions. Two
+ * small changes in opposite corners of a large canvas are therefore repainted
+ * in two small passes, instead of repainting the whole canvas.
+ * <p>
+ * Overlapping rectangles are always merged. Other rectangles are merged if the
+ * area their union adds to them is at most the <i>pass cost</i>, which is the
+ * overhead of a separate paint pass expressed as an area in pixels. If there are
+ * more rectangles than allowed after adding a region, the region is merged with
+ * the rectangle adding the least area to it. The cost of coalescing is therefore
+ * linear in the number of regions.
+ *
+ * @since 3.20
+ */
+public class DisjointDamageCoalescer implements DamageCoalescer {
+
+	/**
+	 * The default maximum number of rectangles.
+	 */
+	public static final int DEFAULT_MAX_REGIONS = 8;
+
+	/**
+	 * The default cost of a separate paint pass, in pixels.
+	 */
+	public static final int DEFAULT_PASS_COST = 64 * 64;
+
+	private final int maxRegions;
+	private final int passCost;
+
+	/**
+	 * Creates a new coalescer using the {@link #DEFAULT_MAX_REGIONS} and the
+	 * {@link #DEFAULT_PASS_COST}.
+	 */
+	public DisjointDamageCoalescer() {
+		this(DEFAULT_MAX_REGIONS, DEFAULT_PASS_COST);
+	}
+
+	/**
+	 * Creates a new coalescer.
+	 *
+	 * @param maxRegions the maximum number of rectangles to repaint, at least 1
+	 * @param passCost   the cost of a separate paint pass, in pixels
+	 */
+	public DisjointDamageCoalescer(int maxRegions, int passCost) {
+		if (maxRegions < 1) {
+			throw new IllegalArgumentException("The maximum number of regions must be positive: " + maxRegions); //$NON-NLS-1$
+		}
+		this.maxRegions = maxRegions;
+		this.passCost = passCost;
+	}
+
+	/**
+	 * @return the maximum number of rectangles to repaint
+	 */
+	public int getMaxRegions() {
+		return maxRegions;
+	}
+
+	/**
+	 * @return the cost of a separate paint pass, in pixels
+	 */
+	public int getPassCost() {
+		return passCost;
+	}
+
+	/**
+	 * @see DamageCoalescer#coalesce(List)
+	 */
+	@Override
+	public List<Rectangle> coalesce(List<Rectangle> regions) {
+		List<Rectangle> result = new ArrayList<>(maxRegions + 1);
+		for (Rectangle region : regions) {
+			if (region.isEmpty()) {
+				continue;
+			}
+			Rectangle rect = new Rectangle(region);
+			add(result, rect);
+			// Only the incoming rectangle is merged, so that each region is compared
+			// with at most maxRegions others
+			if (result.size() > maxRegions) {
+				result.remove(result.size() - 1);
+				int best = 0;
+				long bestWaste = Long.MAX_VALUE;
+				for (int i = 0; i < result.size(); i++) {
+					long waste = getWaste(rect, result.get(i));
+					if (waste < bestWaste) {
+						bestWaste = waste;
+						best = i;
+					}
+				}
+				add(result, rect.union(result.remove(best)));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Adds the rectangle to the end of the disjoint rectangles, merging it with all
+	 * rectangles it overlaps or which are cheaper to repaint together with it.
+	 */
+	private void add(List<Rectangle> result, Rectangle rect) {
+		boolean merged;
+		do {
+			merged = false;
+			for (int i = 0; i < result.size(); i++) {
+				Rectangle other = result.get(i);
+				if (rect.intersects(other) || getWaste(rect, other) <= passCost) {
+					rect.union(result.remove(i));
+					merged = true;
+					break;
+				}
+			}
+		} while (merged);
+		result.add(rect);
+	}
+
+	/**
+	 * Returns the area which is repainted in addition to the given rectangles, if
+	 * they are repainted as their bounding rectangle.
+	 */
+	private static long getWaste(Rectangle r1, Rectangle r2) {
+		Rectangle union = r1.getUnion(r2);
+		long waste = area(union) - area(r1) - area(r2);
+		if (r1.intersects(r2)) {
+			waste += area(r1.getIntersection(r2));
+		}
+		return waste;
+	}
+
+	private static long area(Rectangle rect) {
+		return (long) rect.width * rect.height;
+	}
+}
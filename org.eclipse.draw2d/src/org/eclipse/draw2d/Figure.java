@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -131,6 +131,8 @@ public class Figure implements IFigure {
 
 	private AncestorHelper ancestorHelper;
 
+	private SpatialChildIndex spatialIndex;
+
 	/**
 	 * Calls {@link #add(IFigure, Object, int)} with -1 as the index.
 	 *
@@ -171,6 +173,9 @@ public class Figure implements IFigure {
 			children.add(index, figure);
 		}
 		figure.setParent(this);
+		if (spatialIndex != null) {
+			spatialIndex.add(figure, index);
+		}
 
 		if (layoutManager != null) {
 			layoutManager.setConstraint(figure, constraint);
@@ -381,7 +386,7 @@ public class Figure implements IFigure {
 		x = PRIVATE_POINT.x;
 		y = PRIVATE_POINT.y;
 
-		for (IFigure fig : getChildrenRevIterable()) {
+		for (IFigure fig : getChildrenRevIterableAt(x, y)) {
 			if (fig.isVisible()) {
 				fig = fig.findFigureAt(x, y, search);
 				if (fig != null) {
@@ -487,7 +492,7 @@ public class Figure implements IFigure {
 			return null;
 		}
 
-		for (IFigure fig : getChildrenRevIterable()) {
+		for (IFigure fig : getChildrenRevIterableAt(x, y)) {
 			if (fig.isVisible() && fig.isEnabled() && fig.containsPoint(x, y)) {
 				fig = fig.findMouseEventTargetAt(x, y);
 				if (fig != null) {
@@ -644,6 +649,23 @@ public class Figure implements IFigure {
 		return () -> new ReverseFigureChildrenIterator(Figure.this);
 	}
 
+	/**
+	 * Returns the children which may contain the given point, in reverse z-order.
+	 * Without a {@link SpatialChildIndex}, these are simply all children.
+	 *
+	 * @param x the x coordinate, relative to the children
+	 * @param y the y coordinate, relative to the children
+	 * @return the candidate children, top-most first
+	 */
+	private Iterable<IFigure> getChildrenRevIterableAt(int x, int y) {
+		if (spatialIndex == null) {
+			return getChildrenRevIterable();
+		}
+		List<IFigure> candidates = spatialIndex.findChildrenAt(x, y);
+		Collections.reverse(candidates);
+		return candidates;
+	}
+
 	/**
 	 * @see IFigure#getClientArea(Rectangle)
 	 */
@@ -1262,28 +1284,46 @@ public class Figure implements IFigure {
 	 * @since 2.0
 	 */
 	protected void paintChildren(Graphics graphics) {
-		for (IFigure child : children) {
+		for (IFigure child : getChildrenToPaint(graphics)) {
 			if (child.isVisible()) {
-				// determine clipping areas for child
-				Rectangle[] clipping = null;
-				if (clippingStrategy != null) {
-					clipping = clippingStrategy.getClip(child);
-				} else {
+				if (clippingStrategy == null) {
 					// default clipping behaviour is to clip at bounds
-					clipping = new Rectangle[] { child.getBounds() };
-				}
-				// child may now paint inside the clipping areas
-				for (Rectangle element : clipping) {
-					if (element.intersects(graphics.getClip(Rectangle.SINGLETON))) {
-						graphics.clipRect(element);
-						child.paint(graphics);
-						graphics.restoreState();
+					paintChild(child, child.getBounds(), graphics);
+				} else {
+					// child may now paint inside the clipping areas
+					for (Rectangle element : clippingStrategy.getClip(child)) {
+						paintChild(child, element, graphics);
 					}
 				}
 			}
 		}
 	}
 
+	/**
+	 * Paints the given child within the given clipping area, if the area
+	 * intersects the current clip of the graphics.
+	 */
+	private static void paintChild(IFigure child, Rectangle clipping, Graphics graphics) {
+		if (clipping.intersects(graphics.getClip(Rectangle.SINGLETON))) {
+			graphics.clipRect(clipping);
+			child.paint(graphics);
+			graphics.restoreState();
+		}
+	}
+
+	/**
+	 * Returns the children which have to be painted for the current clip of the
+	 * graphics, in z-order. If a {@link SpatialChildIndex} is installed, only
+	 * children whose bounds intersect the clip are returned. Otherwise these are
+	 * simply all children.
+	 */
+	private List<? extends IFigure> getChildrenToPaint(Graphics graphics) {
+		if (spatialIndex == null) {
+			return children;
+		}
+		return spatialIndex.findChildrenIntersecting(graphics.getClip(new Rectangle()));
+	}
+
 	/**
 	 * Paints this Figure's client area. The client area is typically defined as the
 	 * anything inside the Figure's {@link Border} or {@link Insets}, and by default
@@ -1389,6 +1429,9 @@ public class Figure implements IFigure {
 		figure.erase();
 		figure.setParent(null);
 		children.remove(figure);
+		if (spatialIndex != null) {
+			spatialIndex.remove(figure);
+		}
 		revalidate();
 	}
 
@@ -1729,6 +1772,42 @@ public class Figure implements IFigure {
 		this.clippingStrategy = clippingStrategy;
 	}
 
+	/**
+	 * Installs a spatial index over the bounds of this figure's children, which is
+	 * used to find the children at a given location and the children intersecting
+	 * the damaged region when painting, without visiting all of them. This is
+	 * useful for containers with a large number of children, such as a
+	 * {@link FreeformLayer}. Passing <code>null</code> removes the current index.
+	 * <p>
+	 * When painting, children whose bounds don't intersect the clip of the
+	 * graphics are skipped. An {@link IClippingStrategy} used together with the
+	 * index must therefore not extend the clipping area of a child beyond its
+	 * bounds.
+	 *
+	 * @param index the index to install or <code>null</code>
+	 * @since 3.20
+	 */
+	public void setSpatialChildIndex(SpatialChildIndex index) {
+		if (spatialIndex != null) {
+			spatialIndex.uninstall();
+		}
+		spatialIndex = index;
+		if (spatialIndex != null) {
+			spatialIndex.install(this);
+		}
+	}
+
+	/**
+	 * Returns the spatial index over the bounds of this figure's children or
+	 * <code>null</code>, if none has been installed.
+	 *
+	 * @return the spatial index or <code>null</code>
+	 * @since 3.20
+	 */
+	public SpatialChildIndex getSpatialChildIndex() {
+		return spatialIndex;
+	}
+
 	/**
 	 * @see IFigure#setCursor(Cursor)
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -34,6 +34,7 @@ public class FigureUtilities {
 	private static Font appliedFont;
 	private static FontMetrics metrics;
 	private static Color ghostFillColor = new Color(null, 31, 31, 31);
+	private static final TextExtentCache textExtentCache = new TextExtentCache();
 
 	/**
 	 * Returns a new Color the same as the passed color in a darker hue.
@@ -89,8 +90,20 @@ public class FigureUtilities {
 	 * @see GC#textExtent(String)
 	 */
 	protected static org.eclipse.swt.graphics.Point getTextDimension(String s, Font f) {
-		setFont(f);
-		return getGC().textExtent(s);
+		long extent = textExtentCache.getExtent(s, f, true);
+		return new org.eclipse.swt.graphics.Point(TextExtentCache.getWidth(extent),
+				TextExtentCache.getHeight(extent));
+	}
+
+	/**
+	 * Returns the cache of the extents returned by this class. The cache may be
+	 * configured or cleared, e.g. if the measurement of a font changes.
+	 *
+	 * @return the text extent cache
+	 * @since 3.20
+	 */
+	public static TextExtentCache getTextExtentCache() {
+		return textExtentCache;
 	}
 
 	/**
@@ -117,6 +130,23 @@ public class FigureUtilities {
 	 * @see GC#stringExtent(java.lang.String)
 	 */
 	protected static org.eclipse.swt.graphics.Point getStringDimension(String s, Font f) {
+		long extent = textExtentCache.getExtent(s, f, false);
+		return new org.eclipse.swt.graphics.Point(TextExtentCache.getWidth(extent),
+				TextExtentCache.getHeight(extent));
+	}
+
+	/**
+	 * Measures the text natively, bypassing the {@link TextExtentCache}.
+	 */
+	static org.eclipse.swt.graphics.Point measureText(String s, Font f) {
+		setFont(f);
+		return getGC().textExtent(s);
+	}
+
+	/**
+	 * Measures the string natively, bypassing the {@link TextExtentCache}.
+	 */
+	static org.eclipse.swt.graphics.Point measureString(String s, Font f) {
 		setFont(f);
 		return getGC().stringExtent(s);
 	}
@@ -131,7 +161,7 @@ public class FigureUtilities {
 	 * @since 2.0
 	 */
 	public static Dimension getTextExtents(String text, Font f) {
-		return new Dimension(getTextDimension(text, f));
+		return textExtentCache.getTextExtent(text, f);
 	}
 
 	/**
@@ -143,7 +173,7 @@ public class FigureUtilities {
 	 * @since 2.0
 	 */
 	public static Dimension getStringExtents(String s, Font f) {
-		return new Dimension(getStringDimension(s, f));
+		return textExtentCache.getStringExtent(s, f);
 	}
 
 	/**
@@ -156,9 +186,9 @@ public class FigureUtilities {
 	 * @since 2.0
 	 */
 	public static void getTextExtents(String s, Font f, Dimension result) {
-		org.eclipse.swt.graphics.Point pt = getTextDimension(s, f);
-		result.width = pt.x;
-		result.height = pt.y;
+		long extent = textExtentCache.getExtent(s, f, true);
+		result.width = TextExtentCache.getWidth(extent);
+		result.height = TextExtentCache.getHeight(extent);
 	}
 
 	/**
@@ -170,7 +200,7 @@ public class FigureUtilities {
 	 * @since 2.0
 	 */
 	public static int getTextWidth(String s, Font f) {
-		return getTextDimension(s, f).x;
+		return TextExtentCache.getWidth(textExtentCache.getExtent(s, f, true));
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -12,6 +12,8 @@
  *******************************************************************************/
 package org.eclipse.draw2d;
 
+import java.util.List;
+
 import org.eclipse.draw2d.geometry.Point;
 
 /**
@@ -36,7 +38,11 @@ public class Layer extends Figure {
 		translateFromParent(pt);
 		x = pt.x;
 		y = pt.y;
-		for (IFigure child : getChildren()) {
+		List<? extends IFigure> candidates = getChildren();
+		if (getSpatialChildIndex() != null) {
+			candidates = getSpatialChildIndex().findChildrenAt(x, y);
+		}
+		for (IFigure child : candidates) {
 			if (child.containsPoint(x, y)) {
 				return true;
 			}
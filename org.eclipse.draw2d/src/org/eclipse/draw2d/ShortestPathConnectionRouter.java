@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -19,6 +19,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.PointList;
@@ -135,6 +136,19 @@ public final class ShortestPathConnectionRouter extends AbstractRouter {
 		return constraintMap.get(connection);
 	}
 
+	/**
+	 * Returns the pool used to search the shortest paths of the connections in
+	 * parallel.
+	 *
+	 * @return the pool used to search the paths or {@code null}, if the paths are
+	 *         searched by the calling thread
+	 * @see #setForkJoinPool(ForkJoinPool)
+	 * @since 3.20
+	 */
+	public ForkJoinPool getForkJoinPool() {
+		return algorithm.getForkJoinPool();
+	}
+
 	/**
 	 * Returns the default spacing maintained on either side of a connection. The
 	 * default value is 4.
@@ -146,6 +160,17 @@ public final class ShortestPathConnectionRouter extends AbstractRouter {
 		return algorithm.getSpacing();
 	}
 
+	/**
+	 * Returns the visibility radius of the connections.
+	 *
+	 * @return the visibility radius, or 0 if there is no limit
+	 * @see #setVisibilityRadius(int)
+	 * @since 3.20
+	 */
+	public int getVisibilityRadius() {
+		return algorithm.getVisibilityRadius();
+	}
+
 	/**
 	 * @see ConnectionRouter#invalidate(Connection)
 	 */
@@ -320,6 +345,21 @@ public final class ShortestPathConnectionRouter extends AbstractRouter {
 		isDirty = true;
 	}
 
+	/**
+	 * Sets the pool used to search the shortest paths of the connections in
+	 * parallel, before they are separated from each other. This speeds up routing
+	 * many connections at once, for example after a layout. The connections are
+	 * routed the same way as without pool.
+	 *
+	 * @param pool the pool used to search the paths or {@code null}, if the paths
+	 *             should be searched by the calling thread (default)
+	 * @see ShortestPathRouter#setForkJoinPool(ForkJoinPool)
+	 * @since 3.20
+	 */
+	public void setForkJoinPool(ForkJoinPool pool) {
+		algorithm.setForkJoinPool(pool);
+	}
+
 	/**
 	 * Sets the default space that should be maintained on either side of a
 	 * connection. This causes the connections to be separated from each other and
@@ -332,6 +372,20 @@ public final class ShortestPathConnectionRouter extends AbstractRouter {
 		algorithm.setSpacing(spacing);
 	}
 
+	/**
+	 * Sets the visibility radius of the connections. If positive, only children of
+	 * the container within the given distance from the bounds of the start and end
+	 * point of a connection are bent around. This speeds up routing in containers
+	 * with many children, but connections may take longer detours.
+	 *
+	 * @param radius the visibility radius, or 0 if there is no limit (default)
+	 * @see ShortestPathRouter#setVisibilityRadius(int)
+	 * @since 3.20
+	 */
+	public void setVisibilityRadius(int radius) {
+		algorithm.setVisibilityRadius(radius);
+	}
+
 	/**
 	 * @return true if there are connections routed by this router, false otherwise
 	 * @since 3.5
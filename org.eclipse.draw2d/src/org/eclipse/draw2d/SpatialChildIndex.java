@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.draw2d;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.draw2d.internal.SpatialGrid;
+
+/**
+ * A uniform grid over the bounds of the children of a {@link Figure}. Once
+ * installed via {@link Figure#setSpatialChildIndex(SpatialChildIndex)}, the
+ * index is kept up to date by the add and remove calls of its figure and by the
+ * {@link FigureListener} notifications of each child. It is used to find the
+ * children at a given location or within a given area without having to visit
+ * every child of the figure.
+ * <p>
+ * The index assumes that a child never contains a point outside of its bounds.
+ * Children whose bounds are modified without notifying their figure listeners
+ * have to be updated manually via {@link #update(IFigure)}.
+ *
+ * @since 3.20
+ */
+public class SpatialChildIndex {
+
+	/**
+	 * The default width and height of a single grid cell.
+	 */
+	public static final int DEFAULT_CELL_SIZE = 256;
+
+	/**
+	 * Children spanning more cells than this are not stored in the grid, but are
+	 * always returned as candidates.
+	 */
+	private static final int MAX_CELLS_PER_CHILD = 64;
+
+	private final SpatialGrid<IFigure> grid;
+	private final Listener listener = new Listener();
+	private IFigure owner;
+
+	/**
+	 * Creates a new index using the {@link #DEFAULT_CELL_SIZE}.
+	 */
+	public SpatialChildIndex() {
+		this(DEFAULT_CELL_SIZE);
+	}
+
+	/**
+	 * Creates a new index whose grid cells have the given width and height. The
+	 * cell size should be in the same order of magnitude as the size of the
+	 * children.
+	 *
+	 * @param cellSize the width and height of a single grid cell
+	 */
+	public SpatialChildIndex(int cellSize) {
+		if (cellSize <= 0) {
+			throw new IllegalArgumentException("Cell size must be positive"); //$NON-NLS-1$
+		}
+		grid = new SpatialGrid<>(cellSize, MAX_CELLS_PER_CHILD);
+	}
+
+	/**
+	 * Returns the children whose bounds may contain the given point, ordered from
+	 * the bottom-most to the top-most child. The returned list never omits a child
+	 * containing the point, but may include children which don't contain it. The
+	 * point is expected in the coordinate system of the children.
+	 *
+	 * @param x the x coordinate
+	 * @param y the y coordinate
+	 * @return the candidate children in z-order
+	 */
+	public List<IFigure> findChildrenAt(int x, int y) {
+		return grid.query(x, y, x, y);
+	}
+
+	/**
+	 * Returns the children whose bounds intersect the given area, ordered from the
+	 * bottom-most to the top-most child. The area is expected in the coordinate
+	 * system of the children.
+	 *
+	 * @param area the area to search
+	 * @return the intersecting children in z-order
+	 */
+	public List<IFigure> findChildrenIntersecting(Rectangle area) {
+		if (area.isEmpty()) {
+			return new ArrayList<>();
+		}
+		List<IFigure> result = grid.query(area.x, area.y, area.right() - 1, area.bottom() - 1);
+		result.removeIf(child -> !child.getBounds().intersects(area));
+		return result;
+	}
+
+	/**
+	 * Re-computes the grid cells of the given child from its current bounds.
+	 *
+	 * @param child the child whose bounds have changed
+	 */
+	public void update(IFigure child) {
+		if (grid.contains(child)) {
+			register(child);
+		}
+	}
+
+	/**
+	 * Starts indexing the children of the given figure.
+	 *
+	 * @param figure the figure whose children are indexed
+	 */
+	void install(IFigure figure) {
+		if (owner != null) {
+			throw new IllegalStateException("Index is already installed on a figure"); //$NON-NLS-1$
+		}
+		owner = figure;
+		figure.getChildren().forEach(child -> add(child, -1));
+	}
+
+	/**
+	 * Stops indexing the children of the figure this index has been installed on.
+	 */
+	void uninstall() {
+		new ArrayList<>(grid.items()).forEach(this::remove);
+		grid.clear();
+		owner = null;
+	}
+
+	/**
+	 * Adds a child which has been inserted into the children of the indexed figure
+	 * at the given position.
+	 *
+	 * @param child the new child
+	 * @param index the index at which the child was inserted, or -1 if appended
+	 */
+	void add(IFigure child, int index) {
+		register(child);
+		if (index != -1 && index != owner.getChildren().size() - 1) {
+			// Only needed when a child is inserted in-between
+			grid.reorder(owner.getChildren());
+		}
+		child.addFigureListener(listener);
+		child.addPropertyChangeListener(Connection.PROPERTY_POINTS, listener);
+	}
+
+	/**
+	 * Removes a child which has been removed from the indexed figure.
+	 *
+	 * @param child the removed child
+	 */
+	void remove(IFigure child) {
+		if (grid.remove(child)) {
+			child.removeFigureListener(listener);
+			child.removePropertyChangeListener(Connection.PROPERTY_POINTS, listener);
+		}
+	}
+
+	private void register(IFigure child) {
+		Rectangle bounds = child.getBounds();
+		grid.put(child, bounds.x, bounds.y, bounds.x + Math.max(bounds.width - 1, 0),
+				bounds.y + Math.max(bounds.height - 1, 0));
+	}
+
+	private final class Listener implements FigureListener, PropertyChangeListener {
+		@Override
+		public void figureMoved(IFigure source) {
+			update(source);
+		}
+
+		@Override
+		public void propertyChange(PropertyChangeEvent evt) {
+			update((IFigure) evt.getSource());
+		}
+	}
+}
@@ -0,0 +1,385 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.swt.graphics.Font;
+
+import org.eclipse.draw2d.geometry.Dimension;
+
+/**
+ * Caches the extents of strings and texts measured by {@link FigureUtilities}.
+ * Measuring text is a native operation, which dominates the layout of figures
+ * showing a lot of text, such as labels and text flows. The same strings are
+ * measured over and over again, e.g. while a paragraph is wrapped or whenever a
+ * diagram is laid out again.
+ * <p>
+ * The extents are kept in a map of bounded size, which evicts the least
+ * recently used extent when it is full. In addition, once a font has been used
+ * to measure several strings, the widths of the printable ASCII characters are
+ * measured once and strings consisting only of these characters are measured by
+ * adding the widths of their characters. This is only done if the font has been
+ * verified to measure some sample strings exactly that way, i.e. if it doesn't
+ * apply kerning, ligatures or fractional widths.
+ * <p>
+ * Extents are cached per font instance. The cache must therefore be cleared if
+ * the measurement of a font changes, which only happens if the font is disposed
+ * and its instance is reused. Like {@link FigureUtilities}, this class must only
+ * be accessed from the UI thread.
+ *
+ * @see FigureUtilities#getTextExtentCache()
+ * @since 3.20
+ */
+public class TextExtentCache {
+
+	/**
+	 * The default maximum number of cached extents.
+	 */
+	public static final int DEFAULT_CAPACITY = 10000;
+
+	/**
+	 * The number of native measurements of a font after which the widths of its
+	 * ASCII characters are measured.
+	 */
+	private static final int CHAR_WIDTHS_THRESHOLD = 32;
+
+	/**
+	 * The maximum number of fonts whose character widths are kept.
+	 */
+	private static final int MAX_FONTS = 64;
+
+	private static final char FIRST_CHAR = ' ';
+	private static final char LAST_CHAR = '~';
+
+	/**
+	 * Strings which are measured differently from the sum of the widths of their
+	 * characters, if the font applies kerning or ligatures, or if it trims
+	 * whitespace or rounds fractional widths.
+	 */
+	private static final String[] SAMPLES = { "AVAWAYTaToTyLTPAVaWaYo", //$NON-NLS-1$
+			"ffiflffl fi fl", //$NON-NLS-1$
+			" The quick brown fox jumps over the lazy dog. ", //$NON-NLS-1$
+			"iiiiiiiiiiiilllllllllll1111111111..........", //$NON-NLS-1$
+			"MMMMMMMMMMWWWWWWWWWW@@@@@@@@@@mmmmmmmmmm" }; //$NON-NLS-1$
+
+	private static final class Key {
+		private final Font font;
+		private final String string;
+		private final boolean text;
+		private final int hash;
+
+		Key(Font font, String string, boolean text) {
+			this.font = font;
+			this.string = string;
+			this.text = text;
+			hash = (Objects.hashCode(font) * 31 + string.hashCode()) * 31 + (text ? 1 : 0);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key other && font == other.font && text == other.text && string.equals(other.string);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	private static final class CharWidths {
+		private final Font font;
+		private int misses;
+		/**
+		 * The widths of the characters from {@link TextExtentCache#FIRST_CHAR} to
+		 * {@link TextExtentCache#LAST_CHAR}, or <code>null</code> if they haven't been
+		 * measured or if the font can't be measured by adding them.
+		 */
+		private int[] widths;
+		private int height;
+
+		CharWidths(Font font) {
+			this.font = font;
+		}
+	}
+
+	private int capacity;
+	private long hits;
+	private long misses;
+
+	private final Map<Key, Long> extents = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Long> eldest) {
+			return size() > capacity;
+		}
+	};
+
+	private final Map<Font, CharWidths> charWidths = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Font, CharWidths> eldest) {
+			return size() > MAX_FONTS;
+		}
+	};
+
+	/**
+	 * Creates a new cache with the {@link #DEFAULT_CAPACITY}.
+	 */
+	public TextExtentCache() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new cache.
+	 *
+	 * @param capacity the maximum number of cached extents, or 0 to measure every
+	 *                 string natively
+	 */
+	public TextExtentCache(int capacity) {
+		setCapacity(capacity);
+	}
+
+	/**
+	 * Returns the maximum number of cached extents.
+	 *
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Sets the maximum number of cached extents. Reducing the capacity evicts the
+	 * least recently used extents. A capacity of 0 disables the cache, including
+	 * the measurement by character widths.
+	 *
+	 * @param capacity the maximum number of cached extents
+	 */
+	public void setCapacity(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("The capacity must not be negative: " + capacity); //$NON-NLS-1$
+		}
+		this.capacity = capacity;
+		if (extents.size() > capacity) {
+			var iterator = extents.keySet().iterator();
+			for (int i = extents.size() - capacity; i > 0; i--) {
+				iterator.next();
+				iterator.remove();
+			}
+		}
+		if (capacity == 0) {
+			charWidths.clear();
+		}
+	}
+
+	/**
+	 * Returns the number of cached extents.
+	 *
+	 * @return the number of cached extents
+	 */
+	public int size() {
+		return extents.size();
+	}
+
+	/**
+	 * Returns the number of extents which were returned without measuring them
+	 * natively, either because they were cached or because they were computed from
+	 * the widths of their characters.
+	 *
+	 * @return the number of cache hits
+	 */
+	public long getHitCount() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of native measurements, including the measurements of the
+	 * characters of a font.
+	 *
+	 * @return the number of cache misses
+	 */
+	public long getMissCount() {
+		return misses;
+	}
+
+	/**
+	 * Removes all cached extents and character widths and resets the hit and miss
+	 * counts.
+	 */
+	public void clear() {
+		extents.clear();
+		charWidths.clear();
+		hits = 0;
+		misses = 0;
+	}
+
+	/**
+	 * Returns the extent of the given text, expanding tabs and line delimiters.
+	 *
+	 * @param text the text
+	 * @param font the font
+	 * @return the extent of the text
+	 * @see FigureUtilities#getTextExtents(String, Font)
+	 */
+	public Dimension getTextExtent(String text, Font font) {
+		long extent = getExtent(text, font, true);
+		return new Dimension(getWidth(extent), getHeight(extent));
+	}
+
+	/**
+	 * Returns the extent of the given string, without expanding tabs and line
+	 * delimiters.
+	 *
+	 * @param string the string
+	 * @param font   the font
+	 * @return the extent of the string
+	 * @see FigureUtilities#getStringExtents(String, Font)
+	 */
+	public Dimension getStringExtent(String string, Font font) {
+		long extent = getExtent(string, font, false);
+		return new Dimension(getWidth(extent), getHeight(extent));
+	}
+
+	/**
+	 * Measures the given string natively. This is called for every cache miss.
+	 *
+	 * @param string the string
+	 * @param font   the font
+	 * @param text   <code>true</code> to expand tabs and line delimiters
+	 * @return the extent of the string
+	 */
+	@SuppressWarnings("static-method")
+	protected Dimension measure(String string, Font font, boolean text) {
+		return new Dimension(text ? FigureUtilities.measureText(string, font)
+				: FigureUtilities.measureString(string, font));
+	}
+
+	/**
+	 * Returns the extent of the string, packed into a long by
+	 * {@link #pack(int, int)}.
+	 */
+	long getExtent(String string, Font font, boolean text) {
+		if (capacity == 0) {
+			misses++;
+			Dimension extent = measure(string, font, text);
+			return pack(extent.width, extent.height);
+		}
+		CharWidths widths = getCharWidths(font);
+		if (widths.widths != null) {
+			int width = getWidth(string, widths.widths);
+			if (width >= 0) {
+				hits++;
+				return pack(width, widths.height);
+			}
+		}
+		Key key = new Key(font, string, text);
+		Long extent = extents.get(key);
+		if (extent != null) {
+			hits++;
+			return extent.longValue();
+		}
+		misses++;
+		Dimension measured = measure(string, font, text);
+		long result = pack(measured.width, measured.height);
+		extents.put(key, Long.valueOf(result));
+		if (++widths.misses == CHAR_WIDTHS_THRESHOLD) {
+			measureCharWidths(widths);
+		}
+		return result;
+	}
+
+	private CharWidths getCharWidths(Font font) {
+		CharWidths widths = charWidths.get(font);
+		// Fonts are equal if they share their handle, which may have been reused
+		if (widths == null || widths.font != font) {
+			widths = new CharWidths(font);
+			charWidths.put(font, widths);
+		}
+		return widths;
+	}
+
+	/**
+	 * Returns the sum of the widths of the characters of the string, or -1 if the
+	 * string is empty or contains other characters than printable ASCII characters.
+	 */
+	private static int getWidth(String string, int[] widths) {
+		int length = string.length();
+		if (length == 0) {
+			return -1;
+		}
+		int width = 0;
+		for (int i = 0; i < length; i++) {
+			char c = string.charAt(i);
+			if (c < FIRST_CHAR || c > LAST_CHAR) {
+				return -1;
+			}
+			width += widths[c - FIRST_CHAR];
+		}
+		return width;
+	}
+
+	/**
+	 * Measures the widths of the characters of the font and keeps them if the font
+	 * measures the sample strings exactly as the sum of these widths.
+	 */
+	private void measureCharWidths(CharWidths charWidths) {
+		int[] widths = new int[LAST_CHAR - FIRST_CHAR + 1];
+		int height = -1;
+		for (char c = FIRST_CHAR; c <= LAST_CHAR; c++) {
+			misses++;
+			Dimension extent = measure(String.valueOf(c), charWidths.font, false);
+			if (height != -1 && extent.height != height) {
+				return;
+			}
+			height = extent.height;
+			widths[c - FIRST_CHAR] = extent.width;
+		}
+		StringBuilder all = new StringBuilder();
+		for (char c = FIRST_CHAR; c <= LAST_CHAR; c++) {
+			all.append(c);
+		}
+		if (!isAdditive(all.toString(), charWidths.font, widths, height)) {
+			return;
+		}
+		for (String sample : SAMPLES) {
+			if (!isAdditive(sample, charWidths.font, widths, height)) {
+				return;
+			}
+		}
+		charWidths.widths = widths;
+		charWidths.height = height;
+	}
+
+	private boolean isAdditive(String sample, Font font, int[] widths, int height) {
+		Dimension expected = new Dimension(getWidth(sample, widths), height);
+		misses += 2;
+		return expected.equals(measure(sample, font, false)) && expected.equals(measure(sample, font, true));
+	}
+
+	static long pack(int width, int height) {
+		return ((long) width << 32) | (height & 0xFFFFFFFFL);
+	}
+
+	static int getWidth(long extent) {
+		return (int) (extent >> 32);
+	}
+
+	static int getHeight(long extent) {
+		return (int) extent;
+	}
+}
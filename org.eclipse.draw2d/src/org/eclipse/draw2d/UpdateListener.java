@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -35,11 +35,45 @@ public interface UpdateListener {
 	 */
 	void notifyPainting(Rectangle damage, Map<IFigure, Rectangle> dirtyRegions);
 
+	/**
+	 * Notifies the listener that the listened to object is about to paint the
+	 * given dirty regions. Unlike the regions passed to
+	 * {@link #notifyPainting(Rectangle, Map)}, each dirty region is given in the
+	 * same coordinates as the bounds of its figure, and hasn't been clipped to the
+	 * visible area. This allows listeners such as the
+	 * {@link org.eclipse.draw2d.parts.Thumbnail} to determine which area of a
+	 * figure has changed. If called, this method is called right before
+	 * {@link #notifyPainting(Rectangle, Map)}. The regions must not be modified or
+	 * stored.
+	 *
+	 * @param dirtyRegions a Map of figures to their dirty regions
+	 * @since 3.20
+	 */
+	default void notifyDamaged(Map<IFigure, Rectangle> dirtyRegions) {
+		// may be overwritten by implementations
+	}
+
 	/**
 	 * Notifies the listener that the listened to object is validating.
 	 */
 	void notifyValidating();
 
+	/**
+	 * Notifies the listener that the listened to object has finished validating.
+	 * Figures which are queued for validation while one of their ancestors is
+	 * queued as well are usually validated by that ancestor. These figures are
+	 * counted as pruned rather than as validated.
+	 *
+	 * @param validated the number of queued figures which have been validated
+	 * @param pruned    the number of queued figures which have already been
+	 *                  validated by one of their ancestors
+	 * @param duration  the duration of the validation, in nanoseconds
+	 * @since 3.20
+	 */
+	default void notifyValidated(int validated, int pruned, long duration) {
+		// may be overwritten by implementations
+	}
+
 	/**
 	 * An empty implementation of {@link UpdateListener} for convenience.
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -106,6 +106,17 @@ public abstract class UpdateManager {
 		disposed = true;
 	}
 
+	/**
+	 * Notifies listeners that the given dirty regions are about to be painted. The
+	 * regions are given in the coordinates of their figures.
+	 *
+	 * @param dirtyRegions map of dirty regions to figures
+	 * @since 3.20
+	 */
+	protected void fireDamaged(Map<IFigure, Rectangle> dirtyRegions) {
+		listeners.forEach(localListener -> localListener.notifyDamaged(dirtyRegions));
+	}
+
 	/**
 	 * Notifies listeners that painting is about to occur, passing them the damaged
 	 * rectangle and the map of dirty regions.
@@ -124,6 +135,19 @@ public abstract class UpdateManager {
 		listeners.forEach(UpdateListener::notifyValidating);
 	}
 
+	/**
+	 * Notifies listeners that validation has finished.
+	 *
+	 * @param validated the number of queued figures which have been validated
+	 * @param pruned    the number of queued figures which have already been
+	 *                  validated by one of their ancestors
+	 * @param duration  the duration of the validation, in nanoseconds
+	 * @since 3.20
+	 */
+	protected void fireValidated(int validated, int pruned, long duration) {
+		listeners.forEach(localListener -> localListener.notifyValidated(validated, pruned, duration));
+	}
+
 	/**
 	 * @return whether this update manager has been disposed.
 	 */
@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * A {@link RoutingListener} which defers the routing of connections far outside
+ * of the visible area of the nearest {@link Viewport} enclosing a layer. A
+ * connection is routed as usual if the rectangle spanned by the reference
+ * points of its anchors intersects the visible area, expanded by a margin.
+ * Otherwise, it is placed on a straight line between its anchors, like by
+ * {@link ConnectionRouter#NULL}, and remembered. As the viewport is scrolled or
+ * resized, or its contents are zoomed, the remembered connections which come
+ * near the visible area are revalidated, so that they are routed by their
+ * {@link ConnectionRouter} again.
+ * <p>
+ * The deferred connections are never painted, since they are placed outside of
+ * the visible area. Routers which route all connections at once, such as the
+ * {@link ShortestPathConnectionRouter}, may still route the deferred
+ * connections as part of a visible one. The margin should be large enough to
+ * contain the detours of the routes of the connections.
+ * <p>
+ * The listener is installed on the connections of a layer via
+ * {@link #install(PolylineConnection)}, which is done by a
+ * {@link ConnectionLayer} if {@link ConnectionLayer#setViewportCulling(boolean)
+ * viewport culling} is enabled.
+ *
+ * @since 3.20
+ */
+public class ViewportCullingRoutingListener extends RoutingListener.Stub {
+
+	/**
+	 * The default margin around the visible area, in pixels.
+	 */
+	public static final int DEFAULT_MARGIN = 200;
+
+	private final IFigure layer;
+	private final int margin;
+	private final Map<Connection, Rectangle> deferred = new IdentityHashMap<>();
+	private final PropertyChangeListener viewportListener = this::viewportChanged;
+	private Viewport viewport;
+
+	/**
+	 * Creates a listener for the connections of the given layer, with the
+	 * {@link #DEFAULT_MARGIN default margin}.
+	 *
+	 * @param layer the parent of the connections
+	 */
+	public ViewportCullingRoutingListener(IFigure layer) {
+		this(layer, DEFAULT_MARGIN);
+	}
+
+	/**
+	 * Creates a listener for the connections of the given layer.
+	 *
+	 * @param layer  the parent of the connections
+	 * @param margin the margin around the visible area, in pixels, within which
+	 *               connections are still routed
+	 */
+	public ViewportCullingRoutingListener(IFigure layer, int margin) {
+		this.layer = layer;
+		this.margin = margin;
+	}
+
+	/**
+	 * @return the margin around the visible area, in pixels
+	 */
+	public int getMargin() {
+		return margin;
+	}
+
+	/**
+	 * Returns the number of connections whose routing is currently deferred.
+	 *
+	 * @return the number of deferred connections
+	 */
+	public int getDeferredCount() {
+		return deferred.size();
+	}
+
+	/**
+	 * Returns whether the routing of the given connection is currently deferred.
+	 *
+	 * @param connection the connection
+	 * @return <code>true</code> if the connection is deferred
+	 */
+	public boolean isDeferred(Connection connection) {
+		return deferred.containsKey(connection);
+	}
+
+	/**
+	 * Adds this listener to the given connection.
+	 *
+	 * @param connection a connection of the layer
+	 */
+	public void install(PolylineConnection connection) {
+		connection.addRoutingListener(this);
+	}
+
+	/**
+	 * Removes this listener from the given connection. If its routing has been
+	 * deferred, the connection is revalidated, so that it is routed again.
+	 *
+	 * @param connection a connection of the layer
+	 */
+	public void uninstall(PolylineConnection connection) {
+		connection.removeRoutingListener(this);
+		if (deferred.remove(connection) != null) {
+			if (connection.getParent() != null) {
+				connection.revalidate();
+			}
+			if (deferred.isEmpty()) {
+				unhookViewport();
+			}
+		}
+	}
+
+	/**
+	 * Places the connection on a straight line between its anchors if it is far
+	 * outside of the visible area, rather than having it routed by its router.
+	 *
+	 * @see RoutingListener#route(Connection)
+	 */
+	@Override
+	public boolean route(Connection connection) {
+		Rectangle visible = getVisibleArea();
+		if (visible == null) {
+			return false;
+		}
+		Point source = connection.getSourceAnchor().getReferencePoint();
+		Point target = connection.getTargetAnchor().getReferencePoint();
+		Rectangle span = new Rectangle(source, target);
+		connection.translateToRelative(span);
+		if (span.intersects(visible)) {
+			if (deferred.remove(connection) != null && deferred.isEmpty()) {
+				unhookViewport();
+			}
+			return false;
+		}
+		ConnectionRouter.NULL.route(connection);
+		deferred.put(connection, span);
+		hookViewport();
+		return true;
+	}
+
+	/**
+	 * @see RoutingListener#remove(Connection)
+	 */
+	@Override
+	public void remove(Connection connection) {
+		if (deferred.remove(connection) != null && deferred.isEmpty()) {
+			unhookViewport();
+		}
+	}
+
+	/**
+	 * Returns the area of the layer which is visible in the nearest enclosing
+	 * viewport, expanded by the margin, or <code>null</code> if the layer isn't
+	 * contained in a viewport.
+	 */
+	private Rectangle getVisibleArea() {
+		Viewport enclosing = ViewportUtilities.getNearestEnclosingViewport(layer);
+		if (enclosing == null) {
+			return null;
+		}
+		Rectangle visible = enclosing.getClientArea();
+		enclosing.translateToParent(visible);
+		enclosing.translateToAbsolute(visible);
+		visible.expand(margin, margin);
+		layer.translateToRelative(visible);
+		return visible;
+	}
+
+	/**
+	 * Revalidates the deferred connections which have come near the visible area.
+	 */
+	private void viewportChanged(PropertyChangeEvent event) {
+		Rectangle visible = getVisibleArea();
+		if (visible == null) {
+			return;
+		}
+		Iterator<Map.Entry<Connection, Rectangle>> iterator = deferred.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Connection, Rectangle> entry = iterator.next();
+			if (entry.getValue().intersects(visible)) {
+				Connection connection = entry.getKey();
+				iterator.remove();
+				connection.revalidate();
+			}
+		}
+		if (deferred.isEmpty()) {
+			unhookViewport();
+		}
+	}
+
+	private void hookViewport() {
+		Viewport enclosing = ViewportUtilities.getNearestEnclosingViewport(layer);
+		if (enclosing == viewport) {
+			return;
+		}
+		unhookViewport();
+		viewport = enclosing;
+		viewport.getHorizontalRangeModel().addPropertyChangeListener(viewportListener);
+		viewport.getVerticalRangeModel().addPropertyChangeListener(viewportListener);
+	}
+
+	private void unhookViewport() {
+		if (viewport != null) {
+			viewport.getHorizontalRangeModel().removePropertyChangeListener(viewportListener);
+			viewport.getVerticalRangeModel().removePropertyChangeListener(viewportListener);
+			viewport = null;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2023 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -62,6 +62,11 @@ class CompoundRankSorter extends RankSorter {
 		new LocalOptimizer().visit(graph);
 	}
 
+	@Override
+	RankSorter newInstance() {
+		return new CompoundRankSorter();
+	}
+
 	@Override
 	double evaluateNodeOutgoing() {
 		double result = super.evaluateNodeOutgoing();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2010 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -25,7 +25,7 @@ class CompoundVerticalPlacement extends VerticalPlacement {
 	 * @see GraphVisitor#visit(DirectedGraph) Extended to set subgraph values.
 	 */
 	@Override
-	void visit(DirectedGraph dg) {
+	public void visit(DirectedGraph dg) {
 		CompoundDirectedGraph g = (CompoundDirectedGraph) dg;
 		super.visit(g);
 		for (Node element : g.subgraphs) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2023 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -123,7 +123,7 @@ class ConvertCompoundGraph extends GraphVisitor {
 	}
 
 	@Override
-	void revisit(DirectedGraph g) {
+	public void revisit(DirectedGraph g) {
 		for (Edge e : g.edges) {
 			if (e.source instanceof SubgraphBoundary) {
 				e.source.outgoing.remove(e);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2023 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -55,6 +55,7 @@ public class DirectedGraph {
 	public RankList ranks = new RankList();
 
 	Node forestRoot;
+	LayoutMonitor monitor;
 	Insets margin = new Insets();
 	int[] rankLocations;
 	int[][] cellLocations;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2023 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -12,8 +12,10 @@
  *******************************************************************************/
 package org.eclipse.draw2d.graph;
 
-import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Performs a graph layout of a <code>DirectedGraph</code>. The directed graph
@@ -65,6 +67,12 @@ import java.util.Deque;
  * set, and if it has virtual nodes, they will be in reverse order (bottom-up).
  * </UL>
  * <P>
+ * The layout is performed by a list of stages, each of which is a
+ * {@link GraphVisitor}. The stages visit the graph in order, and then revisit it
+ * in reverse order. The list of stages may be modified via {@link #getStages()}.
+ * A {@link LayoutMonitor} may be passed to observe the progress and the cost of
+ * each stage, and to cancel the layout.
+ * <P>
  * This class is not guaranteed to produce the same results for each invocation.
  *
  * @author Randy Hudson
@@ -72,7 +80,15 @@ import java.util.Deque;
  */
 public class DirectedGraphLayout {
 
-	Deque<GraphVisitor> steps = new ArrayDeque<>();
+	private static final LayoutMonitor NO_MONITOR = new LayoutMonitor() {
+	};
+
+	// Declared as a deque, since clients access the steps reflectively
+	Deque<GraphVisitor> steps = new LinkedList<>();
+	private int crossingMinimizationBudget;
+	private boolean crossingMinimizationEarlyTermination;
+	private ForkJoinPool pool;
+	private GraphVisitor rankAssignment;
 
 	/**
 	 * @since 3.1
@@ -95,17 +111,202 @@ public class DirectedGraphLayout {
 		steps.add(new HorizontalPlacement());
 	}
 
+	/**
+	 * Returns the stages of this layout, in the order in which they visit the
+	 * graph. The returned list may be modified, to add, remove or replace stages
+	 * of subsequent layouts.
+	 *
+	 * @return the modifiable list of stages
+	 * @since 3.20
+	 */
+	public List<GraphVisitor> getStages() {
+		if (!(steps instanceof List)) {
+			steps = new LinkedList<>(steps);
+		}
+		return (List<GraphVisitor>) steps;
+	}
+
+	/**
+	 * Sets the maximum time spent reducing the edge crossings between the ranks.
+	 * Once the budget is exceeded, the order with the fewest crossings found so far
+	 * is used. Without a budget, a fixed number of iterations is performed.
+	 *
+	 * @param millis the time budget in milliseconds, or 0 if there is none
+	 * @since 3.20
+	 */
+	public void setCrossingMinimizationBudget(int millis) {
+		crossingMinimizationBudget = millis;
+	}
+
+	/**
+	 * @return the maximum time spent reducing the edge crossings, in milliseconds,
+	 *         or 0 if there is none
+	 * @see #setCrossingMinimizationBudget(int)
+	 * @since 3.20
+	 */
+	public int getCrossingMinimizationBudget() {
+		return crossingMinimizationBudget;
+	}
+
+	/**
+	 * Sets whether the reduction of the edge crossings stops as soon as the number
+	 * of crossings stops improving, instead of performing a fixed number of
+	 * iterations. This is usually faster on large sparse graphs, but may result in
+	 * more crossings. Disabled by default.
+	 *
+	 * @param enabled <code>true</code> to stop once the crossings stop improving
+	 * @since 3.20
+	 */
+	public void setCrossingMinimizationEarlyTermination(boolean enabled) {
+		crossingMinimizationEarlyTermination = enabled;
+	}
+
+	/**
+	 * @return <code>true</code> if the reduction of the edge crossings stops once
+	 *         the crossings stop improving
+	 * @see #setCrossingMinimizationEarlyTermination(boolean)
+	 * @since 3.20
+	 */
+	public boolean isCrossingMinimizationEarlyTermination() {
+		return crossingMinimizationEarlyTermination;
+	}
+
+	/**
+	 * Returns the stage assigning the ranks of the nodes, if it has been set.
+	 *
+	 * @return the stage assigning the ranks, or <code>null</code> if the default
+	 *         stages are used
+	 * @see #setRankAssignment(GraphVisitor)
+	 * @since 3.20
+	 */
+	public GraphVisitor getRankAssignment() {
+		return rankAssignment;
+	}
+
+	/**
+	 * Replaces the stages assigning the ranks of the nodes by the given stage. By
+	 * default, the ranks are assigned by three stages, which compute an initial
+	 * ranking, a feasible spanning tree and the optimal ranking. These stages, or
+	 * the stage set by a previous call, are replaced by the given stage, such as a
+	 * {@link NetworkSimplexSolver} for large graphs. Passing <code>null</code>
+	 * restores the default stages.
+	 *
+	 * @param stage the stage assigning the ranks, or <code>null</code> for the
+	 *              default stages
+	 * @throws IllegalStateException if the stages assigning the ranks have been
+	 *                               removed from the stages of this layout
+	 * @since 3.20
+	 */
+	public void setRankAssignment(GraphVisitor stage) {
+		List<GraphVisitor> steps = getStages();
+		int index = -1;
+		for (int i = steps.size() - 1; i >= 0; i--) {
+			GraphVisitor step = steps.get(i);
+			if (step instanceof InitialRankSolver || step instanceof TightSpanningTreeSolver
+					|| step instanceof RankAssignmentSolver || step == rankAssignment) {
+				steps.remove(i);
+				index = i;
+			}
+		}
+		if (index == -1) {
+			throw new IllegalStateException("The stages assigning the ranks have been removed"); //$NON-NLS-1$
+		}
+		if (stage == null) {
+			steps.addAll(index,
+					List.of(new InitialRankSolver(), new TightSpanningTreeSolver(), new RankAssignmentSolver()));
+		} else {
+			steps.add(index, stage);
+		}
+		rankAssignment = stage;
+	}
+
+	/**
+	 * Returns the pool used to reduce the edge crossings of independent parts of
+	 * the graph in parallel.
+	 *
+	 * @return the pool or <code>null</code>, if the whole graph is laid out by the
+	 *         calling thread
+	 * @see #setForkJoinPool(ForkJoinPool)
+	 * @since 3.20
+	 */
+	public ForkJoinPool getForkJoinPool() {
+		return pool;
+	}
+
+	/**
+	 * Sets the pool used to reduce the edge crossings of independent parts of the
+	 * graph in parallel. Parts are independent if they are neither connected by
+	 * edges, nor contained in the same top-level subgraph. Each part is sorted on
+	 * its own, and the parts are placed side by side in the order in which they
+	 * first appear in the ranks. The layout therefore doesn't depend on the size of
+	 * the pool, but may differ from the layout without pool. Graphs with row
+	 * constraints are always laid out by the calling thread.
+	 *
+	 * @param pool the pool or <code>null</code>, if the whole graph should be laid
+	 *             out by the calling thread (default)
+	 * @since 3.20
+	 */
+	public void setForkJoinPool(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
 	/**
 	 * Lays out the given graph
 	 *
 	 * @param graph the graph to layout
 	 */
 	public void visit(DirectedGraph graph) {
+		visit(graph, NO_MONITOR);
+	}
+
+	/**
+	 * Lays out the given graph, reporting the progress to the given monitor. If
+	 * the monitor is canceled, no further stages visit the graph, while the stages
+	 * which have already visited it still revisit it. The locations of the nodes
+	 * and edges are undefined in this case.
+	 *
+	 * @param graph   the graph to layout
+	 * @param monitor the monitor, or <code>null</code>
+	 * @since 3.20
+	 */
+	public void visit(DirectedGraph graph, LayoutMonitor monitor) {
 		if (graph.nodes.isEmpty()) {
 			return;
 		}
-		steps.iterator().forEachRemaining(visitor -> visitor.visit(graph));
-		steps.descendingIterator().forEachRemaining(visitor -> visitor.revisit(graph));
+		if (monitor == null) {
+			monitor = NO_MONITOR;
+		}
+		GraphVisitor[] stages = steps.toArray(new GraphVisitor[steps.size()]);
+		Runtime runtime = Runtime.getRuntime();
+		int visited = 0;
+		graph.monitor = monitor;
+		try {
+			while (visited < stages.length && !monitor.isCanceled()) {
+				GraphVisitor stage = stages[visited];
+				if (stage instanceof MinCross minCross) {
+					minCross.setTimeBudget(crossingMinimizationBudget);
+					minCross.setEarlyTermination(crossingMinimizationEarlyTermination);
+					minCross.setForkJoinPool(pool);
+				}
+				monitor.stageStarted(stage, visited, stages.length);
+				long memory = runtime.totalMemory() - runtime.freeMemory();
+				long start = System.nanoTime();
+				stage.visit(graph);
+				long duration = System.nanoTime() - start;
+				monitor.stageVisited(stage, duration, runtime.totalMemory() - runtime.freeMemory() - memory);
+				visited++;
+			}
+			for (int i = visited - 1; i >= 0; i--) {
+				GraphVisitor stage = stages[i];
+				long memory = runtime.totalMemory() - runtime.freeMemory();
+				long start = System.nanoTime();
+				stage.revisit(graph);
+				long duration = System.nanoTime() - start;
+				monitor.stageRevisited(stage, duration, runtime.totalMemory() - runtime.freeMemory() - memory);
+			}
+		} finally {
+			graph.monitor = null;
+		}
 	}
 
 }
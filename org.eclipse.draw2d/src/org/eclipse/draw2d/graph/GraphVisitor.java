@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2010 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -13,28 +13,45 @@
 package org.eclipse.draw2d.graph;
 
 /**
- * Performs some action on a Graph.
+ * Performs some action on a Graph. The stages of a {@link DirectedGraphLayout}
+ * are graph visitors, see {@link DirectedGraphLayout#getStages()}. Clients may
+ * subclass this class to add their own stages to a layout.
  *
  * @author Randy Hudson
  * @since 2.1.2
  */
-abstract class GraphVisitor {
+public abstract class GraphVisitor {
 
 	/**
 	 * Act on the given directed graph.
 	 *
 	 * @param g the graph
+	 * @since 3.20
 	 */
-	void visit(DirectedGraph g) {
+	public void visit(DirectedGraph g) {
 	}
 
 	/**
 	 * Called in reverse order of visit.
 	 *
-	 * @since 3.1
 	 * @param g the graph to act upon
+	 * @since 3.20
 	 */
-	void revisit(DirectedGraph g) {
+	public void revisit(DirectedGraph g) {
+	}
+
+	/**
+	 * Returns whether the layout of the given graph has been canceled. Long
+	 * running stages should check this regularly, and return early while leaving
+	 * the graph in a consistent state.
+	 *
+	 * @param g the graph being laid out
+	 * @return <code>true</code> if the layout has been canceled
+	 * @see LayoutMonitor#isCanceled()
+	 * @since 3.20
+	 */
+	protected boolean isCanceled(DirectedGraph g) {
+		return g.monitor != null && g.monitor.isCanceled();
 	}
 
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2023 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -385,6 +385,7 @@ class HorizontalPlacement extends SpanningTreeVisitor {
 	public void visit(DirectedGraph g) {
 		graph = g;
 		prime = new DirectedGraph();
+		prime.monitor = g.monitor;
 		prime.nodes.add(graphLeft = new Node(null));
 		prime.nodes.add(graphRight = new Node(null));
 		if (g.tensorStrength != 0) {
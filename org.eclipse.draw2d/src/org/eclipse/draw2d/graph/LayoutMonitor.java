@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.graph;
+
+/**
+ * Observes and cancels the layout of a graph by a {@link DirectedGraphLayout}.
+ * The layout reports the progress and the cost of each of its stages, and
+ * checks between and within its stages whether it has been canceled. All
+ * methods are called on the thread performing the layout, except for
+ * {@link #isCanceled()}, which may also be called by the threads of the pool
+ * set via {@link DirectedGraphLayout#setForkJoinPool(java.util.concurrent.ForkJoinPool)}.
+ *
+ * @see DirectedGraphLayout#visit(DirectedGraph, LayoutMonitor)
+ * @since 3.20
+ */
+public interface LayoutMonitor {
+
+	/**
+	 * Returns whether the layout has been canceled. A canceled layout doesn't
+	 * visit any further stages, but still revisits the stages it has visited. The
+	 * locations of the nodes and edges are undefined afterwards.
+	 *
+	 * @return <code>true</code> if the layout has been canceled
+	 */
+	default boolean isCanceled() {
+		return false;
+	}
+
+	/**
+	 * Called before the given stage visits the graph.
+	 *
+	 * @param stage the stage
+	 * @param index the index of the stage
+	 * @param count the number of stages
+	 */
+	default void stageStarted(GraphVisitor stage, int index, int count) {
+		// may be overwritten by implementations
+	}
+
+	/**
+	 * Called after the given stage has visited the graph.
+	 *
+	 * @param stage    the stage
+	 * @param duration the duration of the visit, in nanoseconds
+	 * @param memory   the change of the used heap memory during the visit, in
+	 *                 bytes. This is only an estimate, which may even be negative
+	 *                 if the garbage collector ran during the visit.
+	 */
+	default void stageVisited(GraphVisitor stage, long duration, long memory) {
+		// may be overwritten by implementations
+	}
+
+	/**
+	 * Called after the given stage has revisited the graph.
+	 *
+	 * @param stage    the stage
+	 * @param duration the duration of the revisit, in nanoseconds
+	 * @param memory   the change of the used heap memory during the revisit, in
+	 *                 bytes. This is only an estimate, which may even be negative
+	 *                 if the garbage collector ran during the revisit.
+	 */
+	default void stageRevisited(GraphVisitor stage, long duration, long memory) {
+		// may be overwritten by implementations
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2010 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -12,8 +12,32 @@
  *******************************************************************************/
 package org.eclipse.draw2d.graph;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Sweeps up and down the ranks rearranging them so as to reduce edge crossings.
+ * <p>
+ * If a time budget is set, the number of crossings is counted after each sweep,
+ * and the order with the fewest crossings is kept once the budget is exceeded.
+ * If early termination is enabled, the sweeps additionally skip ahead to the
+ * final sweeps once the number of crossings hasn't improved for
+ * {@link #PATIENCE} sweeps, and stop if these don't improve it either. A rank
+ * is then only sorted again if its own order or the order of one of its
+ * neighbors has changed since it was sorted last.
+ * <p>
+ * If a pool is set, the connected components of the graph are sorted in
+ * parallel, each by its own sorter. Nodes of the same top-level subgraph belong
+ * to the same component. The components are placed side by side in the order in
+ * which they are first encountered in the ranks, so that the result doesn't
+ * depend on the size of the pool.
  *
  * @author Randy Hudson
  * @since 2.1.2
@@ -22,8 +46,15 @@ class MinCross extends GraphVisitor {
 
 	static final int MAX = 45;
 
-	private DirectedGraph g;
+	/**
+	 * The number of sweeps without fewer crossings after which the sweeps stop.
+	 */
+	static final int PATIENCE = 5;
+
 	private RankSorter sorter = new RankSorter();
+	private long timeBudget;
+	private boolean earlyTermination;
+	private ForkJoinPool pool;
 
 	public MinCross() {
 	}
@@ -39,21 +70,256 @@ class MinCross extends GraphVisitor {
 		this.sorter = sorter;
 	}
 
-	void solve() {
-		Rank rank;
-		for (int loop = 0; loop < MAX; loop++) {
-			for (int row = 1; row < g.ranks.size(); row++) {
-				rank = g.ranks.getRank(row);
-				sorter.sortRankIncoming(g, rank, row, (double) loop / MAX);
+	/**
+	 * Sets the maximum duration of the sweeps. The order with the fewest crossings
+	 * found so far is kept once the budget is exceeded.
+	 *
+	 * @param millis the time budget in milliseconds, or 0 if there is none
+	 */
+	void setTimeBudget(long millis) {
+		timeBudget = millis;
+	}
+
+	long getTimeBudget() {
+		return timeBudget;
+	}
+
+	/**
+	 * Enables or disables early termination, which stops the sweeps once the
+	 * number of crossings stops improving.
+	 */
+	void setEarlyTermination(boolean enabled) {
+		earlyTermination = enabled;
+	}
+
+	boolean isEarlyTermination() {
+		return earlyTermination;
+	}
+
+	/**
+	 * Sets the pool used to sort the connected components of the graph in
+	 * parallel.
+	 *
+	 * @param pool the pool or <code>null</code>, if the whole graph should be
+	 *             sorted by the calling thread
+	 */
+	void setForkJoinPool(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	ForkJoinPool getForkJoinPool() {
+		return pool;
+	}
+
+	/**
+	 * Sweeps over the ranks of the given graph using the given sorter, which has
+	 * been initialized with that graph.
+	 */
+	private void solve(DirectedGraph g, RankSorter sorter, long deadline) {
+		RankList ranks = getRanks(g);
+		if (ranks.size() < 2) {
+			return;
+		}
+		if (earlyTermination) {
+			solveAdaptively(g, ranks, sorter, deadline);
+		} else if (deadline != 0) {
+			solveWithDeadline(g, ranks, sorter, deadline);
+		} else {
+			for (int loop = 0; loop < MAX && !isCanceled(g); loop++) {
+				sweep(g, ranks, sorter, loop);
+			}
+		}
+	}
+
+	/**
+	 * The ranks are deprecated as API, but are the very data sorted by this
+	 * visitor.
+	 */
+	@SuppressWarnings("deprecation")
+	private static RankList getRanks(DirectedGraph g) {
+		return g.ranks;
+	}
+
+	private static void sweep(DirectedGraph g, RankList ranks, RankSorter sorter, int loop) {
+		for (int row = 1; row < ranks.size(); row++) {
+			sorter.sortRankIncoming(g, ranks.getRank(row), row, (double) loop / MAX);
+		}
+		if (loop == MAX - 1) {
+			return;
+		}
+		for (int row = ranks.size() - 2; row >= 0; row--) {
+			sorter.sortRankOutgoing(g, ranks.getRank(row), row, (double) loop / MAX);
+		}
+	}
+
+	/**
+	 * Performs the same sweeps as without a budget, until the deadline has passed,
+	 * and keeps the order with the fewest crossings.
+	 */
+	private void solveWithDeadline(DirectedGraph g, RankList ranks, RankSorter sorter, long deadline) {
+		long best = countCrossings(ranks);
+		Node[][] bestOrder = saveOrder(ranks);
+		long crossings = best;
+		for (int loop = 0; loop < MAX && best > 0 && !isCanceled(g); loop++) {
+			if (System.nanoTime() - deadline >= 0) {
+				break;
+			}
+			sweep(g, ranks, sorter, loop);
+			crossings = countCrossings(ranks);
+			if (crossings < best) {
+				best = crossings;
+				bestOrder = saveOrder(ranks);
+			}
+		}
+		if (crossings > best) {
+			restoreOrder(ranks, bestOrder);
+		}
+	}
+
+	/**
+	 * Sweeps until the number of crossings stops improving or the deadline, if
+	 * any, has passed, and keeps the order with the fewest crossings.
+	 */
+	private void solveAdaptively(DirectedGraph g, RankList ranks, RankSorter sorter, long deadline) {
+		int size = ranks.size();
+		boolean[] dirty = new boolean[size];
+		Arrays.fill(dirty, true);
+		long best = countCrossings(ranks);
+		Node[][] bestOrder = saveOrder(ranks);
+		long crossings = best;
+		int stale = 0;
+		for (int loop = 0; loop < MAX && best > 0 && !isCanceled(g); loop++) {
+			if (deadline != 0 && System.nanoTime() - deadline >= 0) {
+				break;
+			}
+			if (stale >= PATIENCE) {
+				if (loop > MAX - PATIENCE) {
+					break;
+				}
+				// Skip ahead to the final sweeps, which refine the order
+				loop = MAX - PATIENCE;
+				stale = 0;
+				Arrays.fill(dirty, true);
 			}
-			if (loop == MAX - 1) {
+			boolean changed = false;
+			for (int row = 1; row < size; row++) {
+				if (dirty[row]) {
+					dirty[row] = false;
+					sorter.sortRankIncoming(g, ranks.getRank(row), row, (double) loop / MAX);
+					changed |= markChanged(sorter, dirty, row);
+				}
+			}
+			if (loop != MAX - 1) {
+				for (int row = size - 2; row >= 0; row--) {
+					if (dirty[row]) {
+						dirty[row] = false;
+						sorter.sortRankOutgoing(g, ranks.getRank(row), row, (double) loop / MAX);
+						changed |= markChanged(sorter, dirty, row);
+					}
+				}
+			}
+			if (!changed) {
+				stale = PATIENCE;
 				continue;
 			}
-			for (int row = g.ranks.size() - 2; row >= 0; row--) {
-				rank = g.ranks.getRank(row);
-				sorter.sortRankOutgoing(g, rank, row, (double) loop / MAX);
+			crossings = countCrossings(ranks);
+			if (crossings < best) {
+				best = crossings;
+				bestOrder = saveOrder(ranks);
+				stale = 0;
+			} else {
+				stale++;
 			}
 		}
+		if (crossings > best) {
+			restoreOrder(ranks, bestOrder);
+		}
+	}
+
+	/**
+	 * Marks the given row and its neighbors as dirty if the last sort changed the
+	 * order of the row.
+	 */
+	private static boolean markChanged(RankSorter sorter, boolean[] dirty, int row) {
+		if (!sorter.changed) {
+			return false;
+		}
+		dirty[row] = true;
+		if (row > 0) {
+			dirty[row - 1] = true;
+		}
+		if (row < dirty.length - 1) {
+			dirty[row + 1] = true;
+		}
+		return true;
+	}
+
+	private static Node[][] saveOrder(RankList ranks) {
+		Node[][] order = new Node[ranks.size()][];
+		for (int row = 0; row < order.length; row++) {
+			Rank rank = ranks.getRank(row);
+			order[row] = rank.toArray(new Node[rank.size()]);
+		}
+		return order;
+	}
+
+	private static void restoreOrder(RankList ranks, Node[][] order) {
+		for (int row = 0; row < order.length; row++) {
+			Rank rank = ranks.getRank(row);
+			rank.clear();
+			rank.addAll(Arrays.asList(order[row]));
+			rank.assignIndices();
+		}
+	}
+
+	/**
+	 * Returns the number of crossings between the edges connecting adjacent ranks.
+	 */
+	static long countCrossings(RankList ranks) {
+		long crossings = 0;
+		for (int row = 0; row < ranks.size() - 1; row++) {
+			crossings += countCrossings(ranks.getRank(row), ranks.getRank(row + 1));
+		}
+		return crossings;
+	}
+
+	/**
+	 * Counts the crossings between the edges from the upper to the lower rank. The
+	 * edges are ordered by their source and then by their target, so that two edges
+	 * cross if the target of the later edge is left of the target of the earlier
+	 * edge. These inversions are counted using a Fenwick tree over the indices of
+	 * the lower rank.
+	 */
+	private static long countCrossings(Rank upper, Rank lower) {
+		int[] tree = new int[lower.total + 2];
+		long crossings = 0;
+		int inserted = 0;
+		int[] targets = new int[8];
+		for (Node source : upper) {
+			int count = 0;
+			for (Edge e : source.outgoing) {
+				if (e.target.rank == source.rank + 1) {
+					if (count == targets.length) {
+						targets = Arrays.copyOf(targets, count * 2);
+					}
+					targets[count++] = e.target.index;
+				}
+			}
+			Arrays.sort(targets, 0, count);
+			for (int i = 0; i < count; i++) {
+				int index = targets[i] + 1;
+				int notRight = 0;
+				for (int j = index; j > 0; j -= j & -j) {
+					notRight += tree[j];
+				}
+				crossings += inserted - notRight;
+				for (int j = index; j < tree.length; j += j & -j) {
+					tree[j]++;
+				}
+				inserted++;
+			}
+		}
+		return crossings;
 	}
 
 	/**
@@ -61,10 +327,134 @@ class MinCross extends GraphVisitor {
 	 */
 	@Override
 	public void visit(DirectedGraph g) {
-		sorter.init(g);
-		this.g = g;
-		solve();
+		long deadline = timeBudget > 0 ? System.nanoTime() + timeBudget * 1_000_000 : 0;
+		List<DirectedGraph> components = pool != null ? split(g) : null;
+		if (components != null) {
+			solve(components, deadline);
+			RankList ranks = getRanks(g);
+			for (int row = 0; row < ranks.size(); row++) {
+				Rank rank = ranks.getRank(row);
+				rank.clear();
+				for (DirectedGraph component : components) {
+					RankList componentRanks = getRanks(component);
+					if (row < componentRanks.size()) {
+						rank.addAll(componentRanks.getRank(row));
+					}
+				}
+				rank.assignIndices();
+			}
+		} else {
+			sorter.init(g);
+			solve(g, sorter, deadline);
+		}
 		sorter.optimize(g);
 	}
 
+	/**
+	 * Sorts the given components on the {@link #pool}. The largest components are
+	 * sorted first, so that the pool isn't left waiting for a single large
+	 * component at the end.
+	 */
+	private void solve(List<DirectedGraph> components, long deadline) {
+		List<DirectedGraph> queue = new ArrayList<>(components);
+		queue.sort(Comparator.comparingInt((DirectedGraph c) -> c.nodes.size()).reversed());
+		AtomicInteger next = new AtomicInteger();
+		int taskCount = Math.min(queue.size(), pool.getParallelism());
+		List<ForkJoinTask<?>> tasks = new ArrayList<>(taskCount);
+		for (int i = 0; i < taskCount; i++) {
+			tasks.add(pool.submit(() -> {
+				for (int c = next.getAndIncrement(); c < queue.size(); c = next.getAndIncrement()) {
+					DirectedGraph component = queue.get(c);
+					RankSorter componentSorter = sorter.newInstance();
+					componentSorter.init(component);
+					solve(component, componentSorter, deadline);
+				}
+			}));
+		}
+		tasks.forEach(ForkJoinTask::join);
+	}
+
+	/**
+	 * Splits the graph into its connected components. Each component is returned as
+	 * a graph containing its nodes, and whose ranks contain these nodes in their
+	 * current order, up to the last rank of the component. Returns
+	 * <code>null</code> if the graph is connected, or if the order of the ranks is
+	 * constrained.
+	 */
+	private static List<DirectedGraph> split(DirectedGraph g) {
+		RankList ranks = getRanks(g);
+		List<Node> nodes = new ArrayList<>();
+		Map<Node, Integer> ids = new HashMap<>();
+		for (Rank rank : ranks) {
+			for (Node node : rank) {
+				if (node.getRowConstraint() != -1) {
+					return null;
+				}
+				ids.put(node, nodes.size());
+				nodes.add(node);
+			}
+		}
+		int[] parents = new int[nodes.size()];
+		Arrays.setAll(parents, i -> i);
+		Map<Subgraph, Integer> subgraphs = new HashMap<>();
+		for (int i = 0; i < parents.length; i++) {
+			Node node = nodes.get(i);
+			for (Edge e : node.outgoing) {
+				Integer target = ids.get(e.target);
+				if (target != null) {
+					union(parents, i, target);
+				}
+			}
+			Subgraph s = node.getParent();
+			while (s != null && s.getParent() != null) {
+				s = s.getParent();
+			}
+			if (s != null) {
+				Integer first = subgraphs.putIfAbsent(s, i);
+				if (first != null) {
+					union(parents, i, first);
+				}
+			}
+		}
+
+		int[] componentIds = new int[parents.length];
+		Arrays.fill(componentIds, -1);
+		List<DirectedGraph> components = new ArrayList<>();
+		int i = 0;
+		for (int row = 0; row < ranks.size(); row++) {
+			for (Node node : ranks.getRank(row)) {
+				int root = find(parents, i++);
+				if (componentIds[root] == -1) {
+					componentIds[root] = components.size();
+					DirectedGraph component = new DirectedGraph();
+					component.monitor = g.monitor;
+					components.add(component);
+				}
+				DirectedGraph component = components.get(componentIds[root]);
+				component.nodes.add(node);
+				getRanks(component).getRank(row).add(node);
+			}
+		}
+		return components.size() > 1 ? components : null;
+	}
+
+	private static int find(int[] parents, int i) {
+		while (parents[i] != i) {
+			parents[i] = parents[parents[i]];
+			i = parents[i];
+		}
+		return i;
+	}
+
+	private static void union(int[] parents, int i, int j) {
+		int rootI = find(parents, i);
+		int rootJ = find(parents, j);
+		// The smaller index becomes the root, independent of the order of the unions
+		if (rootI < rootJ) {
+			parents[rootJ] = rootI;
+		} else {
+			parents[rootI] = rootJ;
+		}
+	}
+
 }
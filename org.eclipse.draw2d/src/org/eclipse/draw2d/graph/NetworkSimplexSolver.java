@@ -0,0 +1,707 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.graph;
+
+import java.util.Arrays;
+
+/**
+ * Assigns the ranks of the nodes of an acyclic {@link DirectedGraph} using the
+ * network simplex method, so that the sum of the weighted lengths of the edges
+ * is minimal. This is the same problem solved by the default rank assignment of
+ * a {@link DirectedGraphLayout}, but this solver scales to graphs with tens of
+ * thousands of nodes:
+ * <ul>
+ * <li>The initial feasible tree is grown using priority queues of the edges
+ * leaving it, rather than by searching all candidate edges.</li>
+ * <li>The cut values of the tree edges are only updated along the path between
+ * the ends of the entering edge. Only the nodes on this path are visited again to
+ * update the postorder numbering of the tree, while the numbers of all other
+ * subtrees are shifted as a block.</li>
+ * <li>The leaving edge is searched in a window of the tree edges, which starts
+ * where the previous search stopped. The entering edge is only searched below
+ * the leaving edge, and the search stops at the first tight edge.</li>
+ * </ul>
+ * Each connected component of the graph is ranked on its own, so that its
+ * minimum rank is 0. The nodes and edges are copied into arrays before solving,
+ * and only the ranks of the nodes are written back.
+ *
+ * @see DirectedGraphLayout#setRankAssignment(GraphVisitor)
+ * @since 3.20
+ */
+public class NetworkSimplexSolver extends GraphVisitor {
+
+	/**
+	 * The number of tree edges with a negative cut value, among which the leaving
+	 * edge with the most negative cut value is chosen.
+	 */
+	private static final int SEARCH_SIZE = 30;
+
+	private int[] source;
+	private int[] target;
+	private int[] delta;
+	private int[] weight;
+	private int[] outStart;
+	private int[] outEdges;
+	private int[] inStart;
+	private int[] inEdges;
+
+	private int[] rank;
+	private int[] component;
+	private int[] roots;
+
+	private boolean[] tree;
+	private int[] cut;
+	private int[] parent;
+	private int[] low;
+	private int[] lim;
+	private int[] nodeAt;
+	private int[][] treeAdjacency;
+	private int[] treeDegree;
+	private int[] treeEdges;
+	private int[] treePosition;
+	private int treeEdgeCount;
+	private int searchStart;
+
+	private int[] stack;
+	private int[] next;
+	private int[] marks;
+	private int stamp;
+	private int[] previous;
+	private int[] children;
+	private int[] childrenStart;
+	private int[] childrenEnd;
+
+	/**
+	 * @see GraphVisitor#visit(DirectedGraph)
+	 */
+	@Override
+	public void visit(DirectedGraph g) {
+		if (g.nodes.isEmpty()) {
+			return;
+		}
+		try {
+			init(g);
+			initRanks();
+			initTree();
+			initCutValues();
+			for (int e = leave(); e != -1 && !isCanceled(g); e = leave()) {
+				int f = enter(e);
+				if (f == -1) {
+					break;
+				}
+				update(e, f);
+			}
+			writeRanks(g);
+		} finally {
+			release();
+		}
+	}
+
+	private void init(DirectedGraph g) {
+		int n = g.nodes.size();
+		int m = g.edges.size();
+		for (int i = 0; i < n; i++) {
+			g.nodes.get(i).workingInts[0] = i;
+		}
+		source = new int[m];
+		target = new int[m];
+		delta = new int[m];
+		weight = new int[m];
+		for (int i = 0; i < m; i++) {
+			Edge e = g.edges.get(i);
+			source[i] = e.source.workingInts[0];
+			target[i] = e.target.workingInts[0];
+			delta[i] = e.getDelta();
+			weight[i] = e.weight;
+		}
+		outStart = new int[n + 1];
+		outEdges = index(source, outStart);
+		inStart = new int[n + 1];
+		inEdges = index(target, inStart);
+
+		rank = new int[n];
+		component = new int[n];
+		roots = new int[n];
+		tree = new boolean[m];
+		cut = new int[m];
+		parent = new int[n];
+		low = new int[n];
+		lim = new int[n];
+		nodeAt = new int[n];
+		treeAdjacency = new int[n][];
+		treeDegree = new int[n];
+		treeEdges = new int[Math.max(0, n - 1)];
+		treePosition = new int[m];
+		treeEdgeCount = 0;
+		searchStart = 0;
+		stack = new int[n];
+		next = new int[n];
+		marks = new int[n];
+		stamp = 0;
+		previous = new int[n];
+		children = new int[n];
+		childrenStart = new int[n];
+		childrenEnd = new int[n];
+	}
+
+	/**
+	 * Returns the edges grouped by the given end. The edges of node <i>v</i> are
+	 * stored from <code>start[v]</code> up to <code>start[v + 1]</code>.
+	 */
+	private static int[] index(int[] ends, int[] start) {
+		for (int end : ends) {
+			start[end + 1]++;
+		}
+		for (int v = 0; v < start.length - 1; v++) {
+			start[v + 1] += start[v];
+		}
+		int[] fill = Arrays.copyOf(start, start.length - 1);
+		int[] edges = new int[ends.length];
+		for (int e = 0; e < ends.length; e++) {
+			edges[fill[ends[e]]++] = e;
+		}
+		return edges;
+	}
+
+	/**
+	 * Assigns each node the minimum rank allowed by its incoming edges, visiting
+	 * the nodes in topological order. Afterwards, nodes whose outgoing edges weigh
+	 * more than their incoming edges are moved down as far as their outgoing edges
+	 * allow, in reverse topological order. This feasible ranking needs fewer
+	 * exchanges of tree edges than the initial one.
+	 */
+	private void initRanks() {
+		int n = rank.length;
+		int[] pending = new int[n];
+		for (int v : target) {
+			pending[v]++;
+		}
+		int[] queue = stack;
+		int head = 0;
+		int tail = 0;
+		for (int v = 0; v < n; v++) {
+			if (pending[v] == 0) {
+				queue[tail++] = v;
+			}
+		}
+		while (head < tail) {
+			int v = queue[head++];
+			for (int i = outStart[v]; i < outStart[v + 1]; i++) {
+				int e = outEdges[i];
+				int w = target[e];
+				rank[w] = Math.max(rank[w], rank[v] + delta[e]);
+				if (--pending[w] == 0) {
+					queue[tail++] = w;
+				}
+			}
+		}
+		if (tail < n) {
+			throw new RuntimeException("Cycle detected in graph"); //$NON-NLS-1$
+		}
+		for (int i = n - 1; i >= 0; i--) {
+			int v = queue[i];
+			int balance = 0;
+			int maxRank = Integer.MAX_VALUE;
+			for (int j = outStart[v]; j < outStart[v + 1]; j++) {
+				int e = outEdges[j];
+				balance += weight[e];
+				maxRank = Math.min(maxRank, rank[target[e]] - delta[e]);
+			}
+			for (int j = inStart[v]; j < inStart[v + 1]; j++) {
+				balance -= weight[inEdges[j]];
+			}
+			if (balance > 0) {
+				rank[v] = maxRank;
+			}
+		}
+	}
+
+	/**
+	 * Grows a spanning tree of tight edges for each connected component. The edge
+	 * with the least slack between the tree and the remaining nodes is added next,
+	 * after moving the tree by that slack. To avoid moving all nodes of the tree,
+	 * the ranks of the tree nodes are stored relative to an offset, and the edges
+	 * are kept in two queues whose keys don't depend on the offset.
+	 */
+	private void initTree() {
+		int n = rank.length;
+		boolean[] inTree = new boolean[n];
+		int[] order = new int[n];
+		int count = 0;
+		int componentCount = 0;
+		// Edges whose source is in the tree, keyed by their slack plus the offset
+		EdgeHeap outgoing = new EdgeHeap();
+		// Edges whose target is in the tree, keyed by their slack minus the offset
+		EdgeHeap incoming = new EdgeHeap();
+		for (int root = 0; root < n; root++) {
+			if (inTree[root]) {
+				continue;
+			}
+			int first = count;
+			int offset = 0;
+			roots[componentCount] = root;
+			parent[root] = -1;
+			int v = root;
+			while (true) {
+				inTree[v] = true;
+				component[v] = componentCount;
+				order[count++] = v;
+				rank[v] -= offset;
+				for (int i = outStart[v]; i < outStart[v + 1]; i++) {
+					int e = outEdges[i];
+					if (!inTree[target[e]]) {
+						outgoing.add(rank[target[e]] - rank[v] - delta[e], e);
+					}
+				}
+				for (int i = inStart[v]; i < inStart[v + 1]; i++) {
+					int e = inEdges[i];
+					if (!inTree[source[e]]) {
+						incoming.add(rank[v] - rank[source[e]] - delta[e], e);
+					}
+				}
+
+				while (!outgoing.isEmpty() && inTree[target[outgoing.peekEdge()]]) {
+					outgoing.pop();
+				}
+				while (!incoming.isEmpty() && inTree[source[incoming.peekEdge()]]) {
+					incoming.pop();
+				}
+				if (outgoing.isEmpty() && incoming.isEmpty()) {
+					break;
+				}
+				long outgoingSlack = outgoing.isEmpty() ? Long.MAX_VALUE : (long) outgoing.peekKey() - offset;
+				long incomingSlack = incoming.isEmpty() ? Long.MAX_VALUE : (long) incoming.peekKey() + offset;
+				int e;
+				if (outgoingSlack <= incomingSlack) {
+					e = outgoing.pop();
+					offset += (int) outgoingSlack;
+					v = target[e];
+				} else {
+					e = incoming.pop();
+					offset -= (int) incomingSlack;
+					v = source[e];
+				}
+				parent[v] = e;
+				addTreeEdge(e);
+			}
+			for (int i = first; i < count; i++) {
+				rank[order[i]] += offset;
+			}
+			componentCount++;
+		}
+
+		int counter = 0;
+		for (int i = 0; i < componentCount; i++) {
+			counter = postorder(roots[i], -1, counter);
+		}
+	}
+
+	private void addTreeEdge(int e) {
+		tree[e] = true;
+		treePosition[e] = treeEdgeCount;
+		treeEdges[treeEdgeCount++] = e;
+		addTreeAdjacency(source[e], e);
+		addTreeAdjacency(target[e], e);
+	}
+
+	private void addTreeAdjacency(int v, int e) {
+		int[] edges = treeAdjacency[v];
+		if (edges == null) {
+			edges = treeAdjacency[v] = new int[2];
+		} else if (treeDegree[v] == edges.length) {
+			edges = treeAdjacency[v] = Arrays.copyOf(edges, edges.length * 2);
+		}
+		edges[treeDegree[v]++] = e;
+	}
+
+	private void removeTreeAdjacency(int v, int e) {
+		int[] edges = treeAdjacency[v];
+		for (int i = 0; i < treeDegree[v]; i++) {
+			if (edges[i] == e) {
+				edges[i] = edges[--treeDegree[v]];
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Numbers the nodes of the subtree below the given node in postorder, starting
+	 * with the given number. Each node is assigned its number as <i>lim</i>, and
+	 * the least number in its subtree as <i>low</i>.
+	 *
+	 * @return the next free number
+	 */
+	private int postorder(int root, int parentEdge, int counter) {
+		parent[root] = parentEdge;
+		low[root] = counter;
+		next[root] = 0;
+		stack[0] = root;
+		int size = 1;
+		while (size > 0) {
+			int v = stack[size - 1];
+			if (next[v] < treeDegree[v]) {
+				int e = treeAdjacency[v][next[v]++];
+				if (e != parent[v]) {
+					int w = source[e] == v ? target[e] : source[e];
+					parent[w] = e;
+					low[w] = counter;
+					next[w] = 0;
+					stack[size++] = w;
+				}
+			} else {
+				lim[v] = counter;
+				nodeAt[counter++] = v;
+				size--;
+			}
+		}
+		return counter;
+	}
+
+	/**
+	 * Renumbers the subtree below the given node after an exchange of tree edges.
+	 * Only the nodes on the path between the ends of the entering edge, which
+	 * have been marked, have changed their children. The subtrees of all other
+	 * children keep their shape, so their numbers are shifted as a block, or kept
+	 * if they haven't moved. The children are visited in the order of their
+	 * previous numbers, so that the blocks move as little as possible.
+	 */
+	private void renumber(int root) {
+		int base = low[root];
+		System.arraycopy(nodeAt, base, previous, 0, lim[root] - base + 1);
+		int counter = base;
+		int size = 0;
+		int childCount = 0;
+		int v = root;
+		while (true) {
+			if (v != -1) {
+				// Enter a marked node, collecting its children sorted by their previous low
+				low[v] = counter;
+				stack[size] = v;
+				childrenStart[size] = next[size] = childCount;
+				for (int i = 0; i < treeDegree[v]; i++) {
+					int e = treeAdjacency[v][i];
+					if (e != parent[v]) {
+						int w = source[e] == v ? target[e] : source[e];
+						parent[w] = e;
+						int j = childCount++;
+						while (j > childrenStart[size] && low[children[j - 1]] > low[w]) {
+							children[j] = children[j - 1];
+							j--;
+						}
+						children[j] = w;
+					}
+				}
+				childrenEnd[size++] = childCount;
+				v = -1;
+			}
+			int top = size - 1;
+			if (next[top] < childrenEnd[top]) {
+				int w = children[next[top]++];
+				if (marks[w] == stamp) {
+					v = w;
+				} else {
+					int shift = counter - low[w];
+					int blockSize = lim[w] - low[w] + 1;
+					if (shift != 0) {
+						int from = low[w] - base;
+						for (int i = 0; i < blockSize; i++) {
+							int u = previous[from + i];
+							low[u] += shift;
+							lim[u] += shift;
+							nodeAt[counter + i] = u;
+						}
+					}
+					counter += blockSize;
+				}
+			} else {
+				int u = stack[top];
+				lim[u] = counter;
+				nodeAt[counter++] = u;
+				childCount = childrenStart[top];
+				if (--size == 0) {
+					return;
+				}
+			}
+		}
+	}
+
+	private boolean isBelow(int v, int ancestor) {
+		return low[ancestor] <= lim[v] && lim[v] <= lim[ancestor];
+	}
+
+	/**
+	 * Computes the cut values bottom-up, so that the cut values of the tree edges
+	 * below each node are known when the cut value of its parent edge is computed.
+	 */
+	private void initCutValues() {
+		for (int v : nodeAt) {
+			if (parent[v] != -1) {
+				cut[parent[v]] = getCutValue(v);
+			}
+		}
+	}
+
+	/**
+	 * Returns the cut value of the parent edge of the given node. This is the
+	 * weight of the edges from the component containing the source of the parent
+	 * edge to the component containing its target, minus the weight of the edges
+	 * in the opposite direction, if the parent edge were removed from the tree.
+	 */
+	private int getCutValue(int v) {
+		int f = parent[v];
+		boolean down = source[f] == v;
+		int sum = 0;
+		for (int i = outStart[v]; i < outStart[v + 1]; i++) {
+			sum += getCutContribution(outEdges[i], v, down);
+		}
+		for (int i = inStart[v]; i < inStart[v + 1]; i++) {
+			sum += getCutContribution(inEdges[i], v, down);
+		}
+		return sum;
+	}
+
+	private int getCutContribution(int e, int v, boolean down) {
+		int other = source[e] == v ? target[e] : source[e];
+		boolean outside = !isBelow(other, v);
+		int value;
+		if (outside) {
+			value = weight[e];
+		} else {
+			value = (tree[e] ? cut[e] : 0) - weight[e];
+		}
+		boolean positive;
+		if (down) {
+			positive = target[e] == v;
+		} else {
+			positive = source[e] == v;
+		}
+		if (outside) {
+			positive = !positive;
+		}
+		return positive ? value : -value;
+	}
+
+	/**
+	 * Returns a tree edge with a negative cut value, or -1 if the ranking is
+	 * optimal.
+	 */
+	private int leave() {
+		int result = -1;
+		int found = 0;
+		for (int i = 0; i < treeEdgeCount; i++) {
+			int position = (searchStart + i) % treeEdgeCount;
+			int e = treeEdges[position];
+			if (cut[e] < 0) {
+				if (result == -1 || cut[e] < cut[result]) {
+					result = e;
+				}
+				if (++found >= SEARCH_SIZE) {
+					searchStart = position;
+					return result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the non-tree edge with the least slack which reconnects the two
+	 * components created by removing the given tree edge, in the direction
+	 * opposite to it.
+	 */
+	private int enter(int e) {
+		int below = lim[source[e]] < lim[target[e]] ? source[e] : target[e];
+		boolean incoming = below == source[e];
+		int result = -1;
+		int minSlack = Integer.MAX_VALUE;
+		for (int l = low[below]; l <= lim[below] && minSlack > 0; l++) {
+			int v = nodeAt[l];
+			if (incoming) {
+				for (int i = inStart[v]; i < inStart[v + 1]; i++) {
+					int f = inEdges[i];
+					int slack = rank[v] - rank[source[f]] - delta[f];
+					if (slack < minSlack && !tree[f] && !isBelow(source[f], below)) {
+						result = f;
+						minSlack = slack;
+					}
+				}
+			} else {
+				for (int i = outStart[v]; i < outStart[v + 1]; i++) {
+					int f = outEdges[i];
+					int slack = rank[target[f]] - rank[v] - delta[f];
+					if (slack < minSlack && !tree[f] && !isBelow(target[f], below)) {
+						result = f;
+						minSlack = slack;
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Replaces the leaving tree edge by the entering edge. The smaller of the two
+	 * components is moved so that the entering edge becomes tight, and the cut
+	 * values and postorder numbers are updated below the common ancestor of the
+	 * ends of the entering edge.
+	 */
+	private void update(int e, int f) {
+		int below = lim[source[e]] < lim[target[e]] ? source[e] : target[e];
+		int slack = rank[target[f]] - rank[source[f]] - delta[f];
+		if (slack > 0) {
+			int shift = isBelow(target[f], below) ? -slack : slack;
+			int root = roots[component[below]];
+			if (2 * (lim[below] - low[below] + 1) <= lim[root] - low[root] + 1) {
+				moveRanks(low[below], lim[below], shift);
+			} else {
+				moveRanks(low[root], low[below] - 1, -shift);
+				moveRanks(lim[below] + 1, lim[root], -shift);
+			}
+		}
+
+		int cutValue = cut[e];
+		stamp++;
+		int ancestor = updateCutValues(source[f], target[f], cutValue, true);
+		updateCutValues(target[f], source[f], cutValue, false);
+		marks[ancestor] = stamp;
+		cut[f] = -cutValue;
+		cut[e] = 0;
+
+		tree[e] = false;
+		removeTreeAdjacency(source[e], e);
+		removeTreeAdjacency(target[e], e);
+		tree[f] = true;
+		addTreeAdjacency(source[f], f);
+		addTreeAdjacency(target[f], f);
+		treeEdges[treePosition[e]] = f;
+		treePosition[f] = treePosition[e];
+
+		renumber(ancestor);
+	}
+
+	private void moveRanks(int fromLim, int toLim, int shift) {
+		for (int l = fromLim; l <= toLim; l++) {
+			rank[nodeAt[l]] += shift;
+		}
+	}
+
+	/**
+	 * Adds the cut value of the leaving edge to the cut values of the tree edges on
+	 * the path from the given node up to the common ancestor with the other node.
+	 *
+	 * @return the common ancestor
+	 */
+	private int updateCutValues(int v, int other, int cutValue, boolean add) {
+		while (!isBelow(other, v)) {
+			marks[v] = stamp;
+			int e = parent[v];
+			if ((v == source[e]) == add) {
+				cut[e] += cutValue;
+			} else {
+				cut[e] -= cutValue;
+			}
+			v = lim[source[e]] > lim[target[e]] ? source[e] : target[e];
+		}
+		return v;
+	}
+
+	private void writeRanks(DirectedGraph g) {
+		int[] minRank = new int[rank.length];
+		Arrays.fill(minRank, Integer.MAX_VALUE);
+		for (int v = 0; v < rank.length; v++) {
+			minRank[component[v]] = Math.min(minRank[component[v]], rank[v]);
+		}
+		for (int v = 0; v < rank.length; v++) {
+			g.nodes.get(v).rank = rank[v] - minRank[component[v]];
+		}
+	}
+
+	private void release() {
+		source = target = delta = weight = null;
+		outStart = outEdges = inStart = inEdges = null;
+		rank = component = roots = null;
+		tree = null;
+		cut = parent = low = lim = nodeAt = null;
+		treeAdjacency = null;
+		treeDegree = treeEdges = treePosition = null;
+		stack = next = marks = previous = children = childrenStart = childrenEnd = null;
+	}
+
+	/**
+	 * A binary min-heap of edges. Edges with the same key are ordered by their
+	 * index, so that the tree doesn't depend on the implementation of the heap.
+	 */
+	private static final class EdgeHeap {
+		private int[] keys = new int[16];
+		private int[] edges = new int[16];
+		private int size;
+
+		void add(int key, int edge) {
+			if (size == keys.length) {
+				keys = Arrays.copyOf(keys, size * 2);
+				edges = Arrays.copyOf(edges, size * 2);
+			}
+			int i = size++;
+			while (i > 0) {
+				int p = (i - 1) / 2;
+				if (!less(key, edge, keys[p], edges[p])) {
+					break;
+				}
+				keys[i] = keys[p];
+				edges[i] = edges[p];
+				i = p;
+			}
+			keys[i] = key;
+			edges[i] = edge;
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+		int peekKey() {
+			return keys[0];
+		}
+
+		int peekEdge() {
+			return edges[0];
+		}
+
+		int pop() {
+			int result = edges[0];
+			int key = keys[--size];
+			int edge = edges[size];
+			int i = 0;
+			while (2 * i + 1 < size) {
+				int c = 2 * i + 1;
+				if (c + 1 < size && less(keys[c + 1], edges[c + 1], keys[c], edges[c])) {
+					c++;
+				}
+				if (!less(keys[c], edges[c], key, edge)) {
+					break;
+				}
+				keys[i] = keys[c];
+				edges[i] = edges[c];
+				i = c;
+			}
+			keys[i] = key;
+			edges[i] = edge;
+			return result;
+		}
+
+		private static boolean less(int key1, int edge1, int key2, int edge2) {
+			return key1 < key2 || (key1 == key2 && edge1 < edge2);
+		}
+	}
+
+}
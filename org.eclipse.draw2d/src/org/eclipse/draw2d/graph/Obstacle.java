@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2010 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -28,6 +28,11 @@ import org.eclipse.draw2d.geometry.Rectangle;
 class Obstacle extends Rectangle {
 
 	boolean exclude;
+	/**
+	 * The highest number of paths bent around one of the corners of this obstacle
+	 * in the last solve. It bounds the area into which these paths are offset.
+	 */
+	int pathCount;
 	Vertex topLeft;
 	Vertex topRight;
 	Vertex bottomLeft;
@@ -110,6 +115,17 @@ class Obstacle extends Rectangle {
 		topRight.fullReset();
 	}
 
+	/**
+	 * Resets the shortest path search fields on all four vertices of this
+	 * obstacle.
+	 */
+	void resetSearch() {
+		topLeft.resetSearch();
+		bottomLeft.resetSearch();
+		bottomRight.resetSearch();
+		topRight.resetSearch();
+	}
+
 	private static void shrinkVertex(Vertex vertex) {
 		if (vertex.totalCount > 0) {
 			vertex.shrink();
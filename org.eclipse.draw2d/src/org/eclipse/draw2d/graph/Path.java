@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2023 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -17,6 +17,8 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
 
 import org.eclipse.draw2d.PositionConstants;
 import org.eclipse.draw2d.geometry.Point;
@@ -92,6 +94,11 @@ public class Path {
 	double threshold;
 	Set<Obstacle> visibleObstacles;
 	Set<Vertex> visibleVertices;
+	/**
+	 * The distance from the bounds of the start and end point within which
+	 * obstacles are added to the visibility graph, or 0 if there is no limit.
+	 */
+	int visibilityRadius;
 
 	/**
 	 * Constructs a new path.
@@ -258,33 +265,32 @@ public class Path {
 	/**
 	 * Attempts to add a segment to the visibility graph. First checks to see if the
 	 * segment is outside the threshold oval. Then it compares the segment against
-	 * all obstacles. If it is clean, the segment is finally added to the graph.
+	 * the obstacles close to it. If it is clean, the segment is finally added to
+	 * the graph. An obstacle blocking the segment is only added to the graph if it
+	 * is within the visibility radius.
 	 *
-	 * @param segment      the segment
-	 * @param exclude1     an obstacle to exclude from the search
-	 * @param exclude2     another obstacle to exclude from the search
-	 * @param allObstacles the list of all obstacles
+	 * @param segment   the segment
+	 * @param exclude1  an obstacle to exclude from the search
+	 * @param exclude2  another obstacle to exclude from the search
+	 * @param obstacles returns the first obstacle intersecting a segment
 	 */
-	private void addSegment(Segment segment, Obstacle exclude1, Obstacle exclude2, List<Obstacle> allObstacles) {
+	private void addSegment(Segment segment, Obstacle exclude1, Obstacle exclude2,
+			BiFunction<Segment, Predicate<Obstacle>, Obstacle> obstacles) {
 		if (threshold != 0 && (segment.end.getDistance(end) + segment.end.getDistance(start) > threshold
 				|| segment.start.getDistance(end) + segment.start.getDistance(start) > threshold)) {
 			return;
 		}
 
-		for (Obstacle obs : allObstacles) {
-
-			if (obs == exclude1 || obs == exclude2 || obs.exclude) {
-				continue;
-			}
-
-			if (segment.intersects(obs.x, obs.y, obs.right() - 1, obs.bottom() - 1)
-					|| segment.intersects(obs.x, obs.bottom() - 1, obs.right() - 1, obs.y)
-					|| obs.containsProper(segment.start) || obs.containsProper(segment.end)) {
-				if (!visibleObstacles.contains(obs)) {
-					addObstacle(obs);
-				}
-				return;
+		Obstacle obs = obstacles.apply(segment, candidate -> candidate != exclude1 && candidate != exclude2
+				&& !candidate.exclude
+				&& (segment.intersects(candidate.x, candidate.y, candidate.right() - 1, candidate.bottom() - 1)
+						|| segment.intersects(candidate.x, candidate.bottom() - 1, candidate.right() - 1, candidate.y)
+						|| candidate.containsProper(segment.start) || candidate.containsProper(segment.end)));
+		if (obs != null) {
+			if (!visibleObstacles.contains(obs) && isWithinVisibilityRadius(obs)) {
+				addObstacle(obs);
 			}
+			return;
 		}
 
 		linkVertices(segment);
@@ -485,15 +491,15 @@ public class Path {
 	/**
 	 * Begins the creation of the visibility graph with the first segment
 	 *
-	 * @param allObstacles list of all obstacles
+	 * @param obstacles returns the first obstacle intersecting a segment
 	 */
-	private void createVisibilityGraph(List<Obstacle> allObstacles) {
+	private void createVisibilityGraph(BiFunction<Segment, Predicate<Obstacle>, Obstacle> obstacles) {
 		stack.push(null);
 		stack.push(null);
 		stack.push(new Segment(start, end));
 
 		while (!stack.isEmpty()) {
-			addSegment(stack.pop(), stack.popObstacle(), stack.popObstacle(), allObstacles);
+			addSegment(stack.pop(), stack.popObstacle(), stack.popObstacle(), obstacles);
 		}
 	}
 
@@ -545,11 +551,13 @@ public class Path {
 	 * Creates the visibility graph and returns whether or not a shortest path could
 	 * be determined.
 	 *
-	 * @param allObstacles the list of all obstacles
+	 * @param obstacles returns the first obstacle, in the order in which they have
+	 *                  been added to the routing, which intersects a given segment
+	 *                  and matches a given predicate
 	 * @return true if a shortest path was found
 	 */
-	boolean generateShortestPath(List<Obstacle> allObstacles) {
-		createVisibilityGraph(allObstacles);
+	boolean generateShortestPath(BiFunction<Segment, Predicate<Obstacle>, Obstacle> obstacles) {
+		createVisibilityGraph(obstacles);
 
 		if (visibleVertices.isEmpty()) {
 			return false;
@@ -635,6 +643,23 @@ public class Path {
 		}
 	}
 
+	/**
+	 * Returns whether the given obstacle is close enough to the start and end
+	 * point to be added to the visibility graph.
+	 *
+	 * @param obs the obstacle
+	 * @return true if the obstacle is within the visibility radius
+	 */
+	private boolean isWithinVisibilityRadius(Obstacle obs) {
+		if (visibilityRadius == 0) {
+			return true;
+		}
+		return obs.x <= Math.max(start.x, end.x) + visibilityRadius
+				&& obs.right() - 1 >= Math.min(start.x, end.x) - visibilityRadius
+				&& obs.y <= Math.max(start.y, end.y) + visibilityRadius
+				&& obs.bottom() - 1 >= Math.min(start.y, end.y) - visibilityRadius;
+	}
+
 	/**
 	 * Returns true if this obstacle is in the visibility graph
 	 *
@@ -744,12 +769,13 @@ public class Path {
 	 * Refreshes the exclude field on the obstacles in the list. Excludes all
 	 * obstacles that contain the start or end point for this path.
 	 *
-	 * @param allObstacles list of all obstacles
+	 * @param candidates the obstacles which may contain the start or end point, in
+	 *                   the order in which they have been added to the routing
 	 */
-	void refreshExcludedObstacles(List<Obstacle> allObstacles) {
+	void refreshExcludedObstacles(List<Obstacle> candidates) {
 		excludedObstacles.clear();
 
-		for (Obstacle o : allObstacles) {
+		for (Obstacle o : candidates) {
 			o.exclude = false;
 
 			if (o.contains(start)) {
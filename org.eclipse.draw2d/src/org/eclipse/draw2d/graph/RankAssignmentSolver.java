@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2023 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -146,7 +146,7 @@ class RankAssignmentSolver extends SpanningTreeVisitor {
 	void networkSimplexLoop() {
 		Edge leave;
 		int count = 0;
-		while ((leave = leave()) != null && count < 900) {
+		while ((leave = leave()) != null && count < 900 && !isCanceled(graph)) {
 
 			count++;
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2023 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -30,6 +30,10 @@ class RankSorter {
 	Rank rank;
 	double progress;
 	DirectedGraph g;
+	/**
+	 * Whether the last sort changed the order of the rank.
+	 */
+	boolean changed;
 
 	protected void assignIncomingSortValues() {
 		rankSize = rank.total;
@@ -167,12 +171,21 @@ class RankSorter {
 	void optimize(DirectedGraph g) {
 	}
 
+	/**
+	 * Returns a new sorter of the same kind, which is used to sort a connected
+	 * component of the graph independently of this sorter.
+	 */
+	RankSorter newInstance() {
+		return new RankSorter();
+	}
+
 	protected void postSort() {
 		rank.assignIndices();
 	}
 
 	void sort() {
 		boolean change;
+		changed = false;
 		do {
 			change = false;
 			for (int i = 0; i < rank.size() - 1; i++) {
@@ -181,6 +194,7 @@ class RankSorter {
 			if (!change) {
 				break;
 			}
+			changed = true;
 			change = false;
 			for (int i = rank.size() - 2; i >= 0; i--) {
 				change |= swap(i);
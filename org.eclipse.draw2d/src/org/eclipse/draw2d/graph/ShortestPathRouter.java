@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2023 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -13,16 +13,26 @@
 package org.eclipse.draw2d.graph;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
 
 import org.eclipse.draw2d.PositionConstants;
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.PointList;
 import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.draw2d.internal.SpatialGrid;
 
 /**
  * Bends a collection of {@link Path Paths} around rectangular obstacles. This
@@ -38,6 +48,12 @@ import org.eclipse.draw2d.geometry.Rectangle;
  * number of paths, n is the number of obstacles, and s is the average number of
  * segments in each path's final solution.
  * <P>
+ * The obstacles and the previous solution of each path are kept in a spatial
+ * index. Once all paths have been solved, a solve only revisits the dirty paths
+ * and the paths which share an obstacle corner or an offset region with them,
+ * or with an obstacle which has been added, moved or removed. All other paths
+ * keep their points.
+ * <P>
  * This class is not intended to be subclassed.
  *
  * @author Whitney Sorenson
@@ -60,12 +76,79 @@ public class ShortestPathRouter {
 		}
 	}
 
+	/**
+	 * A copy of the obstacles, on which the shortest path of a path can be searched
+	 * independently from the searches on the original obstacles. The obstacles are
+	 * copied when they are first looked up. The vertices and obstacles of the
+	 * result are mapped back to the original ones.
+	 */
+	private static final class ObstacleCopies {
+
+		private final ShortestPathRouter router;
+		private final Map<Obstacle, Obstacle> copies = new IdentityHashMap<>();
+		private final Map<Obstacle, Obstacle> originals = new IdentityHashMap<>();
+		private final Map<Vertex, Vertex> vertices = new IdentityHashMap<>();
+
+		ObstacleCopies(ShortestPathRouter router) {
+			this.router = router;
+		}
+
+		private List<Obstacle> copyAll(List<Obstacle> obstacles) {
+			List<Obstacle> result = new ArrayList<>(obstacles.size());
+			for (Obstacle obs : obstacles) {
+				result.add(copyOf(obs));
+			}
+			return result;
+		}
+
+		private Obstacle copyOf(Obstacle original) {
+			return copies.computeIfAbsent(original, this::copy);
+		}
+
+		private Obstacle copy(Obstacle original) {
+			Obstacle copy = new Obstacle(original, router);
+			originals.put(copy, original);
+			vertices.put(copy.topLeft, original.topLeft);
+			vertices.put(copy.topRight, original.topRight);
+			vertices.put(copy.bottomLeft, original.bottomLeft);
+			vertices.put(copy.bottomRight, original.bottomRight);
+			return copy;
+		}
+
+		void generateShortestPath(Path path) {
+			router.generateShortestPath(path, copyAll(router.getExclusionCandidates(path)),
+					(segment, predicate) -> copies.get(router.findObstacleOn(segment,
+							obs -> predicate.test(copyOf(obs)))));
+
+			for (Segment segment : path.segments) {
+				segment.start = vertices.getOrDefault(segment.start, segment.start);
+				segment.end = vertices.getOrDefault(segment.end, segment.end);
+			}
+			path.excludedObstacles.replaceAll(originals::get);
+			Set<Obstacle> visibleObstacles = new HashSet<>();
+			for (Obstacle obs : path.visibleObstacles) {
+				visibleObstacles.add(originals.get(obs));
+			}
+			path.visibleObstacles.clear();
+			path.visibleObstacles.addAll(visibleObstacles);
+			path.visibleVertices.clear();
+		}
+	}
+
 	/**
 	 * The number of times to grow obstacles and test for intersections. This is a
 	 * tradeoff between performance and quality of output.
 	 */
 	private static final int NUM_GROW_PASSES = 2;
 
+	/**
+	 * The width and height of a cell of the obstacle and path indexes, and the
+	 * number of cells an obstacle or path may span before it is treated as being
+	 * close to every area.
+	 */
+	private static final int INDEX_CELL_SIZE = 128;
+	private static final int INDEX_MAX_CELLS = 256;
+
 	private int spacing = 4;
 	private boolean growPassChangedObstacles;
 	private List<Path> orderedPaths;
@@ -78,6 +161,42 @@ public class ShortestPathRouter {
 	private final List<Path> userPaths;
 	private final List<Path> workingPaths;
 
+	private final SpatialGrid<Obstacle> obstacleIndex = new SpatialGrid<>(INDEX_CELL_SIZE, INDEX_MAX_CELLS);
+	private final SpatialGrid<Path> pathIndex = new SpatialGrid<>(INDEX_CELL_SIZE, INDEX_MAX_CELLS);
+	/**
+	 * The lines each working path has been tested with or consists of in the last
+	 * solve, as {@code x1, y1, x2, y2} quadruples.
+	 */
+	private final Map<Path, int[]> pathLines = new IdentityHashMap<>();
+	/**
+	 * The obstacles each working path has been close enough to in the last solve
+	 * to be affected by their state.
+	 */
+	private final Map<Path, Set<Obstacle>> pathObstacles = new IdentityHashMap<>();
+	private final List<Obstacle> changedObstacles = new ArrayList<>();
+	private final List<Set<Obstacle>> removedPathObstacles = new ArrayList<>();
+	private Map<Path, PointList> testedSegments;
+	private Map<Path, Set<Obstacle>> touchedObstacles;
+	private int maxPathCount;
+	private int maxTotalCount;
+	/**
+	 * The spacing of the last solve, or -1 if all paths have to be routed again.
+	 */
+	private int solvedSpacing = -1;
+
+	private Set<Path> affectedPaths;
+	private Map<Obstacle, Integer> affectedObstacles;
+	private PathStack pendingPaths;
+	private int affectedCount;
+
+	private int visibilityRadius;
+
+	/**
+	 * The pool used to search the shortest paths of the dirty paths in parallel.
+	 * If {@code null}, the paths are searched by the calling thread.
+	 */
+	private ForkJoinPool pool;
+
 	/**
 	 * Creates a new shortest path routing.
 	 */
@@ -161,7 +280,7 @@ public class ShortestPathRouter {
 
 		int xDist, yDist;
 
-		for (Obstacle obs : userObstacles) {
+		for (Obstacle obs : obstacleIndex.query(r.x, r.y, r.right() - 1, r.bottom() - 1)) {
 			if (obs != vertex.obs && r.intersects(obs)) {
 				int pos = obs.getPosition(vertex);
 				if (pos == 0) {
@@ -195,10 +314,12 @@ public class ShortestPathRouter {
 	}
 
 	/**
-	 * Checks all vertices along paths for intersections
+	 * Checks all vertices along the given paths for intersections
+	 *
+	 * @param paths the paths to check
 	 */
-	private void checkVertexIntersections() {
-		for (Path path : workingPaths) {
+	private void checkVertexIntersections(List<Path> paths) {
+		for (Path path : paths) {
 
 			for (int s = 0; s < path.segments.size() - 1; s++) {
 				Vertex vertex = path.segments.get(s).end;
@@ -209,9 +330,11 @@ public class ShortestPathRouter {
 
 	/**
 	 * Frees up fields which aren't needed between invocations.
+	 *
+	 * @param paths the routed paths
 	 */
-	private void cleanup() {
-		for (Path path : workingPaths) {
+	private static void cleanup(List<Path> paths) {
+		for (Path path : paths) {
 			path.cleanup();
 		}
 	}
@@ -219,11 +342,16 @@ public class ShortestPathRouter {
 	/**
 	 * Counts how many paths are on given vertices in order to increment their total
 	 * count.
+	 *
+	 * @param paths the paths to count
 	 */
-	private void countVertices() {
-		for (Path path : workingPaths) {
+	private void countVertices(List<Path> paths) {
+		maxTotalCount = 0;
+		for (Path path : paths) {
 			for (int v = 0; v < path.segments.size() - 1; v++) {
-				path.segments.get(v).end.totalCount++;
+				Vertex vertex = path.segments.get(v).end;
+				vertex.totalCount++;
+				maxTotalCount = Math.max(maxTotalCount, vertex.totalCount);
 			}
 		}
 	}
@@ -264,6 +392,19 @@ public class ShortestPathRouter {
 	 * workingPaths.add(path); } //End FOR }
 	 */
 
+	/**
+	 * Returns the pool used to search the shortest paths of the dirty paths in
+	 * parallel.
+	 *
+	 * @return the pool used to search the paths or {@code null}, if the paths are
+	 *         searched by the calling thread
+	 * @see #setForkJoinPool(ForkJoinPool)
+	 * @since 3.20
+	 */
+	public ForkJoinPool getForkJoinPool() {
+		return pool;
+	}
+
 	/**
 	 * Returns the closest vertex to the given segment.
 	 *
@@ -300,19 +441,32 @@ public class ShortestPathRouter {
 	 */
 	private Path getSubpathForSplit(Path path, Segment segment) {
 		Path newPath = path.getSubPath(segment);
-		workingPaths.add(newPath);
 		subPaths.add(newPath);
 		return newPath;
 	}
 
 	/**
-	 * Grows all obstacles in in routing and tests for new intersections
+	 * Returns the visibility radius of the paths.
+	 *
+	 * @return the visibility radius, or 0 if there is no limit
+	 * @see #setVisibilityRadius(int)
+	 * @since 3.20
+	 */
+	public int getVisibilityRadius() {
+		return visibilityRadius;
+	}
+
+	/**
+	 * Grows the given obstacles and tests the given paths for new intersections
+	 *
+	 * @param paths     the paths to test
+	 * @param obstacles the obstacles to grow
 	 */
-	private void growObstacles() {
+	private void growObstacles(List<Path> paths, Collection<Obstacle> obstacles) {
 		growPassChangedObstacles = false;
 		for (int i = 0; i < NUM_GROW_PASSES; i++) {
 			if (i == 0 || growPassChangedObstacles) {
-				growObstaclesPass();
+				growObstaclesPass(paths, obstacles);
 			}
 		}
 	}
@@ -320,15 +474,18 @@ public class ShortestPathRouter {
 	/**
 	 * Performs a single pass of the grow obstacles step, this can be repeated as
 	 * desired. Grows obstacles, then tests paths against the grown obstacles.
+	 *
+	 * @param paths     the paths to test
+	 * @param obstacles the obstacles to grow
 	 */
-	private void growObstaclesPass() {
+	private void growObstaclesPass(List<Path> paths, Collection<Obstacle> obstacles) {
 		// grow obstacles
-		for (Obstacle userObstacle : userObstacles) {
-			userObstacle.growVertices();
+		for (Obstacle obstacle : obstacles) {
+			obstacle.growVertices();
 		}
 
 		// go through paths and test segments
-		for (Path path : workingPaths) {
+		for (Path path : paths) {
 
 			for (Obstacle element : path.excludedObstacles) {
 				element.exclude = true;
@@ -353,8 +510,8 @@ public class ShortestPathRouter {
 		}
 
 		// revert obstacles
-		for (Obstacle userObstacle : userObstacles) {
-			userObstacle.shrinkVertices();
+		for (Obstacle obstacle : obstacles) {
+			obstacle.shrinkVertices();
 		}
 	}
 
@@ -365,6 +522,8 @@ public class ShortestPathRouter {
 	 */
 	private boolean internalAddObstacle(Obstacle obs) {
 		userObstacles.add(obs);
+		obstacleIndex.put(obs, obs.x, obs.y, Math.max(obs.x, obs.right() - 1), Math.max(obs.y, obs.bottom() - 1));
+		changedObstacles.add(obs);
 		return testAndDirtyPaths(obs);
 	}
 
@@ -376,16 +535,21 @@ public class ShortestPathRouter {
 	 */
 	private boolean internalRemoveObstacle(Rectangle rect) {
 		Obstacle obs = null;
-		int index = -1;
-		for (int i = 0; i < userObstacles.size(); i++) {
-			obs = userObstacles.get(i);
-			if (obs.equals(rect)) {
-				index = i;
+		for (Obstacle candidate : obstacleIndex.query(rect.x, rect.y, Math.max(rect.x, rect.right() - 1),
+				Math.max(rect.y, rect.bottom() - 1))) {
+			if (candidate.equals(rect)) {
+				obs = candidate;
 				break;
 			}
 		}
+		if (obs == null) {
+			throw new IllegalArgumentException("No obstacle with the bounds " + rect); //$NON-NLS-1$
+		}
 
-		userObstacles.remove(index);
+		// The first equal obstacle in the list is the one found above
+		userObstacles.remove(obs);
+		obstacleIndex.remove(obs);
+		changedObstacles.add(obs);
 
 		boolean result = false;
 		result |= dirtyPathsOn(obs.bottomLeft);
@@ -456,11 +620,13 @@ public class ShortestPathRouter {
 	}
 
 	/**
-	 * Labels all path's vertices in the routing.
+	 * Labels the vertices of the given paths.
+	 *
+	 * @param paths the paths to label
 	 */
-	private void labelPaths() {
+	private void labelPaths(List<Path> paths) {
 		Path path = null;
-		for (Path workingPath : workingPaths) {
+		for (Path workingPath : paths) {
 			path = workingPath;
 			stack.push(path);
 		}
@@ -474,9 +640,11 @@ public class ShortestPathRouter {
 		}
 
 		// revert is marked so we can use it again in ordering.
-		for (Path workingPath : workingPaths) {
-			path = workingPath;
-			path.isMarked = false;
+		for (Path workingPath : paths) {
+			workingPath.isMarked = false;
+		}
+		for (Path subPath : subPaths) {
+			subPath.isMarked = false;
 		}
 	}
 
@@ -548,20 +716,28 @@ public class ShortestPathRouter {
 	}
 
 	/**
-	 * Orders all paths in the graph.
+	 * Orders the given paths and the subpaths split from them.
+	 *
+	 * @param paths the paths to order
 	 */
-	private void orderPaths() {
-		for (Path path : workingPaths) {
+	private void orderPaths(List<Path> paths) {
+		for (Path path : paths) {
+			orderPath(path);
+		}
+		for (Path path : subPaths) {
 			orderPath(path);
 		}
 	}
 
 	/**
 	 * Populates the parent paths with all the child paths that were created to
-	 * represent bendpoints.
+	 * represent bendpoints, unless none of their child paths has been routed.
 	 */
 	private void recombineChildrenPaths() {
 		for (Entry<Path, List<Path>> entry : pathsToChildPaths.entrySet()) {
+			if (affectedPaths != null && entry.getValue().stream().noneMatch(affectedPaths::contains)) {
+				continue;
+			}
 			Path path = entry.getKey();
 			path.fullReset();
 
@@ -590,7 +766,6 @@ public class ShortestPathRouter {
 		}
 
 		orderedPaths.removeAll(subPaths);
-		workingPaths.removeAll(subPaths);
 		subPaths = null;
 	}
 
@@ -616,32 +791,122 @@ public class ShortestPathRouter {
 		List<Path> children = pathsToChildPaths.get(path);
 		if (children == null) {
 			workingPaths.remove(path);
+			forgetPath(path);
 		} else {
 			workingPaths.removeAll(children);
+			children.forEach(this::forgetPath);
 		}
 		return true;
 	}
 
 	/**
-	 * Resets exclude field on all obstacles
+	 * Removes a path which is no longer a working path from the spatial index. Its
+	 * previous solution is kept until the next solve, so that the paths near it are
+	 * routed again.
+	 *
+	 * @param path the path which has been removed
 	 */
-	private void resetObstacleExclusions() {
-		for (Obstacle userObstacle : userObstacles) {
-			userObstacle.exclude = false;
+	private void forgetPath(Path path) {
+		Set<Obstacle> obstacles = pathObstacles.remove(path);
+		if (obstacles != null) {
+			removedPathObstacles.add(obstacles);
 		}
+		pathLines.remove(path);
+		pathIndex.remove(path);
 	}
 
 	/**
-	 * Resets all vertices found on paths and obstacles.
+	 * Refreshes the obstacles excluded by the given path and sets their exclude
+	 * field.
+	 *
+	 * @param path the path
 	 */
-	private void resetVertices() {
-		for (Obstacle userObstacle : userObstacles) {
-			Obstacle obs = userObstacle;
-			obs.reset();
+	private void refreshExcludedObstacles(Path path) {
+		path.refreshExcludedObstacles(getExclusionCandidates(path));
+	}
+
+	/**
+	 * Returns the obstacles which may contain the start or end point of the given
+	 * path.
+	 *
+	 * @param path the path
+	 * @return the candidates in the order in which they have been added
+	 */
+	private List<Obstacle> getExclusionCandidates(Path path) {
+		Point start = path.getStartPoint();
+		Point end = path.getEndPoint();
+		return obstacleIndex.query(start.x, start.y, start.x, start.y, end.x, end.y, end.x, end.y);
+	}
+
+	/**
+	 * Returns the first obstacle, in the order in which they have been added, which
+	 * may intersect the given segment and which matches the given predicate.
+	 *
+	 * @param segment   the segment
+	 * @param predicate the predicate
+	 * @return the first matching obstacle or {@code null}
+	 */
+	private Obstacle findObstacleOn(Segment segment, Predicate<Obstacle> predicate) {
+		return obstacleIndex.findFirstOnLine(segment.start.x, segment.start.y, segment.end.x, segment.end.y,
+				predicate);
+	}
+
+	/**
+	 * Resets the exclude field on the obstacles excluded by the given path.
+	 *
+	 * @param path the path
+	 */
+	private static void resetObstacleExclusions(Path path) {
+		for (Obstacle obs : path.excludedObstacles) {
+			obs.exclude = false;
 		}
-		for (Path path : workingPaths) {
-			path.start.fullReset();
-			path.end.fullReset();
+	}
+
+	/**
+	 * Resets the shortest path search fields of the vertices in the visibility
+	 * graph of the given path.
+	 *
+	 * @param path the path
+	 */
+	private static void resetSearch(Path path) {
+		for (Obstacle obs : path.visibleObstacles) {
+			obs.resetSearch();
+		}
+		path.start.resetSearch();
+		path.end.resetSearch();
+	}
+
+	/**
+	 * Sets the pool used to search the shortest paths of the dirty paths in
+	 * parallel. Each path is searched on a separate copy of the obstacles, and the
+	 * paths are offset and bent by the calling thread afterwards. The result is
+	 * therefore the same as without pool, independent of the size of the pool.
+	 *
+	 * @param pool the pool used to search the paths or {@code null}, if the paths
+	 *             should be searched by the calling thread (default)
+	 * @since 3.20
+	 */
+	public void setForkJoinPool(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Sets the visibility radius of the paths. If positive, only obstacles within
+	 * the given distance from the bounds of the start and end point of a path may
+	 * be bent around. This bounds the size of the visibility graph of each path,
+	 * but paths may take longer detours. If no path can be found within the
+	 * radius, the path is searched again without limit. All paths are searched
+	 * again on the next solve.
+	 *
+	 * @param radius the visibility radius, or 0 if there is no limit (default)
+	 * @since 3.20
+	 */
+	public void setVisibilityRadius(int radius) {
+		if (radius != visibilityRadius) {
+			visibilityRadius = radius;
+			for (Path path : userPaths) {
+				path.isDirty = true;
+			}
 		}
 	}
 
@@ -666,19 +931,59 @@ public class ShortestPathRouter {
 	 */
 	public List<Path> solve() {
 
-		solveDirtyPaths();
+		List<Path> solvedPaths = solveDirtyPaths();
 
-		countVertices();
-		checkVertexIntersections();
-		growObstacles();
+		if (solvedSpacing == getSpacing()) {
+			solveAffectedPaths(solvedPaths);
+		} else {
+			maxPathCount = 0;
+			routePaths(workingPaths, userObstacles);
+			solvedSpacing = getSpacing();
+		}
+		changedObstacles.clear();
+		removedPathObstacles.clear();
+
+		return Collections.unmodifiableList(userPaths);
+	}
+
+	/**
+	 * Offsets the given paths around the corners they share, and bends them
+	 * accordingly. The state of the given obstacles is reset first. All other
+	 * obstacles must not be touched by the paths.
+	 *
+	 * @param paths     the paths to route, in the order of the working paths
+	 * @param obstacles the obstacles the paths may be routed around
+	 */
+	private void routePaths(List<Path> paths, Collection<Obstacle> obstacles) {
+		testedSegments = new IdentityHashMap<>();
+		touchedObstacles = new IdentityHashMap<>();
+		for (Obstacle obs : obstacles) {
+			obs.reset();
+		}
+		for (Path path : paths) {
+			path.resetPartial();
+			path.start.fullReset();
+			path.end.fullReset();
+			refreshExcludedObstacles(path);
+			resetObstacleExclusions(path);
+		}
+
+		countVertices(paths);
+		checkVertexIntersections(paths);
+		growObstacles(paths, obstacles);
+
+		for (Obstacle obs : obstacles) {
+			obs.pathCount = getTotalCount(obs);
+			maxPathCount = Math.max(maxPathCount, obs.pathCount);
+		}
 
 		subPaths = new ArrayList<>();
 		stack = new PathStack();
-		labelPaths();
+		labelPaths(paths);
 		stack = null;
 
 		orderedPaths = new ArrayList<>();
-		orderPaths();
+		orderPaths(paths);
 		bendPaths();
 
 		recombineSubpaths();
@@ -686,18 +991,299 @@ public class ShortestPathRouter {
 		subPaths = null;
 
 		recombineChildrenPaths();
-		cleanup();
+		cleanup(paths);
 
-		return Collections.unmodifiableList(userPaths);
+		for (Path path : paths) {
+			indexPath(path);
+		}
+		testedSegments = null;
+		touchedObstacles = null;
+	}
+
+	/**
+	 * Routes the paths affected by the dirty paths and by the changed obstacles
+	 * again. Starting from the dirty paths, paths and obstacles are added until no
+	 * path touches an obstacle touched by another path outside of the set. An
+	 * obstacle is touched by a path if it has been close enough to one of the
+	 * segments tested in the grow passes to be hit, even if one of its corners was
+	 * offset by all the paths bending around it. Since routing may offset the
+	 * paths further, the set is checked again once routed. If most paths turn out
+	 * to be affected, all paths are routed again.
+	 *
+	 * @param solvedPaths the dirty paths which have been solved
+	 */
+	private void solveAffectedPaths(List<Path> solvedPaths) {
+		affectedPaths = Collections.newSetFromMap(new IdentityHashMap<>());
+		affectedObstacles = new IdentityHashMap<>();
+		pendingPaths = new PathStack();
+
+		for (Set<Obstacle> obstacles : removedPathObstacles) {
+			obstacles.forEach(this::visitObstacle);
+		}
+		for (Path path : solvedPaths) {
+			addAffectedPath(path);
+			for (Segment segment : path.segments) {
+				visitLine(segment.start.x, segment.start.y, segment.end.x, segment.end.y);
+			}
+		}
+
+		int routedCount = -1;
+		boolean complete = false;
+		while (!complete) {
+			for (Obstacle obs : changedObstacles) {
+				visitChangedObstacle(obs);
+			}
+			while (!pendingPaths.isEmpty() && !complete) {
+				Set<Obstacle> obstacles = pathObstacles.get(pendingPaths.pop());
+				if (obstacles != null) {
+					obstacles.forEach(this::visitObstacle);
+				}
+				complete = affectedPaths.size() > workingPaths.size() / 2;
+			}
+			if (complete || affectedCount == routedCount) {
+				break;
+			}
+			routedCount = affectedCount;
+
+			List<Path> paths = new ArrayList<>(affectedPaths.size());
+			for (Path path : workingPaths) {
+				if (affectedPaths.contains(path)) {
+					paths.add(path);
+				}
+			}
+			List<Obstacle> obstacles = new ArrayList<>(affectedObstacles.keySet());
+			routePaths(paths, obstacles);
+
+			// Revisit the obstacles whose offset region has grown, and the new touches
+			obstacles.forEach(this::visitObstacle);
+			for (Path path : paths) {
+				pathObstacles.get(path).forEach(this::visitObstacle);
+			}
+		}
+
+		affectedPaths = null;
+		affectedObstacles = null;
+		pendingPaths = null;
+		if (complete) {
+			maxPathCount = 0;
+			routePaths(workingPaths, userObstacles);
+		}
+	}
+
+	/**
+	 * Adds the given path to the affected paths.
+	 *
+	 * @param path the path
+	 */
+	private void addAffectedPath(Path path) {
+		if (affectedPaths.add(path)) {
+			affectedCount++;
+			pendingPaths.push(path);
+		}
+	}
+
+	/**
+	 * Adds the given obstacle to the affected obstacles, together with all paths
+	 * touching it. Does nothing if the obstacle has already been visited with its
+	 * current offset region. As long as no path is bent around an obstacle, it is
+	 * never grown, and the paths close to it only depend on its bounds.
+	 *
+	 * @param obs the obstacle
+	 */
+	private void visitObstacle(Obstacle obs) {
+		Integer visitedCount = affectedObstacles.get(obs);
+		if (visitedCount != null && visitedCount.intValue() >= obs.pathCount) {
+			return;
+		}
+		affectedObstacles.put(obs, Integer.valueOf(obs.pathCount));
+		affectedCount++;
+		if (obs.pathCount > 0) {
+			visitPathsNear(obs);
+		}
+	}
+
+	/**
+	 * Adds all paths touching the given obstacle to the affected paths.
+	 *
+	 * @param obs the obstacle
+	 */
+	private void visitPathsNear(Obstacle obs) {
+		int margin = getTouchMargin(obs.pathCount);
+		int x1 = obs.x - margin;
+		int y1 = obs.y - margin;
+		int x2 = obs.right() - 1 + margin;
+		int y2 = obs.bottom() - 1 + margin;
+		for (Path path : pathIndex.query(x1, y1, x2, y2)) {
+			if (!affectedPaths.contains(path) && intersects(pathLines.get(path), x1, y1, x2, y2)) {
+				addAffectedPath(path);
+			}
+		}
+	}
+
+	/**
+	 * Visits an obstacle which has been added or removed since the last solve,
+	 * together with the paths close to it and the obstacles whose vertices may
+	 * have been shrunk because of it.
+	 *
+	 * @param changed the added or removed obstacle
+	 */
+	private void visitChangedObstacle(Obstacle changed) {
+		visitObstacle(changed);
+		visitPathsNear(changed);
+		int reach = 2 * maxPathCount * getSpacing() + 1;
+		for (Obstacle obs : obstacleIndex.query(changed.x - reach, changed.y - reach, changed.right() - 1 + reach,
+				changed.bottom() - 1 + reach)) {
+			int margin = 2 * obs.pathCount * getSpacing() + 1;
+			if (changed.intersects(new Rectangle(obs.x - margin, obs.y - margin, obs.width + 2 * margin,
+					obs.height + 2 * margin))) {
+				visitObstacle(obs);
+			}
+		}
+	}
+
+	/**
+	 * Visits all obstacles touched by the given line.
+	 */
+	private void visitLine(int x1, int y1, int x2, int y2) {
+		int reach = getTouchMargin(maxPathCount);
+		for (Obstacle obs : obstacleIndex.query(Math.min(x1, x2) - reach, Math.min(y1, y2) - reach,
+				Math.max(x1, x2) + reach, Math.max(y1, y2) + reach)) {
+			if (touches(obs, obs.pathCount, x1, y1, x2, y2)) {
+				visitObstacle(obs);
+			}
+		}
+	}
+
+	/**
+	 * Returns whether the given line is close enough to the obstacle to be affected
+	 * by the corners of the obstacle, if they are offset by the given number of
+	 * paths.
+	 */
+	private boolean touches(Obstacle obs, int pathCount, int x1, int y1, int x2, int y2) {
+		int margin = getTouchMargin(pathCount);
+		return intersects(x1, y1, x2, y2, obs.x - margin, obs.y - margin, obs.right() - 1 + margin,
+				obs.bottom() - 1 + margin);
+	}
+
+	/**
+	 * Returns the highest number of paths currently counted on one of the corners
+	 * of the given obstacle.
+	 *
+	 * @param obs the obstacle
+	 * @return the highest total count of its vertices
+	 */
+	private static int getTotalCount(Obstacle obs) {
+		return Math.max(Math.max(obs.topLeft.totalCount, obs.topRight.totalCount),
+				Math.max(obs.bottomLeft.totalCount, obs.bottomRight.totalCount));
+	}
+
+	/**
+	 * Returns how far paths touching an obstacle with the given number of paths
+	 * around one of its corners may be from it.
+	 *
+	 * @param pathCount the number of paths around the corner
+	 * @return the distance to the obstacle
+	 */
+	private int getTouchMargin(int pathCount) {
+		return (pathCount + 1) * getSpacing() + 1;
+	}
+
+	/**
+	 * Stores the lines the given path has been tested with or consists of in the
+	 * spatial index.
+	 *
+	 * @param path the routed path
+	 */
+	private void indexPath(Path path) {
+		PointList tested = testedSegments.get(path);
+		int testedCount = tested == null ? 0 : tested.size() / 2;
+		int[] lines = new int[4 * (testedCount + path.grownSegments.size() + Math.max(path.points.size() - 1, 0))];
+		int[] boxes = new int[lines.length];
+		int i = 0;
+		for (int p = 0; p < 2 * testedCount; p += 2) {
+			Point start = tested.getPoint(p);
+			Point end = tested.getPoint(p + 1);
+			i = addLine(lines, boxes, i, start.x, start.y, end.x, end.y);
+		}
+		for (Segment segment : path.grownSegments) {
+			i = addLine(lines, boxes, i, segment.start.x, segment.start.y, segment.end.x, segment.end.y);
+		}
+		for (int p = 0; p < path.points.size() - 1; p++) {
+			Point start = path.points.getPoint(p);
+			Point end = path.points.getPoint(p + 1);
+			i = addLine(lines, boxes, i, start.x, start.y, end.x, end.y);
+		}
+		Set<Obstacle> touched = touchedObstacles.get(path);
+		if (touched == null) {
+			touched = Collections.emptySet();
+		}
+		for (Segment segment : path.grownSegments) {
+			if (segment.end.obs != null) {
+				if (touched.isEmpty()) {
+					touched = Collections.newSetFromMap(new IdentityHashMap<>());
+				}
+				touched.add(segment.end.obs);
+			}
+		}
+		pathObstacles.put(path, touched);
+		pathLines.put(path, lines);
+		pathIndex.put(path, boxes);
+	}
+
+	private static int addLine(int[] lines, int[] boxes, int i, int x1, int y1, int x2, int y2) {
+		lines[i] = x1;
+		lines[i + 1] = y1;
+		lines[i + 2] = x2;
+		lines[i + 3] = y2;
+		boxes[i] = Math.min(x1, x2);
+		boxes[i + 1] = Math.min(y1, y2);
+		boxes[i + 2] = Math.max(x1, x2);
+		boxes[i + 3] = Math.max(y1, y2);
+		return i + 4;
+	}
+
+	/**
+	 * Returns whether one of the given lines intersects the given area.
+	 *
+	 * @param lines the lines as {@code x1, y1, x2, y2} quadruples
+	 * @return <code>true</code> if a line intersects the area
+	 */
+	private static boolean intersects(int[] lines, int left, int top, int right, int bottom) {
+		for (int i = 0; i < lines.length; i += 4) {
+			if (intersects(lines[i], lines[i + 1], lines[i + 2], lines[i + 3], left, top, right, bottom)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns whether the line intersects the area given by its inclusive bounds.
+	 * This is the case if their bounding boxes intersect and the corners of the
+	 * area are not all on the same side of the line.
+	 */
+	private static boolean intersects(int x1, int y1, int x2, int y2, int left, int top, int right, int bottom) {
+		if (Math.max(x1, x2) < left || Math.min(x1, x2) > right || Math.max(y1, y2) < top
+				|| Math.min(y1, y2) > bottom) {
+			return false;
+		}
+		long dx = (long) x2 - x1;
+		long dy = (long) y2 - y1;
+		long topLeft = dx * (top - y1) - dy * (left - x1);
+		long topRight = dx * (top - y1) - dy * (right - x1);
+		long bottomLeft = dx * (bottom - y1) - dy * (left - x1);
+		long bottomRight = dx * (bottom - y1) - dy * (right - x1);
+		return !(topLeft > 0 && topRight > 0 && bottomLeft > 0 && bottomRight > 0)
+				&& !(topLeft < 0 && topRight < 0 && bottomLeft < 0 && bottomRight < 0);
 	}
 
 	/**
 	 * Solves paths that are dirty.
 	 *
-	 * @return number of dirty paths
+	 * @return the dirty paths which have been solved
 	 */
-	private int solveDirtyPaths() {
-		int numSolved = 0;
+	private List<Path> solveDirtyPaths() {
+		List<Path> solvedPaths = new ArrayList<>();
 
 		for (Path path : userPaths) {
 			if (!path.isDirty) {
@@ -723,34 +1309,70 @@ public class ShortestPathRouter {
 		}
 
 		for (Path path : workingPaths) {
-			path.refreshExcludedObstacles(userObstacles);
-			if (!path.isDirty) {
-				path.resetPartial();
-				continue;
+			if (path.isDirty) {
+				solvedPaths.add(path);
 			}
+		}
 
-			numSolved++;
-			path.fullReset();
-
-			boolean pathFoundCheck = path.generateShortestPath(userObstacles);
-			if (!pathFoundCheck || path.end.cost > path.threshold) {
-				// path not found, or path found was too long
-				resetVertices();
-				path.fullReset();
-				path.threshold = 0;
-				pathFoundCheck = path.generateShortestPath(userObstacles);
+		if (pool != null && solvedPaths.size() > 1) {
+			generateShortestPaths(solvedPaths);
+		} else {
+			for (Path path : solvedPaths) {
+				generateShortestPath(path, getExclusionCandidates(path), this::findObstacleOn);
 			}
-
-			resetVertices();
 		}
 
-		resetObstacleExclusions();
+		return solvedPaths;
+	}
 
-		if (numSolved == 0) {
-			resetVertices();
+	/**
+	 * Searches the shortest paths of the given paths on the {@link #pool}. Each
+	 * task searches on its own copy of the obstacles, so that the result of each
+	 * path is the same as if the paths were searched one after another.
+	 *
+	 * @param paths the paths to search
+	 */
+	private void generateShortestPaths(List<Path> paths) {
+		AtomicInteger next = new AtomicInteger();
+		int taskCount = Math.min(paths.size(), pool.getParallelism());
+		List<ForkJoinTask<?>> tasks = new ArrayList<>(taskCount);
+		for (int i = 0; i < taskCount; i++) {
+			tasks.add(pool.submit(() -> {
+				ObstacleCopies copies = new ObstacleCopies(this);
+				for (int p = next.getAndIncrement(); p < paths.size(); p = next.getAndIncrement()) {
+					copies.generateShortestPath(paths.get(p));
+				}
+			}));
 		}
+		tasks.forEach(ForkJoinTask::join);
+	}
 
-		return numSolved;
+	/**
+	 * Searches the shortest path of the given path. The state of the obstacles is
+	 * reset afterwards.
+	 *
+	 * @param path       the path
+	 * @param candidates the obstacles which may contain the start or end point
+	 * @param obstacles  returns the first obstacle intersecting a segment
+	 */
+	private void generateShortestPath(Path path, List<Obstacle> candidates,
+			BiFunction<Segment, Predicate<Obstacle>, Obstacle> obstacles) {
+		path.refreshExcludedObstacles(candidates);
+		path.fullReset();
+		path.visibilityRadius = visibilityRadius;
+
+		boolean pathFoundCheck = path.generateShortestPath(obstacles);
+		if (!pathFoundCheck || path.end.cost > path.threshold) {
+			// path not found, or path found was too long
+			resetSearch(path);
+			path.fullReset();
+			path.threshold = 0;
+			path.visibilityRadius = 0;
+			path.generateShortestPath(obstacles);
+		}
+
+		resetSearch(path);
+		resetObstacleExclusions(path);
 	}
 
 	/**
@@ -786,6 +1408,7 @@ public class ShortestPathRouter {
 		// Path used to be simple but now is compound, children is EMPTY.
 		if (currentSize == 1) {
 			workingPaths.remove(path);
+			forgetPath(path);
 			currentSize = 0;
 			children = new ArrayList<>(newSize);
 			pathsToChildPaths.put(path, children);
@@ -793,6 +1416,7 @@ public class ShortestPathRouter {
 		// Path is becoming simple but was compound. children becomes empty.
 		if (newSize == 1) {
 			workingPaths.removeAll(children);
+			children.forEach(this::forgetPath);
 			workingPaths.add(path);
 			pathsToChildPaths.remove(path);
 			return Collections.emptyList();
@@ -809,6 +1433,7 @@ public class ShortestPathRouter {
 		while (currentSize > newSize) {
 			Path child = children.remove(children.size() - 1);
 			workingPaths.remove(child);
+			forgetPath(child);
 			currentSize--;
 		}
 
@@ -824,7 +1449,23 @@ public class ShortestPathRouter {
 	 * @return 1 if new segments have been inserted
 	 */
 	private int testOffsetSegmentForIntersections(Segment segment, int index, Path path) {
-		for (Obstacle obs : userObstacles) {
+		PointList tested = testedSegments.computeIfAbsent(path, p -> new PointList());
+		tested.addPoint(segment.start.x, segment.start.y);
+		tested.addPoint(segment.end.x, segment.end.y);
+		// Obstacles are grown by at most the highest count times the spacing
+		int reach = getTouchMargin(Math.max(maxTotalCount, maxPathCount));
+		List<Obstacle> candidates = obstacleIndex.query(Math.min(segment.start.x, segment.end.x) - reach,
+				Math.min(segment.start.y, segment.end.y) - reach, Math.max(segment.start.x, segment.end.x) + reach,
+				Math.max(segment.start.y, segment.end.y) + reach);
+		Set<Obstacle> touched = touchedObstacles.computeIfAbsent(path,
+				p -> Collections.newSetFromMap(new IdentityHashMap<>()));
+		for (Obstacle obs : candidates) {
+			if (touches(obs, Math.max(obs.pathCount, getTotalCount(obs)), segment.start.x, segment.start.y,
+					segment.end.x, segment.end.y)) {
+				touched.add(obs);
+			}
+		}
+		for (Obstacle obs : candidates) {
 
 			if (segment.end.obs == obs || segment.start.obs == obs || obs.exclude) {
 				continue;
@@ -869,6 +1510,7 @@ public class ShortestPathRouter {
 				Segment newSegmentEnd = new Segment(vertex, segment.end);
 
 				vertex.totalCount++;
+				maxTotalCount = Math.max(maxTotalCount, vertex.totalCount);
 				vertex.nearestObstacleChecked = false;
 
 				vertex.shrink();
@@ -905,7 +1547,8 @@ public class ShortestPathRouter {
 	 */
 	private boolean testAndDirtyPaths(Obstacle obs) {
 		boolean result = false;
-		for (Path path : workingPaths) {
+		for (Path path : pathIndex.query(obs.x, obs.y, Math.max(obs.x, obs.right() - 1),
+				Math.max(obs.y, obs.bottom() - 1))) {
 			result |= path.testAndSet(obs);
 		}
 		return result;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2023 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -147,6 +147,19 @@ class Vertex extends Point {
 		}
 	}
 
+	/**
+	 * Resets the fields used while searching for the shortest path of a single
+	 * path, leaving the fields used for routing untouched.
+	 */
+	void resetSearch() {
+		cost = 0;
+		label = null;
+		isPermanent = false;
+		if (neighbors != null) {
+			neighbors.clear();
+		}
+	}
+
 	/**
 	 * Returns a Rectangle that represents the region around this vertex that paths
 	 * will be traveling in.
@@ -0,0 +1,317 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A uniform grid used to find the items close to a given area, such as the
+ * children of a figure or the obstacles and paths of a router. Each item is registered with one or more
+ * boxes, given as the inclusive coordinates {@code x1, y1, x2, y2}. Queries
+ * return every item registered in a cell overlapped by the queried boxes, so
+ * callers still have to test the candidates against the exact geometry.
+ * Candidates are returned in the order in which they have been added first,
+ * unless the items have been {@link #reorder(List) reordered}. Queries don't modify the grid, so they may be run by several threads at
+ * once, as long as no item is added or removed in the meantime.
+ * <p>
+ * This class is for internal use only.
+ *
+ * @since 3.20
+ */
+public final class SpatialGrid<T> {
+
+	private static final Comparator<Entry<?>> ORDER = Comparator.comparingInt(entry -> entry.order);
+
+	private final int cellSize;
+	private final int maxCellsPerItem;
+	private final Map<Long, List<Entry<T>>> cells = new HashMap<>();
+	private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+	private final List<Entry<T>> oversized = new ArrayList<>();
+	private int nextOrder;
+
+	/**
+	 * Creates a new grid whose cells have the given width and height. Items
+	 * spanning more than the given number of cells are not stored in the grid, but
+	 * are always returned as candidates.
+	 *
+	 * @param cellSize        the width and height of a single grid cell
+	 * @param maxCellsPerItem the maximum number of cells an item is stored in
+	 */
+	public SpatialGrid(int cellSize, int maxCellsPerItem) {
+		this.cellSize = cellSize;
+		this.maxCellsPerItem = maxCellsPerItem;
+	}
+
+	/**
+	 * Registers the item with the given boxes, replacing its previous boxes if it
+	 * is already contained in this grid.
+	 *
+	 * @param item  the item
+	 * @param boxes the inclusive coordinates {@code x1, y1, x2, y2} of each box
+	 */
+	public void put(T item, int... boxes) {
+		Entry<T> entry = entries.get(item);
+		if (entry == null) {
+			entry = new Entry<>(item, nextOrder++);
+			entries.put(item, entry);
+		} else {
+			unregister(entry);
+		}
+		register(entry, boxes);
+	}
+
+	/**
+	 * Removes the item from this grid.
+	 *
+	 * @param item the item
+	 * @return {@code true} if the item has been contained in this grid
+	 */
+	public boolean remove(T item) {
+		Entry<T> entry = entries.remove(item);
+		if (entry == null) {
+			return false;
+		}
+		unregister(entry);
+		return true;
+	}
+
+	/**
+	 * Returns whether the item is contained in this grid.
+	 *
+	 * @param item the item
+	 * @return {@code true} if the item is contained in this grid
+	 */
+	public boolean contains(T item) {
+		return entries.containsKey(item);
+	}
+
+	/**
+	 * Orders the items of this grid by their position in the given list, which has
+	 * to contain all items of this grid. Items added afterwards are ordered after
+	 * all existing items.
+	 *
+	 * @param items the items in their new order
+	 */
+	public void reorder(List<? extends T> items) {
+		nextOrder = 0;
+		for (T item : items) {
+			Entry<T> entry = entries.get(item);
+			if (entry != null) {
+				entry.order = nextOrder++;
+			}
+		}
+	}
+
+	/**
+	 * Removes all items from this grid.
+	 */
+	public void clear() {
+		cells.clear();
+		entries.clear();
+		oversized.clear();
+		nextOrder = 0;
+	}
+
+	/**
+	 * @return the items of this grid, in no particular order
+	 */
+	public Set<T> items() {
+		return Collections.unmodifiableSet(entries.keySet());
+	}
+
+	/**
+	 * Returns the items which may overlap one of the given boxes.
+	 *
+	 * @param boxes the inclusive coordinates {@code x1, y1, x2, y2} of each box
+	 * @return the candidate items in insertion order
+	 */
+	public List<T> query(int... boxes) {
+		List<Entry<T>> result = new ArrayList<>();
+		for (int i = 0; i < boxes.length; i += 4) {
+			int x1 = cellOf(boxes[i]);
+			int y1 = cellOf(boxes[i + 1]);
+			int x2 = cellOf(boxes[i + 2]);
+			int y2 = cellOf(boxes[i + 3]);
+			if ((long) (x2 - x1 + 1) * (y2 - y1 + 1) > cells.size()) {
+				cells.values().forEach(cell -> collect(cell, result));
+			} else {
+				for (int cx = x1; cx <= x2; cx++) {
+					for (int cy = y1; cy <= y2; cy++) {
+						collect(cells.get(key(cx, cy)), result);
+					}
+				}
+			}
+		}
+		return toItems(result);
+	}
+
+	/**
+	 * Returns the first item, in insertion order, which matches the given predicate
+	 * and which is registered in one of the cells crossed by the line between the
+	 * given points. Only the cells crossed by the line are visited, rather than all
+	 * cells within its bounds.
+	 *
+	 * @param x1        the x coordinate of the first point
+	 * @param y1        the y coordinate of the first point
+	 * @param x2        the x coordinate of the second point
+	 * @param y2        the y coordinate of the second point
+	 * @param predicate the predicate the item has to match
+	 * @return the first matching item, or {@code null} if there is none
+	 */
+	public T findFirstOnLine(int x1, int y1, int x2, int y2, Predicate<? super T> predicate) {
+		if (x1 > x2) {
+			return findFirstOnLine(x2, y2, x1, y1, predicate);
+		}
+		Entry<T> first = findFirst(oversized, predicate, null);
+		int firstColumn = cellOf(x1);
+		int lastColumn = cellOf(x2);
+		for (int cx = firstColumn; cx <= lastColumn; cx++) {
+			// The part of the line within the column, widened by a pixel on both
+			// sides so that steep lines crossing between two columns are covered
+			double left = Math.max(x1, (double) cx * cellSize - 1);
+			double right = Math.min(x2, (double) cx * cellSize + cellSize);
+			double top = y1;
+			double bottom = y2;
+			if (x1 != x2) {
+				double slope = (double) (y2 - y1) / (x2 - x1);
+				top = y1 + (left - x1) * slope;
+				bottom = y1 + (right - x1) * slope;
+			}
+			int cy1 = cellOf((int) Math.floor(Math.min(top, bottom)));
+			int cy2 = cellOf((int) Math.ceil(Math.max(top, bottom)));
+			if (cy2 - cy1 + 1 > cells.size()) {
+				for (List<Entry<T>> cell : cells.values()) {
+					first = findFirst(cell, predicate, first);
+				}
+				break;
+			}
+			for (int cy = cy1; cy <= cy2; cy++) {
+				first = findFirst(cells.get(key(cx, cy)), predicate, first);
+			}
+		}
+		return first == null ? null : first.item;
+	}
+
+	private void register(Entry<T> entry, int[] boxes) {
+		Set<Long> keys = new LinkedHashSet<>();
+		for (int i = 0; i < boxes.length; i += 4) {
+			int x1 = cellOf(boxes[i]);
+			int y1 = cellOf(boxes[i + 1]);
+			int x2 = cellOf(boxes[i + 2]);
+			int y2 = cellOf(boxes[i + 3]);
+			if ((long) (x2 - x1 + 1) * (y2 - y1 + 1) > maxCellsPerItem) {
+				entry.keys = null;
+				oversized.add(entry);
+				return;
+			}
+			for (int cx = x1; cx <= x2; cx++) {
+				for (int cy = y1; cy <= y2; cy++) {
+					keys.add(key(cx, cy));
+				}
+			}
+			if (keys.size() > maxCellsPerItem) {
+				entry.keys = null;
+				oversized.add(entry);
+				return;
+			}
+		}
+		entry.keys = keys.toArray(new Long[keys.size()]);
+		for (Long key : entry.keys) {
+			cells.computeIfAbsent(key, k -> new ArrayList<>(4)).add(entry);
+		}
+	}
+
+	private void unregister(Entry<T> entry) {
+		if (entry.keys == null) {
+			oversized.remove(entry);
+			return;
+		}
+		for (Long key : entry.keys) {
+			List<Entry<T>> cell = cells.get(key);
+			if (cell != null) {
+				cell.remove(entry);
+				if (cell.isEmpty()) {
+					cells.remove(key);
+				}
+			}
+		}
+		entry.keys = null;
+	}
+
+	private static <T> Entry<T> findFirst(List<Entry<T>> cell, Predicate<? super T> predicate, Entry<T> first) {
+		if (cell != null) {
+			for (Entry<T> entry : cell) {
+				if ((first == null || entry.order < first.order) && predicate.test(entry.item)) {
+					first = entry;
+				}
+			}
+		}
+		return first;
+	}
+
+	private static <T> void collect(List<Entry<T>> cell, List<Entry<T>> result) {
+		if (cell != null) {
+			result.addAll(cell);
+		}
+	}
+
+	/**
+	 * Adds the oversized items to the collected entries, and returns their items
+	 * in insertion order, without duplicates.
+	 */
+	private List<T> toItems(List<Entry<T>> result) {
+		result.addAll(oversized);
+		if (result.size() > 1) {
+			result.sort(ORDER);
+		}
+		List<T> items = new ArrayList<>(result.size());
+		Entry<T> previous = null;
+		for (Entry<T> entry : result) {
+			if (entry != previous) {
+				items.add(entry.item);
+				previous = entry;
+			}
+		}
+		return items;
+	}
+
+	private int cellOf(int coordinate) {
+		return Math.floorDiv(coordinate, cellSize);
+	}
+
+	private static Long key(int cx, int cy) {
+		// Multiplying by an odd constant keeps the keys unique, but spreads them
+		// over both halves which are folded by Long.hashCode()
+		return Long.valueOf((((long) cx << 32) | (cy & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L);
+	}
+
+	private static final class Entry<T> {
+		final T item;
+		int order;
+		Long[] keys;
+
+		Entry(T item, int order) {
+			this.item = item;
+			this.order = order;
+		}
+	}
+}
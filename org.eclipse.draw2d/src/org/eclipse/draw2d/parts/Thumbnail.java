@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -12,6 +12,7 @@
  *******************************************************************************/
 package org.eclipse.draw2d.parts;
 
+import java.util.Arrays;
 import java.util.Map;
 
 import org.eclipse.swt.SWT;
@@ -46,10 +47,11 @@ public class Thumbnail extends Figure implements UpdateListener {
 
 	/**
 	 * This updates the Thumbnail by breaking the thumbnail {@link Image} into
-	 * several tiles and updating each tile individually.
+	 * several tiles and updating each tile individually. Only the tiles marked as
+	 * dirty are updated.
 	 */
 	class ThumbnailUpdater implements Runnable {
-		private static final int MIN_TILE_SIZE = 256;
+		private static final int MIN_TILE_SIZE = 64;
 		private static final int MAX_NUMBER_OF_TILES = 16;
 		private int currentHTile;
 		private int currentVTile;
@@ -57,7 +59,12 @@ public class Thumbnail extends Figure implements UpdateListener {
 		private int vTiles;
 		private Dimension tileSize;
 		private Dimension sourceSize; // the source size that was used for the
-										// tileSize computation
+										// scale computation
+		// the source rectangle and target size the tiles have been computed for
+		private Rectangle tiledSourceRectangle;
+		private Dimension tiledTargetSize;
+		private boolean[] dirtyTiles;
+		private int dirtyTileCount;
 		private boolean isActive = true;
 
 		private boolean isRunning = false;
@@ -98,6 +105,70 @@ public class Thumbnail extends Figure implements UpdateListener {
 			return currentVTile;
 		}
 
+		/**
+		 * Returns <code>true</code> if the tiles have been computed for the current
+		 * source rectangle and target size, so that tiles can be marked as dirty.
+		 */
+		boolean isTiled() {
+			return dirtyTiles != null && getSourceRectangle().equals(tiledSourceRectangle)
+					&& targetSize.equals(tiledTargetSize);
+		}
+
+		/**
+		 * Returns <code>true</code> if at least one tile is marked as dirty.
+		 */
+		boolean hasDirtyTiles() {
+			return dirtyTileCount > 0;
+		}
+
+		/**
+		 * Marks all tiles intersecting the given region of the thumbnail image as
+		 * dirty.
+		 *
+		 * @param region the region in the coordinates of the thumbnail image
+		 */
+		void markDirty(Rectangle region) {
+			if (dirtyTiles == null || tileSize.isEmpty() || region.isEmpty()) {
+				return;
+			}
+			int h1 = Math.max(0, Math.floorDiv(region.x, tileSize.width));
+			int h2 = Math.min(hTiles - 1, Math.floorDiv(region.right() - 1, tileSize.width));
+			int v1 = Math.max(0, Math.floorDiv(region.y, tileSize.height));
+			int v2 = Math.min(vTiles - 1, Math.floorDiv(region.bottom() - 1, tileSize.height));
+			for (int v = v1; v <= v2; v++) {
+				for (int h = h1; h <= h2; h++) {
+					if (!dirtyTiles[v * hTiles + h]) {
+						dirtyTiles[v * hTiles + h] = true;
+						dirtyTileCount++;
+					}
+				}
+			}
+		}
+
+		private void markAllDirty() {
+			Arrays.fill(dirtyTiles, true);
+			dirtyTileCount = dirtyTiles.length;
+		}
+
+		/**
+		 * Makes the next dirty tile, starting at the current tile index, the current
+		 * tile.
+		 *
+		 * @return <code>false</code> if there is no dirty tile
+		 */
+		private boolean findDirtyTile() {
+			if (dirtyTileCount == 0) {
+				return false;
+			}
+			int index = getCurrentVTile() * hTiles + getCurrentHTile();
+			while (!dirtyTiles[index]) {
+				index = (index + 1) % dirtyTiles.length;
+			}
+			setCurrentHTile(index % hTiles);
+			setCurrentVTile(index / hTiles);
+			return true;
+		}
+
 		/**
 		 * Returns <code>true</code> if this ThumbnailUpdater is active. An inactive
 		 * updater has disposed of its {@link Image}. The updater may be active and not
@@ -121,22 +192,28 @@ public class Thumbnail extends Figure implements UpdateListener {
 
 		/**
 		 * Resets the number of vertical and horizontal tiles, as well as the tile size
-		 * and current tile index.
+		 * and current tile index. All tiles are marked as dirty.
 		 */
 		public void resetTileValues() {
-			// Keep track of source size that matches the computed tile size.
+			// Keep track of source size that matches the computed scales.
 			sourceSize = getSourceRectangle().getSize();
-
-			// Compute number of horizontal and vertical tiles and the size of
-			// each tile (while the last tile in horizontal and vertical
-			// direction may be smaller); ensure that all tiles except those on
-			// the bottom and right border will have at least a size of
-			// MIN_TILE_SIZE size and that at most MAX_NUMBER_OF_TILES tiles
-			// will be created.
-			hTiles = Math.min((int) Math.ceil((float) sourceSize.width / (float) MIN_TILE_SIZE), MAX_NUMBER_OF_TILES);
-			vTiles = Math.min((int) Math.ceil((float) sourceSize.height / (float) MIN_TILE_SIZE), MAX_NUMBER_OF_TILES);
-			tileSize = new Dimension((int) Math.ceil((float) sourceSize.width / (float) hTiles),
-					(int) Math.ceil((float) sourceSize.height / (float) vTiles));
+			tiledSourceRectangle = getSourceRectangle().getCopy();
+			tiledTargetSize = targetSize.getCopy();
+
+			// Compute number of horizontal and vertical tiles of the thumbnail
+			// image and the size of each tile (while the last tile in
+			// horizontal and vertical direction may be smaller); ensure that
+			// all tiles except those on the bottom and right border will have
+			// at least a size of MIN_TILE_SIZE size and that at most
+			// MAX_NUMBER_OF_TILES tiles will be created in each direction.
+			hTiles = Math.max(1, Math.min((int) Math.ceil((float) targetSize.width / (float) MIN_TILE_SIZE),
+					MAX_NUMBER_OF_TILES));
+			vTiles = Math.max(1, Math.min((int) Math.ceil((float) targetSize.height / (float) MIN_TILE_SIZE),
+					MAX_NUMBER_OF_TILES));
+			tileSize = new Dimension((int) Math.ceil((float) targetSize.width / (float) hTiles),
+					(int) Math.ceil((float) targetSize.height / (float) vTiles));
+			dirtyTiles = new boolean[hTiles * vTiles];
+			markAllDirty();
 
 			// Reset the current indices so that the next update will start with
 			// the first tile in horizontal and vertical direction
@@ -151,13 +228,14 @@ public class Thumbnail extends Figure implements UpdateListener {
 		}
 
 		/**
-		 * Updates the current tile on the Thumbnail. An area of the source Figure is
-		 * painted to an {@link Image}. That Image is then drawn on the Thumbnail.
+		 * Updates the next dirty tiles on the Thumbnail, at most
+		 * {@link Thumbnail#getTilesPerRefresh()} at once. An area of the source Figure
+		 * is painted to an {@link Image}. That Image is then drawn on the Thumbnail.
 		 * Scaling of the source Image is done inside
 		 * {@link GC#drawImage(Image, int, int, int, int, int, int, int, int)} since the
 		 * source and target sizes are different. The current tile indexes are
 		 * incremented and if more updating is necesary, this {@link Runnable} is called
-		 * again in a {@link Display#timerExec(int, Runnable)}. If no more updating is
+		 * again in a {@link Display#asyncExec(Runnable)}. If no more updating is
 		 * required, {@link #stop()} is called.
 		 */
 		@Override
@@ -166,13 +244,34 @@ public class Thumbnail extends Figure implements UpdateListener {
 				return;
 			}
 
-			int v = getCurrentVTile();
+			for (int i = 0; i < tilesPerRefresh && findDirtyTile(); i++) {
+				int index = getCurrentVTile() * hTiles + getCurrentHTile();
+				dirtyTiles[index] = false;
+				dirtyTileCount--;
+				updateTile(getCurrentHTile(), getCurrentVTile());
+
+				index = (index + 1) % dirtyTiles.length;
+				setCurrentHTile(index % hTiles);
+				setCurrentVTile(index / hTiles);
+			}
+
+			if (hasDirtyTiles()) {
+				Display.getCurrent().asyncExec(this);
+			} else if (isDirty()) {
+				restart();
+				repaint();
+			} else {
+				stop();
+				repaint();
+			}
+		}
+
+		private void updateTile(int h, int v) {
 			int sy1 = v * tileSize.height;
-			int sy2 = Math.min((v + 1) * tileSize.height, sourceSize.height);
+			int sy2 = Math.min((v + 1) * tileSize.height, tiledTargetSize.height);
 
-			int h = getCurrentHTile();
 			int sx1 = h * tileSize.width;
-			int sx2 = Math.min((h + 1) * tileSize.width, sourceSize.width);
+			int sx2 = Math.min((h + 1) * tileSize.width, tiledTargetSize.width);
 
 			// Mac fix - create new Tile Graphics instances
 			if (IS_MAC) {
@@ -199,28 +298,6 @@ public class Thumbnail extends Figure implements UpdateListener {
 
 			// Copy the painted tile image into the thumbnail image.
 			thumbnailGC.drawImage(tileImage, 0, 0, sx2 - sx1, sy2 - sy1, sx1, sy1, sx2 - sx1, sy2 - sy1);
-
-			if (getCurrentHTile() < (hTiles - 1)) {
-				setCurrentHTile(getCurrentHTile() + 1);
-			} else {
-				setCurrentHTile(0);
-				if (getCurrentVTile() < (vTiles - 1)) {
-					setCurrentVTile(getCurrentVTile() + 1);
-				} else {
-					setCurrentVTile(0);
-				}
-			}
-
-			if (getCurrentHTile() != 0 || getCurrentVTile() != 0) {
-				Display.getCurrent().asyncExec(this);
-			} else if (isDirty()) {
-				setDirty(false);
-				Display.getCurrent().asyncExec(this);
-				repaint();
-			} else {
-				stop();
-				repaint();
-			}
 		}
 
 		/**
@@ -253,7 +330,9 @@ public class Thumbnail extends Figure implements UpdateListener {
 		/**
 		 * Starts this updater. This method initializes all the necessary resources and
 		 * puts this {@link Runnable} on the asynch queue. If this updater is not active
-		 * or is already running, this method just returns.
+		 * or is already running, this method just returns. All tiles are updated if
+		 * the Thumbnail is dirty or its size has changed, otherwise only the tiles
+		 * marked as dirty.
 		 */
 		public void start() {
 			if (!isActive() || isRunning()) {
@@ -261,10 +340,11 @@ public class Thumbnail extends Figure implements UpdateListener {
 			}
 
 			isRunning = true;
+			if (isDirty() || !isTiled()) {
+				resetTileValues();
+			}
 			setDirty(false);
 
-			resetTileValues();
-
 			if (!targetSize.equals(thumbnailImageSize)) {
 				resetThumbnailImage();
 			}
@@ -384,6 +464,9 @@ public class Thumbnail extends Figure implements UpdateListener {
 	private Dimension thumbnailImageSize;
 	private final ThumbnailUpdater updater = new ThumbnailUpdater();
 	private int refreshRate = -1;
+	private int tilesPerRefresh = 1;
+	// whether notifyDamaged() has been called for the current update
+	private boolean damageNotified;
 
 	/**
 	 * Creates a new Thumbnail. The source Figure must be set separately if you use
@@ -504,7 +587,7 @@ public class Thumbnail extends Figure implements UpdateListener {
 		targetSize.expand(new Dimension(getInsets().getWidth(), getInsets().getHeight()).negate());
 		setScales(targetSize.width / (float) getSourceRectangle().width,
 				targetSize.height / (float) getSourceRectangle().height);
-		if ((isDirty()) && !updater.isRunning()) {
+		if ((isDirty() || updater.hasDirtyTiles()) && !updater.isRunning()) {
 			updater.start();
 		} else if (oldSize != null && !targetSize.equals(oldSize)) {
 			revalidate();
@@ -524,10 +607,53 @@ public class Thumbnail extends Figure implements UpdateListener {
 	}
 
 	/**
+	 * Marks the tiles of the thumbnail image as dirty which show one of the dirty
+	 * regions of the source figure or its descendants. If the source rectangle or
+	 * the size of this Thumbnail has changed, the whole Thumbnail is marked as
+	 * dirty instead.
+	 *
+	 * @see org.eclipse.draw2d.UpdateListener#notifyDamaged(Map)
+	 * @since 3.20
+	 */
+	@Override
+	public void notifyDamaged(Map<IFigure, Rectangle> dirtyRegions) {
+		damageNotified = true;
+		boolean damaged = false;
+		for (Map.Entry<IFigure, Rectangle> entry : dirtyRegions.entrySet()) {
+			Rectangle region = getSourceRegion(entry.getKey(), entry.getValue());
+			if (region == null || region.isEmpty()) {
+				continue;
+			}
+			damaged = true;
+			if (isDirty() || !updater.isTiled()) {
+				setDirty(true);
+				break;
+			}
+			Rectangle source = getSourceRectangle();
+			int x1 = (int) Math.floor((region.x - source.x) * getScaleX()) - 1;
+			int y1 = (int) Math.floor((region.y - source.y) * getScaleY()) - 1;
+			int x2 = (int) Math.ceil((region.right() - source.x) * getScaleX()) + 1;
+			int y2 = (int) Math.ceil((region.bottom() - source.y) * getScaleY()) + 1;
+			updater.markDirty(new Rectangle(x1, y1, x2 - x1, y2 - y1));
+		}
+		if (damaged) {
+			repaint();
+		}
+	}
+
+	/**
+	 * Marks the whole Thumbnail as dirty if the source figure or one of its
+	 * descendants is painting, unless the update manager has already reported the
+	 * dirty regions via {@link #notifyDamaged(Map)}.
+	 *
 	 * @see org.eclipse.draw2d.UpdateListener#notifyPainting(Rectangle, Map)
 	 */
 	@Override
 	public void notifyPainting(Rectangle damage, Map<IFigure, Rectangle> dirtyRegions) {
+		if (damageNotified) {
+			damageNotified = false;
+			return;
+		}
 		for (IFigure current : dirtyRegions.keySet()) {
 			while (current != null) {
 				if (current == getSource()) {
@@ -540,6 +666,26 @@ public class Thumbnail extends Figure implements UpdateListener {
 		}
 	}
 
+	/**
+	 * Returns the given dirty region of the given figure in the coordinates of the
+	 * bounds of the source figure, or <code>null</code> if the figure is neither
+	 * the source figure nor one of its descendants.
+	 */
+	private Rectangle getSourceRegion(IFigure figure, Rectangle region) {
+		// A figure can't paint beyond its own bounds
+		Rectangle rect = new Rectangle(region).intersect(figure.getBounds());
+		IFigure walker = figure;
+		while (walker != getSource()) {
+			walker = walker.getParent();
+			if (walker == null) {
+				return null;
+			}
+			walker.translateToParent(rect);
+			rect.intersect(walker.getBounds());
+		}
+		return rect;
+	}
+
 	/**
 	 * @see org.eclipse.draw2d.UpdateListener#notifyValidating()
 	 */
@@ -631,4 +777,32 @@ public class Thumbnail extends Figure implements UpdateListener {
 	public void setRefreshRate(int refreshRate) {
 		this.refreshRate = refreshRate;
 	}
+
+	/**
+	 * Returns the maximum number of tiles of the thumbnail image which are updated
+	 * at once.
+	 *
+	 * @return the maximum number of tiles updated at once
+	 * @see #setTilesPerRefresh(int)
+	 * @since 3.20
+	 */
+	public int getTilesPerRefresh() {
+		return tilesPerRefresh;
+	}
+
+	/**
+	 * Sets the maximum number of tiles of the thumbnail image which are updated at
+	 * once, before the display processes other events. The thumbnail image is
+	 * split into at most 16&times;16 tiles, and only the tiles showing a changed
+	 * area of the source figure are updated. Updating fewer tiles at once keeps
+	 * the display more responsive, while updating more tiles at once completes
+	 * the update sooner. The default is {@code 1}.
+	 *
+	 * @param count the maximum number of tiles updated at once, at least
+	 *              {@code 1}
+	 * @since 3.20
+	 */
+	public void setTilesPerRefresh(int count) {
+		tilesPerRefresh = Math.max(1, count);
+	}
 }
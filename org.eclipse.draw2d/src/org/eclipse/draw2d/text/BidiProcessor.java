@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2023 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -62,6 +62,7 @@ public final class BidiProcessor {
 	private StringBuffer bidiText;
 	private final List<BidiEntry> list = new ArrayList<>();
 	private int orientation = SWT.LEFT_TO_RIGHT;
+	private boolean bidiRequired;
 
 	private BidiProcessor() {
 	}
@@ -197,6 +198,7 @@ public final class BidiProcessor {
 	 * discarded at the end of this method.
 	 */
 	public void process() {
+		bidiRequired = false;
 		try {
 			if (bidiText.length() == 0) {
 				return;
@@ -207,6 +209,7 @@ public final class BidiProcessor {
 			if (orientation != SWT.RIGHT_TO_LEFT && !BIDI.requiresBidi(chars, 0, chars.length - 1)) {
 				return;
 			}
+			bidiRequired = true;
 
 			int[] levels = new int[15];
 			TextLayout layout = FlowUtilities.getTextLayout();
@@ -249,6 +252,22 @@ public final class BidiProcessor {
 		}
 	}
 
+	/**
+	 * Returns whether the text processed last required Bidi evaluation. If not, no
+	 * Bidi info has been assigned to the contributing figures.
+	 */
+	boolean isBidiRequired() {
+		return bidiRequired;
+	}
+
+	/**
+	 * Returns whether the given text requires Bidi evaluation.
+	 */
+	static boolean requiresBidi(String text) {
+		char[] chars = text.toCharArray();
+		return chars.length > 0 && BIDI.requiresBidi(chars, 0, chars.length);
+	}
+
 	/**
 	 * Sets the paragraph embedding. The given orientation will be used on
 	 * TextLayout when determining the Bidi levels.
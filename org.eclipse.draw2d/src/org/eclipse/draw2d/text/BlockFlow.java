@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -45,6 +45,7 @@ public class BlockFlow extends FlowFigure {
 	private int alignment = PositionConstants.NONE;
 	private int orientation = SWT.NONE;
 	private boolean bidiValid;
+	private boolean bidiRequired = true;
 
 	/**
 	 * Constructs a new BlockFlow.
@@ -236,14 +237,19 @@ public class BlockFlow extends FlowFigure {
 
 	/**
 	 * A Block will invalidate the Bidi state of all its children, so that it is
-	 * re-evaluated when this block is next validated.
+	 * re-evaluated when this block is next validated. If neither the block nor the
+	 * new text of the given text flow require Bidi evaluation, the Bidi state
+	 * remains valid and the block is only revalidated.
 	 *
 	 * @see org.eclipse.draw2d.text.FlowFigure#revalidateBidi(org.eclipse.draw2d.IFigure)
 	 */
 	@Override
 	protected void revalidateBidi(IFigure origin) {
 		if (bidiValid) {
-			bidiValid = false;
+			if (bidiRequired || !(origin instanceof TextFlow textFlow)
+					|| BidiProcessor.requiresBidi(textFlow.getText())) {
+				bidiValid = false;
+			}
 			revalidate();
 		}
 	}
@@ -320,6 +326,7 @@ public class BlockFlow extends FlowFigure {
 			}
 			super.contributeBidi(BidiProcessor.INSTANCE);
 			BidiProcessor.INSTANCE.process();
+			bidiRequired = BidiProcessor.INSTANCE.isBidiRequired();
 			bidiValid = true;
 		}
 		super.validate();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -186,10 +186,36 @@ public class BlockFlowLayout extends FlowContainerLayout {
 		return (BlockFlow) getFlowFigure();
 	}
 
+	/**
+	 * Returns the recommended width of the block for the given width of its
+	 * context.
+	 */
+	int getRecommendedWidth(int contextWidth) {
+		int recommended = contextWidth;
+		if (recommended == Integer.MAX_VALUE) {
+			recommended = -1;
+		}
+		BlockFlow bf = getBlockFlow();
+		if (recommended > 0) {
+			int borderCorrection = bf.getInsets().getWidth() + bf.getLeftMargin() + bf.getRightMargin();
+			recommended = Math.max(0, recommended - borderCorrection);
+		}
+		return recommended;
+	}
+
 	int getContextWidth() {
 		return getContext().getRemainingLineWidth();
 	}
 
+	@Override
+	int getLineWidth() {
+		if (blockBox == null) {
+			return Integer.MIN_VALUE;
+		}
+		int width = blockBox.getRecommendedWidth();
+		return width < 0 ? Integer.MAX_VALUE : width;
+	}
+
 	/**
 	 * @see FlowContext#getContinueOnSameLine()
 	 */
@@ -239,15 +265,7 @@ public class BlockFlowLayout extends FlowContainerLayout {
 	 * sets up the single block that contains all of the lines.
 	 */
 	protected void setupBlock() {
-		int recommended = getContextWidth();
-		if (recommended == Integer.MAX_VALUE) {
-			recommended = -1;
-		}
-		BlockFlow bf = getBlockFlow();
-		if (recommended > 0) {
-			int borderCorrection = bf.getInsets().getWidth() + bf.getLeftMargin() + bf.getRightMargin();
-			recommended = Math.max(0, recommended - borderCorrection);
-		}
+		int recommended = getRecommendedWidth(getContextWidth());
 
 		if (recommended != blockBox.recommendedWidth) {
 			blockInvalid = true;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -123,6 +123,16 @@ public abstract class FlowContainerLayout extends FlowFigureLayout implements Fl
 		return true;
 	}
 
+	/**
+	 * Returns the remaining width of a new line, or {@link Integer#MIN_VALUE} if it
+	 * is unknown. Text flows only reuse the results of their previous layout if
+	 * this width hasn't changed.
+	 */
+	@SuppressWarnings("static-method")
+	int getLineWidth() {
+		return Integer.MIN_VALUE;
+	}
+
 	/**
 	 * Called before layoutChildren() to setup any necessary state.
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -102,6 +102,23 @@ public abstract class FlowFigure extends Figure {
 	 */
 	protected abstract FlowFigureLayout createDefaultFlowLayout();
 
+	/**
+	 * Discards the flow boxes of this figure and its descendants, so that they can
+	 * be garbage collected. They are created again by the next layout of the
+	 * figure.
+	 */
+	void discardFragments() {
+		getChildren().forEach(child -> ((FlowFigure) child).discardFragments());
+	}
+
+	/**
+	 * Returns whether this figure has been validated since it was invalidated.
+	 * Allows the layouts of this package to access {@link #isValid()}.
+	 */
+	boolean isLaidOut() {
+		return isValid();
+	}
+
 	/**
 	 * Called after validate has occurred. This is used to update the bounds of the
 	 * FlowFigure to encompass its new flow boxed created during validate.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -12,6 +12,11 @@
  *******************************************************************************/
 package org.eclipse.draw2d.text;
 
+import java.beans.PropertyChangeListener;
+
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.RangeModel;
+import org.eclipse.draw2d.Viewport;
 import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Rectangle;
 
@@ -22,16 +27,46 @@ import org.eclipse.draw2d.geometry.Rectangle;
  * A FlowPage will not have a defined width unless it is inside a figure whose
  * layout provides width hints when calling
  * {@link org.eclipse.draw2d.IFigure#getPreferredSize(int, int)}.
+ * <P>
+ * A FlowPage showing a long document in a {@link Viewport} can be
+ * {@link #setVirtualized(boolean) virtualized}. It then only lays out the blocks
+ * near the visible area of the viewport and estimates the height of the other
+ * blocks. The blocks are laid out as they are scrolled into view. Blocks which
+ * have been scrolled out of view keep their flow boxes until too many of them
+ * have been laid out, or until memory is low. This only applies to the
+ * {@link BlockFlow} children of the page, but not to the inline children of the
+ * page or the children of nested blocks.
  *
  * <P>
  * WARNING: This class is not intended to be subclassed by clients.
  */
 public class FlowPage extends BlockFlow {
 
+	/**
+	 * The default margin around the visible area of a virtualized page, in pixels.
+	 *
+	 * @since 3.20
+	 */
+	public static final int DEFAULT_VIRTUALIZATION_MARGIN = 1000;
+
+	/**
+	 * The default number of blocks outside of the layout window of a virtualized
+	 * page which keep their flow boxes.
+	 *
+	 * @since 3.20
+	 */
+	public static final int DEFAULT_RETAINED_BLOCK_LIMIT = 1000;
+
 	private final Dimension pageSize = new Dimension();
 	private int recommendedWidth;
 	private final int pageSizeCacheKeys[] = new int[3];
 	private Dimension pageSizeCacheValues[] = new Dimension[3];
+	private boolean virtualized;
+	private int virtualizationMargin = DEFAULT_VIRTUALIZATION_MARGIN;
+	private int retainedBlockLimit = DEFAULT_RETAINED_BLOCK_LIMIT;
+	private Viewport viewport;
+	private RangeModel scrollModel;
+	private final PropertyChangeListener scrollListener = event -> handleScroll();
 
 	/**
 	 * @see org.eclipse.draw2d.Figure#addNotify()
@@ -102,6 +137,106 @@ public class FlowPage extends BlockFlow {
 		return recommendedWidth;
 	}
 
+	/**
+	 * Returns the number of blocks outside of the layout window which keep their
+	 * flow boxes if the page is virtualized.
+	 *
+	 * @return the number of retained blocks
+	 * @since 3.20
+	 */
+	public int getRetainedBlockLimit() {
+		return retainedBlockLimit;
+	}
+
+	/**
+	 * Returns the margin around the visible area within which the blocks of a
+	 * virtualized page are laid out.
+	 *
+	 * @return the margin in pixels
+	 * @since 3.20
+	 */
+	public int getVirtualizationMargin() {
+		return virtualizationMargin;
+	}
+
+	/**
+	 * Returns the area of the page, in its own coordinates, within which the blocks
+	 * are laid out, or <code>null</code> if all blocks are laid out. Starts
+	 * listening to the scrolling of the viewport of a virtualized page.
+	 */
+	Rectangle getLayoutWindow() {
+		Viewport newViewport = null;
+		if (virtualized) {
+			for (IFigure parent = getParent(); parent != null; parent = parent.getParent()) {
+				if (parent instanceof Viewport candidate) {
+					newViewport = candidate;
+					break;
+				}
+			}
+		}
+		hookViewport(newViewport);
+		if (viewport == null) {
+			return null;
+		}
+		return getVisibleArea().expand(0, virtualizationMargin);
+	}
+
+	/**
+	 * Returns the visible area of the viewport in the coordinates of the page.
+	 */
+	private Rectangle getVisibleArea() {
+		Rectangle area = viewport.getClientArea();
+		viewport.translateToParent(area);
+		viewport.translateToAbsolute(area);
+		translateToRelative(area);
+		translateFromParent(area);
+		return area;
+	}
+
+	private void handleScroll() {
+		if (!isValid() || !(getLayoutManager() instanceof PageFlowLayout layout)) {
+			return;
+		}
+		Rectangle window = layout.getLaidOutWindow();
+		if (window != null) {
+			Rectangle visible = getVisibleArea();
+			if (visible.y < window.y || visible.bottom() > window.bottom()) {
+				// lays out the blocks scrolled into view, without invalidating the others
+				invalidate();
+				if (getParent() == null) {
+					getUpdateManager().addInvalidFigure(this);
+				} else {
+					getParent().revalidate();
+				}
+			}
+		}
+	}
+
+	private void hookViewport(Viewport newViewport) {
+		RangeModel model = newViewport == null ? null : newViewport.getVerticalRangeModel();
+		if (model != scrollModel) {
+			if (scrollModel != null) {
+				scrollModel.removePropertyChangeListener(scrollListener);
+			}
+			scrollModel = model;
+			if (scrollModel != null) {
+				scrollModel.addPropertyChangeListener(scrollListener);
+			}
+		}
+		viewport = newViewport;
+	}
+
+	/**
+	 * Returns whether only the blocks near the visible area of the viewport are
+	 * laid out.
+	 *
+	 * @return <code>true</code> if the page is virtualized
+	 * @since 3.20
+	 */
+	public boolean isVirtualized() {
+		return virtualized;
+	}
+
 	/**
 	 * @see BlockFlow#postValidate()
 	 */
@@ -120,6 +255,7 @@ public class FlowPage extends BlockFlow {
 	 */
 	@Override
 	public void removeNotify() {
+		hookViewport(null);
 		super.removeNotify();
 		setValid(true);
 	}
@@ -141,6 +277,59 @@ public class FlowPage extends BlockFlow {
 		}
 	}
 
+	/**
+	 * Sets the number of blocks outside of the layout window which keep their flow
+	 * boxes if the page is virtualized. The least recently laid out blocks discard
+	 * their flow boxes first. Regardless of this limit, all blocks outside of the
+	 * layout window discard their flow boxes if memory is low.
+	 *
+	 * @param limit the number of retained blocks
+	 * @since 3.20
+	 */
+	public void setRetainedBlockLimit(int limit) {
+		if (limit < 0) {
+			throw new IllegalArgumentException("The limit must not be negative: " + limit); //$NON-NLS-1$
+		}
+		retainedBlockLimit = limit;
+	}
+
+	/**
+	 * Sets whether only the blocks near the visible area of the enclosing
+	 * {@link Viewport} are laid out. The page is fully laid out if it isn't
+	 * contained in a viewport.
+	 *
+	 * @param value <code>true</code> to virtualize the page
+	 * @since 3.20
+	 */
+	public void setVirtualized(boolean value) {
+		if (virtualized == value) {
+			return;
+		}
+		virtualized = value;
+		revalidate();
+	}
+
+	/**
+	 * Sets the margin around the visible area within which the blocks of a
+	 * virtualized page are laid out. A larger margin lays out more blocks in
+	 * advance, so that fewer layouts are needed while scrolling.
+	 *
+	 * @param margin the margin in pixels
+	 * @since 3.20
+	 */
+	public void setVirtualizationMargin(int margin) {
+		if (margin < 0) {
+			throw new IllegalArgumentException("The margin must not be negative: " + margin); //$NON-NLS-1$
+		}
+		if (virtualizationMargin == margin) {
+			return;
+		}
+		virtualizationMargin = margin;
+		if (virtualized) {
+			revalidate();
+		}
+	}
+
 	private void setPageWidth(int width) {
 		if (recommendedWidth == width) {
 			return;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -86,6 +86,12 @@ public class InlineFlow extends FlowFigure {
 		return new InlineFlowLayout(this);
 	}
 
+	@Override
+	void discardFragments() {
+		fragments = new ArrayList<>(1);
+		super.discardFragments();
+	}
+
 	/**
 	 * Returns the <code>FlowBox</code> fragments contained in this InlineFlow. The
 	 * returned list should not be modified.
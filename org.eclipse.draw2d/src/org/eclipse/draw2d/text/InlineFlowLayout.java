@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -73,6 +73,14 @@ public class InlineFlowLayout extends FlowContainerLayout {
 		return (InlineFlow) super.getFlowFigure();
 	}
 
+	@Override
+	int getLineWidth() {
+		if (getContext() instanceof FlowContainerLayout container) {
+			return container.getLineWidth();
+		}
+		return Integer.MIN_VALUE;
+	}
+
 	/**
 	 * @see FlowContainerLayout#flush()
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -12,10 +12,25 @@
  *******************************************************************************/
 package org.eclipse.draw2d.text;
 
+import java.lang.ref.SoftReference;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.geometry.Rectangle;
+
 /**
  * A block layout which requires no FlowContext to perform its layout. This
  * class is used by {@link FlowPage}.
  * <p>
+ * If the page is {@link FlowPage#setVirtualized(boolean) virtualized}, only the
+ * child blocks within the layout window of the page are laid out. The other
+ * blocks keep the result of their previous layout, if it is still valid, or are
+ * given an estimated height. The least recently visible blocks outside of the
+ * window discard their flow boxes.
+ * <p>
  * WARNING: This class is not intended to be subclassed by clients.
  */
 public class PageFlowLayout extends BlockFlowLayout {
@@ -29,6 +44,31 @@ public class PageFlowLayout extends BlockFlowLayout {
 		super(page);
 	}
 
+	/**
+	 * The blocks which have been laid out and kept their flow boxes, from the least
+	 * to the most recently laid out one.
+	 */
+	private final Set<BlockFlow> retained = new LinkedHashSet<>();
+
+	/**
+	 * The blocks whose height has been estimated.
+	 */
+	private final Set<BlockFlow> estimated = new HashSet<>();
+
+	/**
+	 * Cleared by the garbage collector if memory is low.
+	 */
+	private SoftReference<Object> memorySentinel = new SoftReference<>(new Object());
+
+	private Rectangle window;
+	private Rectangle laidOutWindow;
+	private boolean contentsChanged;
+
+	private int sampleWidth = Integer.MIN_VALUE;
+	private long sampleHeight;
+	private long sampleLength;
+	private int sampleCount;
+
 	/**
 	 * @see org.eclipse.draw2d.text.BlockFlowLayout#getContextWidth()
 	 */
@@ -37,4 +77,179 @@ public class PageFlowLayout extends BlockFlowLayout {
 		return ((FlowPage) getFlowFigure()).getPageWidth();
 	}
 
+	/**
+	 * Returns the window of the previous layout, or <code>null</code> if all blocks
+	 * have been laid out.
+	 */
+	Rectangle getLaidOutWindow() {
+		return laidOutWindow;
+	}
+
+	/**
+	 * @see BlockFlowLayout#preLayout()
+	 */
+	@Override
+	protected void preLayout() {
+		window = ((FlowPage) getFlowFigure()).getLayoutWindow();
+		if (window == null && laidOutWindow != null) {
+			// the blocks outside of the previous window have to be laid out
+			blockContentsChanged();
+			retained.clear();
+			estimated.clear();
+			laidOutWindow = null;
+		}
+		super.preLayout();
+		contentsChanged = blockInvalid;
+		if (window != null) {
+			// the lines of all blocks are added again
+			blockInvalid = true;
+			blockBox.height = 0;
+			blockBox.setWidth(Math.max(0, blockBox.getRecommendedWidth()));
+		}
+	}
+
+	/**
+	 * @see FlowContainerLayout#layoutChildren()
+	 */
+	@Override
+	protected void layoutChildren() {
+		if (window == null) {
+			super.layoutChildren();
+			return;
+		}
+		int width = blockBox.getRecommendedWidth();
+		if (width != sampleWidth) {
+			sampleWidth = width;
+			sampleHeight = 0;
+			sampleLength = 0;
+			sampleCount = 0;
+		}
+		boolean skipped = false;
+		int visible = 0;
+		for (IFigure child : getFlowFigure().getChildren()) {
+			if (child instanceof BlockFlow block && block.getLayoutManager() instanceof BlockFlowLayout layout) {
+				if (layoutBlock(block, layout)) {
+					visible++;
+				} else {
+					skipped = true;
+				}
+			} else {
+				if (contentsChanged) {
+					child.invalidate();
+				}
+				child.validate();
+			}
+		}
+		laidOutWindow = skipped ? window : null;
+		discardBlocks(visible);
+	}
+
+	/**
+	 * Lays out the block if it is within the window, otherwise adds it with its
+	 * previous or an estimated height.
+	 *
+	 * @return <code>true</code> if the block is within the window
+	 */
+	private boolean layoutBlock(BlockFlow block, BlockFlowLayout layout) {
+		BlockBox box = block.getBlockBox();
+		int width = layout.getRecommendedWidth(getRemainingLineWidth());
+		boolean measured = layout.blockBox != null && box.getRecommendedWidth() == width && !estimated.contains(block);
+		boolean reusable = measured && block.isLaidOut() && !layout.blockInvalid;
+		int height = measured ? box.getHeight() : estimateHeight(block);
+		int top = blockBox.getHeight();
+		if (height >= 0 && (top >= window.bottom() || top + height <= window.y)) {
+			if (reusable) {
+				// e.g. laid out before the page was virtualized
+				retained.add(block);
+			} else {
+				if (!measured) {
+					box.setHeight(height);
+					box.setWidth(Math.max(0, width));
+					estimated.add(block);
+				}
+				if (retained.remove(block) || !block.isLaidOut() || !layout.blockInvalid) {
+					if (layout.blockBox == null) {
+						// has never been laid out
+						layout.blockContentsChanged();
+					} else {
+						discard(block);
+					}
+					// laid out as soon as it enters the window
+					block.setValid(true);
+				}
+			}
+			addLine(box);
+			return false;
+		}
+
+		if (reusable && !contentsChanged) {
+			addLine(box);
+		} else {
+			block.invalidate();
+			block.validate();
+			if (!reusable) {
+				sampleHeight += box.getHeight();
+				sampleLength += getTextLength(block);
+				sampleCount++;
+			}
+		}
+		estimated.remove(block);
+		retained.remove(block);
+		retained.add(block);
+		return true;
+	}
+
+	/**
+	 * Estimates the height of the block from the heights and text lengths of the
+	 * blocks laid out so far, or returns -1 if no block has been laid out.
+	 */
+	private int estimateHeight(BlockFlow block) {
+		if (sampleCount == 0) {
+			return -1;
+		}
+		return (int) (sampleHeight * (getTextLength(block) + 1) / (sampleLength + sampleCount));
+	}
+
+	private static int getTextLength(IFigure figure) {
+		if (figure instanceof TextFlow textFlow) {
+			return textFlow.getText().length();
+		}
+		int length = 0;
+		for (IFigure child : figure.getChildren()) {
+			length += getTextLength(child);
+		}
+		return length;
+	}
+
+	/**
+	 * Discards the flow boxes of the least recently laid out blocks outside of the
+	 * window, if there are more of them than the page retains or if memory is low.
+	 */
+	private void discardBlocks(int visible) {
+		int limit = visible + ((FlowPage) getFlowFigure()).getRetainedBlockLimit();
+		if (memorySentinel.get() == null) {
+			limit = visible;
+			memorySentinel = new SoftReference<>(new Object());
+		}
+		Iterator<BlockFlow> iterator = retained.iterator();
+		while (retained.size() > limit) {
+			discard(iterator.next());
+			iterator.remove();
+		}
+	}
+
+	private static void discard(BlockFlow block) {
+		block.discardFragments();
+		((BlockFlowLayout) block.getLayoutManager()).blockContentsChanged();
+	}
+
+	/**
+	 * @see org.eclipse.draw2d.LayoutManager#remove(IFigure)
+	 */
+	@Override
+	public void remove(IFigure child) {
+		retained.remove(child);
+		estimated.remove(child);
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -12,6 +12,7 @@
  *******************************************************************************/
 package org.eclipse.draw2d.text;
 
+import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.swt.graphics.Font;
@@ -43,6 +44,7 @@ public class ParagraphTextLayout extends TextLayout {
 	public static final int WORD_WRAP_TRUNCATE = 2;
 
 	private int wrappingStyle = WORD_WRAP_HARD;
+	private WrapCache wrapCache;
 
 	/**
 	 * Constructs a new ParagraphTextLayout on the specified TextFlow.
@@ -104,6 +106,7 @@ public class ParagraphTextLayout extends TextLayout {
 		private final String[] segs;
 		private int[] width;
 		private final int trailingBorderSize;
+		private boolean used;
 
 		SegmentLookahead(String[] segs, int trailingBorderSize) {
 			this.segs = segs;
@@ -112,6 +115,7 @@ public class ParagraphTextLayout extends TextLayout {
 
 		@Override
 		public int getWidth() {
+			used = true;
 			if (width == null) {
 				width = new int[1];
 				int startingIndex = seg + 1;
@@ -182,6 +186,16 @@ public class ParagraphTextLayout extends TextLayout {
 		}
 
 		FlowUtilities flowUtilities = textFlow.getFlowUtilities();
+		WrapCache previous = null;
+		WrapCache current = null;
+		if (border == null && textFlow.getBidiInfo() == null && context instanceof FlowContainerLayout container
+				&& container.getLineWidth() != Integer.MIN_VALUE) {
+			current = new WrapCache(textFlow.getText(), font, flowUtilities, wrappingStyle, container.getLineWidth());
+			if (wrapCache != null && wrapCache.isCompatible(current)) {
+				previous = wrapCache;
+				current.compareTo(previous);
+			}
+		}
 		for (seg = 0; seg < segments.length; seg++) {
 			segment = segments[seg];
 			lookahead.setIndex(seg);
@@ -193,8 +207,12 @@ public class ParagraphTextLayout extends TextLayout {
 				fragment.offset = offset;
 				fragment.setBidiLevel(levelInfo[seg * 2]);
 
-				advance = flowUtilities.wrapFragmentInContext(fragment, segment, context, lookahead, font,
-						wrappingStyle);
+				if (current != null) {
+					advance = wrap(fragment, segment, context, lookahead, previous, current);
+				} else {
+					advance = flowUtilities.wrapFragmentInContext(fragment, segment, context, lookahead, font,
+							wrappingStyle);
+				}
 				segment = segment.substring(advance);
 				offset += advance;
 				if ((segment.length() > 0 || fragment.length < advance) || fragment.isTruncated()) {
@@ -217,6 +235,237 @@ public class ParagraphTextLayout extends TextLayout {
 		while (fragIndex < fragments.size()) {
 			fragments.remove(fragments.size() - 1);
 		}
+		wrapCache = current;
+	}
+
+	/**
+	 * Discards the results of the previous layout, so that they can be garbage
+	 * collected.
+	 */
+	void discardWrapCache() {
+		wrapCache = null;
+	}
+
+	/**
+	 * Wraps the fragment like
+	 * {@link FlowUtilities#wrapFragmentInContext(TextFragmentBox, String, FlowContext, FlowUtilities.LookAhead, Font, int)},
+	 * but reuses the result of the previous layout if the fragment starts at the
+	 * same text on a line in the same state.
+	 */
+	private int wrap(TextFragmentBox fragment, String segment, FlowContext context, SegmentLookahead lookahead,
+			WrapCache previous, WrapCache current) {
+		int available = context.getRemainingLineWidth();
+		int state = (context.isCurrentLineOccupied() ? WrapCache.OCCUPIED : 0)
+				| (context.getContinueOnSameLine() ? WrapCache.CONTINUED : 0);
+		int index = previous == null ? -1 : current.find(previous, fragment.offset);
+		if (index != -1 && previous.available[index] == available
+				&& (previous.flags[index] & (WrapCache.OCCUPIED | WrapCache.CONTINUED)) == state
+				&& ((previous.flags[index] & WrapCache.LOOKAHEAD) == 0
+						|| lookahead.getWidth() == previous.lookaheads[index])) {
+			int flags = previous.flags[index];
+			if ((flags & WrapCache.ENDED_LINE) != 0) {
+				context.endLine();
+			}
+			fragment.setTruncated((flags & WrapCache.TRUNCATED) != 0);
+			fragment.length = previous.lengths[index];
+			fragment.setWidth(previous.widths[index]);
+			context.addToCurrentLine(fragment);
+			context.setContinueOnSameLine((flags & WrapCache.CONTINUES) != 0);
+			current.add(fragment, previous.advances[index], available, flags, previous.lookaheads[index]);
+			return previous.advances[index];
+		}
+
+		RecordingContext recorder = new RecordingContext(context);
+		lookahead.used = false;
+		int advance = current.utilities.wrapFragmentInContext(fragment, segment, recorder, lookahead, current.font,
+				current.wrapping);
+		int flags = state;
+		if (recorder.endedLine) {
+			flags |= WrapCache.ENDED_LINE;
+		}
+		if (context.getContinueOnSameLine()) {
+			flags |= WrapCache.CONTINUES;
+		}
+		if (fragment.isTruncated()) {
+			flags |= WrapCache.TRUNCATED;
+		}
+		if (lookahead.used) {
+			flags |= WrapCache.LOOKAHEAD;
+		}
+		current.add(fragment, advance, available, flags, lookahead.used ? lookahead.getWidth() : 0);
+		return advance;
+	}
+
+	/**
+	 * The results of wrapping the fragments of a text during a layout. Wrapping a
+	 * fragment only depends on the text following its offset and on the state of
+	 * the line it is added to. The text is compared to the text of the previous
+	 * layout, so that the fragments before and after the changed part of the text
+	 * are reused rather than measured again.
+	 */
+	private static final class WrapCache {
+		static final int OCCUPIED = 1;
+		static final int CONTINUED = 2;
+		static final int ENDED_LINE = 4;
+		static final int CONTINUES = 8;
+		static final int TRUNCATED = 16;
+		static final int LOOKAHEAD = 32;
+
+		/**
+		 * The number of characters following a break which may affect whether it is
+		 * a line break.
+		 */
+		private static final int BREAK_CONTEXT = 16;
+
+		final String text;
+		final Font font;
+		final FlowUtilities utilities;
+		final int wrapping;
+		final int lineWidth;
+
+		int size;
+		int[] offsets = new int[8];
+		int[] advances = new int[8];
+		int[] lengths = new int[8];
+		int[] widths = new int[8];
+		int[] available = new int[8];
+		int[] lookaheads = new int[8];
+		int[] flags = new int[8];
+
+		/**
+		 * The length of the common prefix and suffix of the text and the previous
+		 * text, and the difference of their lengths.
+		 */
+		private int prefix;
+		private int suffix;
+		private int delta;
+
+		WrapCache(String text, Font font, FlowUtilities utilities, int wrapping, int lineWidth) {
+			this.text = text;
+			this.font = font;
+			this.utilities = utilities;
+			this.wrapping = wrapping;
+			this.lineWidth = lineWidth;
+		}
+
+		boolean isCompatible(WrapCache other) {
+			return font == other.font && utilities == other.utilities && wrapping == other.wrapping
+					&& lineWidth == other.lineWidth;
+		}
+
+		void compareTo(WrapCache previous) {
+			String old = previous.text;
+			int max = Math.min(old.length(), text.length());
+			while (prefix < max && old.charAt(prefix) == text.charAt(prefix)) {
+				prefix++;
+			}
+			while (suffix < max - prefix
+					&& old.charAt(old.length() - 1 - suffix) == text.charAt(text.length() - 1 - suffix)) {
+				suffix++;
+			}
+			delta = text.length() - old.length();
+			if (delta == 0 && prefix == text.length()) {
+				suffix = prefix;
+			}
+		}
+
+		/**
+		 * Returns the index of the previous fragment whose result is valid for a
+		 * fragment starting at the given offset of the current text, or -1.
+		 */
+		int find(WrapCache previous, int offset) {
+			if (offset >= text.length() - suffix) {
+				// all text following the offset is unchanged
+				int index = Arrays.binarySearch(previous.offsets, 0, previous.size, offset - delta);
+				return index < 0 ? -1 : index;
+			}
+			if (offset < prefix) {
+				// A fragment is broken at the last break preceding the first character
+				// which doesn't fit on its line. At least as many characters fit on the
+				// next line, so that character precedes the end of the next fragment.
+				int index = Arrays.binarySearch(previous.offsets, 0, previous.size, offset);
+				if (index >= 0 && index + 2 < previous.size
+						&& previous.offsets[index + 2] + BREAK_CONTEXT <= prefix
+						&& (previous.flags[index] & TRUNCATED) == 0) {
+					return index;
+				}
+			}
+			return -1;
+		}
+
+		void add(TextFragmentBox fragment, int advance, int availableWidth, int state, int lookahead) {
+			if (size == offsets.length) {
+				int capacity = size * 2;
+				offsets = Arrays.copyOf(offsets, capacity);
+				advances = Arrays.copyOf(advances, capacity);
+				lengths = Arrays.copyOf(lengths, capacity);
+				widths = Arrays.copyOf(widths, capacity);
+				available = Arrays.copyOf(available, capacity);
+				lookaheads = Arrays.copyOf(lookaheads, capacity);
+				flags = Arrays.copyOf(flags, capacity);
+			}
+			offsets[size] = fragment.offset;
+			advances[size] = advance;
+			lengths[size] = fragment.length;
+			widths[size] = fragment.getWidth();
+			available[size] = availableWidth;
+			lookaheads[size] = lookahead;
+			flags[size] = state;
+			size++;
+		}
+	}
+
+	/**
+	 * A context which records whether the current line has been ended.
+	 */
+	private static final class RecordingContext implements FlowContext {
+		private final FlowContext context;
+		boolean endedLine;
+
+		RecordingContext(FlowContext context) {
+			this.context = context;
+		}
+
+		@Override
+		public void addToCurrentLine(FlowBox box) {
+			context.addToCurrentLine(box);
+		}
+
+		@Override
+		public void addLine(CompositeBox box) {
+			context.addLine(box);
+		}
+
+		@Override
+		public void endLine() {
+			endedLine = true;
+			context.endLine();
+		}
+
+		@Override
+		public int getRemainingLineWidth() {
+			return context.getRemainingLineWidth();
+		}
+
+		@Override
+		public boolean getContinueOnSameLine() {
+			return context.getContinueOnSameLine();
+		}
+
+		@Override
+		public void getWidthLookahead(FlowFigure child, int[] width) {
+			context.getWidthLookahead(child, width);
+		}
+
+		@Override
+		public boolean isCurrentLineOccupied() {
+			return context.isCurrentLineOccupied();
+		}
+
+		@Override
+		public void setContinueOnSameLine(boolean value) {
+			context.setContinueOnSameLine(value);
+		}
 	}
 
 }
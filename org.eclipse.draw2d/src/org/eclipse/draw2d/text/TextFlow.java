@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -340,6 +340,14 @@ public class TextFlow extends InlineFlow {
 		return (List<? extends TextFragmentBox>) super.getFragments();
 	}
 
+	@Override
+	void discardFragments() {
+		super.discardFragments();
+		if (getLayoutManager() instanceof ParagraphTextLayout layout) {
+			layout.discardWrapCache();
+		}
+	}
+
 	/**
 	 * Returns the <code>TextFragmentBox</code> fragments contained in this
 	 * TextFlow, not including the border fragments. The returned list should not be
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2005-2011, 2024 CHISEL Group, University of Victoria, Victoria,
+ * Copyright 2005-2011, 2026 CHISEL Group, University of Victoria, Victoria,
  *                           BC, Canada and others.
  *
  * This program and the accompanying materials are made available under the
@@ -16,6 +16,7 @@
 package org.eclipse.zest.core.viewers;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -28,6 +29,7 @@ import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTError;
 import org.eclipse.swt.widgets.Widget;
 
+import org.eclipse.jface.viewers.ViewerFilter;
 import org.eclipse.zest.core.viewers.internal.IStylingGraphModelFactory;
 import org.eclipse.zest.core.widgets.CGraphNode;
 import org.eclipse.zest.core.widgets.ConstraintAdapter;
@@ -80,6 +82,14 @@ public abstract class AbstractStructuredGraphViewer extends AbstractZoomableView
 	 */
 	private final List<ConstraintAdapter> constraintAdapters = new ArrayList<>();
 
+	/**
+	 * The filters the graph was last refreshed with, and whether the labels have
+	 * changed since then. The deltas of an {@link IGraphContentDeltaProvider} are
+	 * only applied if neither have changed.
+	 */
+	private ViewerFilter[] refreshedFilters;
+	private boolean labelsChanged;
+
 	/**
 	 * A simple graph comparator that orders graph elements based on their type
 	 * (connection or node), and their unique object identification.
@@ -389,7 +399,21 @@ public abstract class AbstractStructuredGraphViewer extends AbstractZoomableView
 			return;
 		}
 		if (element == getInput()) {
-			getFactory().refreshGraph(getGraphControl());
+			GraphContentDelta delta = null;
+			if (getContentProvider() instanceof IGraphContentDeltaProvider deltaProvider) {
+				delta = deltaProvider.getDelta(element);
+				if (labelsChanged || !Arrays.equals(getFilters(), refreshedFilters)) {
+					delta = null;
+				}
+				refreshedFilters = getFilters();
+				labelsChanged = false;
+			}
+			if (delta == null) {
+				getFactory().refreshGraph(getGraphControl());
+			} else if (!delta.isEmpty()) {
+				getFactory().refreshGraph(getGraphControl(), delta);
+				applyLayout();
+			}
 		} else {
 			getFactory().refresh(getGraphControl(), element);
 		}
@@ -399,6 +423,12 @@ public abstract class AbstractStructuredGraphViewer extends AbstractZoomableView
 		getGraphControl().getLightweightSystem().getUpdateManager().performUpdate();
 	}
 
+	@Override
+	protected void labelProviderChanged() {
+		labelsChanged = true;
+		super.labelProviderChanged();
+	}
+
 	@Override
 	protected void doUpdateItem(Widget item, Object element, boolean fullMap) {
 		if (item == getGraphControl()) {
@@ -525,6 +555,8 @@ public abstract class AbstractStructuredGraphViewer extends AbstractZoomableView
 
 		nodesMap = new HashMap<>();
 		connectionsMap = new HashMap<>();
+		refreshedFilters = getFilters();
+		labelsChanged = false;
 
 		graph = factory.createGraphModel(graph);
 
@@ -741,10 +773,10 @@ public abstract class AbstractStructuredGraphViewer extends AbstractZoomableView
 			if (getLayoutAlgorithm() instanceof LayoutAlgorithm.Zest1 zest1) {
 				zest1.removeEntity(node.getLayoutEntity());
 				List<LayoutRelationship> relationships = new ArrayList<>();
-				for (GraphConnection connection : node.getSourceConnections()) {
+				for (GraphConnection connection : node.getSourceConnectionsView()) {
 					relationships.add(connection.getLayoutRelationship());
 				}
-				for (GraphConnection connection : node.getTargetConnections()) {
+				for (GraphConnection connection : node.getTargetConnectionsView()) {
 					relationships.add(connection.getLayoutRelationship());
 				}
 				zest1.removeRelationships(relationships);
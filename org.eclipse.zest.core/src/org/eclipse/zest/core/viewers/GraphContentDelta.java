@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.core.viewers;
+
+/**
+ * The elements which have been added, removed or changed since a graph viewer
+ * was last refreshed, as reported by an {@link IGraphContentDeltaProvider}. The
+ * elements are the same kind of elements as those returned by the
+ * <code>getElements(Object)</code> method of the content provider, i.e. the
+ * entities of an {@link IGraphEntityContentProvider} and the relationships of an
+ * {@link IGraphContentProvider}.
+ *
+ * @since 1.16
+ */
+public final class GraphContentDelta {
+
+	private static final Object[] NO_ELEMENTS = new Object[0];
+
+	private final Object[] added;
+	private final Object[] removed;
+	private final Object[] changed;
+
+	/**
+	 * Creates a new delta. The arrays are not copied.
+	 *
+	 * @param added   the added elements, or <code>null</code> if there are none
+	 * @param removed the removed elements, or <code>null</code> if there are none
+	 * @param changed the changed elements, or <code>null</code> if there are none
+	 */
+	public GraphContentDelta(Object[] added, Object[] removed, Object[] changed) {
+		this.added = added == null ? NO_ELEMENTS : added;
+		this.removed = removed == null ? NO_ELEMENTS : removed;
+		this.changed = changed == null ? NO_ELEMENTS : changed;
+	}
+
+	/**
+	 * @return the elements which have been added
+	 */
+	public Object[] getAddedElements() {
+		return added;
+	}
+
+	/**
+	 * @return the elements which have been removed
+	 */
+	public Object[] getRemovedElements() {
+		return removed;
+	}
+
+	/**
+	 * Returns the elements whose labels or connections have changed.
+	 *
+	 * @return the elements which have changed
+	 */
+	public Object[] getChangedElements() {
+		return changed;
+	}
+
+	/**
+	 * @return <code>true</code> if no element has been added, removed or changed
+	 */
+	public boolean isEmpty() {
+		return added.length == 0 && removed.length == 0 && changed.length == 0;
+	}
+}
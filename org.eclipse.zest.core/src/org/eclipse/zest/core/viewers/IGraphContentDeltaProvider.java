@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.core.viewers;
+
+import org.eclipse.jface.viewers.IContentProvider;
+
+/**
+ * An extension to {@link IGraphEntityContentProvider} and
+ * {@link IGraphContentProvider}, which reports the elements that have changed
+ * since the graph was last built. When the viewer is refreshed, it applies only
+ * these changes to the graph, rather than building it again from all the
+ * elements of its input, and lays out the graph again via
+ * {@link AbstractStructuredGraphViewer#applyLayout()}. If the graph has been
+ * configured via
+ * {@link org.eclipse.zest.core.widgets.Graph#setIncrementalLayout(boolean)
+ * setIncrementalLayout(true)}, the layout algorithm then only places the nodes
+ * affected by the changes.
+ * <p>
+ * The changes are interpreted as follows:
+ * <ul>
+ * <li>For an {@link IGraphEntityContentProvider}, a node is created for each
+ * added entity and connected to the entities returned by
+ * {@link IGraphEntityContentProvider#getConnectedTo(Object)}. Removed entities
+ * are removed together with all their connections. The connections of changed
+ * entities are updated and their labels are refreshed. If an entity becomes
+ * connected to an added entity, it must be reported as changed as well.</li>
+ * <li>For an {@link IGraphContentProvider}, added relationships are connected
+ * and removed relationships are disconnected. Nodes are removed once no
+ * relationship refers to them anymore. Changed relationships are reconnected if
+ * their source or destination has changed, and their labels are refreshed. A
+ * changed element which is a node rather than a relationship only has its label
+ * refreshed.</li>
+ * </ul>
+ * Viewer filters are applied to the changed elements like to all elements when
+ * the graph is built. The viewer builds the whole graph if the content provider
+ * returns <code>null</code> or is an {@link INestedContentProvider}, or if
+ * filters have been added or removed or the label provider has changed since
+ * the last refresh. Elements whose filtering or labels change otherwise have to
+ * be reported as changed.
+ *
+ * @since 1.16
+ */
+public interface IGraphContentDeltaProvider extends IContentProvider {
+
+	/**
+	 * Returns the changes since the graph was last built or refreshed, and forgets
+	 * them. The viewer calls this method whenever it is refreshed, whereas it
+	 * builds the graph from scratch when the input is changed. Implementations
+	 * should therefore also forget their changes in
+	 * {@link #inputChanged(org.eclipse.jface.viewers.Viewer, Object, Object)
+	 * inputChanged(Viewer, Object, Object)}.
+	 *
+	 * @param input the input of the viewer
+	 * @return the changes, or <code>null</code> if the graph has to be built from
+	 *         scratch
+	 */
+	public GraphContentDelta getDelta(Object input);
+}
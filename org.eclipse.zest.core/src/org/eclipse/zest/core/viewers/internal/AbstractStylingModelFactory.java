@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2005, 2024, CHISEL Group, University of Victoria, Victoria,
+ * Copyright 2005, 2026, CHISEL Group, University of Victoria, Victoria,
  *                       BC, Canada and others.
  *
  * This program and the accompanying materials are made available under the
@@ -121,7 +121,7 @@ public abstract class AbstractStylingModelFactory implements IStylingGraphModelF
 	 */
 	private static List<GraphConnection> getConnectionList(GraphNode source, GraphNode dest) {
 		List<GraphConnection> list = new LinkedList<>();
-		for (GraphConnection c : source.getSourceConnections()) {
+		for (GraphConnection c : source.getSourceConnectionsView()) {
 			if (c.getDestination() == dest) {
 				list.add(c);
 			}
@@ -180,7 +180,7 @@ public abstract class AbstractStylingModelFactory implements IStylingGraphModelF
 		GraphNode dn = viewer.getGraphModelNode(dest);
 		if (oldConnection != null) {
 			if (sn != oldConnection.getSource() || dn != oldConnection.getDestination()) {
-				viewer.removeGraphModelConnection(oldConnection);
+				viewer.removeGraphModelConnection(element);
 			} else {
 				styleItem(oldConnection);
 				return oldConnection;
@@ -354,6 +354,36 @@ public abstract class AbstractStylingModelFactory implements IStylingGraphModelF
 		}
 	}
 
+	/**
+	 * Checks if deltas can be applied to the graph, rather than building it again.
+	 * Nested content is always built again, since the children of a container are
+	 * not reported as changed elements.
+	 *
+	 * @return true if deltas can be applied
+	 */
+	protected boolean canApplyDelta() {
+		return !(getContentProvider() instanceof INestedContentProvider);
+	}
+
+	/**
+	 * Removes the node of the given element together with all of its connections.
+	 *
+	 * @param element the user model data of the node
+	 */
+	protected void removeNode(Object element) {
+		GraphNode node = viewer.getGraphModelNode(element);
+		if (node == null) {
+			return;
+		}
+		for (GraphConnection connection : node.getSourceConnections()) {
+			viewer.removeGraphModelConnection(connection.getExternalConnection());
+		}
+		for (GraphConnection connection : node.getTargetConnections()) {
+			viewer.removeGraphModelConnection(connection.getExternalConnection());
+		}
+		viewer.removeGraphModelNode(element);
+	}
+
 	/**
 	 * Convenience method for clearing all the elements in the graph.
 	 *
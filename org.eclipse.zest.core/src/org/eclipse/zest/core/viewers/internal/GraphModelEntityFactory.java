@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2005, 2024 CHISEL Group, University of Victoria, Victoria,
+ * Copyright 2005, 2026 CHISEL Group, University of Victoria, Victoria,
  *                      BC, Canada and others.
  *
  * This program and the accompanying materials are made available under the
@@ -12,13 +12,16 @@
  ******************************************************************************/
 package org.eclipse.zest.core.viewers.internal;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 
 import org.eclipse.zest.core.viewers.AbstractStructuredGraphViewer;
 import org.eclipse.zest.core.viewers.EntityConnectionData;
+import org.eclipse.zest.core.viewers.GraphContentDelta;
 import org.eclipse.zest.core.viewers.IFigureProvider;
 import org.eclipse.zest.core.viewers.IGraphEntityContentProvider;
 import org.eclipse.zest.core.widgets.Graph;
@@ -108,6 +111,73 @@ public class GraphModelEntityFactory extends AbstractStylingModelFactory {
 		}
 	}
 
+	/**
+	 * Creates the nodes of the added entities, removes the nodes of the removed
+	 * entities and updates the connections and labels of the added and changed
+	 * entities. Entities which have become filtered are removed.
+	 */
+	@Override
+	public void refreshGraph(Graph graph, GraphContentDelta delta) {
+		if (!canApplyDelta()) {
+			refreshGraph(graph);
+			return;
+		}
+		Object inputElement = getViewer().getInput();
+		for (Object element : delta.getRemovedElements()) {
+			removeNode(element);
+		}
+		List<Object> entities = new ArrayList<>();
+		for (Object[] elements : new Object[][] { delta.getAddedElements(), delta.getChangedElements() }) {
+			for (Object element : elements) {
+				if (filterElement(inputElement, element)) {
+					removeNode(element);
+					continue;
+				}
+				GraphNode node = viewer.getGraphModelNode(element);
+				if (node == null) {
+					createNode(graph, element);
+				} else {
+					styleItem(node);
+				}
+				entities.add(element);
+			}
+		}
+		// Connect the entities once all of their nodes exist
+		for (Object element : entities) {
+			updateConnections(graph, inputElement, element);
+		}
+	}
+
+	/**
+	 * Creates the connections from the given entity to the entities it is
+	 * connected to, removes its outdated connections and restyles the others.
+	 */
+	private void updateConnections(Graph graph, Object inputElement, Object element) {
+		Set<EntityConnectionData> connections = new LinkedHashSet<>();
+		Object[] related = ((IGraphEntityContentProvider) getContentProvider()).getConnectedTo(element);
+		if (related != null) {
+			for (Object dest : related) {
+				if (filterElement(inputElement, dest)) {
+					continue;
+				}
+				EntityConnectionData connectionData = new EntityConnectionData(element, dest);
+				if (!filterElement(inputElement, connectionData)) {
+					connections.add(connectionData);
+				}
+			}
+		}
+		for (GraphConnection connection : viewer.getGraphModelNode(element).getSourceConnections()) {
+			if (connections.remove(connection.getExternalConnection())) {
+				styleItem(connection);
+			} else {
+				viewer.removeGraphModelConnection(connection.getExternalConnection());
+			}
+		}
+		for (EntityConnectionData connectionData : connections) {
+			createConnection(graph, connectionData, element, connectionData.dest);
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -140,10 +210,10 @@ public class GraphModelEntityFactory extends AbstractStylingModelFactory {
 
 		if (refreshLabels) {
 			update(node);
-			for (GraphItem item : node.getSourceConnections()) {
+			for (GraphItem item : node.getSourceConnectionsView()) {
 				update(item);
 			}
-			for (GraphItem item : node.getTargetConnections()) {
+			for (GraphItem item : node.getTargetConnectionsView()) {
 				update(item);
 			}
 		}
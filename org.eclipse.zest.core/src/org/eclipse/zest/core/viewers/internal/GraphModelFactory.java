@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2005, 2024 CHISEL Group, University of Victoria, Victoria,
+ * Copyright 2005, 2026 CHISEL Group, University of Victoria, Victoria,
  *                      BC, Canada and others.
  *
  * This program and the accompanying materials are made available under the
@@ -12,7 +12,13 @@
  ******************************************************************************/
 package org.eclipse.zest.core.viewers.internal;
 
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
 import org.eclipse.zest.core.viewers.AbstractStructuredGraphViewer;
+import org.eclipse.zest.core.viewers.GraphContentDelta;
 import org.eclipse.zest.core.viewers.IFigureProvider;
 import org.eclipse.zest.core.viewers.IGraphContentProvider;
 import org.eclipse.zest.core.widgets.Graph;
@@ -30,6 +36,14 @@ public class GraphModelFactory extends AbstractStylingModelFactory {
 
 	AbstractStructuredGraphViewer viewer = null;
 
+	/**
+	 * The nodes of the relationships which only have a source or a destination,
+	 * by relationship, and the number of these relationships per node. These nodes
+	 * are kept even if they have no connections.
+	 */
+	private final Map<Object, Object> unconnectedNodes = new HashMap<>();
+	private final Map<Object, Integer> unconnectedCounts = new HashMap<>();
+
 	public GraphModelFactory(AbstractStructuredGraphViewer viewer) {
 		super(viewer);
 		this.viewer = viewer;
@@ -56,53 +70,150 @@ public class GraphModelFactory extends AbstractStylingModelFactory {
 	protected void doBuildGraph(Graph model) {
 		super.doBuildGraph(model);
 		// make the model have the same styles as the viewer
+		unconnectedNodes.clear();
+		unconnectedCounts.clear();
 		Object rels[] = getContentProvider().getElements(getViewer().getInput());
 		if (rels != null) {
-			IFigureProvider figureProvider = null;
-			if (getLabelProvider() instanceof IFigureProvider) {
-				figureProvider = (IFigureProvider) getLabelProvider();
-			}
-
 			// If rels returns null then just continue
 			// @tag zest(bug(134928(fix))) : An empty graph causes an NPE
 			for (Object rel : rels) {
-				// Check the filter on the source
-				Object source = getCastedContent().getSource(rel);
-				source = filterElement(getViewer().getInput(), source) ? null : source;
-
-				// Check the filter on the dest
-				Object dest = getCastedContent().getDestination(rel);
-				dest = filterElement(getViewer().getInput(), dest) ? null : dest;
-
-				if (source == null) {
-					// just create the node for the destination
-					if (dest != null) {
-						if (figureProvider != null) {
-							createNode(model, dest, figureProvider.getFigure(dest));
-						} else {
-							createNode(model, dest);
-						}
-					}
-					continue;
-				} else if (dest == null) {
-					// just create the node for the source
-					if (source != null) {
-						if (figureProvider != null) {
-							createNode(model, source, figureProvider.getFigure(source));
-						} else {
-							createNode(model, source);
-						}
-					}
-					continue;
-				}
-				// If any of the source, dest is null or the edge is filtered,
-				// don't create the graph.
-				if (source != null && dest != null && !filterElement(getViewer().getInput(), rel)) {
-					createConnection(model, rel, source, dest);
+				createRelationship(model, rel);
+			}
+		}
+
+	}
+
+	/**
+	 * Creates the connection of the given relationship, or the node of its source
+	 * or destination if the other one is missing or filtered.
+	 */
+	private void createRelationship(Graph model, Object rel) {
+		IFigureProvider figureProvider = null;
+		if (getLabelProvider() instanceof IFigureProvider) {
+			figureProvider = (IFigureProvider) getLabelProvider();
+		}
+
+		// Check the filter on the source
+		Object source = getCastedContent().getSource(rel);
+		source = filterElement(getViewer().getInput(), source) ? null : source;
+
+		// Check the filter on the dest
+		Object dest = getCastedContent().getDestination(rel);
+		dest = filterElement(getViewer().getInput(), dest) ? null : dest;
+
+		if (source == null) {
+			// just create the node for the destination
+			if (dest != null) {
+				if (figureProvider != null) {
+					createNode(model, dest, figureProvider.getFigure(dest));
+				} else {
+					createNode(model, dest);
 				}
+				addUnconnectedNode(rel, dest);
+			}
+			return;
+		} else if (dest == null) {
+			// just create the node for the source
+			if (figureProvider != null) {
+				createNode(model, source, figureProvider.getFigure(source));
+			} else {
+				createNode(model, source);
 			}
+			addUnconnectedNode(rel, source);
+			return;
+		}
+		// If the edge is filtered, don't create the connection.
+		if (!filterElement(getViewer().getInput(), rel)) {
+			createConnection(model, rel, source, dest);
+		}
+	}
+
+	private void addUnconnectedNode(Object rel, Object node) {
+		if (unconnectedNodes.put(rel, node) == null) {
+			unconnectedCounts.merge(node, Integer.valueOf(1), (a, b) -> Integer.valueOf(a.intValue() + b.intValue()));
 		}
+	}
 
+	/**
+	 * Forgets the node created for the given relationship, if it only has a source
+	 * or a destination, and adds it to the nodes that may no longer be needed.
+	 */
+	private void removeUnconnectedNode(Object rel, Set<Object> candidates) {
+		Object node = unconnectedNodes.remove(rel);
+		if (node != null) {
+			unconnectedCounts.computeIfPresent(node, (key, count) -> count.intValue() == 1 ? null
+					: Integer.valueOf(count.intValue() - 1));
+			candidates.add(node);
+		}
+	}
+
+	/**
+	 * Connects the added relationships, disconnects the removed relationships and
+	 * reconnects and restyles the changed relationships. Nodes which are no longer
+	 * referred to by any relationship are removed.
+	 */
+	@Override
+	public void refreshGraph(Graph graph, GraphContentDelta delta) {
+		if (!canApplyDelta()) {
+			refreshGraph(graph);
+			return;
+		}
+		Set<Object> candidates = new LinkedHashSet<>();
+		for (Object rel : delta.getRemovedElements()) {
+			disconnect(rel, candidates);
+		}
+		for (Object rel : delta.getChangedElements()) {
+			GraphConnection conn = viewer.getGraphModelConnection(rel);
+			GraphNode node = viewer.getGraphModelNode(rel);
+			if (conn == null && node != null && !unconnectedNodes.containsKey(rel)) {
+				// the element is a node rather than a relationship
+				styleItem(node);
+				continue;
+			}
+			if (conn != null && isConnected(conn, rel)) {
+				styleItem(conn);
+				continue;
+			}
+			disconnect(rel, candidates);
+			createRelationship(graph, rel);
+		}
+		for (Object rel : delta.getAddedElements()) {
+			createRelationship(graph, rel);
+		}
+		for (Object data : candidates) {
+			GraphNode node = viewer.getGraphModelNode(data);
+			if (node != null && node.getSourceConnectionsView().isEmpty() && node.getTargetConnectionsView().isEmpty()
+					&& !unconnectedCounts.containsKey(data)) {
+				viewer.removeGraphModelNode(data);
+			}
+		}
+	}
+
+	/**
+	 * Removes the connection or the unconnected node of the given relationship,
+	 * and adds its nodes to the nodes that may no longer be needed.
+	 */
+	private void disconnect(Object rel, Set<Object> candidates) {
+		GraphConnection conn = viewer.getGraphModelConnection(rel);
+		if (conn != null) {
+			candidates.add(conn.getSource().getData());
+			candidates.add(conn.getDestination().getData());
+			viewer.removeGraphModelConnection(rel);
+		}
+		removeUnconnectedNode(rel, candidates);
+	}
+
+	/**
+	 * Checks if the connection still connects the source and destination of the
+	 * given relationship, and if neither of them is filtered.
+	 */
+	private boolean isConnected(GraphConnection conn, Object rel) {
+		Object input = getViewer().getInput();
+		Object source = getCastedContent().getSource(rel);
+		Object dest = getCastedContent().getDestination(rel);
+		return source != null && dest != null && !filterElement(input, source) && !filterElement(input, dest)
+				&& !filterElement(input, rel) && viewer.getGraphModelNode(source) == conn.getSource()
+				&& viewer.getGraphModelNode(dest) == conn.getDestination();
 	}
 
 	private IGraphContentProvider getCastedContent() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2005-2006, 2024 CHISEL Group, University of Victoria, Victoria, BC,
+ * Copyright 2005-2006, 2026 CHISEL Group, University of Victoria, Victoria, BC,
  *                      Canada.
  *
  * This program and the accompanying materials are made available under the
@@ -15,6 +15,7 @@ package org.eclipse.zest.core.viewers.internal;
 import org.eclipse.jface.viewers.IBaseLabelProvider;
 import org.eclipse.jface.viewers.IStructuredContentProvider;
 import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.zest.core.viewers.GraphContentDelta;
 import org.eclipse.zest.core.widgets.Graph;
 import org.eclipse.zest.core.widgets.GraphConnection;
 import org.eclipse.zest.core.widgets.GraphItem;
@@ -136,6 +137,19 @@ public interface IStylingGraphModelFactory {
 	 */
 	public void refreshGraph(Graph graph);
 
+	/**
+	 * Structurally refreshes the graph model nodes and connections of the elements
+	 * reported by the given delta, and restyles them. By default, the entire graph
+	 * is refreshed.
+	 *
+	 * @param graph the graph to refresh
+	 * @param delta the elements which have been added, removed or changed
+	 * @since 1.16
+	 */
+	public default void refreshGraph(Graph graph, GraphContentDelta delta) {
+		refreshGraph(graph);
+	}
+
 	/**
 	 * Returns the viewer that this factory is building the model for.
 	 *
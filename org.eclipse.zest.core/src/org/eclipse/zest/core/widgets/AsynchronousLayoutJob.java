@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.core.widgets;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.zest.layouts.LayoutAlgorithm;
+
+/**
+ * Runs a layout algorithm on a {@link SnapshotLayoutContext} in a worker thread.
+ * The algorithm is bound to the snapshot by the graph on the UI thread, before
+ * the job is scheduled, and bound to the graph again once the job has finished
+ * or has been cancelled. Whenever the job stops, whether the layout has been
+ * computed, has failed or has been cancelled, the job is handed back to the
+ * graph on the UI thread, which only applies the result of a computed layout. The job belongs to the family of its graph, so
+ * that clients can wait for or cancel all layouts of a graph via the job
+ * manager.
+ * <p>
+ * Cancelling the job interrupts the worker thread. Algorithms performing many
+ * iterations, such as the spring layout, stop as soon as they notice the
+ * interruption. In any case, the result of a cancelled job is discarded. The
+ * graph doesn't wait for the worker thread to stop, but binds the algorithm to
+ * the graph again right away. The algorithms read the nodes of their context
+ * when the layout starts, so that a cancelled layout keeps writing to the
+ * snapshot until it stops.
+ */
+class AsynchronousLayoutJob extends Job {
+
+	private final Graph graph;
+	private final Display display;
+	private final LayoutAlgorithm algorithm;
+	private final SnapshotLayoutContext snapshot;
+	private final boolean clean;
+	private Thread thread;
+	private volatile boolean laidOut;
+
+	AsynchronousLayoutJob(Graph graph, LayoutAlgorithm algorithm, SnapshotLayoutContext snapshot, boolean clean) {
+		super("Graph layout"); //$NON-NLS-1$
+		this.graph = graph;
+		this.display = graph.getDisplay();
+		this.algorithm = algorithm;
+		this.snapshot = snapshot;
+		this.clean = clean;
+	}
+
+	LayoutAlgorithm getAlgorithm() {
+		return algorithm;
+	}
+
+	SnapshotLayoutContext getSnapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * @return {@code true} if the layout of the snapshot has been computed
+	 *         without being cancelled
+	 */
+	boolean isLaidOut() {
+		return laidOut;
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		monitor.beginTask(getName(), 1);
+		try {
+			synchronized (this) {
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				thread = Thread.currentThread();
+			}
+			algorithm.applyLayout(clean);
+			monitor.worked(1);
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+			laidOut = true;
+			return Status.OK_STATUS;
+		} catch (OperationCanceledException e) {
+			return Status.CANCEL_STATUS;
+		} finally {
+			synchronized (this) {
+				thread = null;
+				// Don't leak the interrupt to the next job run by this worker
+				Thread.interrupted();
+			}
+			monitor.done();
+			// Also after a failure, so that the graph doesn't stay suspended
+			if (!display.isDisposed()) {
+				display.asyncExec(() -> graph.finishAsynchronousLayout(this));
+			}
+		}
+	}
+
+	@Override
+	protected synchronized void canceling() {
+		if (thread != null) {
+			thread.interrupt();
+		}
+	}
+
+	@Override
+	public boolean belongsTo(Object family) {
+		return family == graph;
+	}
+}
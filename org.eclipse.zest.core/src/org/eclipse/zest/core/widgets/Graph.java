@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2005-2010, 2024, CHISEL Group, University of Victoria, Victoria,
+ * Copyright 2005-2010, 2026, CHISEL Group, University of Victoria, Victoria,
  *                            BC, Canada and others.
  *
  * This program and the accompanying materials are made available under the
@@ -23,6 +23,8 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+import org.eclipse.core.runtime.jobs.Job;
+
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.ControlAdapter;
 import org.eclipse.swt.events.ControlEvent;
@@ -49,6 +51,7 @@ import org.eclipse.zest.layouts.LayoutAlgorithm;
 import org.eclipse.zest.layouts.LayoutEntity;
 import org.eclipse.zest.layouts.LayoutRelationship;
 import org.eclipse.zest.layouts.LayoutStyles;
+import org.eclipse.zest.layouts.algorithms.internal.DetachedLayoutContext;
 import org.eclipse.zest.layouts.constraints.LayoutConstraint;
 import org.eclipse.zest.layouts.dataStructures.DisplayIndependentRectangle;
 import org.eclipse.zest.layouts.interfaces.ExpandCollapseManager;
@@ -130,6 +133,8 @@ public class Graph extends FigureCanvas implements IContainer2 {
 	private volatile boolean shouldSheduleLayout;
 	private volatile Runnable scheduledLayoutRunnable = null;
 	private volatile boolean scheduledLayoutClean = false;
+	private boolean asynchronousLayout;
+	private AsynchronousLayoutJob asynchronousLayoutJob;
 	private Dimension preferredSize = null;
 	int style = 0;
 
@@ -476,7 +481,7 @@ public class Graph extends FigureCanvas implements IContainer2 {
 	 */
 	@Override
 	public void applyLayout() {
-		scheduleLayoutOnReveal(true);
+		scheduleLayoutOnReveal(!isIncrementalLayout());
 	}
 
 	/**
@@ -486,6 +491,7 @@ public class Graph extends FigureCanvas implements IContainer2 {
 	 */
 	@SuppressWarnings("removal")
 	public void applyLayoutNow() {
+		cancelAsynchronousLayout(false);
 		if (getLayoutAlgorithm() instanceof LayoutAlgorithm.Zest1) {
 			applyLayoutInternal(true);
 		} else {
@@ -494,6 +500,170 @@ public class Graph extends FigureCanvas implements IContainer2 {
 		}
 	}
 
+	/**
+	 * Enables or disables asynchronous layout. If enabled, {@link #applyLayout()}
+	 * copies the nodes and connections of this graph and runs the layout algorithm
+	 * on the copy in a {@link Job}, so that the UI stays responsive while large
+	 * graphs are laid out. The computed locations and sizes are then applied to
+	 * the graph on the UI thread, in a single animated step. Changes made to the
+	 * graph while the layout is running are not seen by the algorithm. Dynamic
+	 * and incremental layouts requested in the meantime are deferred, and
+	 * performed as a single layout once the asynchronous layout has been applied.
+	 * <p>
+	 * The job belongs to the family of this graph. Clients may use the
+	 * {@link org.eclipse.core.runtime.jobs.IJobManager IJobManager} to track the
+	 * progress of the job, or to wait for it to finish. A running layout is
+	 * cancelled when a new layout is applied, when the layout algorithm is
+	 * replaced and when this graph is disposed.
+	 * <p>
+	 * Asynchronous layout is not supported for Zest 1.x layout algorithms and
+	 * algorithms which create subgraphs, such as the
+	 * {@link org.eclipse.zest.layouts.algorithms.SpaceTreeLayoutAlgorithm space
+	 * tree}, which are always applied on the UI thread. It ignores pruned nodes. The layout algorithm must not access the
+	 * {@link org.eclipse.zest.layouts.interfaces.EntityLayout#getItems() items} of its entities, as they may only be
+	 * accessed on the UI thread.
+	 *
+	 * @param enabled {@code true} to compute the layout in a worker thread
+	 * @since 1.16
+	 */
+	public void setAsynchronousLayout(boolean enabled) {
+		if (!enabled) {
+			cancelAsynchronousLayout();
+		}
+		asynchronousLayout = enabled;
+	}
+
+	/**
+	 * @return {@code true} if the layout is computed in a worker thread (see
+	 *         {@link #setAsynchronousLayout(boolean)})
+	 * @since 1.16
+	 */
+	public boolean isAsynchronousLayout() {
+		return asynchronousLayout;
+	}
+
+	/**
+	 * Enables or disables incremental layout. If enabled, {@link #applyLayout()}
+	 * and dynamic layout only place the nodes affected by the nodes and
+	 * connections added to or removed from this graph since the last layout,
+	 * starting from their current locations. All other nodes keep their
+	 * locations. The first layout after the layout algorithm has been set, as
+	 * well as {@link #applyLayoutNow()}, always computes a complete layout.
+	 * <p>
+	 * Incremental layout is supported by the
+	 * {@link org.eclipse.zest.layouts.algorithms.SpringLayoutAlgorithm spring},
+	 * {@link org.eclipse.zest.layouts.algorithms.TreeLayoutAlgorithm tree} and
+	 * {@link org.eclipse.zest.layouts.algorithms.SugiyamaLayoutAlgorithm
+	 * Sugiyama} layout algorithms. Other algorithms don't change the layout when
+	 * it is applied incrementally. Incremental layouts are always computed on the
+	 * UI thread, even if {@link #setAsynchronousLayout(boolean) asynchronous
+	 * layout} is enabled.
+	 *
+	 * @param enabled {@code true} to only update the previous layout
+	 * @since 1.16
+	 */
+	public void setIncrementalLayout(boolean enabled) {
+		internalGetLayoutContext().setIncrementalLayoutEnabled(enabled);
+	}
+
+	/**
+	 * @return {@code true} if layouts only update the previous layout (see
+	 *         {@link #setIncrementalLayout(boolean)})
+	 * @since 1.16
+	 */
+	public boolean isIncrementalLayout() {
+		return internalGetLayoutContext().isIncrementalLayoutEnabled();
+	}
+
+	/**
+	 * Cancels the asynchronous layout of this graph, if one is currently running.
+	 * The layout algorithm is bound to this graph again right away, without
+	 * waiting for the worker thread to stop. The result of the cancelled layout is
+	 * discarded, while the layouts deferred in the meantime are performed. Must be
+	 * called on the UI thread.
+	 *
+	 * @since 1.16
+	 */
+	public void cancelAsynchronousLayout() {
+		cancelAsynchronousLayout(true);
+	}
+
+	/**
+	 * Cancels the running asynchronous layout. The deferred layouts are discarded
+	 * if the graph is laid out anew or disposed afterwards anyway. Joining the job
+	 * would block the UI thread until the algorithm notices the cancellation, so
+	 * the job is only forgotten, and its result is dropped by
+	 * {@link #finishAsynchronousLayout(AsynchronousLayoutJob)}.
+	 */
+	private void cancelAsynchronousLayout(boolean applyDeferredLayouts) {
+		AsynchronousLayoutJob job = asynchronousLayoutJob;
+		if (job == null) {
+			return;
+		}
+		asynchronousLayoutJob = null;
+		job.cancel();
+		restoreLayoutContext(job, applyDeferredLayouts);
+	}
+
+	/**
+	 * Takes a snapshot of the layout context and starts computing its layout in a
+	 * worker thread. Until the job has finished, the layout algorithm is bound to
+	 * the snapshot and its other layouts are deferred. Must be called on the UI
+	 * thread.
+	 */
+	private void startAsynchronousLayout(boolean clean) {
+		cancelAsynchronousLayout(false);
+		InternalLayoutContext context = internalGetLayoutContext();
+		LayoutAlgorithm algorithm = context.getLayoutAlgorithm();
+		SnapshotLayoutContext snapshot = new SnapshotLayoutContext(context);
+		algorithm.setLayoutContext(snapshot);
+		context.suspendLayout(algorithm);
+		asynchronousLayoutJob = new AsynchronousLayoutJob(this, algorithm, snapshot, clean);
+		asynchronousLayoutJob.schedule();
+	}
+
+	/**
+	 * Applies the result of the given job, unless it has been superseded by
+	 * another layout in the meantime. If the job has failed or has been cancelled
+	 * by the job manager, its result is discarded, but the layout algorithm is
+	 * still bound to the layout context again. Called on the UI thread whenever a
+	 * job has stopped.
+	 */
+	void finishAsynchronousLayout(AsynchronousLayoutJob job) {
+		if (job != asynchronousLayoutJob || isDisposed()) {
+			return;
+		}
+		asynchronousLayoutJob = null;
+		if (!job.isLaidOut()) {
+			restoreLayoutContext(job, true);
+			return;
+		}
+		boolean animate = (nodeStyle & ZestStyles.NODES_NO_LAYOUT_ANIMATION) == 0;
+		if (animate) {
+			Animation.markBegin();
+		}
+		job.getSnapshot().apply();
+		restoreLayoutContext(job, true);
+		layoutContext.flushChanges(false);
+		if (animate) {
+			Animation.run(ANIMATION_TIME);
+		}
+		getLightweightSystem().getUpdateManager().performUpdate();
+	}
+
+	/**
+	 * Binds the algorithm of the given job to the layout context again, after the
+	 * result of the job has been applied or discarded, and resumes the layouts of
+	 * the algorithm.
+	 */
+	private void restoreLayoutContext(AsynchronousLayoutJob job, boolean applyDeferredLayouts) {
+		InternalLayoutContext context = internalGetLayoutContext();
+		if (context.getLayoutAlgorithm() == job.getAlgorithm()) {
+			job.getAlgorithm().setLayoutContext(context);
+		}
+		context.resumeLayout(applyDeferredLayouts);
+	}
+
 	/**
 	 * Enables or disables dynamic layout (that is layout algorithm performing
 	 * layout in background or when certain events occur). Dynamic layout should be
@@ -571,6 +741,7 @@ public class Graph extends FigureCanvas implements IContainer2 {
 	 */
 	@Override
 	public void setLayoutAlgorithm(LayoutAlgorithm algorithm, boolean applyLayout) {
+		cancelAsynchronousLayout(false);
 		internalGetLayoutContext().setLayoutAlgorithm(algorithm);
 		if (applyLayout) {
 			applyLayout();
@@ -1075,6 +1246,7 @@ public class Graph extends FigureCanvas implements IContainer2 {
 	}
 
 	private void release() {
+		cancelAsynchronousLayout(false);
 		while (!nodes.isEmpty()) {
 			GraphNode node = nodes.get(0);
 			if (node != null) {
@@ -1394,6 +1566,17 @@ public class Graph extends FigureCanvas implements IContainer2 {
 					if (Graph.this.isDisposed()) {
 						return;
 					}
+					if (asynchronousLayout && (scheduledLayoutClean || !isIncrementalLayout())
+							&& DetachedLayoutContext.isSupported(getLayoutAlgorithm())) {
+						boolean cleanLayout;
+						synchronized (Graph.this) {
+							cleanLayout = scheduledLayoutClean;
+							scheduledLayoutRunnable = null;
+							scheduledLayoutClean = false;
+						}
+						startAsynchronousLayout(cleanLayout);
+						return;
+					}
 					int layoutStyle = 0;
 
 					if ((nodeStyle & ZestStyles.NODES_NO_LAYOUT_RESIZE) > 0) {
@@ -1754,4 +1937,55 @@ public class Graph extends FigureCanvas implements IContainer2 {
 		}
 		return zoomManager;
 	}
+
+	/**
+	 * Sets the policy which simplifies the painting of the nodes and connections
+	 * when the graph is zoomed out. By default, no policy is set and all figures
+	 * are painted with full detail at every zoom level.
+	 *
+	 * @param policy the policy, or <code>null</code> to always paint all details
+	 * @since 1.16
+	 */
+	public void setLevelOfDetailPolicy(LevelOfDetailPolicy policy) {
+		zestRootLayer.setLevelOfDetailPolicy(policy);
+	}
+
+	/**
+	 * Returns the policy which simplifies the painting of the nodes and
+	 * connections when the graph is zoomed out.
+	 *
+	 * @return the policy, or <code>null</code> if all details are always painted
+	 * @since 1.16
+	 */
+	public LevelOfDetailPolicy getLevelOfDetailPolicy() {
+		return zestRootLayer.getLevelOfDetailPolicy();
+	}
+
+	/**
+	 * Sets whether the routing of connections far outside of the visible area of
+	 * the graph is deferred until they are scrolled into view. Such connections are
+	 * placed on a straight line between their nodes instead, which isn't painted.
+	 * This keeps scrolling smooth for graphs with many connections which are
+	 * routed by an expensive {@link ConnectionRouter}. Viewport culling is
+	 * disabled by default.
+	 *
+	 * @param culling <code>true</code> to defer the routing of invisible
+	 *                connections
+	 * @see org.eclipse.draw2d.ViewportCullingRoutingListener
+	 * @since 1.16
+	 */
+	public void setViewportCulling(boolean culling) {
+		zestRootLayer.setViewportCulling(culling);
+	}
+
+	/**
+	 * Returns whether the routing of connections far outside of the visible area
+	 * of the graph is deferred.
+	 *
+	 * @return <code>true</code> if viewport culling is enabled
+	 * @since 1.16
+	 */
+	public boolean isViewportCulling() {
+		return zestRootLayer.isViewportCulling();
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2005-2010, 2024, CHISEL Group, University of Victoria, Victoria,
+ * Copyright 2005-2010, 2026, CHISEL Group, University of Victoria, Victoria,
  *                            BC, Canada and others.
  *
  * This program and the accompanying materials are made available under the
@@ -120,10 +120,10 @@ public class GraphConnection extends GraphItem {
 	 * @since 1.10
 	 */
 	public void registerConnection(GraphNode source, GraphNode destination) {
-		if (source.getSourceConnections().contains(this)) {
+		if (source.getSourceConnectionsView().contains(this)) {
 			source.removeSourceConnection(this);
 		}
-		if (destination.getTargetConnections().contains(this)) {
+		if (destination.getTargetConnectionsView().contains(this)) {
 			destination.removeTargetConnection(this);
 		}
 		(source).addSourceConnection(this);
@@ -865,7 +865,7 @@ public class GraphConnection extends GraphItem {
 
 		@Override
 		public boolean isDirected() {
-			return !ZestStyles.checkStyle(getConnectionStyle(), ZestStyles.CONNECTIONS_DIRECTED);
+			return GraphConnection.this.isDirected();
 		}
 
 		@Override
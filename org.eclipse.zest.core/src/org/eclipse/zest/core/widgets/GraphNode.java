@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2005, 2025, CHISEL Group, University of Victoria, Victoria, BC, Canada.
+ * Copyright 2005, 2026, CHISEL Group, University of Victoria, Victoria, BC, Canada.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -14,6 +14,7 @@
 package org.eclipse.zest.core.widgets;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.eclipse.swt.SWT;
@@ -62,6 +63,8 @@ public class GraphNode extends GraphItem {
 
 	private List<GraphConnection> sourceConnections;
 	private List<GraphConnection> targetConnections;
+	private List<GraphConnection> sourceConnectionsView;
+	private List<GraphConnection> targetConnectionsView;
 
 	private Color foreColor;
 	private Color backColor;
@@ -189,6 +192,8 @@ public class GraphNode extends GraphItem {
 		this.parent = parent;
 		this.sourceConnections = new ArrayList<>();
 		this.targetConnections = new ArrayList<>();
+		this.sourceConnectionsView = Collections.unmodifiableList(sourceConnections);
+		this.targetConnectionsView = Collections.unmodifiableList(targetConnections);
 		this.foreColor = parent.getGraph().DARK_BLUE;
 		this.backColor = parent.getGraph().LIGHT_BLUE;
 		this.highlightColor = parent.getGraph().HIGHLIGHT_COLOR;
@@ -247,16 +252,16 @@ public class GraphNode extends GraphItem {
 		}
 		super.dispose();
 		this.isDisposed = true;
-		while (!getSourceConnections().isEmpty()) {
-			GraphConnection connection = getSourceConnections().get(0);
+		while (!sourceConnections.isEmpty()) {
+			GraphConnection connection = sourceConnections.get(0);
 			if (!connection.isDisposed()) {
 				connection.dispose();
 			} else {
 				removeSourceConnection(connection);
 			}
 		}
-		while (!getTargetConnections().isEmpty()) {
-			GraphConnection connection = getTargetConnections().get(0);
+		while (!targetConnections.isEmpty()) {
+			GraphConnection connection = targetConnections.get(0);
 			if (!connection.isDisposed()) {
 				connection.dispose();
 			} else {
@@ -302,6 +307,32 @@ public class GraphNode extends GraphItem {
 		return new ArrayList<>(targetConnections);
 	}
 
+	/**
+	 * Returns a read-only view of the source connections. Unlike
+	 * {@link #getSourceConnections()}, the list is not copied and therefore
+	 * reflects the connections which are added to or removed from this node. It
+	 * must not be iterated while connections are added or removed.
+	 *
+	 * @return an unmodifiable list of the source connections
+	 * @since 1.16
+	 */
+	public List<GraphConnection> getSourceConnectionsView() {
+		return sourceConnectionsView;
+	}
+
+	/**
+	 * Returns a read-only view of the target connections. Unlike
+	 * {@link #getTargetConnections()}, the list is not copied and therefore
+	 * reflects the connections which are added to or removed from this node. It
+	 * must not be iterated while connections are added or removed.
+	 *
+	 * @return an unmodifiable list of the target connections
+	 * @since 1.16
+	 */
+	public List<GraphConnection> getTargetConnectionsView() {
+		return targetConnectionsView;
+	}
+
 	/**
 	 * Returns the bounds of this node. It is just the combination of the location
 	 * and the size.
@@ -709,11 +740,11 @@ public class GraphNode extends GraphItem {
 		// graph.addRemoveFigure(this, visible);
 		this.visible = visible;
 		this.getNodeFigure().setVisible(visible);
-		for (GraphConnection connection : getSourceConnections()) {
+		for (GraphConnection connection : sourceConnections) {
 			connection.setVisible(visible);
 		}
 
-		for (GraphConnection connection : getTargetConnections()) {
+		for (GraphConnection connection : targetConnections) {
 			connection.setVisible(visible);
 		}
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009-2010, 2024 Mateusz Matela and others.
+ * Copyright (c) 2009-2010, 2026 Mateusz Matela and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -20,6 +20,7 @@ import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.zest.layouts.LayoutAlgorithm;
+import org.eclipse.zest.layouts.dataStructures.AdjacencyArrays;
 import org.eclipse.zest.layouts.dataStructures.DisplayIndependentRectangle;
 import org.eclipse.zest.layouts.interfaces.ConnectionLayout;
 import org.eclipse.zest.layouts.interfaces.ContextListener;
@@ -49,7 +50,17 @@ class InternalLayoutContext implements LayoutContext {
 	private final Set<SubgraphLayout> subgraphs = new HashSet<>();
 	private boolean eventsOn = true;
 	private boolean backgorundLayoutEnabled = true;
+	private boolean incrementalLayoutEnabled;
 	private boolean externalLayoutInvocation = false;
+	private LayoutAlgorithm suspendedAlgorithm;
+	private boolean layoutPending;
+
+	/**
+	 * The adjacency computed by the last call of {@link #getAdjacency()}, and
+	 * whether each of its connections was directed at that time.
+	 */
+	private AdjacencyArrays adjacency;
+	private boolean[] adjacencyDirections;
 
 	/**
 	 * @param graph the graph owning this context
@@ -213,6 +224,15 @@ class InternalLayoutContext implements LayoutContext {
 		}
 	}
 
+	@Override
+	public boolean isIncrementalLayoutEnabled() {
+		return incrementalLayoutEnabled;
+	}
+
+	void setIncrementalLayoutEnabled(boolean enabled) {
+		this.incrementalLayoutEnabled = enabled;
+	}
+
 	@Override
 	public boolean isPruningEnabled() {
 		return expandCollapseManager != null;
@@ -268,6 +288,45 @@ class InternalLayoutContext implements LayoutContext {
 		return result2;
 	}
 
+	/**
+	 * Reuses the adjacency computed by the last call, as long as the nodes and
+	 * connections seen by the layout and the directions of the connections are
+	 * unchanged. Filters may depend on any state of the items, and the nodes of a
+	 * container are added without notifying its context, so structure changes
+	 * are detected by comparing the items rather than by listening to events.
+	 */
+	@Override
+	public AdjacencyArrays getAdjacency() {
+		NodeLayout[] nodes = getNodes();
+		ConnectionLayout[] connections = getConnections();
+		if (adjacency == null || !isAdjacencyOf(nodes, connections)) {
+			adjacency = new AdjacencyArrays(nodes, connections);
+			adjacencyDirections = new boolean[connections.length];
+			for (int i = 0; i < connections.length; i++) {
+				adjacencyDirections[i] = connections[i].isDirected();
+			}
+		}
+		return adjacency;
+	}
+
+	private boolean isAdjacencyOf(NodeLayout[] nodes, ConnectionLayout[] connections) {
+		if (nodes.length != adjacency.getNodeCount() || connections.length != adjacency.getConnectionCount()) {
+			return false;
+		}
+		for (int i = 0; i < nodes.length; i++) {
+			if (nodes[i] != adjacency.getNode(i)) {
+				return false;
+			}
+		}
+		for (int i = 0; i < connections.length; i++) {
+			if (connections[i] != adjacency.getConnection(i)
+					|| connections[i].isDirected() != adjacencyDirections[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public ConnectionLayout[] getConnections(EntityLayout source, EntityLayout target) {
 		List<ConnectionLayout> result = new ArrayList<>();
@@ -347,7 +406,11 @@ class InternalLayoutContext implements LayoutContext {
 
 	void applyMainAlgorithm() {
 		if (backgorundLayoutEnabled && mainAlgorithm != null) {
-			mainAlgorithm.applyLayout(true);
+			if (mainAlgorithm == suspendedAlgorithm) {
+				layoutPending = true;
+				return;
+			}
+			mainAlgorithm.applyLayout(!incrementalLayoutEnabled);
 			flushChanges(false);
 		}
 	}
@@ -372,12 +435,64 @@ class InternalLayoutContext implements LayoutContext {
 
 	void applyLayout(boolean clean) {
 		if (layoutAlgorithm != null) {
+			if (layoutAlgorithm == suspendedAlgorithm) {
+				layoutPending = true;
+				return;
+			}
 			externalLayoutInvocation = true;
 			layoutAlgorithm.applyLayout(clean);
 			externalLayoutInvocation = false;
 		}
 	}
 
+	/**
+	 * Suspends the layouts performed by the given algorithm, while it lays out a
+	 * snapshot of this context in a worker thread. Layouts requested in the
+	 * meantime, such as dynamic layouts, are remembered until
+	 * {@link #resumeLayout(boolean)} is called.
+	 *
+	 * @see SnapshotLayoutContext
+	 */
+	void suspendLayout(LayoutAlgorithm algorithm) {
+		suspendedAlgorithm = algorithm;
+		layoutPending = false;
+	}
+
+	/**
+	 * Resumes the layouts suspended by {@link #suspendLayout(LayoutAlgorithm)}.
+	 * The layouts requested in the meantime are performed at once, unless they are
+	 * discarded or the algorithm has been replaced.
+	 *
+	 * @param applyPending {@code true} to perform the requested layouts
+	 */
+	void resumeLayout(boolean applyPending) {
+		LayoutAlgorithm algorithm = suspendedAlgorithm;
+		boolean pending = layoutPending;
+		suspendedAlgorithm = null;
+		layoutPending = false;
+		if (applyPending && pending && (algorithm == layoutAlgorithm || algorithm == mainAlgorithm)) {
+			externalLayoutInvocation = true;
+			algorithm.applyLayout(!incrementalLayoutEnabled);
+			externalLayoutInvocation = false;
+			flushChanges(false);
+		}
+	}
+
+	/**
+	 * Runs the given runnable, which copies the result of an asynchronous layout
+	 * into the layout items of this context.
+	 *
+	 * @see SnapshotLayoutContext#apply()
+	 */
+	void applySnapshot(Runnable runnable) {
+		externalLayoutInvocation = true;
+		try {
+			runnable.run();
+		} finally {
+			externalLayoutInvocation = false;
+		}
+	}
+
 	void checkChangesAllowed() {
 		if (!backgorundLayoutEnabled && !externalLayoutInvocation) {
 			throw new RuntimeException("Layout not allowed to perform changes in layout context!"); //$NON-NLS-1$
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009-2010, 2024 Mateusz Matela and others.
+ * Copyright (c) 2009-2010, 2026 Mateusz Matela and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -243,12 +243,12 @@ class InternalNodeLayout implements NodeLayout {
 	@Override
 	public ConnectionLayout[] getIncomingConnections() {
 		List<ConnectionLayout> result = new ArrayList<>();
-		for (GraphConnection connection : node.getTargetConnections()) {
+		for (GraphConnection connection : node.getTargetConnectionsView()) {
 			if (!ownerLayoutContext.isLayoutItemFiltered(connection)) {
 				result.add(connection.getLayout());
 			}
 		}
-		for (GraphConnection connection : node.getSourceConnections()) {
+		for (GraphConnection connection : node.getSourceConnectionsView()) {
 			if (!connection.isDirected() && !ownerLayoutContext.isLayoutItemFiltered(connection)) {
 				result.add(connection.getLayout());
 			}
@@ -259,12 +259,12 @@ class InternalNodeLayout implements NodeLayout {
 	@Override
 	public ConnectionLayout[] getOutgoingConnections() {
 		List<ConnectionLayout> result = new ArrayList<>();
-		for (GraphConnection connection : node.getSourceConnections()) {
+		for (GraphConnection connection : node.getSourceConnectionsView()) {
 			if (!ownerLayoutContext.isLayoutItemFiltered(connection)) {
 				result.add(connection.getLayout());
 			}
 		}
-		for (GraphConnection connection : node.getTargetConnections()) {
+		for (GraphConnection connection : node.getTargetConnectionsView()) {
 			if (!connection.isDirected() && !ownerLayoutContext.isLayoutItemFiltered(connection)) {
 				result.add(connection.getLayout());
 			}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.core.widgets;
+
+/**
+ * Determines how much detail is painted when a {@link Graph} is zoomed out.
+ * Below the given zoom levels, the figures of the nodes and connections are no
+ * longer painted themselves:
+ * <ul>
+ * <li>Below the <em>simple node zoom</em>, every node is painted as a rectangle
+ * filled with its background color, without its label, icon and border.</li>
+ * <li>Below the <em>dot node zoom</em>, every node is painted as a dot of a few
+ * pixels at its center.</li>
+ * <li>Below the <em>simple connection zoom</em>, every connection is painted as
+ * a straight line between its end points, without its arrowheads, labels and
+ * bend points. The lines are batched by color.</li>
+ * </ul>
+ * While nodes or connections are simplified, decorations such as the labels
+ * showing the number of pruned successors of a node are not painted.
+ * The zoom levels are compared with the absolute scale of the graphics, which
+ * includes the zoom of the graph.
+ *
+ * @see Graph#setLevelOfDetailPolicy(LevelOfDetailPolicy)
+ * @since 1.16
+ */
+public final class LevelOfDetailPolicy {
+
+	/**
+	 * The default zoom level below which nodes are painted as rectangles.
+	 */
+	public static final double DEFAULT_SIMPLE_NODE_ZOOM = 0.5;
+
+	/**
+	 * The default zoom level below which nodes are painted as dots.
+	 */
+	public static final double DEFAULT_DOT_NODE_ZOOM = 0.2;
+
+	/**
+	 * The default zoom level below which connections are painted as straight
+	 * lines.
+	 */
+	public static final double DEFAULT_SIMPLE_CONNECTION_ZOOM = 0.5;
+
+	private final double simpleNodeZoom;
+	private final double dotNodeZoom;
+	private final double simpleConnectionZoom;
+
+	/**
+	 * Creates a policy with the default zoom levels.
+	 */
+	public LevelOfDetailPolicy() {
+		this(DEFAULT_SIMPLE_NODE_ZOOM, DEFAULT_DOT_NODE_ZOOM, DEFAULT_SIMPLE_CONNECTION_ZOOM);
+	}
+
+	/**
+	 * Creates a policy with the given zoom levels. A zoom level of <code>0</code>
+	 * disables the respective simplification.
+	 *
+	 * @param simpleNodeZoom       the zoom level below which nodes are painted as
+	 *                             rectangles
+	 * @param dotNodeZoom          the zoom level below which nodes are painted as
+	 *                             dots
+	 * @param simpleConnectionZoom the zoom level below which connections are
+	 *                             painted as straight lines
+	 * @throws IllegalArgumentException if a zoom level is negative, or if the dot
+	 *                                  node zoom is greater than the simple node
+	 *                                  zoom
+	 */
+	public LevelOfDetailPolicy(double simpleNodeZoom, double dotNodeZoom, double simpleConnectionZoom) {
+		if (simpleNodeZoom < 0 || dotNodeZoom < 0 || simpleConnectionZoom < 0) {
+			throw new IllegalArgumentException("Zoom levels must not be negative"); //$NON-NLS-1$
+		}
+		if (dotNodeZoom > simpleNodeZoom) {
+			throw new IllegalArgumentException("Dot node zoom must not exceed simple node zoom"); //$NON-NLS-1$
+		}
+		this.simpleNodeZoom = simpleNodeZoom;
+		this.dotNodeZoom = dotNodeZoom;
+		this.simpleConnectionZoom = simpleConnectionZoom;
+	}
+
+	/**
+	 * @return the zoom level below which nodes are painted as rectangles
+	 */
+	public double getSimpleNodeZoom() {
+		return simpleNodeZoom;
+	}
+
+	/**
+	 * @return the zoom level below which nodes are painted as dots
+	 */
+	public double getDotNodeZoom() {
+		return dotNodeZoom;
+	}
+
+	/**
+	 * @return the zoom level below which connections are painted as straight
+	 *         lines
+	 */
+	public double getSimpleConnectionZoom() {
+		return simpleConnectionZoom;
+	}
+}
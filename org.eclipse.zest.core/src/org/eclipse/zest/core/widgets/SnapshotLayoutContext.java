@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.core.widgets;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.zest.layouts.algorithms.internal.DetachedLayoutContext;
+import org.eclipse.zest.layouts.interfaces.ConnectionLayout;
+import org.eclipse.zest.layouts.interfaces.NodeLayout;
+
+/**
+ * A copy of the nodes and connections of an {@link InternalLayoutContext}, which
+ * can be laid out by a worker thread. The snapshot is created on the UI thread
+ * and doesn't access any widget afterwards, so that the layout algorithm can
+ * modify it while the user continues to interact with the graph. The computed
+ * locations and sizes are written back to the graph via {@link #apply()}, which
+ * again has to be called on the UI thread.
+ * <p>
+ * Pruning is not supported. Pruned nodes are not part of the snapshot and
+ * therefore not moved by the layout algorithm.
+ */
+class SnapshotLayoutContext extends DetachedLayoutContext {
+
+	private final InternalLayoutContext context;
+
+	/**
+	 * Copies the current state of the given context. Must be called on the UI
+	 * thread.
+	 *
+	 * @param context the context to copy
+	 */
+	SnapshotLayoutContext(InternalLayoutContext context) {
+		this(context, getUnprunedNodes(context));
+	}
+
+	private SnapshotLayoutContext(InternalLayoutContext context, NodeLayout[] nodes) {
+		super(nodes, context.getBounds());
+		this.context = context;
+
+		Map<NodeLayout, Integer> indices = new IdentityHashMap<>(nodes.length);
+		for (int i = 0; i < nodes.length; i++) {
+			indices.put(nodes[i], Integer.valueOf(i));
+		}
+		for (ConnectionLayout connection : context.getConnections()) {
+			Integer source = indices.get(connection.getSource());
+			Integer target = indices.get(connection.getTarget());
+			if (source != null && target != null) {
+				addConnection(connection, source.intValue(), target.intValue());
+			}
+		}
+	}
+
+	private static NodeLayout[] getUnprunedNodes(InternalLayoutContext context) {
+		List<NodeLayout> nodes = new ArrayList<>();
+		for (NodeLayout node : context.getNodes()) {
+			if (!node.isPruned()) {
+				nodes.add(node);
+			}
+		}
+		return nodes.toArray(new NodeLayout[nodes.size()]);
+	}
+
+	/**
+	 * Writes the locations and sizes computed by the layout algorithm back to the
+	 * original context. Nodes and connections which have been disposed in the
+	 * meantime are skipped. Must be called on the UI thread.
+	 */
+	void apply() {
+		context.applySnapshot(() -> apply(1, 0, 0));
+	}
+
+	@Override
+	protected boolean isRemoved(NodeLayout original) {
+		return ((InternalNodeLayout) original).isDisposed();
+	}
+}
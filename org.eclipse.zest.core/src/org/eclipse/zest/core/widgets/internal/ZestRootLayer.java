@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000-2010, 2024 IBM Corporation and others.
+ * Copyright (c) 2000-2010, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -15,11 +15,25 @@ package org.eclipse.zest.core.widgets.internal;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.swt.graphics.Color;
+
+import org.eclipse.zest.core.widgets.LevelOfDetailPolicy;
+
+import org.eclipse.draw2d.Connection;
 import org.eclipse.draw2d.FreeformLayer;
+import org.eclipse.draw2d.Graphics;
+import org.eclipse.draw2d.IClippingStrategy;
 import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.PolylineConnection;
+import org.eclipse.draw2d.ViewportCullingRoutingListener;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.PointList;
+import org.eclipse.draw2d.geometry.Rectangle;
 
 /**
  * The root figure for Zest. The figure is broken up into following segments:
@@ -64,6 +78,16 @@ public class ZestRootLayer extends FreeformLayer {
 	 */
 	private boolean isLayerKnown = false;
 
+	/**
+	 * The size of the dots painted for nodes at the lowest level of detail, in
+	 * device pixels.
+	 */
+	private static final int DOT_SIZE = 3;
+
+	private LevelOfDetailPolicy levelOfDetailPolicy;
+
+	private ViewportCullingRoutingListener cullingListener;
+
 	/**
 	 * Adds a node to the ZestRootLayer
 	 *
@@ -176,6 +200,9 @@ public class ZestRootLayer extends FreeformLayer {
 			itemsInLayer[layer]++;
 		}
 		isLayerKnown = false;
+		if (cullingListener != null && child instanceof PolylineConnection connection) {
+			cullingListener.install(connection);
+		}
 	}
 
 	@Override
@@ -185,6 +212,9 @@ public class ZestRootLayer extends FreeformLayer {
 			return;
 		}
 		itemsInLayer[getLayer(position)]--;
+		if (cullingListener != null && child instanceof PolylineConnection connection) {
+			cullingListener.uninstall(connection);
+		}
 		if (decoratingFigures.contains(child)) {
 			decoratingFigures.remove(child);
 			super.remove(child);
@@ -210,4 +240,182 @@ public class ZestRootLayer extends FreeformLayer {
 		decoratingFigures.add(decorating);
 		add(decorating, position);
 	}
+
+	/**
+	 * Sets whether the routing of connections far outside of the visible area of
+	 * the enclosing viewport is deferred until they are scrolled into view.
+	 *
+	 * @param culling <code>true</code> to defer the routing of invisible
+	 *                connections
+	 * @see ViewportCullingRoutingListener
+	 */
+	public void setViewportCulling(boolean culling) {
+		if (culling == (cullingListener != null)) {
+			return;
+		}
+		ViewportCullingRoutingListener listener = culling ? new ViewportCullingRoutingListener(this)
+				: cullingListener;
+		for (IFigure child : getChildren()) {
+			if (child instanceof PolylineConnection connection) {
+				if (culling) {
+					listener.install(connection);
+				} else {
+					listener.uninstall(connection);
+				}
+			}
+		}
+		cullingListener = culling ? listener : null;
+	}
+
+	/**
+	 * @return <code>true</code> if the routing of connections far outside of the
+	 *         visible area is deferred
+	 */
+	public boolean isViewportCulling() {
+		return cullingListener != null;
+	}
+
+	/**
+	 * Sets the policy which determines how nodes and connections are painted when
+	 * the layer is zoomed out.
+	 *
+	 * @param policy the policy, or <code>null</code> to always paint all figures
+	 *               themselves
+	 */
+	public void setLevelOfDetailPolicy(LevelOfDetailPolicy policy) {
+		levelOfDetailPolicy = policy;
+		repaint();
+	}
+
+	/**
+	 * @return the policy which determines how nodes and connections are painted
+	 *         when the layer is zoomed out, or <code>null</code>
+	 */
+	public LevelOfDetailPolicy getLevelOfDetailPolicy() {
+		return levelOfDetailPolicy;
+	}
+
+	/**
+	 * Paints the children according to the level of detail policy, if any. Nodes
+	 * and connections which are painted in full detail are clipped as usual,
+	 * respecting the clipping strategy of this layer. Decorations are not painted
+	 * while nodes or connections are simplified.
+	 */
+	@Override
+	protected void paintChildren(Graphics graphics) {
+		if (levelOfDetailPolicy == null) {
+			super.paintChildren(graphics);
+			return;
+		}
+		double zoom = graphics.getAbsoluteScale();
+		boolean simpleNodes = zoom < levelOfDetailPolicy.getSimpleNodeZoom();
+		boolean simpleConnections = zoom < levelOfDetailPolicy.getSimpleConnectionZoom();
+		if (!simpleNodes && !simpleConnections) {
+			super.paintChildren(graphics);
+			return;
+		}
+		boolean dots = zoom < levelOfDetailPolicy.getDotNodeZoom();
+		int dotSize = (int) Math.ceil(DOT_SIZE / zoom);
+		Rectangle clip = graphics.getClip(new Rectangle());
+		List<? extends IFigure> children = getSpatialChildIndex() == null ? getChildren()
+				: getSpatialChildIndex().findChildrenIntersecting(clip);
+		// The straight lines of the connections, grouped by color. They are painted
+		// before the next figure which is not a connection, to retain the z-order.
+		Map<Color, PointList> lines = new LinkedHashMap<>();
+		// Whether the state has been pushed to paint simplified figures, so that the
+		// colors set for them are not inherited by figures painted in full detail
+		boolean simplified = false;
+		for (IFigure child : children) {
+			if (!child.isVisible() || decoratingFigures.contains(child)) {
+				continue;
+			}
+			if (child instanceof Connection connection) {
+				if (!simpleConnections) {
+					simplified = restoreState(graphics, simplified);
+					paintChild(graphics, child, clip);
+				} else if (child.getBounds().intersects(clip)) {
+					PointList points = connection.getPoints();
+					if (points.size() > 1) {
+						PointList batch = lines.computeIfAbsent(child.getForegroundColor(), c -> new PointList());
+						batch.addPoint(points.getPoint(Point.SINGLETON, 0));
+						batch.addPoint(points.getPoint(Point.SINGLETON, points.size() - 1));
+					}
+				}
+				continue;
+			}
+			if (!lines.isEmpty()) {
+				simplified = pushState(graphics, simplified);
+				paintLines(graphics, lines);
+			}
+			if (!simpleNodes) {
+				simplified = restoreState(graphics, simplified);
+				paintChild(graphics, child, clip);
+			} else if (child.getBounds().intersects(clip)) {
+				simplified = pushState(graphics, simplified);
+				Rectangle bounds = child.getBounds();
+				graphics.setBackgroundColor(child.getBackgroundColor());
+				if (dots) {
+					graphics.fillRectangle(bounds.x + (bounds.width - dotSize) / 2,
+							bounds.y + (bounds.height - dotSize) / 2, dotSize, dotSize);
+				} else {
+					graphics.fillRectangle(bounds);
+				}
+			}
+		}
+		if (!lines.isEmpty()) {
+			simplified = pushState(graphics, simplified);
+			paintLines(graphics, lines);
+		}
+		restoreState(graphics, simplified);
+	}
+
+	/**
+	 * Pushes the state of the graphics before the first simplified figure is
+	 * painted.
+	 */
+	private static boolean pushState(Graphics graphics, boolean pushed) {
+		if (!pushed) {
+			graphics.pushState();
+		}
+		return true;
+	}
+
+	/**
+	 * Restores the state of the graphics after the last simplified figure has been
+	 * painted.
+	 */
+	private static boolean restoreState(Graphics graphics, boolean pushed) {
+		if (pushed) {
+			graphics.popState();
+		}
+		return false;
+	}
+
+	/**
+	 * Paints the given child within the areas determined by the clipping strategy
+	 * of this layer, or within its bounds if there is none.
+	 */
+	private void paintChild(Graphics graphics, IFigure child, Rectangle clip) {
+		IClippingStrategy clippingStrategy = getClippingStrategy();
+		Rectangle[] areas = clippingStrategy == null ? new Rectangle[] { child.getBounds() }
+				: clippingStrategy.getClip(child);
+		for (Rectangle area : areas) {
+			if (area.intersects(clip)) {
+				graphics.clipRect(area);
+				child.paint(graphics);
+				graphics.restoreState();
+			}
+		}
+	}
+
+	private static void paintLines(Graphics graphics, Map<Color, PointList> lines) {
+		for (Map.Entry<Color, PointList> entry : lines.entrySet()) {
+			graphics.setForegroundColor(entry.getKey());
+			int[] points = entry.getValue().toIntArray();
+			for (int i = 0; i < points.length; i += 4) {
+				graphics.drawLine(points[i], points[i + 1], points[i + 2], points[i + 3]);
+			}
+		}
+		lines.clear();
+	}
 }
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.examples.layouts;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.zest.core.widgets.Graph;
+import org.eclipse.zest.core.widgets.GraphConnection;
+import org.eclipse.zest.core.widgets.GraphNode;
+import org.eclipse.zest.layouts.LayoutAlgorithm;
+import org.eclipse.zest.layouts.algorithms.ComponentLayoutAlgorithm;
+import org.eclipse.zest.layouts.algorithms.SpringLayoutAlgorithm;
+
+/**
+ * Measures the layout of a forest of 200 trees with 20 nodes each. The forest
+ * is laid out by a single {@link SpringLayoutAlgorithm}, and by a
+ * {@link ComponentLayoutAlgorithm} which lays out each tree with its own spring
+ * layout, either by the calling thread or on a {@link ForkJoinPool}.
+ */
+public class ComponentLayoutBenchmark {
+
+	private static final int TREES = 200;
+	private static final int NODES_PER_TREE = 20;
+	private static final int RUNS = 3;
+
+	public static void main(String[] args) {
+		Display d = new Display();
+		Shell shell = new Shell(d);
+		shell.setSize(1000, 1000);
+		ForkJoinPool pool = new ForkJoinPool();
+
+		for (int run = 0; run < RUNS; run++) {
+			Graph g = createGraph(shell);
+			long spring = time(g, createSpringLayout());
+			long components = time(g, new ComponentLayoutAlgorithm(ComponentLayoutBenchmark::createSpringLayout));
+			ComponentLayoutAlgorithm parallel = new ComponentLayoutAlgorithm(
+					ComponentLayoutBenchmark::createSpringLayout);
+			parallel.setForkJoinPool(pool);
+			long parallelComponents = time(g, parallel);
+			System.out.println(String.format("run=%d: spring=%dms, components=%dms, parallel components=%dms", //$NON-NLS-1$
+					run, spring, components, parallelComponents));
+			g.dispose();
+		}
+		pool.shutdown();
+		d.dispose();
+	}
+
+	private static SpringLayoutAlgorithm createSpringLayout() {
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm();
+		algorithm.setRandom(false);
+		return algorithm;
+	}
+
+	private static long time(Graph g, LayoutAlgorithm algorithm) {
+		g.setLayoutAlgorithm(algorithm, false);
+		long start = System.nanoTime();
+		g.applyLayoutNow();
+		return (System.nanoTime() - start) / 1000000;
+	}
+
+	private static Graph createGraph(Shell shell) {
+		Random random = new Random(0);
+		Graph g = new Graph(shell, SWT.NONE);
+		g.setSize(1000, 1000);
+		for (int tree = 0; tree < TREES; tree++) {
+			GraphNode[] nodes = new GraphNode[NODES_PER_TREE];
+			for (int i = 0; i < NODES_PER_TREE; i++) {
+				nodes[i] = new GraphNode(g, SWT.NONE);
+				nodes[i].setText(tree + "." + i); //$NON-NLS-1$
+				if (i > 0) {
+					new GraphConnection(g, SWT.NONE, nodes[random.nextInt(i)], nodes[i]);
+				}
+			}
+		}
+		return g;
+	}
+}
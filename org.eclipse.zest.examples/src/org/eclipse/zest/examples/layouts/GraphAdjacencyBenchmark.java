@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.examples.layouts;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.zest.core.widgets.Graph;
+import org.eclipse.zest.core.widgets.GraphConnection;
+import org.eclipse.zest.core.widgets.GraphNode;
+import org.eclipse.zest.layouts.algorithms.AbstractLayoutAlgorithm;
+import org.eclipse.zest.layouts.dataStructures.AdjacencyArrays;
+import org.eclipse.zest.layouts.interfaces.NodeLayout;
+
+/**
+ * Measures the traversal of the connections of a graph with 10,000 nodes and
+ * 50,000 connections. Refreshing visits the connections of every node, either
+ * via the copying {@link GraphNode#getSourceConnections()} or via the read-only
+ * {@link GraphNode#getSourceConnectionsView()}. Laying out places the nodes in
+ * layers by a breadth-first search, either via the arrays returned by
+ * {@link NodeLayout#getSuccessingNodes()} or via the
+ * {@link AdjacencyArrays}, which the graph reuses when laying out again.
+ * Disposing removes all nodes and connections.
+ */
+public class GraphAdjacencyBenchmark {
+
+	private static final int NODES = 10000;
+	private static final int CONNECTIONS = 50000;
+	private static final int RUNS = 5;
+
+	/**
+	 * Places the nodes in layers, according to their distance from the first
+	 * node.
+	 */
+	private static class LayerLayoutAlgorithm extends AbstractLayoutAlgorithm {
+		private final boolean useAdjacency;
+
+		LayerLayoutAlgorithm(boolean useAdjacency) {
+			this.useAdjacency = useAdjacency;
+		}
+
+		@Override
+		public void applyLayout(boolean clean) {
+			int[] layers = useAdjacency ? getLayersFromAdjacency() : getLayersFromNodes();
+			NodeLayout[] nodes = context.getNodes();
+			int[] columns = new int[nodes.length + 1];
+			for (int i = 0; i < nodes.length; i++) {
+				int layer = layers[i] + 1;
+				nodes[i].setLocation(columns[layer]++ * 10, layer * 10);
+			}
+		}
+
+		private int[] getLayersFromAdjacency() {
+			AdjacencyArrays adjacency = context.getAdjacency();
+			int[] offsets = adjacency.getSuccessorOffsets();
+			int[] successors = adjacency.getSuccessors();
+			int[] layers = new int[adjacency.getNodeCount()];
+			Arrays.fill(layers, -1);
+			int[] queue = new int[layers.length];
+			int head = 0;
+			int tail = 0;
+			layers[0] = 0;
+			queue[tail++] = 0;
+			while (head < tail) {
+				int node = queue[head++];
+				for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+					if (layers[successors[i]] < 0) {
+						layers[successors[i]] = layers[node] + 1;
+						queue[tail++] = successors[i];
+					}
+				}
+			}
+			return layers;
+		}
+
+		private int[] getLayersFromNodes() {
+			NodeLayout[] nodes = context.getNodes();
+			Map<NodeLayout, Integer> indices = new HashMap<>();
+			for (int i = 0; i < nodes.length; i++) {
+				indices.put(nodes[i], Integer.valueOf(i));
+			}
+			int[] layers = new int[nodes.length];
+			Arrays.fill(layers, -1);
+			Deque<NodeLayout> queue = new ArrayDeque<>();
+			layers[0] = 0;
+			queue.add(nodes[0]);
+			while (!queue.isEmpty()) {
+				NodeLayout node = queue.poll();
+				int layer = layers[indices.get(node).intValue()];
+				for (NodeLayout successor : node.getSuccessingNodes()) {
+					int index = indices.get(successor).intValue();
+					if (layers[index] < 0) {
+						layers[index] = layer + 1;
+						queue.add(successor);
+					}
+				}
+			}
+			return layers;
+		}
+	}
+
+	public static void main(String[] args) {
+		Display d = new Display();
+		Shell shell = new Shell(d);
+		shell.setSize(1000, 1000);
+
+		for (int run = 0; run < RUNS; run++) {
+			Graph g = createGraph(shell);
+			long refreshCopies = time(() -> refresh(g, false));
+			long refreshViews = time(() -> refresh(g, true));
+			long layoutNodes = time(() -> layout(g, false));
+			long layoutAdjacency = time(() -> layout(g, true));
+			long layoutReused = time(() -> layout(g, true));
+			long dispose = time(g::dispose);
+			System.out.println(String.format(
+					"run=%d: refresh copies=%dms, views=%dms; layout nodes=%dms, adjacency=%dms, reused adjacency=%dms; dispose=%dms", //$NON-NLS-1$
+					run, refreshCopies, refreshViews, layoutNodes, layoutAdjacency, layoutReused, dispose));
+		}
+		d.dispose();
+	}
+
+	private static long time(Runnable runnable) {
+		long start = System.nanoTime();
+		runnable.run();
+		return (System.nanoTime() - start) / 1000000;
+	}
+
+	/**
+	 * Visits the connections of every node, like a viewer refreshing the labels
+	 * of the connections of its nodes.
+	 */
+	private static void refresh(Graph g, boolean views) {
+		int count = 0;
+		for (GraphNode node : g.getNodes()) {
+			for (GraphConnection connection : views ? node.getSourceConnectionsView()
+					: node.getSourceConnections()) {
+				count += connection.getWeightInLayout() > 0 ? 1 : 0;
+			}
+			for (GraphConnection connection : views ? node.getTargetConnectionsView()
+					: node.getTargetConnections()) {
+				count += connection.getWeightInLayout() > 0 ? 1 : 0;
+			}
+		}
+		if (count != 2 * CONNECTIONS) {
+			throw new IllegalStateException("Unexpected number of connections: " + count); //$NON-NLS-1$
+		}
+	}
+
+	private static void layout(Graph g, boolean useAdjacency) {
+		g.setLayoutAlgorithm(new LayerLayoutAlgorithm(useAdjacency), false);
+		g.applyLayoutNow();
+	}
+
+	private static Graph createGraph(Shell shell) {
+		Random random = new Random(0);
+		Graph g = new Graph(shell, SWT.NONE);
+		g.setSize(1000, 1000);
+		GraphNode[] nodes = new GraphNode[NODES];
+		for (int i = 0; i < NODES; i++) {
+			nodes[i] = new GraphNode(g, SWT.NONE);
+			nodes[i].setText(Integer.toString(i));
+		}
+		for (int i = 0; i < CONNECTIONS; i++) {
+			new GraphConnection(g, SWT.NONE, nodes[random.nextInt(NODES)], nodes[random.nextInt(NODES)]);
+		}
+		return g;
+	}
+}
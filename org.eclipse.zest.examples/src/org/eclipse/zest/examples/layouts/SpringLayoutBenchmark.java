@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.examples.layouts;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.zest.core.widgets.Graph;
+import org.eclipse.zest.core.widgets.GraphConnection;
+import org.eclipse.zest.core.widgets.GraphNode;
+import org.eclipse.zest.layouts.algorithms.SpringLayoutAlgorithm;
+
+import org.eclipse.draw2d.geometry.Point;
+
+/**
+ * Compares the time and quality of the {@link SpringLayoutAlgorithm} with exact
+ * and with approximated repulsive forces, computed by the calling thread and by
+ * the common {@link ForkJoinPool}. The quality is measured as the ratio
+ * between the average length of a connection and the average distance between
+ * two random nodes. Smaller values mean that connected nodes are placed closer
+ * together.
+ */
+public class SpringLayoutBenchmark {
+
+	private static final int[] SIZES = { 500, 1000, 2000, 4000 };
+	private static final double[] THETAS = { SpringLayoutAlgorithm.DEFAULT_BARNES_HUT_THETA, 0.8, 1.2 };
+
+	public static void main(String[] args) {
+		Display d = new Display();
+		Shell shell = new Shell(d);
+		shell.setSize(1000, 1000);
+
+		for (int size : SIZES) {
+			for (double theta : THETAS) {
+				run(shell, size, theta, null);
+				run(shell, size, theta, ForkJoinPool.commonPool());
+			}
+		}
+		d.dispose();
+	}
+
+	private static void run(Shell shell, int size, double theta, ForkJoinPool pool) {
+		Graph g = createGraph(shell, size);
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm();
+		algorithm.setRandom(false);
+		algorithm.setIterations(200);
+		algorithm.setSpringTimeout(0);
+		algorithm.setBarnesHutTheta(theta);
+		algorithm.setForkJoinPool(pool);
+		g.setLayoutAlgorithm(algorithm, false);
+
+		long start = System.currentTimeMillis();
+		g.applyLayoutNow();
+		long time = System.currentTimeMillis() - start;
+
+		System.out.println(String.format("nodes=%d, theta=%.1f, parallel=%b: %dms, quality=%.3f", size, theta, //$NON-NLS-1$
+				pool != null, time, getQuality(g)));
+		g.dispose();
+	}
+
+	private static Graph createGraph(Shell shell, int size) {
+		Random random = new Random(0);
+		Graph g = new Graph(shell, SWT.NONE);
+		g.setSize(1000, 1000);
+		GraphNode[] nodes = new GraphNode[size];
+		for (int i = 0; i < size; i++) {
+			nodes[i] = new GraphNode(g, SWT.NONE);
+			nodes[i].setText(Integer.toString(i));
+			nodes[i].setLocation(random.nextInt(1000), random.nextInt(1000));
+		}
+		for (int i = 0; i < 2 * size; i++) {
+			new GraphConnection(g, SWT.NONE, nodes[random.nextInt(size)], nodes[random.nextInt(size)]);
+		}
+		return g;
+	}
+
+	private static double getQuality(Graph g) {
+		double connectionLength = 0;
+		List<? extends GraphConnection> connections = g.getConnections();
+		for (GraphConnection connection : connections) {
+			connectionLength += distance(connection.getSource(), connection.getDestination());
+		}
+		connectionLength /= connections.size();
+
+		Random random = new Random(1);
+		List<? extends GraphNode> nodes = g.getNodes();
+		double nodeDistance = 0;
+		for (int i = 0; i < 10000; i++) {
+			nodeDistance += distance(nodes.get(random.nextInt(nodes.size())), nodes.get(random.nextInt(nodes.size())));
+		}
+		nodeDistance /= 10000;
+
+		return connectionLength / nodeDistance;
+	}
+
+	private static double distance(GraphNode n1, GraphNode n2) {
+		Point p1 = n1.getLocation();
+		Point p2 = n2.getLocation();
+		return p1.getDistance(p2);
+	}
+}
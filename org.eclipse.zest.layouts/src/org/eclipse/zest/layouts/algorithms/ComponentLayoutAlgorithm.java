@@ -0,0 +1,369 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.layouts.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+import org.eclipse.zest.layouts.LayoutAlgorithm;
+import org.eclipse.zest.layouts.algorithms.internal.DetachedLayoutContext;
+import org.eclipse.zest.layouts.dataStructures.DisplayIndependentDimension;
+import org.eclipse.zest.layouts.dataStructures.DisplayIndependentRectangle;
+import org.eclipse.zest.layouts.interfaces.ConnectionLayout;
+import org.eclipse.zest.layouts.interfaces.LayoutContext;
+import org.eclipse.zest.layouts.interfaces.NodeLayout;
+
+/**
+ * Lays out each connected component of a graph separately and then packs the
+ * components next to each other. Nodes in different components never
+ * interact, so that algorithms whose cost grows faster than linearly with the
+ * number of nodes, such as the {@link SpringLayoutAlgorithm}, are much faster
+ * on graphs consisting of many components.
+ * <p>
+ * Each component is laid out by a new instance of the delegate algorithm,
+ * created by the given factory, on a copy of its nodes and connections. The
+ * components can therefore be laid out in parallel, by passing a
+ * {@link ForkJoinPool} via {@link #setForkJoinPool(ForkJoinPool)}. The area
+ * given to a component is proportional to the sizes of its nodes. The laid out
+ * components are then packed into rows, ordered by decreasing height, and the
+ * result is scaled to fit the bounds of the layout context, preserving the
+ * relative locations of the nodes like
+ * {@link AlgorithmHelper#fitWithinBounds(org.eclipse.zest.layouts.interfaces.EntityLayout[], DisplayIndependentRectangle, boolean)}.
+ * <p>
+ * If the graph consists of a single component, or if the delegate can't lay
+ * out a copy of a component, as the {@link SpaceTreeLayoutAlgorithm} which
+ * needs subgraphs, a single instance of the delegate, which stays bound to the
+ * layout context, lays out the layout context directly. Otherwise, pruned nodes are ignored and
+ * pruning is not supported by the delegates.
+ *
+ * @since 2.1
+ */
+public class ComponentLayoutAlgorithm extends AbstractLayoutAlgorithm {
+
+	/**
+	 * The default space between two components.
+	 */
+	public static final double DEFAULT_SPACING = 20;
+
+	/**
+	 * The share of the area given to a component which is covered by its nodes.
+	 */
+	private static final double NODE_AREA_RATIO = 0.25;
+
+	private final Supplier<? extends LayoutAlgorithm> algorithmFactory;
+
+	/**
+	 * The pool used to lay out the components in parallel. If {@code null}, the
+	 * components are laid out by the calling thread.
+	 */
+	private ForkJoinPool pool;
+
+	private double spacing = DEFAULT_SPACING;
+
+	/**
+	 * The delegate which lays out the layout context directly, created on first
+	 * use.
+	 */
+	private LayoutAlgorithm algorithm;
+
+	/**
+	 * Creates a new component layout.
+	 *
+	 * @param algorithmFactory Creates the algorithm used to lay out a single
+	 *                         component. It is called once per component and
+	 *                         layout, possibly by different threads, and once
+	 *                         for the delegate laying out the layout context
+	 *                         directly.
+	 */
+	public ComponentLayoutAlgorithm(Supplier<? extends LayoutAlgorithm> algorithmFactory) {
+		this.algorithmFactory = algorithmFactory;
+	}
+
+	@Override
+	public void setLayoutContext(LayoutContext context) {
+		super.setLayoutContext(context);
+		if (algorithm != null && context != null) {
+			algorithm.setLayoutContext(context);
+		}
+	}
+
+	/**
+	 * Returns the instance of the delegate algorithm which lays out the layout
+	 * context directly. It is created on first use and bound to the current
+	 * layout context of this algorithm.
+	 *
+	 * @return The delegate laying out the layout context directly.
+	 */
+	public LayoutAlgorithm getLayoutAlgorithm() {
+		if (algorithm == null) {
+			algorithm = algorithmFactory.get();
+			if (context != null) {
+				algorithm.setLayoutContext(context);
+			}
+		}
+		return algorithm;
+	}
+
+	@Override
+	public void applyLayout(boolean clean) {
+		List<NodeLayout> nodeList = new ArrayList<>();
+		for (NodeLayout node : context.getNodes()) {
+			if (!node.isPruned()) {
+				nodeList.add(node);
+			}
+		}
+		NodeLayout[] nodes = nodeList.toArray(new NodeLayout[nodeList.size()]);
+		if (nodes.length == 0) {
+			return;
+		}
+
+		Map<NodeLayout, Integer> indices = new IdentityHashMap<>();
+		for (int i = 0; i < nodes.length; i++) {
+			indices.put(nodes[i], Integer.valueOf(i));
+		}
+		ConnectionLayout[] connections = context.getConnections();
+		int[] sources = new int[connections.length];
+		int[] targets = new int[connections.length];
+		int[] parents = new int[nodes.length];
+		for (int i = 0; i < parents.length; i++) {
+			parents[i] = i;
+		}
+		for (int i = 0; i < connections.length; i++) {
+			Integer source = indices.get(connections[i].getSource());
+			Integer target = indices.get(connections[i].getTarget());
+			sources[i] = source == null ? -1 : source.intValue();
+			targets[i] = target == null ? -1 : target.intValue();
+			if (source != null && target != null) {
+				parents[find(parents, sources[i])] = find(parents, targets[i]);
+			}
+		}
+
+		// number the components in the order of their first node
+		int[] components = new int[nodes.length];
+		int[] componentOfRoot = new int[nodes.length];
+		Arrays.fill(componentOfRoot, -1);
+		int componentCount = 0;
+		for (int i = 0; i < nodes.length; i++) {
+			int root = find(parents, i);
+			if (componentOfRoot[root] < 0) {
+				componentOfRoot[root] = componentCount++;
+			}
+			components[i] = componentOfRoot[root];
+		}
+		if (componentCount == 1 || !DetachedLayoutContext.isSupported(getLayoutAlgorithm())) {
+			getLayoutAlgorithm().applyLayout(clean);
+			return;
+		}
+
+		ComponentLayoutContext[] contexts = createComponents(nodes, components, componentCount, sources, targets,
+				connections);
+		layoutComponents(contexts, clean);
+		packComponents(contexts);
+	}
+
+	private static int find(int[] parents, int node) {
+		int root = node;
+		while (parents[root] != root) {
+			root = parents[root];
+		}
+		while (parents[node] != root) {
+			int next = parents[node];
+			parents[node] = root;
+			node = next;
+		}
+		return root;
+	}
+
+	/**
+	 * Copies the nodes and connections of each component. The bounds of a
+	 * component have the aspect ratio of the bounds of the layout context and an
+	 * area proportional to the sizes of its nodes.
+	 */
+	private ComponentLayoutContext[] createComponents(NodeLayout[] nodes, int[] components, int componentCount,
+			int[] sources, int[] targets, ConnectionLayout[] connections) {
+		int[] nodeCounts = new int[componentCount];
+		int[] localIndices = new int[nodes.length];
+		double[] areas = new double[componentCount];
+		double[] maxWidths = new double[componentCount];
+		double[] maxHeights = new double[componentCount];
+		for (int i = 0; i < nodes.length; i++) {
+			int component = components[i];
+			localIndices[i] = nodeCounts[component]++;
+			DisplayIndependentDimension size = nodes[i].getSize();
+			double width = Math.max(size.width, AlgorithmHelper.MIN_NODE_SIZE);
+			double height = Math.max(size.height, AlgorithmHelper.MIN_NODE_SIZE);
+			areas[component] += width * height;
+			maxWidths[component] = Math.max(maxWidths[component], width);
+			maxHeights[component] = Math.max(maxHeights[component], height);
+		}
+		NodeLayout[][] members = new NodeLayout[componentCount][];
+		for (int c = 0; c < componentCount; c++) {
+			members[c] = new NodeLayout[nodeCounts[c]];
+		}
+		for (int i = 0; i < nodes.length; i++) {
+			members[components[i]][localIndices[i]] = nodes[i];
+		}
+
+		DisplayIndependentRectangle bounds = context.getBounds();
+		double aspectRatio = bounds.width > 0 && bounds.height > 0 ? bounds.width / bounds.height : 1;
+		ComponentLayoutContext[] contexts = new ComponentLayoutContext[componentCount];
+		for (int c = 0; c < componentCount; c++) {
+			double area = areas[c] / NODE_AREA_RATIO;
+			double width = Math.max(Math.sqrt(area * aspectRatio), maxWidths[c]);
+			double height = Math.max(area / width, maxHeights[c]);
+			contexts[c] = new ComponentLayoutContext(members[c], new DisplayIndependentRectangle(0, 0, width, height));
+		}
+		for (int i = 0; i < connections.length; i++) {
+			if (sources[i] >= 0 && targets[i] >= 0) {
+				contexts[components[sources[i]]].addConnection(connections[i], localIndices[sources[i]],
+						localIndices[targets[i]]);
+			}
+		}
+		return contexts;
+	}
+
+	/**
+	 * Lays out each component with a new delegate algorithm, either on the pool
+	 * or by the calling thread.
+	 */
+	private void layoutComponents(ComponentLayoutContext[] contexts, boolean clean) {
+		if (pool == null) {
+			for (ComponentLayoutContext component : contexts) {
+				layoutComponent(component, clean);
+			}
+			return;
+		}
+		// Distribute the components round-robin over a bounded number of tasks
+		int chunks = Math.min(contexts.length, pool.getParallelism() * 4);
+		List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks);
+		for (int c = 0; c < chunks; c++) {
+			int chunk = c;
+			tasks.add(pool.submit(() -> {
+				for (int i = chunk; i < contexts.length; i += chunks) {
+					layoutComponent(contexts[i], clean);
+				}
+			}));
+		}
+		tasks.forEach(ForkJoinTask::join);
+	}
+
+	private void layoutComponent(ComponentLayoutContext component, boolean clean) {
+		LayoutAlgorithm algorithm = algorithmFactory.get();
+		algorithm.setLayoutContext(component);
+		algorithm.applyLayout(clean);
+	}
+
+	/**
+	 * Packs the laid out components into rows, in the order of decreasing height,
+	 * and writes the locations back to the nodes, scaled to fit the bounds of the
+	 * layout context.
+	 */
+	private void packComponents(ComponentLayoutContext[] contexts) {
+		DisplayIndependentRectangle[] boxes = new DisplayIndependentRectangle[contexts.length];
+		Integer[] order = new Integer[contexts.length];
+		double totalArea = 0;
+		double maxWidth = 0;
+		for (int c = 0; c < contexts.length; c++) {
+			boxes[c] = contexts[c].getLayoutBounds();
+			order[c] = Integer.valueOf(c);
+			totalArea += (boxes[c].width + spacing) * (boxes[c].height + spacing);
+			maxWidth = Math.max(maxWidth, boxes[c].width);
+		}
+		Arrays.sort(order, (c1, c2) -> Double.compare(boxes[c2.intValue()].height, boxes[c1.intValue()].height));
+
+		DisplayIndependentRectangle bounds = context.getBounds();
+		double aspectRatio = bounds.width > 0 && bounds.height > 0 ? bounds.width / bounds.height : 1;
+		double rowWidth = Math.max(maxWidth, Math.sqrt(totalArea * aspectRatio));
+		double[] packedX = new double[contexts.length];
+		double[] packedY = new double[contexts.length];
+		double x = 0;
+		double y = 0;
+		double rowHeight = 0;
+		double packedWidth = 0;
+		for (Integer index : order) {
+			int c = index.intValue();
+			if (x > 0 && x + boxes[c].width > rowWidth) {
+				y += rowHeight + spacing;
+				x = 0;
+				rowHeight = 0;
+			}
+			packedX[c] = x;
+			packedY[c] = y;
+			packedWidth = Math.max(packedWidth, x + boxes[c].width);
+			rowHeight = Math.max(rowHeight, boxes[c].height);
+			x += boxes[c].width + spacing;
+		}
+		double packedHeight = y + rowHeight;
+
+		double scale = 1;
+		if (bounds.width > 0 && bounds.height > 0 && packedWidth > 0 && packedHeight > 0) {
+			scale = Math.min(bounds.width / packedWidth, bounds.height / packedHeight);
+		}
+		for (int c = 0; c < contexts.length; c++) {
+			// a node at the top left corner of the box of a component is moved to the
+			// packed location of the component, relative to the top left corner of
+			// the bounds
+			double dx = bounds.x + scale * (packedX[c] - boxes[c].x);
+			double dy = bounds.y + scale * (packedY[c] - boxes[c].y);
+			contexts[c].apply(scale, dx, dy);
+		}
+	}
+
+	/**
+	 * Sets the pool used to lay out the components in parallel. The components
+	 * are laid out independently of each other, so that the result doesn't depend
+	 * on whether a pool is used, as long as the delegate algorithm is
+	 * deterministic.
+	 *
+	 * @param pool The pool used to lay out the components or {@code null}, if they
+	 *             should be laid out by the calling thread (default).
+	 */
+	public void setForkJoinPool(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Returns the pool used to lay out the components in parallel.
+	 *
+	 * @return The pool used to lay out the components or {@code null}, if they
+	 *         are laid out by the calling thread.
+	 */
+	public ForkJoinPool getForkJoinPool() {
+		return pool;
+	}
+
+	/**
+	 * Sets the space between two packed components, before they are scaled to fit
+	 * the bounds of the layout context.
+	 *
+	 * @param spacing The space between two components.
+	 */
+	public void setSpacing(double spacing) {
+		this.spacing = spacing;
+	}
+
+	/**
+	 * Returns the space between two packed components.
+	 *
+	 * @return The space between two components.
+	 */
+	public double getSpacing() {
+		return spacing;
+	}
+}
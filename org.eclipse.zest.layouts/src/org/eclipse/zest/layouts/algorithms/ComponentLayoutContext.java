@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.layouts.algorithms;
+
+import org.eclipse.zest.layouts.algorithms.internal.DetachedLayoutContext;
+import org.eclipse.zest.layouts.dataStructures.DisplayIndependentRectangle;
+import org.eclipse.zest.layouts.interfaces.LayoutContext;
+import org.eclipse.zest.layouts.interfaces.NodeLayout;
+
+/**
+ * A copy of a connected component of the nodes of a {@link LayoutContext},
+ * which is laid out by the delegate of a {@link ComponentLayoutAlgorithm}. The
+ * copy is created by the calling thread and never accesses the original nodes
+ * and connections afterwards, so that the components can be laid out in
+ * parallel. The computed locations and sizes are written back via
+ * {@link #apply(double, double, double)}, again by the calling thread.
+ */
+final class ComponentLayoutContext extends DetachedLayoutContext {
+
+	/**
+	 * Creates the nodes of a new component. The connections are added via
+	 * {@link #addConnection(org.eclipse.zest.layouts.interfaces.ConnectionLayout, int, int)}.
+	 */
+	ComponentLayoutContext(NodeLayout[] originals, DisplayIndependentRectangle bounds) {
+		super(originals, bounds);
+	}
+
+	/**
+	 * Returns the area covered by the nodes of this component, including their
+	 * sizes.
+	 */
+	DisplayIndependentRectangle getLayoutBounds() {
+		return AlgorithmHelper.getLayoutBounds(getNodes(), true);
+	}
+}
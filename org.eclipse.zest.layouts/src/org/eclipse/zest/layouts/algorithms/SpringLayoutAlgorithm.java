@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2005.2010, 2024 CHISEL Group, University of Victoria, Victoria, BC,
+ * Copyright 2005.2010, 2026 CHISEL Group, University of Victoria, Victoria, BC,
  *                           Canada, Johannes Kepler University Linz and others.
  *
  * This program and the accompanying materials are made available under the
@@ -15,11 +15,20 @@
  *******************************************************************************/
 package org.eclipse.zest.layouts.algorithms;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
 
 import org.eclipse.zest.layouts.LayoutStyles;
+import org.eclipse.zest.layouts.algorithms.internal.QuadTree;
+import org.eclipse.zest.layouts.algorithms.internal.StructureChangeTracker;
 import org.eclipse.zest.layouts.dataStructures.DisplayIndependentDimension;
 import org.eclipse.zest.layouts.dataStructures.DisplayIndependentPoint;
 import org.eclipse.zest.layouts.dataStructures.DisplayIndependentRectangle;
@@ -864,11 +873,38 @@ public class SpringLayoutAlgorithm extends AbstractLayoutAlgorithm {
 	 */
 	public static final double DEFAULT_SPRING_GRAVITATION = 2.0f;
 
+	/**
+	 * The default value for the accuracy of the repulsive forces. A value of 0
+	 * means that the forces are computed exactly.
+	 *
+	 * @since 2.1
+	 */
+	public static final double DEFAULT_BARNES_HUT_THETA = 0.0;
+
 	/**
 	 * Minimum distance considered between nodes
 	 */
 	protected static final double MIN_DISTANCE = 1.0d;
 
+	/**
+	 * The maximum number of node ranges the forces are split into, when they are
+	 * computed in parallel. This number doesn't depend on the size of the pool, so
+	 * that the result is the same on every machine.
+	 */
+	private static final int PARALLEL_CHUNKS = 64;
+
+	/**
+	 * The distance, relative to the length of a spring or to the average spacing
+	 * of the nodes if smaller, up to which a node moved by an incremental layout is
+	 * repelled by the other nodes.
+	 */
+	private static final double INCREMENTAL_REPULSION_RADIUS = 3.0;
+
+	/**
+	 * The maximum number of iterations of an incremental layout.
+	 */
+	private static final int INCREMENTAL_ITERATIONS = 100;
+
 	/**
 	 * An arbitrarily small value in mathematics.
 	 */
@@ -911,6 +947,21 @@ public class SpringLayoutAlgorithm extends AbstractLayoutAlgorithm {
 	 */
 	private double sprGravitation = DEFAULT_SPRING_GRAVITATION;
 
+	/**
+	 * The variable can be customized to set the accuracy of the repulsive forces.
+	 */
+	private double theta = DEFAULT_BARNES_HUT_THETA;
+
+	/**
+	 * The pool used to compute the forces in parallel. If {@code null}, the forces
+	 * are computed by the calling thread.
+	 */
+	private ForkJoinPool pool;
+
+	private final LayoutListener layoutListener = new SpringLayoutListener();
+
+	private final StructureChangeTracker changeTracker = new StructureChangeTracker();
+
 	/**
 	 * Variable indicating whether the algorithm should resize elements.
 	 */
@@ -918,12 +969,29 @@ public class SpringLayoutAlgorithm extends AbstractLayoutAlgorithm {
 
 	private int iteration;
 
-	private double[][] srcDestToSumOfWeights;
+	/**
+	 * The connections between the entities, stored as adjacency lists. The
+	 * neighbors of the i-th entity are stored in ascending order at the indices
+	 * between {@code adjacencyStart[i]} and {@code adjacencyStart[i + 1]} of
+	 * {@code adjacencyTarget}. {@code adjacencyWeight} contains the sum of the
+	 * weights of all connections between the two entities.
+	 */
+	private int[] adjacencyStart, adjacencyTarget;
+
+	private double[] adjacencyWeight;
+
+	private QuadTree quadTree;
 
 	private EntityLayout[] entities;
 
 	private double[] forcesX, forcesY;
 
+	/**
+	 * The forces computed by each range of nodes when the exact forces are
+	 * computed in parallel. They are reused by all iterations.
+	 */
+	private double[][] partialForcesX, partialForcesY;
+
 	private double[] locationsX, locationsY;
 
 	private double[] sizeW, sizeH;
@@ -989,11 +1057,19 @@ public class SpringLayoutAlgorithm extends AbstractLayoutAlgorithm {
 
 	@Override
 	public void applyLayout(boolean clean) {
+		if (!clean && changeTracker.canLayoutIncrementally()) {
+			if (!changeTracker.isEmpty()) {
+				applyIncrementalLayout();
+			}
+			changeTracker.reset();
+			return;
+		}
 		initLayout();
-		if (!clean) {
+		if (!clean && !context.isIncrementalLayoutEnabled()) {
 			return;
 		}
-		while (performAnotherNonContinuousIteration()) {
+		// Stop early if the layout is computed by a worker thread which got cancelled
+		while (!Thread.currentThread().isInterrupted() && performAnotherNonContinuousIteration()) {
 			computeOneIteration();
 		}
 		saveLocations();
@@ -1010,13 +1086,293 @@ public class SpringLayoutAlgorithm extends AbstractLayoutAlgorithm {
 			bounds2.height -= 2 * insets;
 			AlgorithmHelper.fitWithinBounds(entities, bounds2, resize);
 		}
+		changeTracker.reset();
+	}
+
+	/**
+	 * Only moves the entities affected by the structural changes since the last
+	 * layout. All other entities, including the neighbors of the moved entities,
+	 * stay where they are and act as anchors. Added entities start at the center
+	 * of their already placed neighbors. Since the repulsion of the whole graph has
+	 * already been balanced by the previous layout, a moving entity is only
+	 * repelled by the entities within {@link #INCREMENTAL_REPULSION_RADIUS}, which
+	 * are looked up in a hashed grid. An iteration therefore only costs time
+	 * proportional to the number of moving entities and not to the size of the
+	 * graph.
+	 * <p>
+	 * The previous layout may have been scaled to fit into the bounds, so the
+	 * length of a spring is derived from the median length of the connections
+	 * around the moving entities.
+	 */
+	private void applyIncrementalLayout() {
+		entities = context.getEntities();
+		bounds = context.getBounds();
+		loadLocations();
+		initAdjacency();
+
+		Map<EntityLayout, Integer> entityToPosition = new IdentityHashMap<>();
+		for (int i = 0; i < entities.length; i++) {
+			entityToPosition.put(entities[i], Integer.valueOf(i));
+		}
+		boolean[] added = new boolean[entities.length];
+		for (NodeLayout node : changeTracker.getAddedNodes()) {
+			Integer position = entityToPosition.get(getEntity(node));
+			if (position != null) {
+				added[position.intValue()] = true;
+			}
+		}
+		boolean[] moving = new boolean[entities.length];
+		for (NodeLayout node : changeTracker.getDirtyNodes()) {
+			Integer position = entityToPosition.get(getEntity(node));
+			if (position != null) {
+				moving[position.intValue()] = true;
+			}
+		}
+		int count = 0;
+		int[] movingEntities = new int[entities.length];
+		for (int i = 0; i < entities.length; i++) {
+			if (moving[i] && entities[i].isMovable()) {
+				movingEntities[count++] = i;
+			} else {
+				moving[i] = false;
+			}
+		}
+		if (count == 0) {
+			return;
+		}
+		movingEntities = Arrays.copyOf(movingEntities, count);
+		double unit = getSpringUnit(movingEntities, moving);
+		placeAddedEntities(added, unit);
+
+		double cellSize = INCREMENTAL_REPULSION_RADIUS * Math.min(sprLength * unit, getSpacing(moving));
+		double radius = cellSize / unit;
+		// The fixed entities sorted by the hash of their cell. Entities of different
+		// cells may share a hash, which is harmless since the distance is checked.
+		int[] cellStart = new int[entities.length + 1];
+		int[] cellEntities = new int[entities.length - count];
+		for (int i = 0; i < entities.length; i++) {
+			if (!moving[i]) {
+				cellStart[getCellHash(locationsX[i] / cellSize, locationsY[i] / cellSize, entities.length) + 1]++;
+			}
+		}
+		for (int i = 0; i < entities.length; i++) {
+			cellStart[i + 1] += cellStart[i];
+		}
+		int[] next = Arrays.copyOf(cellStart, entities.length);
+		for (int i = 0; i < entities.length; i++) {
+			if (!moving[i]) {
+				cellEntities[next[getCellHash(locationsX[i] / cellSize, locationsY[i] / cellSize, entities.length)]++] = i;
+			}
+		}
+
+		int[] hashes = new int[9];
+		double[] force = new double[2];
+		int iterations = Math.min(sprIterations, INCREMENTAL_ITERATIONS);
+		// Stop as soon as the entities move by less than half a pixel
+		double largestMovement = Double.MAX_VALUE;
+		for (int n = 0; n < iterations && largestMovement * unit >= 0.5
+				&& !Thread.currentThread().isInterrupted(); n++) {
+			largestMovement = 0;
+			for (int i : movingEntities) {
+				force[0] = force[1] = 0;
+				// attraction of all neighbors
+				for (int k = adjacencyStart[i]; k < adjacencyStart[i + 1]; k++) {
+					addIncrementalForce(i, adjacencyTarget[k], adjacencyWeight[k], unit, force);
+				}
+				// repulsion of all other moving entities
+				for (int j : movingEntities) {
+					if (j != i) {
+						addIncrementalRepulsion(i, j, unit, radius, force);
+					}
+				}
+				// repulsion of the fixed entities nearby
+				double cellX = locationsX[i] / cellSize;
+				double cellY = locationsY[i] / cellSize;
+				int cells = 0;
+				for (int x = -1; x <= 1; x++) {
+					for (int y = -1; y <= 1; y++) {
+						int hash = getCellHash(cellX + x, cellY + y, entities.length);
+						if (!contains(hashes, cells, hash)) {
+							hashes[cells++] = hash;
+							for (int k = cellStart[hash]; k < cellStart[hash + 1]; k++) {
+								addIncrementalRepulsion(i, cellEntities[k], unit, radius, force);
+							}
+						}
+					}
+				}
+				largestMovement = Math.max(largestMovement, moveIncrementally(i, unit, force));
+			}
+		}
+		for (int i : movingEntities) {
+			entities[i].setLocation(locationsX[i], locationsY[i]);
+		}
+	}
+
+	/**
+	 * Moves each added entity to the center of its neighbors which are not added
+	 * themselves. Entities are spread on a small spiral around that center, so that
+	 * entities sharing the same neighbors don't start at the same location.
+	 */
+	private void placeAddedEntities(boolean[] added, double unit) {
+		int placed = 0;
+		for (int i = 0; i < entities.length; i++) {
+			if (!added[i]) {
+				continue;
+			}
+			double x = 0;
+			double y = 0;
+			int neighbors = 0;
+			for (int k = adjacencyStart[i]; k < adjacencyStart[i + 1]; k++) {
+				int j = adjacencyTarget[k];
+				if (!added[j]) {
+					x += locationsX[j];
+					y += locationsY[j];
+					neighbors++;
+				}
+			}
+			if (neighbors > 0) {
+				double angle = placed * 2.39996; // golden angle
+				double radius = 0.1 * sprLength * unit * Math.sqrt(placed + 1);
+				locationsX[i] = x / neighbors + Math.cos(angle) * radius;
+				locationsY[i] = y / neighbors + Math.sin(angle) * radius;
+				placed++;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of pixels corresponding to a distance of 1, that is the
+	 * median length of the connections of the fixed neighbors of the moving
+	 * entities to other fixed entities, divided by the length of a spring.
+	 */
+	private double getSpringUnit(int[] movingEntities, boolean[] moving) {
+		double[] lengths = new double[16];
+		int count = 0;
+		for (int i : movingEntities) {
+			for (int k = adjacencyStart[i]; k < adjacencyStart[i + 1]; k++) {
+				int j = adjacencyTarget[k];
+				if (moving[j]) {
+					continue;
+				}
+				for (int l = adjacencyStart[j]; l < adjacencyStart[j + 1]; l++) {
+					int m = adjacencyTarget[l];
+					if (!moving[m]) {
+						if (count == lengths.length) {
+							lengths = Arrays.copyOf(lengths, 2 * count);
+						}
+						lengths[count++] = Math.hypot(locationsX[j] - locationsX[m], locationsY[j] - locationsY[m]);
+					}
+				}
+			}
+		}
+		if (count == 0) {
+			return Math.max(bounds.width * boundsScaleX, MIN_DISTANCE);
+		}
+		Arrays.sort(lengths, 0, count);
+		return Math.max(lengths[count / 2] / sprLength, MIN_DISTANCE);
+	}
 
+	/**
+	 * Returns the average distance between the entities which are not moved,
+	 * assuming that they are evenly spread over their bounding box.
+	 */
+	private double getSpacing(boolean[] moving) {
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		int count = 0;
+		for (int i = 0; i < entities.length; i++) {
+			if (!moving[i]) {
+				minX = Math.min(minX, locationsX[i]);
+				minY = Math.min(minY, locationsY[i]);
+				maxX = Math.max(maxX, locationsX[i]);
+				maxY = Math.max(maxY, locationsY[i]);
+				count++;
+			}
+		}
+		if (count < 2) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return Math.max(Math.sqrt((maxX - minX) * (maxY - minY) / count), MIN_DISTANCE);
+	}
+
+	/**
+	 * Adds the repulsion of entity j on entity i, unless they are connected or
+	 * farther apart than the given radius.
+	 */
+	private void addIncrementalRepulsion(int i, int j, double unit, double radius, double[] force) {
+		double dx = (locationsX[i] - locationsX[j]) / unit;
+		double dy = (locationsY[i] - locationsY[j]) / unit;
+		if (dx * dx + dy * dy > radius * radius) {
+			return;
+		}
+		int from = adjacencyStart[i];
+		int to = adjacencyStart[i + 1];
+		if (from == to || Arrays.binarySearch(adjacencyTarget, from, to, j) < 0) {
+			addIncrementalForce(i, j, 0, unit, force);
+		}
+	}
+
+	/**
+	 * Adds the force of entity j on entity i. The entities attract each other if
+	 * the weight is positive, and repel each other otherwise.
+	 */
+	private void addIncrementalForce(int i, int j, double weight, double unit, double[] force) {
+		double dx = (locationsX[i] - locationsX[j]) / unit;
+		double dy = (locationsY[i] - locationsY[j]) / unit;
+		double distance_sq = Math.max(MIN_DISTANCE * MIN_DISTANCE, dx * dx + dy * dy);
+		double distance = Math.sqrt(distance_sq);
+		double f;
+		if (weight > 0) {
+			f = -sprStrain * Math.log(distance / sprLength) * weight;
+		} else {
+			f = sprGravitation / distance_sq;
+		}
+		force[0] += f * dx / distance;
+		force[1] += f * dy / distance;
+	}
+
+	/**
+	 * Moves entity i according to the given force and returns the distance it has
+	 * been moved by, in units of {@link #getSpringUnit(int[], boolean[])}.
+	 */
+	private double moveIncrementally(int i, double unit, double[] force) {
+		double deltaX = sprMove * force[0];
+		double deltaY = sprMove * force[1];
+		double dist = Math.sqrt(deltaX * deltaX + deltaY * deltaY);
+		double maxMovement = 0.2d * sprMove;
+		if (dist > maxMovement) {
+			deltaX *= maxMovement / dist;
+			deltaY *= maxMovement / dist;
+		}
+		locationsX[i] += deltaX * unit;
+		locationsY[i] += deltaY * unit;
+		return Math.min(dist, maxMovement);
+	}
+
+	private static boolean contains(int[] array, int length, int value) {
+		for (int i = 0; i < length; i++) {
+			if (array[i] == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int getCellHash(double x, double y, int size) {
+		int hash = 31 * (int) Math.floor(x) + (int) Math.floor(y);
+		return Math.floorMod(hash * 0x9E3779B9, size);
 	}
 
 	@Override
 	public void setLayoutContext(LayoutContext context) {
+		if (this.context != null) {
+			this.context.removeLayoutListener(layoutListener);
+		}
 		super.setLayoutContext(context);
-		this.context.addLayoutListener(new SpringLayoutListener());
+		this.context.addLayoutListener(layoutListener);
+		changeTracker.setLayoutContext(context);
 		initLayout();
 	}
 
@@ -1163,6 +1519,61 @@ public class SpringLayoutAlgorithm extends AbstractLayoutAlgorithm {
 		return sprGravitation;
 	}
 
+	/**
+	 * Sets the accuracy of the repulsive forces between unconnected nodes. With a
+	 * value of 0, the forces are computed exactly between all pairs of nodes, which
+	 * takes O(n²) time per iteration. Larger values approximate the repulsion of
+	 * groups of distant nodes using a Barnes-Hut quadtree, which takes O(n log n)
+	 * time per iteration. Values between 0.5 and 1.0 are a good trade-off between
+	 * speed and quality for large graphs.
+	 *
+	 * @param theta The accuracy of the repulsive forces.
+	 * @since 2.1
+	 */
+	public void setBarnesHutTheta(double theta) {
+		if (theta < 0) {
+			throw new IllegalArgumentException("Theta must not be negative"); //$NON-NLS-1$
+		}
+		this.theta = theta;
+	}
+
+	/**
+	 * Returns the accuracy of the repulsive forces between unconnected nodes.
+	 *
+	 * @return The accuracy of the repulsive forces.
+	 * @since 2.1
+	 */
+	public double getBarnesHutTheta() {
+		return theta;
+	}
+
+	/**
+	 * Sets the pool used to compute the forces between the nodes in parallel. The
+	 * nodes are split into a fixed number of ranges, whose forces are computed
+	 * separately and then merged in a fixed order. The result is therefore
+	 * reproducible, independent of the size of the pool. However, it may differ
+	 * slightly from the result computed without pool, due to the different order
+	 * in which the forces are summed up.
+	 *
+	 * @param pool The pool used to compute the forces or {@code null}, if the
+	 *             forces should be computed by the calling thread (default).
+	 * @since 2.1
+	 */
+	public void setForkJoinPool(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Returns the pool used to compute the forces between the nodes in parallel.
+	 *
+	 * @return The pool used to compute the forces or {@code null}, if the forces
+	 *         are computed by the calling thread.
+	 * @since 2.1
+	 */
+	public ForkJoinPool getForkJoinPool() {
+		return pool;
+	}
+
 	/**
 	 * Sets the number of iterations to be used.
 	 *
@@ -1206,32 +1617,81 @@ public class SpringLayoutAlgorithm extends AbstractLayoutAlgorithm {
 		bounds = context.getBounds();
 		loadLocations();
 
-		srcDestToSumOfWeights = new double[entities.length][entities.length];
+		initAdjacency();
+
+		if (sprRandom) {
+			placeRandomly(); // put vertices in random places
+		}
+
+		iteration = 1;
+
+		startTime = System.currentTimeMillis();
+	}
+
+	/**
+	 * Creates the adjacency lists of all entities. Connections between the same
+	 * pair of entities are merged by summing up their weights. Connections from an
+	 * entity to itself are ignored, as they don't exert any force.
+	 */
+	private void initAdjacency() {
 		Map<EntityLayout, Integer> entityToPosition = new HashMap<>();
 		for (int i = 0; i < entities.length; i++) {
 			entityToPosition.put(entities[i], Integer.valueOf(i));
 		}
 
 		ConnectionLayout[] connections = context.getConnections();
+		int[] sources = new int[connections.length];
+		int[] targets = new int[connections.length];
+		double[] weights = new double[connections.length];
+		int edges = 0;
+		adjacencyStart = new int[entities.length + 1];
 		for (ConnectionLayout connection : connections) {
 			Integer source = entityToPosition.get(getEntity(connection.getSource()));
 			Integer target = entityToPosition.get(getEntity(connection.getTarget()));
-			if (source == null || target == null) {
+			if (source == null || target == null || source.equals(target)) {
 				continue;
 			}
 			double weight = connection.getWeight();
-			weight = (weight <= 0 ? 0.1 : weight);
-			srcDestToSumOfWeights[source.intValue()][target.intValue()] += weight;
-			srcDestToSumOfWeights[target.intValue()][source.intValue()] += weight;
+			sources[edges] = source.intValue();
+			targets[edges] = target.intValue();
+			weights[edges] = (weight <= 0 ? 0.1 : weight);
+			adjacencyStart[sources[edges] + 1]++;
+			adjacencyStart[targets[edges] + 1]++;
+			edges++;
 		}
-
-		if (sprRandom) {
-			placeRandomly(); // put vertices in random places
+		for (int i = 0; i < entities.length; i++) {
+			adjacencyStart[i + 1] += adjacencyStart[i];
 		}
 
-		iteration = 1;
+		// Each entry stores the neighbor in the upper and the edge in the lower half
+		long[] entries = new long[2 * edges];
+		int[] next = Arrays.copyOf(adjacencyStart, entities.length);
+		for (int i = 0; i < edges; i++) {
+			entries[next[sources[i]]++] = ((long) targets[i] << 32) | i;
+			entries[next[targets[i]]++] = ((long) sources[i] << 32) | i;
+		}
 
-		startTime = System.currentTimeMillis();
+		adjacencyTarget = new int[2 * edges];
+		adjacencyWeight = new double[2 * edges];
+		int size = 0;
+		for (int i = 0; i < entities.length; i++) {
+			int from = adjacencyStart[i];
+			int to = adjacencyStart[i + 1];
+			Arrays.sort(entries, from, to);
+			adjacencyStart[i] = size;
+			for (int j = from; j < to; j++) {
+				int target = (int) (entries[j] >>> 32);
+				double weight = weights[(int) entries[j]];
+				if (size > adjacencyStart[i] && adjacencyTarget[size - 1] == target) {
+					adjacencyWeight[size - 1] += weight;
+				} else {
+					adjacencyTarget[size] = target;
+					adjacencyWeight[size] = weight;
+					size++;
+				}
+			}
+		}
+		adjacencyStart[entities.length] = size;
 	}
 
 	private static EntityLayout getEntity(NodeLayout node) {
@@ -1373,40 +1833,10 @@ public class SpringLayoutAlgorithm extends AbstractLayoutAlgorithm {
 		// TODO: Again really really slow!
 
 		for (int k = 0; k < 2; k++) {
-			for (int i = 0; i < this.locationsX.length; i++) {
-
-				for (int j = i + 1; j < locationsX.length; j++) {
-					double dx = (locationsX[i] - locationsX[j]) / bounds.width / boundsScaleX;
-					double dy = (locationsY[i] - locationsY[j]) / bounds.height / boundsScaleY;
-					double distance_sq = dx * dx + dy * dy;
-					// make sure distance and distance squared not too small
-					distance_sq = Math.max(MIN_DISTANCE * MIN_DISTANCE, distance_sq);
-					double distance = Math.sqrt(distance_sq);
-
-					// If there are relationships between srcObj and destObj
-					// then decrease force on srcObj (a pull) in direction of
-					// destObj
-					// If no relation between srcObj and destObj then increase
-					// force on srcObj (a push) from direction of destObj.
-					double sumOfWeights = srcDestToSumOfWeights[i][j];
-
-					double f;
-					if (sumOfWeights > 0) {
-						// nodes are pulled towards each other
-						f = -sprStrain * Math.log(distance / sprLength) * sumOfWeights;
-					} else {
-						// nodes are repelled from each other
-						f = sprGravitation / (distance_sq);
-					}
-					double dfx = f * dx / distance;
-					double dfy = f * dy / distance;
-
-					forcesX[k][i] += dfx;
-					forcesY[k][i] += dfy;
-
-					forcesX[k][j] -= dfx;
-					forcesY[k][j] -= dfy;
-				}
+			if (theta > 0) {
+				computeApproximateForces(locationsX, locationsY, forcesX[k], forcesY[k]);
+			} else {
+				computeExactForces(locationsX, locationsY, forcesX[k], forcesY[k]);
 			}
 
 			for (int i = 0; i < entities.length; i++) {
@@ -1458,6 +1888,168 @@ public class SpringLayoutAlgorithm extends AbstractLayoutAlgorithm {
 
 	}
 
+	/**
+	 * Computes the forces between all pairs of nodes.
+	 */
+	private void computeExactForces(double[] locationsX, double[] locationsY, double[] forcesX, double[] forcesY) {
+		int length = locationsX.length;
+		if (pool == null || length < 2) {
+			computeExactForces(0, length, locationsX, locationsY, forcesX, forcesY);
+			return;
+		}
+		// Node i is paired with all n - i - 1 nodes after it, so the ranges are
+		// chosen such that all contain roughly the same number of pairs.
+		int chunks = Math.min(PARALLEL_CHUNKS, length);
+		int[] ranges = new int[chunks + 1];
+		double pairs = (double) length * (length - 1) / 2;
+		for (int c = 1; c < chunks; c++) {
+			double remaining = pairs * (chunks - c) / chunks;
+			ranges[c] = length - (int) Math.round((1 + Math.sqrt(1 + 8 * remaining)) / 2);
+			ranges[c] = Math.max(ranges[c - 1], ranges[c]);
+		}
+		ranges[chunks] = length;
+
+		if (partialForcesX == null || partialForcesX.length != chunks || partialForcesX[0].length != length) {
+			partialForcesX = new double[chunks][length];
+			partialForcesY = new double[chunks][length];
+		}
+		double[][] partialForcesX = this.partialForcesX;
+		double[][] partialForcesY = this.partialForcesY;
+		runInParallel(chunks, c -> {
+			Arrays.fill(partialForcesX[c], 0);
+			Arrays.fill(partialForcesY[c], 0);
+			computeExactForces(ranges[c], ranges[c + 1], locationsX, locationsY, partialForcesX[c],
+					partialForcesY[c]);
+		});
+		for (int c = 0; c < chunks; c++) {
+			for (int i = 0; i < length; i++) {
+				forcesX[i] += partialForcesX[c][i];
+				forcesY[i] += partialForcesY[c][i];
+			}
+		}
+	}
+
+	/**
+	 * Computes the forces between all nodes in the given range and all nodes after
+	 * them.
+	 */
+	private void computeExactForces(int from, int to, double[] locationsX, double[] locationsY, double[] forcesX,
+			double[] forcesY) {
+		for (int i = from; i < to; i++) {
+			// position of the next neighbor of i in the adjacency list
+			int neighbor = adjacencyStart[i];
+			int lastNeighbor = adjacencyStart[i + 1];
+
+			for (int j = i + 1; j < locationsX.length; j++) {
+				double dx = (locationsX[i] - locationsX[j]) / bounds.width / boundsScaleX;
+				double dy = (locationsY[i] - locationsY[j]) / bounds.height / boundsScaleY;
+				double distance_sq = dx * dx + dy * dy;
+				// make sure distance and distance squared not too small
+				distance_sq = Math.max(MIN_DISTANCE * MIN_DISTANCE, distance_sq);
+				double distance = Math.sqrt(distance_sq);
+
+				// If there are relationships between srcObj and destObj
+				// then decrease force on srcObj (a pull) in direction of
+				// destObj
+				// If no relation between srcObj and destObj then increase
+				// force on srcObj (a push) from direction of destObj.
+				while (neighbor < lastNeighbor && adjacencyTarget[neighbor] < j) {
+					neighbor++;
+				}
+				double sumOfWeights = 0;
+				if (neighbor < lastNeighbor && adjacencyTarget[neighbor] == j) {
+					sumOfWeights = adjacencyWeight[neighbor];
+				}
+
+				double f;
+				if (sumOfWeights > 0) {
+					// nodes are pulled towards each other
+					f = -sprStrain * Math.log(distance / sprLength) * sumOfWeights;
+				} else {
+					// nodes are repelled from each other
+					f = sprGravitation / (distance_sq);
+				}
+				double dfx = f * dx / distance;
+				double dfy = f * dy / distance;
+
+				forcesX[i] += dfx;
+				forcesY[i] += dfy;
+
+				forcesX[j] -= dfx;
+				forcesY[j] -= dfy;
+			}
+		}
+	}
+
+	/**
+	 * Approximates the repulsion between all pairs of nodes using a Barnes-Hut
+	 * quadtree. Connected nodes are then pulled towards each other, by replacing
+	 * their repulsion with the exact attraction.
+	 */
+	private void computeApproximateForces(double[] locationsX, double[] locationsY, double[] forcesX,
+			double[] forcesY) {
+		int length = locationsX.length;
+		double[] pointsX = new double[length];
+		double[] pointsY = new double[length];
+		for (int i = 0; i < length; i++) {
+			pointsX[i] = locationsX[i] / bounds.width / boundsScaleX;
+			pointsY[i] = locationsY[i] / bounds.height / boundsScaleY;
+		}
+
+		if (quadTree == null) {
+			quadTree = new QuadTree();
+		}
+		quadTree.build(pointsX, pointsY);
+		if (pool == null) {
+			computeApproximateForces(0, length, pointsX, pointsY, forcesX, forcesY);
+			return;
+		}
+		// The force of each node only depends on the quadtree, so every range writes
+		// to a disjoint part of the arrays.
+		int chunks = Math.min(PARALLEL_CHUNKS, length);
+		runInParallel(chunks, c -> computeApproximateForces(c * length / chunks, (c + 1) * length / chunks, pointsX,
+				pointsY, forcesX, forcesY));
+	}
+
+	/**
+	 * Approximates the forces of all nodes in the given range.
+	 */
+	private void computeApproximateForces(int from, int to, double[] pointsX, double[] pointsY, double[] forcesX,
+			double[] forcesY) {
+		double[] force = new double[2];
+		for (int i = from; i < to; i++) {
+			force[0] = force[1] = 0;
+			quadTree.addRepulsion(i, theta, sprGravitation, MIN_DISTANCE, force);
+			forcesX[i] += force[0];
+			forcesY[i] += force[1];
+
+			for (int k = adjacencyStart[i]; k < adjacencyStart[i + 1]; k++) {
+				int j = adjacencyTarget[k];
+				double dx = pointsX[i] - pointsX[j];
+				double dy = pointsY[i] - pointsY[j];
+				double distance_sq = Math.max(MIN_DISTANCE * MIN_DISTANCE, dx * dx + dy * dy);
+				double distance = Math.sqrt(distance_sq);
+				double f = -sprStrain * Math.log(distance / sprLength) * adjacencyWeight[k]
+						- sprGravitation / distance_sq;
+				forcesX[i] += f * dx / distance;
+				forcesY[i] += f * dy / distance;
+			}
+		}
+	}
+
+	/**
+	 * Runs the given task for all chunks in {@code [0, chunks)} on the pool and
+	 * waits for all of them to finish.
+	 */
+	private void runInParallel(int chunks, IntConsumer task) {
+		List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks);
+		for (int c = 0; c < chunks; c++) {
+			int chunk = c;
+			tasks.add(pool.submit(() -> task.accept(chunk)));
+		}
+		tasks.forEach(ForkJoinTask::join);
+	}
+
 	/**
 	 * Computes the position for each node in this SpringLayoutAlgorithm. The
 	 * computed position will be stored in the data repository. position = position
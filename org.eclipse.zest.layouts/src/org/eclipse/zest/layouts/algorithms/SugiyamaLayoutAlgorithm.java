@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2024 Rene Kuhlemann and others.
+ * Copyright (c) 2012, 2026 Rene Kuhlemann and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -14,9 +14,12 @@
  *******************************************************************************/
 package org.eclipse.zest.layouts.algorithms;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -24,6 +27,8 @@ import java.util.Map;
 
 import org.eclipse.swt.SWT;
 
+import org.eclipse.zest.layouts.algorithms.internal.StructureChangeTracker;
+import org.eclipse.zest.layouts.dataStructures.AdjacencyArrays;
 import org.eclipse.zest.layouts.dataStructures.DisplayIndependentRectangle;
 import org.eclipse.zest.layouts.interfaces.LayoutContext;
 import org.eclipse.zest.layouts.interfaces.NodeLayout;
@@ -140,11 +145,13 @@ public class SugiyamaLayoutAlgorithm extends AbstractLayoutAlgorithm {
 
 	private final List<ArrayList<NodeWrapper>> layers = new ArrayList<>(MAX_LAYERS);
 	private final Map<NodeLayout, NodeWrapper> map = new IdentityHashMap<>();
+	private final StructureChangeTracker changeTracker = new StructureChangeTracker();
 	private final int direction;
 	private final Dimension dimension;
 
 	private int last; // index of the last element in a layer after padding
 						// process
+	private double dx, dy; // distance between two layers and two nodes of a layer
 
 	/**
 	 * Constructs a tree-like, layered layout of a directed graph.
@@ -172,6 +179,12 @@ public class SugiyamaLayoutAlgorithm extends AbstractLayoutAlgorithm {
 		this(SWT.VERTICAL, null);
 	}
 
+	@Override
+	public void setLayoutContext(LayoutContext context) {
+		super.setLayoutContext(context);
+		changeTracker.setLayoutContext(context);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -179,7 +192,14 @@ public class SugiyamaLayoutAlgorithm extends AbstractLayoutAlgorithm {
 	 */
 	@Override
 	public void applyLayout(boolean clean) {
-		if (!clean) {
+		if (!clean && changeTracker.canLayoutIncrementally()) {
+			if (changeTracker.isEmpty() || applyIncrementalLayout()) {
+				changeTracker.reset();
+				return;
+			}
+			// the graph has become too deep to be updated, lay it out completely
+		}
+		if (!clean && !context.isIncrementalLayoutEnabled()) {
 			return;
 		}
 		layers.clear();
@@ -192,28 +212,155 @@ public class SugiyamaLayoutAlgorithm extends AbstractLayoutAlgorithm {
 		});
 		reduceCrossings();
 		calculatePositions();
+		changeTracker.reset();
 	}
 
+	/**
+	 * Keeps the layer and position of all nodes of the last layout, and only
+	 * places the added nodes and the nodes whose predecessors have moved to the
+	 * same or a deeper layer. Such a node is put onto the layer below its deepest
+	 * predecessor, at the free position closest to the barycenter of its
+	 * predecessors. No crossings are reduced, this is left to the next complete
+	 * layout.
+	 *
+	 * @return false if a node would exceed the maximum depth, in which case a
+	 *         complete layout has to be computed
+	 */
+	private boolean applyIncrementalLayout() {
+		for (NodeLayout node : changeTracker.getRemovedNodes()) {
+			map.remove(node);
+		}
+		List<BitSet> occupied = new ArrayList<>();
+		for (NodeWrapper nw : map.values()) {
+			getLayer(occupied, nw.layer).set(nw.index);
+		}
+		Deque<NodeLayout> queue = new ArrayDeque<>(changeTracker.getDirtyNodes());
+		while (!queue.isEmpty()) {
+			NodeLayout node = queue.poll();
+			NodeWrapper nw = map.get(node);
+			NodeLayout[] predecessors = node.getPredecessingNodes();
+			int layer = 0;
+			for (NodeLayout predecessor : predecessors) {
+				NodeWrapper nw_predecessor = map.get(predecessor);
+				if (nw_predecessor != null) {
+					layer = Math.max(layer, nw_predecessor.layer + 1);
+				}
+			}
+			if (nw != null && nw.layer >= layer) {
+				continue; // the node is still below all of its predecessors
+			}
+			if (layer >= MAX_LAYERS) {
+				return false;
+			}
+			if (nw != null) {
+				occupied.get(nw.layer).clear(nw.index);
+			}
+			int center = getBaryCenter(predecessors);
+			if (center < 0) {
+				center = getBaryCenter(node.getSuccessingNodes());
+			}
+			BitSet free = getLayer(occupied, layer);
+			nw = new NodeWrapper(node, layer);
+			nw.index = findClosestFreeIndex(free, Math.max(center, 0));
+			free.set(nw.index);
+			map.put(node, nw);
+			if (node.isMovable()) {
+				setLocation(node, nw);
+			}
+			for (NodeLayout successor : node.getSuccessingNodes()) {
+				NodeWrapper nw_successor = map.get(successor);
+				if (nw_successor != null && nw_successor.layer <= layer) {
+					queue.add(successor);
+				}
+			}
+		}
+		return true;
+	}
+
+	private static BitSet getLayer(List<BitSet> occupied, int layer) {
+		while (occupied.size() <= layer) {
+			occupied.add(new BitSet());
+		}
+		return occupied.get(layer);
+	}
+
+	/**
+	 * @return the average index of the given nodes which have already been placed,
+	 *         or -1 if there is none
+	 */
+	private int getBaryCenter(NodeLayout[] nodes) {
+		double barycenter = 0;
+		int count = 0;
+		for (NodeLayout node : nodes) {
+			NodeWrapper nw = map.get(node);
+			if (nw != null) {
+				barycenter += nw.index;
+				count++;
+			}
+		}
+		return count == 0 ? -1 : (int) (barycenter / count);
+	}
+
+	private static int findClosestFreeIndex(BitSet occupied, int index) {
+		int after = occupied.nextClearBit(index);
+		int before = occupied.previousClearBit(index);
+		if (before >= 0 && index - before < after - index) {
+			return before;
+		}
+		return after;
+	}
+
+	/**
+	 * Puts each node onto the layer below its deepest predecessor, starting with
+	 * the roots. A node is added to the next layer once all connections from its
+	 * predecessors have been visited, which is tracked by counting them down on
+	 * the adjacency of the layout context. The nodes of a layer keep their order
+	 * in the layout context.
+	 */
 	private void createLayers() {
-		List<NodeLayout> nodes = new LinkedList<>(Arrays.asList(context.getNodes()));
-		List<NodeLayout> predecessors = findRoots(nodes);
-		nodes.removeAll(predecessors); // nodes now contains only nodes that are
-										// no roots
-		addLayer(predecessors);
-		for (int level = 1; nodes.isEmpty() == false; level++) {
-			if (level > MAX_LAYERS) {
+		AdjacencyArrays adjacency = context.getAdjacency();
+		int[] offsets = adjacency.getSuccessorOffsets();
+		int[] successors = adjacency.getSuccessors();
+		int nodeCount = adjacency.getNodeCount();
+		int[] pending = new int[nodeCount];
+		int[] layer = new int[nodeCount];
+		int[] next = new int[nodeCount];
+		int layerSize = 0;
+		for (int i = 0; i < nodeCount; i++) {
+			pending[i] = adjacency.getPredecessorCount(i);
+			if (pending[i] == 0) { // no predecessors means: this is a root
+				layer[layerSize++] = i;
+			}
+		}
+		int placed = 0;
+		for (int level = 1;; level++) {
+			List<NodeLayout> nodes = new ArrayList<>(layerSize);
+			for (int i = 0; i < layerSize; i++) {
+				nodes.add(adjacency.getNode(layer[i]));
+			}
+			addLayer(nodes);
+			placed += layerSize;
+			if (placed == nodeCount) {
+				return;
+			}
+			if (level > MAX_LAYERS || layerSize == 0) {
 				throw new RuntimeException(
 						"Graphical tree exceeds maximum depth of " + MAX_LAYERS + "! (Graph not directed? Cycles?)"); //$NON-NLS-1$ //$NON-NLS-2$
 			}
-			List<NodeLayout> layer = new ArrayList<>();
-			for (NodeLayout item : nodes) {
-				if (predecessors.containsAll(Arrays.asList(item.getPredecessingNodes()))) {
-					layer.add(item);
+			int nextSize = 0;
+			for (int i = 0; i < layerSize; i++) {
+				int node = layer[i];
+				for (int j = offsets[node]; j < offsets[node + 1]; j++) {
+					if (--pending[successors[j]] == 0) {
+						next[nextSize++] = successors[j];
+					}
 				}
 			}
-			nodes.removeAll(layer);
-			predecessors.addAll(layer);
-			addLayer(layer);
+			Arrays.sort(next, 0, nextSize);
+			int[] swap = layer;
+			layer = next;
+			next = swap;
+			layerSize = nextSize;
 		}
 	}
 
@@ -241,6 +388,9 @@ public class SugiyamaLayoutAlgorithm extends AbstractLayoutAlgorithm {
 																				// all
 																				// predecessors
 				NodeWrapper nw_predecessor = map.get(node_predecessor);
+				if (nw_predecessor == null) {
+					continue; // the predecessor is not one of the nodes of the context
+				}
 				for (int level = nw_predecessor.layer + 1; level < nw.layer; level++) {
 					// add "virtual" wrappers (dummies) to the layers in between
 					// virtual wrappers are in fact parts of a double linked
@@ -375,30 +525,19 @@ public class SugiyamaLayoutAlgorithm extends AbstractLayoutAlgorithm {
 		if (dimension != null) {
 			boundary = new DisplayIndependentRectangle(0, 0, dimension.preciseWidth(), dimension.preciseHeight());
 		}
-		double dx = boundary.width / layers.size();
-		double dy = boundary.height / (last + 1);
-		if (direction == SWT.HORIZONTAL) {
-			for (NodeLayout node : context.getNodes()) {
-				NodeWrapper nw = map.get(node);
-				node.setLocation((nw.layer + 0.5d) * dx, (nw.index + 0.5d) * dy);
-			}
-		} else {
-			for (NodeLayout node : context.getNodes()) {
-				NodeWrapper nw = map.get(node);
-				node.setLocation((nw.index + 0.5d) * dx, (nw.layer + 0.5d) * dy);
-			}
+		dx = boundary.width / layers.size();
+		dy = boundary.height / (last + 1);
+		for (NodeLayout node : context.getNodes()) {
+			setLocation(node, map.get(node));
 		}
 	}
 
-	private static List<NodeLayout> findRoots(List<NodeLayout> list) {
-		List<NodeLayout> roots = new ArrayList<>();
-		for (NodeLayout iter : list) { // no predecessors means: this is a root,
-										// add it to list
-			if (iter.getPredecessingNodes().length == 0) {
-				roots.add(iter);
-			}
+	private void setLocation(NodeLayout node, NodeWrapper nw) {
+		if (direction == SWT.HORIZONTAL) {
+			node.setLocation((nw.layer + 0.5d) * dx, (nw.index + 0.5d) * dy);
+		} else {
+			node.setLocation((nw.index + 0.5d) * dx, (nw.layer + 0.5d) * dy);
 		}
-		return (roots);
 	}
 
 	private static void updateIndex(List<NodeWrapper> list) {
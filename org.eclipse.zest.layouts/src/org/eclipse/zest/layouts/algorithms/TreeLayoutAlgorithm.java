@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2005-2010, 2024 CHISEL Group, University of Victoria, Victoria, BC,
+ * Copyright 2005-2010, 2026 CHISEL Group, University of Victoria, Victoria, BC,
  *                      Canada, Johannes Kepler University Linz and others.
  *
  * This program and the accompanying materials are made available under the
@@ -21,16 +21,22 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.zest.layouts.LayoutStyles;
 import org.eclipse.zest.layouts.algorithms.TreeLayoutObserver.TreeNode;
+import org.eclipse.zest.layouts.algorithms.internal.StructureChangeTracker;
+import org.eclipse.zest.layouts.dataStructures.DisplayIndependentDimension;
+import org.eclipse.zest.layouts.dataStructures.DisplayIndependentPoint;
 import org.eclipse.zest.layouts.dataStructures.DisplayIndependentRectangle;
 import org.eclipse.zest.layouts.dataStructures.InternalNode;
 import org.eclipse.zest.layouts.dataStructures.InternalRelationship;
 import org.eclipse.zest.layouts.interfaces.EntityLayout;
 import org.eclipse.zest.layouts.interfaces.LayoutContext;
+import org.eclipse.zest.layouts.interfaces.NodeLayout;
 
 import org.eclipse.draw2d.geometry.Dimension;
 
@@ -643,6 +649,21 @@ public class TreeLayoutAlgorithm extends AbstractLayoutAlgorithm {
 
 	private Dimension nodeSpace;
 
+	private final StructureChangeTracker changeTracker = new StructureChangeTracker();
+
+	/**
+	 * The locations computed by the last layout, before fitting them within the
+	 * bounds.
+	 */
+	private Map<NodeLayout, DisplayIndependentPoint> layoutLocations = new IdentityHashMap<>();
+
+	/**
+	 * The bounds of the computed locations and the bounds they have been fitted
+	 * within by the last complete layout, or {@code null} if they haven't been
+	 * fitted.
+	 */
+	private DisplayIndependentRectangle fitSourceBounds, fitTargetBounds;
+
 	/**
 	 * Create a default Tree Layout.
 	 */
@@ -733,11 +754,19 @@ public class TreeLayoutAlgorithm extends AbstractLayoutAlgorithm {
 		if (context != null) {
 			treeObserver = new TreeLayoutObserver(context, null);
 		}
+		changeTracker.setLayoutContext(context);
 	}
 
 	@Override
 	public void applyLayout(boolean clean) {
-		if (!clean) {
+		if (!clean && changeTracker.canLayoutIncrementally()) {
+			if (!changeTracker.isEmpty()) {
+				applyIncrementalLayout();
+			}
+			changeTracker.reset();
+			return;
+		}
+		if (!clean && !context.isIncrementalLayoutEnabled()) {
 			return;
 		}
 
@@ -749,9 +778,12 @@ public class TreeLayoutAlgorithm extends AbstractLayoutAlgorithm {
 			AlgorithmHelper.maximizeSizes(entities);
 		}
 		scaleEntities(entities);
+		changeTracker.reset();
 	}
 
 	private void scaleEntities(EntityLayout[] entities) {
+		fitSourceBounds = null;
+		fitTargetBounds = null;
 		if (nodeSpace == null) {
 			DisplayIndependentRectangle bounds2 = new DisplayIndependentRectangle(bounds);
 			int insets = 4;
@@ -759,14 +791,64 @@ public class TreeLayoutAlgorithm extends AbstractLayoutAlgorithm {
 			bounds2.y += insets;
 			bounds2.width -= 2 * insets;
 			bounds2.height -= 2 * insets;
+			fitSourceBounds = AlgorithmHelper.getLayoutBounds(entities, false);
+			fitTargetBounds = bounds2;
 			AlgorithmHelper.fitWithinBounds(entities, bounds2, resize);
 		}
 	}
 
 	void internalApplyLayout() {
-		TreeNode superRoot = treeObserver.getSuperRoot();
 		bounds = context.getBounds();
 		updateLeafAndLayerSizes();
+		computePositions();
+		for (Map.Entry<NodeLayout, DisplayIndependentPoint> entry : layoutLocations.entrySet()) {
+			DisplayIndependentPoint location = entry.getValue();
+			entry.getKey().setLocation(location.x, location.y);
+		}
+	}
+
+	/**
+	 * Only moves the nodes whose position in the tree has changed since the last
+	 * layout, such as added nodes and the nodes to the right of them. The size of
+	 * the leaves and layers of the last complete layout is kept, and the computed
+	 * locations are fitted the same way as the last complete layout did, so that
+	 * the tree may grow beyond the bounds until the next complete layout.
+	 */
+	private void applyIncrementalLayout() {
+		Map<NodeLayout, DisplayIndependentPoint> previousLocations = layoutLocations;
+		computePositions();
+		for (Map.Entry<NodeLayout, DisplayIndependentPoint> entry : layoutLocations.entrySet()) {
+			NodeLayout node = entry.getKey();
+			DisplayIndependentPoint location = entry.getValue();
+			if (node.isMovable() && !location.equals(previousLocations.get(node))) {
+				DisplayIndependentDimension size = node.getSize();
+				node.setLocation(fit(location.x, size.width, true), fit(location.y, size.height, false));
+			}
+		}
+	}
+
+	/**
+	 * Maps a computed coordinate the same way as
+	 * {@link AlgorithmHelper#fitWithinBounds(EntityLayout[], DisplayIndependentRectangle, boolean)}
+	 * did during the last complete layout.
+	 */
+	private double fit(double value, double size, boolean horizontal) {
+		if (fitSourceBounds == null) {
+			return value;
+		}
+		double sourceStart = horizontal ? fitSourceBounds.x : fitSourceBounds.y;
+		double sourceLength = horizontal ? fitSourceBounds.width : fitSourceBounds.height;
+		double targetStart = horizontal ? fitTargetBounds.x : fitTargetBounds.y;
+		double targetLength = horizontal ? fitTargetBounds.width : fitTargetBounds.height;
+		if (sourceLength <= 0) {
+			return targetStart + (targetLength - size) / 2;
+		}
+		return targetStart + (value - sourceStart) / sourceLength * (targetLength - size);
+	}
+
+	private void computePositions() {
+		TreeNode superRoot = treeObserver.getSuperRoot();
+		layoutLocations = new IdentityHashMap<>();
 		int leafCountSoFar = 0;
 		for (Object element : superRoot.getChildren()) {
 			TreeNode rootInfo = (TreeNode) element;
@@ -803,20 +885,24 @@ public class TreeLayoutAlgorithm extends AbstractLayoutAlgorithm {
 		double breadthPosition = relativePosition + entityInfo.numOfLeaves / 2.0;
 		double depthPosition = (entityInfo.depth + 0.5);
 
+		DisplayIndependentPoint location = null;
 		switch (direction) {
 		case TOP_DOWN:
-			entityInfo.getNode().setLocation(breadthPosition * leafSize, depthPosition * layerSize);
+			location = new DisplayIndependentPoint(breadthPosition * leafSize, depthPosition * layerSize);
 			break;
 		case BOTTOM_UP:
-			entityInfo.getNode().setLocation(breadthPosition * leafSize, bounds.height - depthPosition * layerSize);
+			location = new DisplayIndependentPoint(breadthPosition * leafSize,
+					bounds.height - depthPosition * layerSize);
 			break;
 		case LEFT_RIGHT:
-			entityInfo.getNode().setLocation(depthPosition * layerSize, breadthPosition * leafSize);
+			location = new DisplayIndependentPoint(depthPosition * layerSize, breadthPosition * leafSize);
 			break;
 		case RIGHT_LEFT:
-			entityInfo.getNode().setLocation(bounds.width - depthPosition * layerSize, breadthPosition * leafSize);
+			location = new DisplayIndependentPoint(bounds.width - depthPosition * layerSize,
+					breadthPosition * leafSize);
 			break;
 		}
+		layoutLocations.put(entityInfo.getNode(), location);
 
 		for (Object child : entityInfo.children) {
 			TreeNode childInfo = (TreeNode) child;
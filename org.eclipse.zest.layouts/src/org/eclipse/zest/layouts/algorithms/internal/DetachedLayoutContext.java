@@ -0,0 +1,506 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.layouts.algorithms.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.swt.widgets.Item;
+
+import org.eclipse.zest.layouts.LayoutAlgorithm;
+import org.eclipse.zest.layouts.algorithms.ComponentLayoutAlgorithm;
+import org.eclipse.zest.layouts.algorithms.SpaceTreeLayoutAlgorithm;
+import org.eclipse.zest.layouts.dataStructures.AdjacencyArrays;
+import org.eclipse.zest.layouts.dataStructures.DisplayIndependentDimension;
+import org.eclipse.zest.layouts.dataStructures.DisplayIndependentPoint;
+import org.eclipse.zest.layouts.dataStructures.DisplayIndependentRectangle;
+import org.eclipse.zest.layouts.interfaces.ConnectionLayout;
+import org.eclipse.zest.layouts.interfaces.ContextListener;
+import org.eclipse.zest.layouts.interfaces.EntityLayout;
+import org.eclipse.zest.layouts.interfaces.ExpandCollapseManager;
+import org.eclipse.zest.layouts.interfaces.GraphStructureListener;
+import org.eclipse.zest.layouts.interfaces.LayoutContext;
+import org.eclipse.zest.layouts.interfaces.LayoutListener;
+import org.eclipse.zest.layouts.interfaces.NodeLayout;
+import org.eclipse.zest.layouts.interfaces.PruningListener;
+import org.eclipse.zest.layouts.interfaces.SubgraphLayout;
+
+/**
+ * A copy of some of the nodes and connections of another {@link LayoutContext},
+ * which can be laid out without accessing the original. The copy is created by
+ * the owner of the original, and may then be laid out by another thread. The
+ * computed locations, sizes and visibilities are written back via
+ * {@link #apply(double, double, double)}, again by the owner of the original.
+ * <p>
+ * The structure of the copy never changes, so there are no events. Pruning is
+ * not supported, except for restoring nodes which are not pruned anyway.
+ * Whether an algorithm can lay out a copy is determined by
+ * {@link #isSupported(LayoutAlgorithm)}.
+ *
+ * @since 2.1
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public abstract class DetachedLayoutContext implements LayoutContext {
+
+	private final DisplayIndependentRectangle bounds;
+	private final DetachedNodeLayout[] nodes;
+	private final List<DetachedConnectionLayout> connections = new ArrayList<>();
+	private AdjacencyArrays adjacency;
+	private LayoutAlgorithm mainAlgorithm;
+	private ExpandCollapseManager expandCollapseManager;
+	private boolean applied;
+
+	/**
+	 * Copies the given nodes. The connections between them are added via
+	 * {@link #addConnection(ConnectionLayout, int, int)}.
+	 *
+	 * @param originals the nodes to copy
+	 * @param bounds    the bounds of the copy
+	 */
+	protected DetachedLayoutContext(NodeLayout[] originals, DisplayIndependentRectangle bounds) {
+		this.bounds = bounds;
+		this.nodes = new DetachedNodeLayout[originals.length];
+		for (int i = 0; i < originals.length; i++) {
+			nodes[i] = new DetachedNodeLayout(originals[i]);
+		}
+	}
+
+	/**
+	 * Returns whether the given algorithm can lay out a detached copy. Zest 1.x
+	 * algorithms don't use a layout context at all, and the
+	 * {@link SpaceTreeLayoutAlgorithm} collapses the nodes which don't fit into
+	 * the bounds into subgraphs, which can't be created by a copy. A
+	 * {@link ComponentLayoutAlgorithm} is supported if its delegate is.
+	 *
+	 * @param algorithm the algorithm to check
+	 * @return {@code true} if the algorithm can lay out a detached copy
+	 */
+	public static boolean isSupported(LayoutAlgorithm algorithm) {
+		if (algorithm instanceof ComponentLayoutAlgorithm component) {
+			return isSupported(component.getLayoutAlgorithm());
+		}
+		return !(algorithm instanceof LayoutAlgorithm.Zest1) && !(algorithm instanceof SpaceTreeLayoutAlgorithm);
+	}
+
+	/**
+	 * Adds a copy of the given connection between the copies of the nodes at the
+	 * given indices. Must not be called once the copy is laid out.
+	 *
+	 * @param original the connection to copy
+	 * @param source   the index of the source node
+	 * @param target   the index of the target node
+	 */
+	public void addConnection(ConnectionLayout original, int source, int target) {
+		DetachedConnectionLayout connection = new DetachedConnectionLayout(original, nodes[source], nodes[target]);
+		connections.add(connection);
+		nodes[source].outgoing.add(connection);
+		nodes[target].incoming.add(connection);
+		if (!connection.directed) {
+			nodes[source].incoming.add(connection);
+			nodes[target].outgoing.add(connection);
+		}
+	}
+
+	/**
+	 * Writes the computed locations, scaled by the given factor and moved by the
+	 * given offset, as well as the computed sizes and visibilities back to the
+	 * original nodes and connections. Only the properties changed by the layout
+	 * are written, and nodes which have been {@link #isRemoved(NodeLayout)
+	 * removed} are skipped.
+	 *
+	 * @param scale the factor by which the locations are scaled
+	 * @param dx    the horizontal offset added to the locations
+	 * @param dy    the vertical offset added to the locations
+	 */
+	public void apply(double scale, double dx, double dy) {
+		for (DetachedNodeLayout node : nodes) {
+			if (!isRemoved(node.original)) {
+				node.apply(scale, dx, dy);
+			}
+		}
+		for (DetachedConnectionLayout connection : connections) {
+			connection.apply();
+		}
+		applied = true;
+	}
+
+	/**
+	 * @return {@code true} if the result of the layout has been written back to
+	 *         the original nodes and connections
+	 */
+	public boolean isApplied() {
+		return applied;
+	}
+
+	/**
+	 * Returns whether the given node has been removed from the original context
+	 * since it has been copied, in which case the result of the layout is not
+	 * written back to it.
+	 *
+	 * @param original an original node
+	 * @return {@code true} if the node has been removed
+	 */
+	protected boolean isRemoved(NodeLayout original) {
+		return false;
+	}
+
+	@Override
+	public NodeLayout[] getNodes() {
+		return nodes.clone();
+	}
+
+	@Override
+	public ConnectionLayout[] getConnections() {
+		return connections.toArray(new ConnectionLayout[connections.size()]);
+	}
+
+	@Override
+	public EntityLayout[] getEntities() {
+		return nodes.clone();
+	}
+
+	@Override
+	public ConnectionLayout[] getConnections(EntityLayout layoutEntity1, EntityLayout layoutEntity2) {
+		List<ConnectionLayout> result = new ArrayList<>();
+		if (layoutEntity1 instanceof DetachedNodeLayout source) {
+			for (DetachedConnectionLayout connection : source.outgoing) {
+				if (connection.getOpposite(source) == layoutEntity2) {
+					result.add(connection);
+				}
+			}
+		}
+		return result.toArray(new ConnectionLayout[result.size()]);
+	}
+
+	/**
+	 * The structure of the copy never changes, so its adjacency is only computed
+	 * once.
+	 */
+	@Override
+	public AdjacencyArrays getAdjacency() {
+		if (adjacency == null) {
+			adjacency = new AdjacencyArrays(nodes, getConnections());
+		}
+		return adjacency;
+	}
+
+	@Override
+	public DisplayIndependentRectangle getBounds() {
+		return new DisplayIndependentRectangle(bounds);
+	}
+
+	@Override
+	public boolean isBoundsExpandable() {
+		return false;
+	}
+
+	@Override
+	public SubgraphLayout[] getSubgraphs() {
+		return new SubgraphLayout[0];
+	}
+
+	@Override
+	public SubgraphLayout createSubgraph(NodeLayout[] nodes) {
+		throw new UnsupportedOperationException("Pruning is not supported by detached layouts"); //$NON-NLS-1$
+	}
+
+	@Override
+	public boolean isPruningEnabled() {
+		return false;
+	}
+
+	@Override
+	public boolean isBackgroundLayoutEnabled() {
+		return false;
+	}
+
+	@Override
+	public void setMainLayoutAlgorithm(LayoutAlgorithm algorithm) {
+		mainAlgorithm = algorithm;
+	}
+
+	@Override
+	public LayoutAlgorithm getMainLayoutAlgorithm() {
+		return mainAlgorithm;
+	}
+
+	@Override
+	public void setExpandCollapseManager(ExpandCollapseManager expandCollapseManager) {
+		this.expandCollapseManager = expandCollapseManager;
+	}
+
+	@Override
+	public ExpandCollapseManager getExpandCollapseManager() {
+		return expandCollapseManager;
+	}
+
+	// The copy never changes on its own, so there are no events to listen to
+
+	@Override
+	public void addLayoutListener(LayoutListener listener) {
+	}
+
+	@Override
+	public void removeLayoutListener(LayoutListener listener) {
+	}
+
+	@Override
+	public void addGraphStructureListener(GraphStructureListener listener) {
+	}
+
+	@Override
+	public void removeGraphStructureListener(GraphStructureListener listener) {
+	}
+
+	@Override
+	public void addContextListener(ContextListener listener) {
+	}
+
+	@Override
+	public void removeContextListener(ContextListener listener) {
+	}
+
+	@Override
+	public void addPruningListener(PruningListener listener) {
+	}
+
+	@Override
+	public void removePruningListener(PruningListener listener) {
+	}
+
+	@Override
+	public void flushChanges(boolean animationHint) {
+		// changes are applied all at once via apply()
+	}
+
+	private static class DetachedNodeLayout implements NodeLayout {
+
+		private final NodeLayout original;
+		private final List<DetachedConnectionLayout> incoming = new ArrayList<>();
+		private final List<DetachedConnectionLayout> outgoing = new ArrayList<>();
+		private final boolean movable;
+		private final boolean resizable;
+		private final double preferredAspectRatio;
+		private final DisplayIndependentPoint location;
+		private final DisplayIndependentDimension size;
+		private boolean minimized;
+		private boolean locationChanged;
+		private boolean sizeChanged;
+		private boolean minimizedChanged;
+
+		DetachedNodeLayout(NodeLayout original) {
+			this.original = original;
+			this.movable = original.isMovable();
+			this.resizable = original.isResizable();
+			this.preferredAspectRatio = original.getPreferredAspectRatio();
+			this.location = original.getLocation();
+			this.size = original.getSize();
+			this.minimized = original.isMinimized();
+		}
+
+		void apply(double scale, double dx, double dy) {
+			if (minimizedChanged) {
+				original.setMinimized(minimized);
+			}
+			if (sizeChanged) {
+				original.setSize(size.width, size.height);
+			}
+			if (locationChanged) {
+				original.setLocation(location.x * scale + dx, location.y * scale + dy);
+			}
+		}
+
+		@Override
+		public DisplayIndependentPoint getLocation() {
+			return new DisplayIndependentPoint(location);
+		}
+
+		@Override
+		public void setLocation(double x, double y) {
+			location.x = x;
+			location.y = y;
+			locationChanged = true;
+		}
+
+		@Override
+		public DisplayIndependentDimension getSize() {
+			return new DisplayIndependentDimension(size);
+		}
+
+		@Override
+		public void setSize(double width, double height) {
+			size.width = width;
+			size.height = height;
+			sizeChanged = true;
+		}
+
+		@Override
+		public double getPreferredAspectRatio() {
+			return preferredAspectRatio;
+		}
+
+		@Override
+		public boolean isResizable() {
+			return resizable;
+		}
+
+		@Override
+		public boolean isMovable() {
+			return movable;
+		}
+
+		@Override
+		public EntityLayout[] getSuccessingEntities() {
+			return getSuccessingNodes();
+		}
+
+		@Override
+		public EntityLayout[] getPredecessingEntities() {
+			return getPredecessingNodes();
+		}
+
+		@Override
+		public Item[] getItems() {
+			return original.getItems();
+		}
+
+		@Override
+		public boolean isPrunable() {
+			return false;
+		}
+
+		@Override
+		public boolean isPruned() {
+			return false;
+		}
+
+		@Override
+		public SubgraphLayout getSubgraph() {
+			return null;
+		}
+
+		@Override
+		public void prune(SubgraphLayout subgraph) {
+			// Nodes are never pruned, so there is nothing to restore
+			if (subgraph == null) {
+				return;
+			}
+			throw new UnsupportedOperationException("Pruning is not supported by detached layouts"); //$NON-NLS-1$
+		}
+
+		@Override
+		public NodeLayout[] getSuccessingNodes() {
+			NodeLayout[] result = new NodeLayout[outgoing.size()];
+			for (int i = 0; i < result.length; i++) {
+				result[i] = outgoing.get(i).getOpposite(this);
+			}
+			return result;
+		}
+
+		@Override
+		public NodeLayout[] getPredecessingNodes() {
+			NodeLayout[] result = new NodeLayout[incoming.size()];
+			for (int i = 0; i < result.length; i++) {
+				result[i] = incoming.get(i).getOpposite(this);
+			}
+			return result;
+		}
+
+		@Override
+		public ConnectionLayout[] getIncomingConnections() {
+			return incoming.toArray(new ConnectionLayout[incoming.size()]);
+		}
+
+		@Override
+		public ConnectionLayout[] getOutgoingConnections() {
+			return outgoing.toArray(new ConnectionLayout[outgoing.size()]);
+		}
+
+		@Override
+		public void setMinimized(boolean minimized) {
+			this.minimized = minimized;
+			minimizedChanged = true;
+		}
+
+		@Override
+		public boolean isMinimized() {
+			return minimized;
+		}
+
+		@Override
+		public String toString() {
+			return original.toString();
+		}
+	}
+
+	private static class DetachedConnectionLayout implements ConnectionLayout {
+
+		private final ConnectionLayout original;
+		private final DetachedNodeLayout source;
+		private final DetachedNodeLayout target;
+		private final double weight;
+		private final boolean directed;
+		private boolean visible;
+		private boolean visibleChanged;
+
+		DetachedConnectionLayout(ConnectionLayout original, DetachedNodeLayout source, DetachedNodeLayout target) {
+			this.original = original;
+			this.source = source;
+			this.target = target;
+			this.weight = original.getWeight();
+			this.directed = original.isDirected();
+			this.visible = original.isVisible();
+		}
+
+		void apply() {
+			if (visibleChanged) {
+				original.setVisible(visible);
+			}
+		}
+
+		NodeLayout getOpposite(DetachedNodeLayout node) {
+			return node == source ? target : source;
+		}
+
+		@Override
+		public NodeLayout getSource() {
+			return source;
+		}
+
+		@Override
+		public NodeLayout getTarget() {
+			return target;
+		}
+
+		@Override
+		public double getWeight() {
+			return weight;
+		}
+
+		@Override
+		public boolean isDirected() {
+			return directed;
+		}
+
+		@Override
+		public void setVisible(boolean visible) {
+			this.visible = visible;
+			visibleChanged = true;
+		}
+
+		@Override
+		public boolean isVisible() {
+			return visible;
+		}
+	}
+}
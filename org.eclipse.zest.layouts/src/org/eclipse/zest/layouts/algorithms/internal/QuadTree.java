@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.layouts.algorithms.internal;
+
+import java.util.Arrays;
+
+/**
+ * A Barnes-Hut quadtree over a set of points with unit mass. Each inner node of
+ * the tree stores the number of points and their center of mass, so that the
+ * repulsion caused by a group of points far away from a given point can be
+ * approximated by the repulsion of a single, heavier point. This reduces the
+ * cost of computing the repulsion of all points from O(n²) to O(n log n).
+ *
+ * @since 2.1
+ * @noextend This class is not intended to be subclassed by clients.
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class QuadTree {
+
+	/**
+	 * Points closer than the size of a node at this depth are treated as being at
+	 * the same location.
+	 */
+	private static final int MAX_DEPTH = 40;
+
+	private double[] pointsX;
+	private double[] pointsY;
+
+	private int size;
+	private int[] children = new int[0];
+	private int[] body = new int[0];
+	private int[] mass = new int[0];
+	private double[] centerX = new double[0];
+	private double[] centerY = new double[0];
+	private double[] minX = new double[0];
+	private double[] minY = new double[0];
+	private double[] width = new double[0];
+
+	/**
+	 * Re-builds this tree from the given points. The arrays are not copied and must
+	 * not be modified as long as this tree is in use.
+	 *
+	 * @param x the x coordinates of the points
+	 * @param y the y coordinates of the points
+	 */
+	public void build(double[] x, double[] y) {
+		pointsX = x;
+		pointsY = y;
+		size = 0;
+		if (x.length == 0) {
+			return;
+		}
+		double left = Double.POSITIVE_INFINITY;
+		double top = Double.POSITIVE_INFINITY;
+		double right = Double.NEGATIVE_INFINITY;
+		double bottom = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < x.length; i++) {
+			left = Math.min(left, x[i]);
+			top = Math.min(top, y[i]);
+			right = Math.max(right, x[i]);
+			bottom = Math.max(bottom, y[i]);
+		}
+		// Slightly enlarge the square so that the right and bottom-most points are
+		// strictly contained
+		double extent = Math.max(Math.max(right - left, bottom - top) * 1.0001, Double.MIN_NORMAL);
+		createNode(left, top, extent);
+		for (int i = 0; i < x.length; i++) {
+			insert(i);
+		}
+		for (int node = 0; node < size; node++) {
+			centerX[node] /= mass[node];
+			centerY[node] /= mass[node];
+		}
+	}
+
+	/**
+	 * Adds the repulsion of all other points on the given point to {@code force}.
+	 * The repulsion between two points at distance d is
+	 * {@code gravitation / max(d, minDistance)²}, directed away from each other.
+	 * Groups of points whose extent, relative to their distance, is smaller than
+	 * {@code theta} are approximated by their center of mass. This method may be
+	 * called concurrently, as long as the tree is not re-built.
+	 *
+	 * @param point       the index of the point whose repulsion is computed
+	 * @param theta       the accuracy of the approximation
+	 * @param gravitation the strength of the repulsion
+	 * @param minDistance the lower bound for the distance between two points
+	 * @param force       the array of length 2 the repulsion is added to
+	 */
+	public void addRepulsion(int point, double theta, double gravitation, double minDistance, double[] force) {
+		if (size == 0) {
+			return;
+		}
+		double px = pointsX[point];
+		double py = pointsY[point];
+		double thetaSq = theta * theta;
+		double minDistanceSq = minDistance * minDistance;
+		int[] stack = new int[4 * MAX_DEPTH + 4];
+		int top = 0;
+		stack[top++] = 0;
+		while (top > 0) {
+			int node = stack[--top];
+			double dx = px - centerX[node];
+			double dy = py - centerY[node];
+			double distanceSq = dx * dx + dy * dy;
+			int m = mass[node];
+			if (body[node] < 0 && (width[node] * width[node] >= thetaSq * distanceSq || contains(node, px, py))) {
+				// Too close to be approximated, so visit the children
+				for (int i = 4 * node; i < 4 * node + 4; i++) {
+					if (children[i] != 0) {
+						stack[top++] = children[i];
+					}
+				}
+				continue;
+			}
+			if (body[node] == point) {
+				m--;
+			}
+			if (m > 0) {
+				distanceSq = Math.max(minDistanceSq, distanceSq);
+				double distance = Math.sqrt(distanceSq);
+				double f = m * gravitation / distanceSq;
+				force[0] += f * dx / distance;
+				force[1] += f * dy / distance;
+			}
+		}
+	}
+
+	private boolean contains(int node, double px, double py) {
+		return px >= minX[node] && px < minX[node] + width[node] && py >= minY[node] && py < minY[node] + width[node];
+	}
+
+	private void insert(int point) {
+		double px = pointsX[point];
+		double py = pointsY[point];
+		int node = 0;
+		int depth = 0;
+		while (true) {
+			if (mass[node] == 0) {
+				body[node] = point;
+				mass[node] = 1;
+				centerX[node] = px;
+				centerY[node] = py;
+				return;
+			}
+			if (body[node] >= 0) {
+				if (depth >= MAX_DEPTH) {
+					mass[node]++;
+					centerX[node] += px;
+					centerY[node] += py;
+					return;
+				}
+				// Move the point of this leaf down one level
+				int other = body[node];
+				int child = getChild(node, pointsX[other], pointsY[other]);
+				body[child] = other;
+				mass[child] = 1;
+				centerX[child] = pointsX[other];
+				centerY[child] = pointsY[other];
+				body[node] = -1;
+			}
+			mass[node]++;
+			centerX[node] += px;
+			centerY[node] += py;
+			node = getChild(node, px, py);
+			depth++;
+		}
+	}
+
+	private int getChild(int node, double px, double py) {
+		double half = width[node] / 2;
+		int quadrant = 0;
+		if (px >= minX[node] + half) {
+			quadrant |= 1;
+		}
+		if (py >= minY[node] + half) {
+			quadrant |= 2;
+		}
+		int index = 4 * node + quadrant;
+		if (children[index] == 0) {
+			double left = minX[node] + ((quadrant & 1) == 0 ? 0 : half);
+			double top = minY[node] + ((quadrant & 2) == 0 ? 0 : half);
+			// createNode() may re-allocate the arrays
+			int child = createNode(left, top, half);
+			children[index] = child;
+		}
+		return children[index];
+	}
+
+	private int createNode(double left, double top, double extent) {
+		if (size == mass.length) {
+			int capacity = Math.max(16, 2 * size);
+			children = Arrays.copyOf(children, 4 * capacity);
+			body = Arrays.copyOf(body, capacity);
+			mass = Arrays.copyOf(mass, capacity);
+			centerX = Arrays.copyOf(centerX, capacity);
+			centerY = Arrays.copyOf(centerY, capacity);
+			minX = Arrays.copyOf(minX, capacity);
+			minY = Arrays.copyOf(minY, capacity);
+			width = Arrays.copyOf(width, capacity);
+		}
+		int node = size++;
+		Arrays.fill(children, 4 * node, 4 * node + 4, 0);
+		body[node] = -1;
+		mass[node] = 0;
+		centerX[node] = 0;
+		centerY[node] = 0;
+		minX[node] = left;
+		minY[node] = top;
+		width[node] = extent;
+		return node;
+	}
+}
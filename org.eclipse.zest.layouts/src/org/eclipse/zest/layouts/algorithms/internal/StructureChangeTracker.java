@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.layouts.algorithms.internal;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.eclipse.zest.layouts.interfaces.ConnectionLayout;
+import org.eclipse.zest.layouts.interfaces.GraphStructureListener;
+import org.eclipse.zest.layouts.interfaces.LayoutContext;
+import org.eclipse.zest.layouts.interfaces.NodeLayout;
+
+/**
+ * Records the structural changes of a {@link LayoutContext} since the last
+ * layout, for algorithms supporting
+ * {@link LayoutContext#isIncrementalLayoutEnabled() incremental layouts}. A node
+ * is dirty if it has been added, or if a connection to or from it has been
+ * added or removed. The tracker never intercepts any event.
+ * <p>
+ * If the algorithm is bound to a {@link DetachedLayoutContext copy} of the
+ * tracked context, for example to lay it out in a worker thread, the tracker
+ * keeps recording the changes of the tracked context, starting from the moment
+ * the copy has been made. Once the algorithm is bound to the tracked context
+ * again, the complete layout of the copy counts as a complete layout of the
+ * tracked context, provided that its result has been applied.
+ *
+ * @since 2.1
+ * @noextend This class is not intended to be subclassed by clients.
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class StructureChangeTracker {
+
+	private final Set<NodeLayout> dirtyNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final Set<NodeLayout> addedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final Set<NodeLayout> removedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final GraphStructureListener listener = new GraphStructureListener() {
+		@Override
+		public boolean nodeAdded(LayoutContext context, NodeLayout node) {
+			removedNodes.remove(node);
+			dirtyNodes.add(node);
+			addedNodes.add(node);
+			return false;
+		}
+
+		@Override
+		public boolean nodeRemoved(LayoutContext context, NodeLayout node) {
+			dirtyNodes.remove(node);
+			if (!addedNodes.remove(node)) {
+				removedNodes.add(node);
+			}
+			return false;
+		}
+
+		@Override
+		public boolean connectionAdded(LayoutContext context, ConnectionLayout connection) {
+			markDirty(connection);
+			return false;
+		}
+
+		@Override
+		public boolean connectionRemoved(LayoutContext context, ConnectionLayout connection) {
+			markDirty(connection);
+			return false;
+		}
+	};
+	private LayoutContext context;
+	private boolean valid;
+	private DetachedLayoutContext detachedContext;
+	private volatile boolean detachedLayoutComplete;
+
+	/**
+	 * Starts tracking the changes of the given context, and stops tracking the
+	 * changes of the previous context. The tracker is initially invalid. A
+	 * {@link DetachedLayoutContext} is not tracked, but treated as a copy of the
+	 * tracked context, as described above.
+	 *
+	 * @param context the context to track, may be {@code null}
+	 */
+	public void setLayoutContext(LayoutContext context) {
+		if (context instanceof DetachedLayoutContext detached && this.context != null
+				&& !(this.context instanceof DetachedLayoutContext)) {
+			// The copy contains all changes recorded so far
+			clear();
+			detachedContext = detached;
+			detachedLayoutComplete = false;
+			return;
+		}
+		if (detachedContext != null) {
+			boolean complete = detachedLayoutComplete && detachedContext.isApplied();
+			detachedContext = null;
+			if (context == this.context) {
+				if (complete) {
+					valid = true;
+				} else {
+					invalidate();
+				}
+				return;
+			}
+		}
+		if (this.context != null) {
+			this.context.removeGraphStructureListener(listener);
+		}
+		this.context = context;
+		if (context != null) {
+			context.addGraphStructureListener(listener);
+		}
+		invalidate();
+	}
+
+	/**
+	 * Returns whether an incremental layout can be performed. This is the case if
+	 * the context supports incremental layouts and if a complete layout has been
+	 * computed since the tracker has been attached to it.
+	 *
+	 * @return {@code true} if only the dirty nodes have to be laid out
+	 */
+	public boolean canLayoutIncrementally() {
+		return valid && detachedContext == null && context != null && context.isIncrementalLayoutEnabled();
+	}
+
+	/**
+	 * Marks the current state of the context as completely laid out and forgets
+	 * all recorded changes.
+	 */
+	public void reset() {
+		if (detachedContext != null) {
+			// Called by the thread laying out the copy, while the changes of the
+			// tracked context are still being recorded
+			detachedLayoutComplete = true;
+			return;
+		}
+		clear();
+		valid = true;
+	}
+
+	/**
+	 * Forgets all recorded changes and forces the next layout to be a complete
+	 * one.
+	 */
+	public void invalidate() {
+		if (detachedContext != null) {
+			detachedLayoutComplete = false;
+			return;
+		}
+		clear();
+		valid = false;
+	}
+
+	private void clear() {
+		dirtyNodes.clear();
+		addedNodes.clear();
+		removedNodes.clear();
+	}
+
+	/**
+	 * @return {@code true} if no change has been recorded since the last layout
+	 */
+	public boolean isEmpty() {
+		return dirtyNodes.isEmpty() && removedNodes.isEmpty();
+	}
+
+	/**
+	 * @return the nodes which have been added or whose connections have changed,
+	 *         excluding removed nodes
+	 */
+	public Set<NodeLayout> getDirtyNodes() {
+		return Collections.unmodifiableSet(dirtyNodes);
+	}
+
+	/**
+	 * @return the nodes which have been added since the last layout and which
+	 *         therefore don't have a meaningful location yet
+	 */
+	public Set<NodeLayout> getAddedNodes() {
+		return Collections.unmodifiableSet(addedNodes);
+	}
+
+	/**
+	 * @return the nodes which have been removed since the last layout
+	 */
+	public Set<NodeLayout> getRemovedNodes() {
+		return Collections.unmodifiableSet(removedNodes);
+	}
+
+	private void markDirty(ConnectionLayout connection) {
+		markDirty(connection.getSource());
+		markDirty(connection.getTarget());
+	}
+
+	private void markDirty(NodeLayout node) {
+		if (!removedNodes.contains(node)) {
+			dirtyNodes.add(node);
+		}
+	}
+}
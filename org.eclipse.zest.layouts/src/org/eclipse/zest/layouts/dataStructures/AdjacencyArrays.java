@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.layouts.dataStructures;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.eclipse.zest.layouts.interfaces.ConnectionLayout;
+import org.eclipse.zest.layouts.interfaces.LayoutContext;
+import org.eclipse.zest.layouts.interfaces.NodeLayout;
+
+/**
+ * The adjacency of the nodes of a {@link LayoutContext}, stored in arrays of
+ * primitive indices. Nodes and connections are identified by their index in
+ * the arrays this instance was created from. Layout algorithms can iterate over
+ * the neighbors of a node without creating any objects, unlike
+ * {@link NodeLayout#getSuccessingNodes()} and
+ * {@link NodeLayout#getOutgoingConnections()}, which return new arrays on every
+ * call.
+ * <p>
+ * The successors of node <code>i</code> are stored in
+ * <code>getSuccessors()[getSuccessorOffsets()[i]]</code> to
+ * <code>getSuccessors()[getSuccessorOffsets()[i + 1] - 1]</code>, in the order
+ * of the connections. The connection leading to each of them is stored at the
+ * same position of {@link #getOutgoingConnections()}. Predecessors are stored
+ * the same way. Like in {@link NodeLayout}, undirected connections are both
+ * outgoing and incoming connections of both of their nodes. Connections whose
+ * source or target is not one of the nodes are ignored.
+ * <p>
+ * The adjacency is a snapshot of the structure of the graph. It is not updated
+ * when nodes or connections are added or removed. The arrays are returned
+ * without copying them and must not be modified.
+ *
+ * @see LayoutContext#getAdjacency()
+ * @since 2.1
+ */
+public final class AdjacencyArrays {
+
+	private final NodeLayout[] nodes;
+	private final ConnectionLayout[] connections;
+	private final Map<NodeLayout, Integer> indices;
+	private final int[] successorOffsets;
+	private final int[] successors;
+	private final int[] outgoingConnections;
+	private final int[] predecessorOffsets;
+	private final int[] predecessors;
+	private final int[] incomingConnections;
+
+	/**
+	 * Computes the adjacency of the given nodes. Neither array is copied, so they
+	 * must not be modified afterwards.
+	 *
+	 * @param nodes       the nodes
+	 * @param connections the connections between the nodes
+	 */
+	public AdjacencyArrays(NodeLayout[] nodes, ConnectionLayout[] connections) {
+		this.nodes = nodes;
+		this.connections = connections;
+		indices = new IdentityHashMap<>(nodes.length);
+		for (int i = 0; i < nodes.length; i++) {
+			indices.put(nodes[i], Integer.valueOf(i));
+		}
+
+		int[] sources = new int[connections.length];
+		int[] targets = new int[connections.length];
+		successorOffsets = new int[nodes.length + 1];
+		predecessorOffsets = new int[nodes.length + 1];
+		int edges = 0;
+		for (int i = 0; i < connections.length; i++) {
+			int source = indexOf(connections[i].getSource());
+			int target = indexOf(connections[i].getTarget());
+			if (source < 0 || target < 0) {
+				sources[i] = -1;
+				continue;
+			}
+			sources[i] = source;
+			targets[i] = target;
+			successorOffsets[source + 1]++;
+			predecessorOffsets[target + 1]++;
+			edges++;
+			if (!connections[i].isDirected()) {
+				successorOffsets[target + 1]++;
+				predecessorOffsets[source + 1]++;
+				edges++;
+			}
+		}
+		for (int i = 0; i < nodes.length; i++) {
+			successorOffsets[i + 1] += successorOffsets[i];
+			predecessorOffsets[i + 1] += predecessorOffsets[i];
+		}
+
+		successors = new int[edges];
+		outgoingConnections = new int[edges];
+		predecessors = new int[edges];
+		incomingConnections = new int[edges];
+		int[] nextSuccessor = new int[nodes.length];
+		int[] nextPredecessor = new int[nodes.length];
+		System.arraycopy(successorOffsets, 0, nextSuccessor, 0, nodes.length);
+		System.arraycopy(predecessorOffsets, 0, nextPredecessor, 0, nodes.length);
+		for (int i = 0; i < connections.length; i++) {
+			int source = sources[i];
+			if (source < 0) {
+				continue;
+			}
+			int target = targets[i];
+			int position = nextSuccessor[source]++;
+			successors[position] = target;
+			outgoingConnections[position] = i;
+			position = nextPredecessor[target]++;
+			predecessors[position] = source;
+			incomingConnections[position] = i;
+			if (!connections[i].isDirected()) {
+				position = nextSuccessor[target]++;
+				successors[position] = source;
+				outgoingConnections[position] = i;
+				position = nextPredecessor[source]++;
+				predecessors[position] = target;
+				incomingConnections[position] = i;
+			}
+		}
+	}
+
+	/**
+	 * @return the number of nodes
+	 */
+	public int getNodeCount() {
+		return nodes.length;
+	}
+
+	/**
+	 * @param index the index of a node
+	 * @return the node with the given index
+	 */
+	public NodeLayout getNode(int index) {
+		return nodes[index];
+	}
+
+	/**
+	 * @param node a node
+	 * @return the index of the node, or -1 if it is not one of the nodes
+	 */
+	public int indexOf(NodeLayout node) {
+		Integer index = indices.get(node);
+		return index == null ? -1 : index.intValue();
+	}
+
+	/**
+	 * @return the number of connections, including ignored ones
+	 */
+	public int getConnectionCount() {
+		return connections.length;
+	}
+
+	/**
+	 * @param index the index of a connection
+	 * @return the connection with the given index
+	 */
+	public ConnectionLayout getConnection(int index) {
+		return connections[index];
+	}
+
+	/**
+	 * Returns the number of successors of a node, which is the number of
+	 * connections returned by {@link NodeLayout#getOutgoingConnections()}.
+	 *
+	 * @param node the index of a node
+	 * @return the number of successors of the node
+	 */
+	public int getSuccessorCount(int node) {
+		return successorOffsets[node + 1] - successorOffsets[node];
+	}
+
+	/**
+	 * Returns the number of predecessors of a node, which is the number of
+	 * connections returned by {@link NodeLayout#getIncomingConnections()}.
+	 *
+	 * @param node the index of a node
+	 * @return the number of predecessors of the node
+	 */
+	public int getPredecessorCount(int node) {
+		return predecessorOffsets[node + 1] - predecessorOffsets[node];
+	}
+
+	/**
+	 * Returns the offsets of the successors of each node in
+	 * {@link #getSuccessors()}. The array has one more element than there are
+	 * nodes, the last one being the total number of successors.
+	 *
+	 * @return the successor offsets, which must not be modified
+	 */
+	public int[] getSuccessorOffsets() {
+		return successorOffsets;
+	}
+
+	/**
+	 * @return the indices of the successors of all nodes, which must not be
+	 *         modified
+	 */
+	public int[] getSuccessors() {
+		return successors;
+	}
+
+	/**
+	 * @return the indices of the connections leading to the corresponding
+	 *         {@link #getSuccessors() successors}, which must not be modified
+	 */
+	public int[] getOutgoingConnections() {
+		return outgoingConnections;
+	}
+
+	/**
+	 * Returns the offsets of the predecessors of each node in
+	 * {@link #getPredecessors()}. The array has one more element than there are
+	 * nodes, the last one being the total number of predecessors.
+	 *
+	 * @return the predecessor offsets, which must not be modified
+	 */
+	public int[] getPredecessorOffsets() {
+		return predecessorOffsets;
+	}
+
+	/**
+	 * @return the indices of the predecessors of all nodes, which must not be
+	 *         modified
+	 */
+	public int[] getPredecessors() {
+		return predecessors;
+	}
+
+	/**
+	 * @return the indices of the connections leading from the corresponding
+	 *         {@link #getPredecessors() predecessors}, which must not be modified
+	 */
+	public int[] getIncomingConnections() {
+		return incomingConnections;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009-2010, 2024 Mateusz Matela and others.
+ * Copyright (c) 2009-2010, 2026 Mateusz Matela and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -13,6 +13,7 @@
 package org.eclipse.zest.layouts.interfaces;
 
 import org.eclipse.zest.layouts.LayoutAlgorithm;
+import org.eclipse.zest.layouts.dataStructures.AdjacencyArrays;
 import org.eclipse.zest.layouts.dataStructures.DisplayIndependentRectangle;
 
 /**
@@ -61,6 +62,21 @@ public interface LayoutContext {
 	 */
 	public ConnectionLayout[] getConnections(EntityLayout layoutEntity1, EntityLayout layoutEntity2);
 
+	/**
+	 * Returns the adjacency of the nodes returned by {@link #getNodes()}, indexed
+	 * by their position in that array and in the array returned by
+	 * {@link #getConnections()}. Algorithms traversing the graph should prefer it
+	 * over the methods of {@link NodeLayout}, which create new arrays on every
+	 * call. The adjacency reflects the structure of the graph at the time this
+	 * method is called.
+	 *
+	 * @return the adjacency of the nodes
+	 * @since 2.1
+	 */
+	public default AdjacencyArrays getAdjacency() {
+		return new AdjacencyArrays(getNodes(), getConnections());
+	}
+
 	/**
 	 *
 	 * @return bounds in which the graph elements can be placed
@@ -108,6 +124,24 @@ public interface LayoutContext {
 	 */
 	public boolean isBackgroundLayoutEnabled();
 
+	/**
+	 * Checks if layout algorithms should update their previous layout, rather than
+	 * computing a new one, when {@link LayoutAlgorithm#applyLayout(boolean)
+	 * applyLayout(false)} is called. In this mode, algorithms supporting it only
+	 * place the nodes affected by the structural changes reported to the
+	 * {@link GraphStructureListener}s since the last layout, starting from their
+	 * previous locations. All other nodes keep their locations. Calling
+	 * {@code applyLayout(true)} always computes a complete layout, and so does
+	 * {@code applyLayout(false)} if the algorithm has not laid out this context
+	 * before.
+	 *
+	 * @return true if incremental layouts are enabled
+	 * @since 2.1
+	 */
+	public default boolean isIncrementalLayoutEnabled() {
+		return false;
+	}
+
 	/**
 	 * Sets the main layout algorithm for this context. Main algorithm will be used
 	 * to relayout graph items using {@link LayoutAlgorithm#applyLayout(boolean)}
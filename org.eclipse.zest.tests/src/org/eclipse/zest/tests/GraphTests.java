@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2025 Fabian Steeg. All rights reserved.
+ * Copyright (c) 2011, 2026 Fabian Steeg. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -12,22 +12,48 @@
 package org.eclipse.zest.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
 
 import org.eclipse.zest.core.widgets.Graph;
 import org.eclipse.zest.core.widgets.GraphConnection;
 import org.eclipse.zest.core.widgets.GraphItem;
 import org.eclipse.zest.core.widgets.GraphNode;
+import org.eclipse.zest.core.widgets.LevelOfDetailPolicy;
 import org.eclipse.zest.core.widgets.ZestStyles;
 import org.eclipse.zest.core.widgets.internal.ZestRootLayer;
+import org.eclipse.zest.layouts.LayoutAlgorithm;
+import org.eclipse.zest.layouts.algorithms.GridLayoutAlgorithm;
 import org.eclipse.zest.layouts.interfaces.LayoutContext;
 
+import org.eclipse.draw2d.BendpointConnectionRouter;
+import org.eclipse.draw2d.ColorConstants;
+import org.eclipse.draw2d.Connection;
 import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.Graphics;
+import org.eclipse.draw2d.PolylineConnection;
+import org.eclipse.draw2d.SWTGraphics;
+import org.eclipse.draw2d.ScaledGraphics;
+import org.eclipse.draw2d.geometry.PointList;
+import org.eclipse.draw2d.geometry.Rectangle;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -185,4 +211,341 @@ public class GraphTests {
 		graph.setGraphStyle(ZestStyles.NONE);
 		assertEquals(graph.getListeners(SWT.Gesture).length, 2);
 	}
+
+	/**
+	 * Check that an asynchronous layout is computed in a background job and then
+	 * applied to the graph on the UI thread.
+	 */
+	@Test
+	public void testAsynchronousLayout() throws InterruptedException {
+		shell.setSize(500, 500);
+		graph.setSize(500, 500);
+		shell.open();
+		graph.setLayoutAlgorithm(new GridLayoutAlgorithm(), false);
+		graph.setAsynchronousLayout(true);
+		nodes[0].setLocation(0, 0);
+		nodes[1].setLocation(0, 0);
+
+		graph.applyLayout();
+		Display display = shell.getDisplay();
+		long timeout = System.currentTimeMillis() + 10000;
+		while (nodes[0].getLocation().equals(nodes[1].getLocation()) && System.currentTimeMillis() < timeout) {
+			Job.getJobManager().join(graph, null);
+			display.readAndDispatch();
+		}
+
+		assertNotEquals(nodes[0].getLocation(), nodes[1].getLocation());
+		assertTrue(graph.isAsynchronousLayout());
+	}
+
+	/**
+	 * Check that a dynamic layout requested while an asynchronous layout is
+	 * running is deferred until the asynchronous layout has been applied, rather
+	 * than running the same algorithm concurrently.
+	 */
+	@Test
+	public void testAsynchronousLayoutDefersDynamicLayout() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch released = new CountDownLatch(1);
+		List<LayoutContext> contexts = new CopyOnWriteArrayList<>();
+		LayoutAlgorithm algorithm = new GridLayoutAlgorithm() {
+			private LayoutContext context;
+
+			@Override
+			public void setLayoutContext(LayoutContext context) {
+				this.context = context;
+				super.setLayoutContext(context);
+			}
+
+			@Override
+			public void applyLayout(boolean clean) {
+				contexts.add(context);
+				if (contexts.size() == 1) {
+					started.countDown();
+					try {
+						released.await(10, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				super.applyLayout(clean);
+			}
+		};
+		shell.setSize(500, 500);
+		graph.setSize(500, 500);
+		shell.open();
+		graph.setLayoutAlgorithm(algorithm, false);
+		graph.getLayoutContext().setMainLayoutAlgorithm(algorithm);
+		graph.setAsynchronousLayout(true);
+
+		graph.applyLayout();
+		Display display = shell.getDisplay();
+		long timeout = System.currentTimeMillis() + 10000;
+		while (!started.await(10, TimeUnit.MILLISECONDS) && System.currentTimeMillis() < timeout) {
+			display.readAndDispatch();
+		}
+		assertEquals(1, contexts.size());
+		assertNotEquals(graph.getLayoutContext(), contexts.get(0));
+
+		new GraphNode(graph, SWT.NONE);
+		assertEquals(1, contexts.size());
+
+		released.countDown();
+		while (contexts.size() < 2 && System.currentTimeMillis() < timeout) {
+			Job.getJobManager().join(graph, null);
+			display.readAndDispatch();
+		}
+		assertEquals(2, contexts.size());
+		assertSame(graph.getLayoutContext(), contexts.get(1));
+	}
+
+	/**
+	 * Check that the layout algorithm is bound to the graph again if it fails in
+	 * the background job, so that later layouts are still performed.
+	 */
+	@Test
+	public void testAsynchronousLayoutFailure() throws InterruptedException {
+		List<LayoutContext> contexts = new CopyOnWriteArrayList<>();
+		LayoutAlgorithm algorithm = new GridLayoutAlgorithm() {
+			@Override
+			public void setLayoutContext(LayoutContext context) {
+				contexts.add(context);
+				super.setLayoutContext(context);
+			}
+
+			@Override
+			public void applyLayout(boolean clean) {
+				throw new IllegalStateException();
+			}
+		};
+		shell.setSize(500, 500);
+		graph.setSize(500, 500);
+		shell.open();
+		graph.setLayoutAlgorithm(algorithm, false);
+		graph.setAsynchronousLayout(true);
+
+		graph.applyLayout();
+		Display display = shell.getDisplay();
+		long timeout = System.currentTimeMillis() + 10000;
+		while (contexts.size() < 3 && System.currentTimeMillis() < timeout) {
+			Job.getJobManager().join(graph, null);
+			display.readAndDispatch();
+		}
+		assertEquals(3, contexts.size());
+		assertNotEquals(graph.getLayoutContext(), contexts.get(1));
+		assertSame(graph.getLayoutContext(), contexts.get(2));
+	}
+
+	/**
+	 * Check that cancelling an asynchronous layout doesn't wait for the layout
+	 * algorithm to stop, and that the result of the cancelled layout is
+	 * discarded.
+	 */
+	@Test
+	public void testCancelAsynchronousLayout() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch released = new CountDownLatch(1);
+		List<LayoutContext> contexts = new CopyOnWriteArrayList<>();
+		LayoutAlgorithm algorithm = new GridLayoutAlgorithm() {
+			@Override
+			public void setLayoutContext(LayoutContext context) {
+				contexts.add(context);
+				super.setLayoutContext(context);
+			}
+
+			@Override
+			public void applyLayout(boolean clean) {
+				LayoutContext context = contexts.get(contexts.size() - 1);
+				started.countDown();
+				// Ignore the interruption, like a long running algorithm
+				long end = System.currentTimeMillis() + 10000;
+				while (released.getCount() > 0 && System.currentTimeMillis() < end) {
+					try {
+						released.await(10, TimeUnit.MILLISECONDS);
+					} catch (InterruptedException e) {
+						// keep running
+					}
+				}
+				context.getNodes()[0].setLocation(100, 100);
+			}
+		};
+		shell.setSize(500, 500);
+		graph.setSize(500, 500);
+		shell.open();
+		graph.setLayoutAlgorithm(algorithm, false);
+		graph.setAsynchronousLayout(true);
+		nodes[0].setLocation(0, 0);
+		nodes[1].setLocation(0, 0);
+
+		graph.applyLayout();
+		Display display = shell.getDisplay();
+		long timeout = System.currentTimeMillis() + 10000;
+		while (!started.await(10, TimeUnit.MILLISECONDS) && System.currentTimeMillis() < timeout) {
+			display.readAndDispatch();
+		}
+		graph.setAsynchronousLayout(false);
+		assertEquals(1, released.getCount());
+		assertSame(graph.getLayoutContext(), contexts.get(contexts.size() - 1));
+
+		released.countDown();
+		Job.getJobManager().join(graph, null);
+		while (display.readAndDispatch()) {
+			// apply the result of the cancelled job, if it weren't discarded
+		}
+		assertEquals(nodes[0].getLocation(), nodes[1].getLocation());
+	}
+
+	/**
+	 * Check that nodes are painted as plain rectangles below the zoom level of
+	 * the {@link LevelOfDetailPolicy}, and with their own figure otherwise.
+	 */
+	@Test
+	public void testLevelOfDetailPolicy() {
+		assertNull(graph.getLevelOfDetailPolicy());
+		LevelOfDetailPolicy policy = new LevelOfDetailPolicy();
+		graph.setLevelOfDetailPolicy(policy);
+		assertSame(policy, graph.getLevelOfDetailPolicy());
+
+		boolean[] painted = new boolean[1];
+		Figure nodeFigure = new Figure() {
+			@Override
+			protected void paintFigure(Graphics graphics) {
+				painted[0] = true;
+			}
+		};
+		nodeFigure.setBounds(new Rectangle(10, 10, 50, 20));
+		nodeFigure.setBackgroundColor(ColorConstants.red);
+		ZestRootLayer layer = new ZestRootLayer();
+		layer.setBounds(new Rectangle(0, 0, 100, 100));
+		layer.addNode(nodeFigure);
+		layer.setLevelOfDetailPolicy(policy);
+
+		paint(layer, 1.0);
+		assertTrue("The node figure should be painted at full zoom", painted[0]); //$NON-NLS-1$
+		painted[0] = false;
+		paint(layer, LevelOfDetailPolicy.DEFAULT_SIMPLE_NODE_ZOOM / 2);
+		assertFalse("The node figure should not be painted when zoomed out", painted[0]); //$NON-NLS-1$
+		layer.setLevelOfDetailPolicy(null);
+		paint(layer, LevelOfDetailPolicy.DEFAULT_SIMPLE_NODE_ZOOM / 2);
+		assertTrue("The node figure should be painted without a policy", painted[0]); //$NON-NLS-1$
+	}
+
+	/**
+	 * Nodes painted in full detail next to simplified connections don't inherit
+	 * the colors of the connections, and are clipped by the clipping strategy of
+	 * the layer.
+	 */
+	@Test
+	public void testLevelOfDetailPolicyWithSimpleConnections() {
+		Color[] foreground = new Color[1];
+		Rectangle clip = new Rectangle();
+		Figure nodeFigure = new Figure() {
+			@Override
+			protected void paintFigure(Graphics graphics) {
+				foreground[0] = graphics.getForegroundColor();
+				graphics.getClip(clip);
+			}
+		};
+		nodeFigure.setBounds(new Rectangle(40, 40, 20, 20));
+		PolylineConnection connectionFigure = new PolylineConnection();
+		connectionFigure.setPoints(new PointList(new int[] { 0, 0, 90, 90 }));
+		connectionFigure.setForegroundColor(ColorConstants.red);
+		ZestRootLayer layer = new ZestRootLayer();
+		layer.setBounds(new Rectangle(0, 0, 100, 100));
+		layer.addConnection(connectionFigure);
+		layer.addNode(nodeFigure);
+		layer.setClippingStrategy(child -> new Rectangle[] { child.getBounds().getExpanded(10, 10) });
+		layer.setLevelOfDetailPolicy(new LevelOfDetailPolicy(0, 0, 2));
+
+		paint(layer, 1.0);
+		assertNotEquals(ColorConstants.red, foreground[0]);
+		assertEquals(new Rectangle(30, 30, 40, 40), clip);
+	}
+
+	@SuppressWarnings({ "static-method", "unused" })
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidLevelOfDetailPolicy() {
+		new LevelOfDetailPolicy(0.2, 0.5, 0.5);
+	}
+
+	/**
+	 * Check that viewport culling can be enabled and disabled, also with
+	 * connections being highlighted in between.
+	 */
+	@Test
+	public void testViewportCulling() {
+		assertFalse(graph.isViewportCulling());
+		graph.setViewportCulling(true);
+		assertTrue(graph.isViewportCulling());
+		connection.highlight();
+		connection.unhighlight();
+		graph.setViewportCulling(false);
+		assertFalse(graph.isViewportCulling());
+	}
+
+	/**
+	 * The routing of a connection far outside of the visible area must be deferred
+	 * until it is scrolled into view. The connection is added after culling has
+	 * been enabled, so it must be picked up by the {@link ZestRootLayer}.
+	 */
+	@Test
+	public void testViewportCullingDefersInvisibleConnection() {
+		List<Connection> routed = new ArrayList<>();
+		graph.setSize(100, 100);
+		graph.setRouter(new BendpointConnectionRouter() {
+			@Override
+			public void route(Connection conn) {
+				routed.add(conn);
+				super.route(conn);
+			}
+		});
+		graph.setViewportCulling(true);
+		nodes[0].setLocation(10, 10);
+		nodes[1].setLocation(50, 50);
+		GraphNode farSource = new GraphNode(graph, SWT.NONE);
+		farSource.setLocation(800, 800);
+		GraphNode farTarget = new GraphNode(graph, SWT.NONE);
+		farTarget.setLocation(900, 900);
+		GraphConnection far = new GraphConnection(graph, SWT.NONE, farSource, farTarget);
+		routed.clear();
+		connection.getConnectionFigure().revalidate();
+		far.getConnectionFigure().revalidate();
+		graph.getViewport().validate();
+		assertTrue(routed.contains(connection.getConnectionFigure()));
+		assertFalse(routed.contains(far.getConnectionFigure()));
+		// the deferred connection is placed on a straight line between its anchors
+		assertEquals(2, far.getConnectionFigure().getPoints().size());
+
+		routed.clear();
+		graph.getViewport().setViewLocation(700, 700);
+		graph.getViewport().validate();
+		assertTrue(routed.contains(far.getConnectionFigure()));
+		assertFalse(routed.contains(connection.getConnectionFigure()));
+
+		// a deferred connection which is removed must not be routed anymore
+		far.getConnectionFigure().revalidate();
+		graph.getViewport().setViewLocation(0, 0);
+		graph.getViewport().validate();
+		far.dispose();
+		routed.clear();
+		graph.getViewport().setViewLocation(700, 700);
+		graph.getViewport().validate();
+		assertTrue(routed.isEmpty());
+	}
+
+	private void paint(Figure figure, double zoom) {
+		Image image = new Image(shell.getDisplay(), 100, 100);
+		GC gc = new GC(image);
+		SWTGraphics swtGraphics = new SWTGraphics(gc);
+		ScaledGraphics graphics = new ScaledGraphics(swtGraphics);
+		try {
+			graphics.scale(zoom);
+			figure.paint(graphics);
+		} finally {
+			graphics.dispose();
+			swtGraphics.dispose();
+			gc.dispose();
+			image.dispose();
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2025 Fabian Steeg and others.
+ * Copyright (c) 2011, 2026 Fabian Steeg and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -14,10 +14,13 @@ package org.eclipse.zest.tests;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.dnd.DND;
@@ -33,7 +36,9 @@ import org.eclipse.jface.viewers.SelectionChangedEvent;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.jface.viewers.ViewerFilter;
+import org.eclipse.zest.core.viewers.GraphContentDelta;
 import org.eclipse.zest.core.viewers.GraphViewer;
+import org.eclipse.zest.core.viewers.IGraphContentDeltaProvider;
 import org.eclipse.zest.core.viewers.IGraphContentProvider;
 import org.eclipse.zest.core.viewers.IGraphEntityContentProvider;
 import org.eclipse.zest.core.widgets.Graph;
@@ -169,6 +174,63 @@ public class GraphViewerTests {
 		assertNodesAndConnections(3, 3);
 	}
 
+	/**
+	 * Assert that refreshing a viewer with an IGraphContentDeltaProvider only
+	 * changes the nodes and connections of the reported entities.
+	 */
+	@Test
+	public void testDeltaWithGraphEntityContentProvider() {
+		DeltaGraphEntityContentProvider contentProvider = new DeltaGraphEntityContentProvider();
+		viewer.setContentProvider(contentProvider);
+		viewer.setInput(new Object());
+		assertNodesAndConnections(3, 3);
+		GraphNode node1 = viewer.findGraphItem("1") instanceof GraphNode node ? node : null; //$NON-NLS-1$
+
+		contentProvider.entities.remove("2"); //$NON-NLS-1$
+		contentProvider.entities.put("1", new String[] { "3" }); //$NON-NLS-1$ //$NON-NLS-2$
+		contentProvider.entities.put("3", new String[] { "4" }); //$NON-NLS-1$ //$NON-NLS-2$
+		contentProvider.entities.put("4", new String[0]); //$NON-NLS-1$
+		contentProvider.delta = new GraphContentDelta(new Object[] { "4" }, new Object[] { "2" }, //$NON-NLS-1$ //$NON-NLS-2$
+				new Object[] { "1", "3" }); //$NON-NLS-1$ //$NON-NLS-2$
+		viewer.refresh();
+		assertNodesAndConnections(3, 2);
+		assertSame(node1, viewer.findGraphItem("1")); //$NON-NLS-1$
+		assertNull(viewer.findGraphItem("2")); //$NON-NLS-1$
+		assertEquals("3", ((GraphNode) viewer.findGraphItem("1")).getSourceConnectionsView().get(0) //$NON-NLS-1$ //$NON-NLS-2$
+				.getDestination().getData());
+
+		contentProvider.delta = null;
+		viewer.refresh();
+		assertNodesAndConnections(3, 2);
+	}
+
+	/**
+	 * Assert that refreshing a viewer with an IGraphContentDeltaProvider removes
+	 * the nodes which are no longer referred to by any relationship.
+	 */
+	@Test
+	public void testDeltaWithGraphContentProvider() {
+		DeltaGraphContentProvider contentProvider = new DeltaGraphContentProvider();
+		viewer.setContentProvider(contentProvider);
+		viewer.setInput(new Object());
+		assertNodesAndConnections(3, 3);
+
+		contentProvider.relationships.remove("2to3"); //$NON-NLS-1$
+		contentProvider.delta = new GraphContentDelta(null, new Object[] { "2to3" }, null); //$NON-NLS-1$
+		viewer.refresh();
+		assertNodesAndConnections(3, 2);
+
+		contentProvider.relationships.remove("3to1"); //$NON-NLS-1$
+		contentProvider.relationships.put("1to4", new String[] { "1", "4" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		contentProvider.relationships.put("1to2", new String[] { "1", null }); //$NON-NLS-1$ //$NON-NLS-2$
+		contentProvider.delta = new GraphContentDelta(new Object[] { "1to4" }, new Object[] { "3to1" }, //$NON-NLS-1$ //$NON-NLS-2$
+				new Object[] { "1to2" }); //$NON-NLS-1$
+		viewer.refresh();
+		assertNodesAndConnections(2, 1);
+		assertNull(viewer.findGraphItem("2")); //$NON-NLS-1$
+		assertNull(viewer.findGraphItem("3")); //$NON-NLS-1$
+	}
+
 	private void assertNodesAndConnections(int nodes, int connections) {
 		assertEquals(nodes, viewer.getGraphControl().getNodes().size());
 		assertEquals(connections, viewer.getGraphControl().getConnections().size());
@@ -224,6 +286,53 @@ public class GraphViewerTests {
 
 	}
 
+	static class DeltaGraphEntityContentProvider implements IGraphEntityContentProvider, IGraphContentDeltaProvider {
+		final Map<String, String[]> entities = new LinkedHashMap<>(
+				Map.of("1", new String[] { "2" }, "2", new String[] { "3" }, "3", new String[] { "2" })); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+		GraphContentDelta delta;
+
+		@Override
+		public Object[] getConnectedTo(Object entity) {
+			return entities.get(entity);
+		}
+
+		@Override
+		public Object[] getElements(Object inputElement) {
+			return entities.keySet().toArray();
+		}
+
+		@Override
+		public GraphContentDelta getDelta(Object input) {
+			return delta;
+		}
+	}
+
+	static class DeltaGraphContentProvider implements IGraphContentProvider, IGraphContentDeltaProvider {
+		final Map<String, String[]> relationships = new LinkedHashMap<>(Map.of("1to2", new String[] { "1", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				"2to3", new String[] { "2", "3" }, "3to1", new String[] { "3", "1" })); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+		GraphContentDelta delta;
+
+		@Override
+		public Object getSource(Object rel) {
+			return relationships.get(rel)[0];
+		}
+
+		@Override
+		public Object getDestination(Object rel) {
+			return relationships.get(rel)[1];
+		}
+
+		@Override
+		public Object[] getElements(Object input) {
+			return relationships.keySet().toArray();
+		}
+
+		@Override
+		public GraphContentDelta getDelta(Object input) {
+			return delta;
+		}
+	}
+
 	static class SampleGraphEntityContentProvider implements IGraphEntityContentProvider {
 
 		@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2025 Fabian Steeg and others.
+ * Copyright (c) 2011, 2026 Fabian Steeg and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -11,9 +11,17 @@
  *******************************************************************************/
 package org.eclipse.zest.tests;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Item;
 import org.eclipse.swt.widgets.Shell;
@@ -23,10 +31,22 @@ import org.eclipse.zest.core.widgets.DefaultSubgraph;
 import org.eclipse.zest.core.widgets.Graph;
 import org.eclipse.zest.core.widgets.GraphConnection;
 import org.eclipse.zest.core.widgets.GraphNode;
+import org.eclipse.zest.core.widgets.ZestStyles;
 import org.eclipse.zest.layouts.LayoutAlgorithm;
 import org.eclipse.zest.layouts.algorithms.AbstractLayoutAlgorithm;
+import org.eclipse.zest.layouts.algorithms.ComponentLayoutAlgorithm;
 import org.eclipse.zest.layouts.algorithms.GridLayoutAlgorithm;
+import org.eclipse.zest.layouts.algorithms.SpaceTreeLayoutAlgorithm;
+import org.eclipse.zest.layouts.algorithms.SpringLayoutAlgorithm;
+import org.eclipse.zest.layouts.algorithms.SugiyamaLayoutAlgorithm;
+import org.eclipse.zest.layouts.algorithms.TreeLayoutAlgorithm;
+import org.eclipse.zest.layouts.algorithms.internal.QuadTree;
+import org.eclipse.zest.layouts.dataStructures.AdjacencyArrays;
 import org.eclipse.zest.layouts.interfaces.LayoutContext;
+import org.eclipse.zest.layouts.interfaces.NodeLayout;
+
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
 
 import org.junit.Test;
 
@@ -138,4 +158,379 @@ public class LayoutAlgorithmTests {
 		graph.setLayoutAlgorithm(new GridLayoutAlgorithm(), true);
 		assertEquals(GridLayoutAlgorithm.class, graph.getLayoutAlgorithm().getClass());
 	}
+
+	/**
+	 * An incremental layout must only place the added node and keep all other
+	 * nodes where they are.
+	 */
+	@Test
+	@SuppressWarnings("static-method")
+	public void testIncrementalTreeLayout() {
+		Graph graph = new Graph(new Shell(), SWT.NONE);
+		graph.setSize(500, 500);
+		GraphNode root = new GraphNode(graph, SWT.NONE);
+		GraphNode left = new GraphNode(graph, SWT.NONE);
+		GraphNode right = new GraphNode(graph, SWT.NONE);
+		new GraphConnection(graph, SWT.NONE, root, left);
+		new GraphConnection(graph, SWT.NONE, root, right);
+		TreeLayoutAlgorithm algorithm = new TreeLayoutAlgorithm();
+		graph.setIncrementalLayout(true);
+		graph.setLayoutAlgorithm(algorithm, false);
+		graph.applyLayoutNow();
+		Point rootLocation = root.getLocation();
+		Point leftLocation = left.getLocation();
+		Point rightLocation = right.getLocation();
+
+		GraphNode child = new GraphNode(graph, SWT.NONE);
+		new GraphConnection(graph, SWT.NONE, right, child);
+		algorithm.applyLayout(false);
+
+		assertEquals(rootLocation, root.getLocation());
+		assertEquals(leftLocation, left.getLocation());
+		assertEquals(rightLocation, right.getLocation());
+		assertEquals(rightLocation.x, child.getLocation().x);
+		assertTrue(child.getLocation().y > rightLocation.y);
+		assertTrue(graph.isIncrementalLayout());
+
+		graph.applyLayoutNow();
+		assertNotEquals(rightLocation, right.getLocation());
+	}
+
+	/**
+	 * An incremental spring layout must only move the added node and its
+	 * neighbor, while a complete layout must place all nodes again.
+	 */
+	@Test
+	@SuppressWarnings("static-method")
+	public void testIncrementalSpringLayout() {
+		Graph graph = new Graph(new Shell(), SWT.NONE);
+		graph.setSize(500, 500);
+		GraphNode root = new GraphNode(graph, SWT.NONE);
+		GraphNode left = new GraphNode(graph, SWT.NONE);
+		GraphNode right = new GraphNode(graph, SWT.NONE);
+		new GraphConnection(graph, SWT.NONE, root, left);
+		new GraphConnection(graph, SWT.NONE, root, right);
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm();
+		graph.setIncrementalLayout(true);
+		graph.setLayoutAlgorithm(algorithm, false);
+		graph.applyLayoutNow();
+		Point rootLocation = root.getLocation();
+		Point leftLocation = left.getLocation();
+
+		GraphNode child = new GraphNode(graph, SWT.NONE);
+		new GraphConnection(graph, SWT.NONE, right, child);
+		algorithm.applyLayout(false);
+
+		assertEquals(rootLocation, root.getLocation());
+		assertEquals(leftLocation, left.getLocation());
+		assertTrue(child.getLocation().getDistance(right.getLocation()) < child.getLocation()
+				.getDistance(left.getLocation()));
+
+		assertCompleteLayout(graph, algorithm, left);
+	}
+
+	/**
+	 * An incremental Sugiyama layout must put the added node below its
+	 * predecessor and keep all other nodes where they are, while a complete
+	 * layout must place all nodes again.
+	 */
+	@Test
+	@SuppressWarnings("static-method")
+	public void testIncrementalSugiyamaLayout() {
+		Graph graph = new Graph(new Shell(), SWT.NONE);
+		graph.setSize(500, 500);
+		GraphNode root = new GraphNode(graph, SWT.NONE);
+		GraphNode left = new GraphNode(graph, SWT.NONE);
+		GraphNode right = new GraphNode(graph, SWT.NONE);
+		new GraphConnection(graph, SWT.NONE, root, left);
+		new GraphConnection(graph, SWT.NONE, root, right);
+		SugiyamaLayoutAlgorithm algorithm = new SugiyamaLayoutAlgorithm();
+		graph.setIncrementalLayout(true);
+		graph.setLayoutAlgorithm(algorithm, false);
+		graph.applyLayoutNow();
+		Point rootLocation = root.getLocation();
+		Point leftLocation = left.getLocation();
+		Point rightLocation = right.getLocation();
+
+		GraphNode child = new GraphNode(graph, SWT.NONE);
+		new GraphConnection(graph, SWT.NONE, right, child);
+		algorithm.applyLayout(false);
+
+		assertEquals(rootLocation, root.getLocation());
+		assertEquals(leftLocation, left.getLocation());
+		assertEquals(rightLocation, right.getLocation());
+		assertEquals(rightLocation.x, child.getLocation().x);
+		assertTrue(child.getLocation().y > rightLocation.y);
+
+		assertCompleteLayout(graph, algorithm, left);
+	}
+
+	/**
+	 * Moves the given node out of the bounds of the graph. An incremental layout
+	 * without any structural change must leave it there, while a complete layout
+	 * must move it back into the bounds.
+	 */
+	private static void assertCompleteLayout(Graph graph, LayoutAlgorithm algorithm, GraphNode node) {
+		node.setLocation(1000, 1000);
+		algorithm.applyLayout(false);
+		assertEquals(new Point(1000, 1000), node.getLocation());
+
+		graph.applyLayoutNow();
+		assertTrue(node.getLocation().x < 500);
+		assertTrue(node.getLocation().y < 500);
+	}
+
+	/**
+	 * Computing the forces of the spring layout in parallel must lead to the same
+	 * result for all pool sizes. The approximated forces of each node are computed
+	 * by a single thread, so they must not differ from the serial result at all,
+	 * while the exact forces are summed up in a different order.
+	 */
+	@Test
+	@SuppressWarnings("static-method")
+	public void testParallelSpringLayout() {
+		Graph graph = new Graph(new Shell(), SWT.NONE);
+		graph.setSize(500, 500);
+		GraphNode[] nodes = createRandomGraph(graph, 40);
+		for (double theta : new double[] { 0, 0.8 }) {
+			Point[] serial = layoutSpring(graph, nodes, theta, null);
+			ForkJoinPool pool1 = new ForkJoinPool(1);
+			ForkJoinPool pool3 = new ForkJoinPool(3);
+			try {
+				Point[] parallel = layoutSpring(graph, nodes, theta, pool1);
+				assertArrayEquals(parallel, layoutSpring(graph, nodes, theta, pool3));
+				if (theta > 0) {
+					assertArrayEquals(serial, parallel);
+				} else {
+					for (int i = 0; i < nodes.length; i++) {
+						assertTrue(Math.abs(serial[i].x - parallel[i].x) <= 1);
+						assertTrue(Math.abs(serial[i].y - parallel[i].y) <= 1);
+					}
+				}
+			} finally {
+				pool1.shutdown();
+				pool3.shutdown();
+			}
+		}
+	}
+
+	/**
+	 * Without approximation, the quadtree must compute the same repulsion as the
+	 * sum over all pairs of points.
+	 */
+	@Test
+	@SuppressWarnings("static-method")
+	public void testQuadTreeWithoutApproximation() {
+		Random random = new Random(0);
+		double[] x = new double[100];
+		double[] y = new double[100];
+		for (int i = 0; i < x.length; i++) {
+			x[i] = random.nextDouble();
+			y[i] = random.nextDouble();
+		}
+		QuadTree quadTree = new QuadTree();
+		quadTree.build(x, y);
+		for (int i = 0; i < x.length; i++) {
+			double[] force = new double[2];
+			quadTree.addRepulsion(i, 0, 2, 0.001, force);
+			double forceX = 0;
+			double forceY = 0;
+			for (int j = 0; j < x.length; j++) {
+				if (i != j) {
+					double dx = x[i] - x[j];
+					double dy = y[i] - y[j];
+					double distanceSq = Math.max(0.001 * 0.001, dx * dx + dy * dy);
+					double distance = Math.sqrt(distanceSq);
+					forceX += 2 / distanceSq * dx / distance;
+					forceY += 2 / distanceSq * dy / distance;
+				}
+			}
+			assertEquals(forceX, force[0], 1e-9 * Math.abs(forceX));
+			assertEquals(forceY, force[1], 1e-9 * Math.abs(forceY));
+		}
+	}
+
+	private static GraphNode[] createRandomGraph(Graph graph, int size) {
+		Random random = new Random(0);
+		GraphNode[] nodes = new GraphNode[size];
+		for (int i = 0; i < size; i++) {
+			nodes[i] = new GraphNode(graph, SWT.NONE);
+			if (i > 0) {
+				new GraphConnection(graph, SWT.NONE, nodes[random.nextInt(i)], nodes[i]);
+			}
+		}
+		return nodes;
+	}
+
+	/**
+	 * Lays out the given graph with the spring layout, starting from the same
+	 * locations each time, and returns the resulting locations.
+	 */
+	private static Point[] layoutSpring(Graph graph, GraphNode[] nodes, double theta, ForkJoinPool pool) {
+		Random random = new Random(1);
+		for (GraphNode node : nodes) {
+			node.setLocation(random.nextInt(500), random.nextInt(500));
+		}
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm();
+		algorithm.setRandom(false);
+		algorithm.setSpringTimeout(0);
+		algorithm.setIterations(theta > 0 ? 100 : 5);
+		algorithm.setBarnesHutTheta(theta);
+		algorithm.setForkJoinPool(pool);
+		graph.setLayoutAlgorithm(algorithm, false);
+		graph.applyLayoutNow();
+		Point[] locations = new Point[nodes.length];
+		for (int i = 0; i < nodes.length; i++) {
+			locations[i] = nodes[i].getLocation();
+		}
+		return locations;
+	}
+
+	/**
+	 * Each connected component must be laid out by its own delegate, and the
+	 * components must not overlap. Laying out the components in parallel must
+	 * lead to the same result.
+	 */
+	@Test
+	@SuppressWarnings("static-method")
+	public void testComponentLayout() {
+		Graph graph = new Graph(new Shell(), SWT.NONE);
+		graph.setSize(500, 500);
+		GraphNode a = new GraphNode(graph, SWT.NONE);
+		GraphNode b = new GraphNode(graph, SWT.NONE);
+		GraphNode c = new GraphNode(graph, SWT.NONE);
+		GraphNode d = new GraphNode(graph, SWT.NONE);
+		GraphNode e = new GraphNode(graph, SWT.NONE);
+		new GraphConnection(graph, SWT.NONE, a, b);
+		new GraphConnection(graph, SWT.NONE, c, d);
+		AtomicInteger delegates = new AtomicInteger();
+		ComponentLayoutAlgorithm algorithm = new ComponentLayoutAlgorithm(() -> {
+			delegates.incrementAndGet();
+			return new TreeLayoutAlgorithm();
+		});
+		graph.setLayoutAlgorithm(algorithm, false);
+		graph.applyLayoutNow();
+		// one per component and one for the layout context itself
+		assertEquals(4, delegates.get());
+
+		Rectangle ab = a.getNodeFigure().getBounds().getUnion(b.getNodeFigure().getBounds());
+		Rectangle cd = c.getNodeFigure().getBounds().getUnion(d.getNodeFigure().getBounds());
+		Rectangle ee = e.getNodeFigure().getBounds();
+		assertTrue(!ab.intersects(cd) && !ab.intersects(ee) && !cd.intersects(ee));
+
+		Point[] locations = { a.getLocation(), b.getLocation(), c.getLocation(), d.getLocation(), e.getLocation() };
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			algorithm.setForkJoinPool(pool);
+			graph.applyLayoutNow();
+		} finally {
+			pool.shutdown();
+		}
+		assertArrayEquals(locations,
+				new Point[] { a.getLocation(), b.getLocation(), c.getLocation(), d.getLocation(), e.getLocation() });
+	}
+
+	/**
+	 * A delegate which needs subgraphs must lay out the layout context directly,
+	 * and the same delegate must be reused by all layouts.
+	 */
+	@Test
+	@SuppressWarnings("static-method")
+	public void testComponentLayoutWithSpaceTree() {
+		Graph graph = new Graph(new Shell(), SWT.NONE);
+		graph.setSize(500, 500);
+		GraphNode a = new GraphNode(graph, SWT.NONE);
+		GraphNode b = new GraphNode(graph, SWT.NONE);
+		GraphNode c = new GraphNode(graph, SWT.NONE);
+		GraphNode d = new GraphNode(graph, SWT.NONE);
+		new GraphConnection(graph, SWT.NONE, a, b);
+		new GraphConnection(graph, SWT.NONE, c, d);
+		AtomicInteger delegates = new AtomicInteger();
+		ComponentLayoutAlgorithm algorithm = new ComponentLayoutAlgorithm(() -> {
+			delegates.incrementAndGet();
+			return new SpaceTreeLayoutAlgorithm();
+		});
+		graph.setLayoutAlgorithm(algorithm, false);
+		graph.applyLayoutNow();
+		graph.applyLayoutNow();
+		assertEquals(1, delegates.get());
+		assertTrue(algorithm.getLayoutAlgorithm() instanceof SpaceTreeLayoutAlgorithm);
+		assertTrue(b.getLocation().y > a.getLocation().y);
+		assertTrue(d.getLocation().y > c.getLocation().y);
+	}
+
+	/**
+	 * The adjacency arrays must contain the same neighbors as the node layouts,
+	 * with undirected connections leading in both directions.
+	 */
+	@Test
+	@SuppressWarnings("static-method")
+	public void testAdjacencyMatchesNodeLayouts() {
+		Graph graph = new Graph(new Shell(), SWT.NONE);
+		GraphNode a = new GraphNode(graph, SWT.NONE);
+		GraphNode b = new GraphNode(graph, SWT.NONE);
+		GraphNode c = new GraphNode(graph, SWT.NONE);
+		new GraphConnection(graph, ZestStyles.CONNECTIONS_DIRECTED, a, b);
+		new GraphConnection(graph, ZestStyles.CONNECTIONS_DIRECTED, a, c);
+		new GraphConnection(graph, SWT.NONE, b, c);
+		assertEquals(2, a.getSourceConnectionsView().size());
+		assertEquals(a.getSourceConnections(), a.getSourceConnectionsView());
+		graph.setLayoutAlgorithm(new AbstractLayoutAlgorithm() {
+			@Override
+			public void setLayoutContext(LayoutContext context) {
+				AdjacencyArrays adjacency = context.getAdjacency();
+				NodeLayout[] nodes = context.getNodes();
+				assertEquals(nodes.length, adjacency.getNodeCount());
+				for (int i = 0; i < nodes.length; i++) {
+					assertEquals(i, adjacency.indexOf(nodes[i]));
+					assertArrayEquals(nodes[i].getSuccessingNodes(), getNeighbors(adjacency,
+							adjacency.getSuccessorOffsets(), adjacency.getSuccessors(), i));
+					assertArrayEquals(nodes[i].getPredecessingNodes(), getNeighbors(adjacency,
+							adjacency.getPredecessorOffsets(), adjacency.getPredecessors(), i));
+				}
+				assertEquals(4, adjacency.getSuccessors().length);
+			}
+
+			@Override
+			public void applyLayout(boolean clean) {
+			}
+		}, true);
+	}
+
+	/**
+	 * The adjacency must be reused until the nodes or connections seen by the
+	 * layout, or the directions of the connections, change.
+	 */
+	@Test
+	@SuppressWarnings("static-method")
+	public void testAdjacencyIsReused() {
+		Graph graph = new Graph(new Shell(), SWT.NONE);
+		GraphNode a = new GraphNode(graph, SWT.NONE);
+		GraphNode b = new GraphNode(graph, SWT.NONE);
+		GraphConnection connection = new GraphConnection(graph, SWT.NONE, a, b);
+		LayoutContext context = graph.getLayoutContext();
+		AdjacencyArrays adjacency = context.getAdjacency();
+		assertSame(adjacency, context.getAdjacency());
+
+		connection.setDirected(true);
+		AdjacencyArrays directed = context.getAdjacency();
+		assertNotSame(adjacency, directed);
+		assertEquals(1, directed.getSuccessors().length);
+
+		GraphNode c = new GraphNode(graph, SWT.NONE);
+		AdjacencyArrays added = context.getAdjacency();
+		assertNotSame(directed, added);
+		assertEquals(3, added.getNodeCount());
+
+		graph.addLayoutFilter(item -> item == c);
+		assertEquals(2, context.getAdjacency().getNodeCount());
+	}
+
+	private static NodeLayout[] getNeighbors(AdjacencyArrays adjacency, int[] offsets, int[] neighbors, int node) {
+		NodeLayout[] result = new NodeLayout[offsets[node + 1] - offsets[node]];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = adjacency.getNode(neighbors[offsets[node] + i]);
+		}
+		return result;
+	}
 }